@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import com.powsybl.network.store.server.dto.BranchSideLimits;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary encoding of a list of {@link BranchSideLimits}, big-endian as written by {@link DataOutputStream}:
+ * <pre>
+ * int    count
+ * count times:
+ *   UTF    branchId (modified UTF-8, see {@link DataOutput#writeUTF})
+ *   byte   side
+ *   double permanentLimit
+ *   int    temporaryLimitsCount
+ *   int    acceptableDuration, temporaryLimitsCount times
+ *   double value, temporaryLimitsCount times
+ * </pre>
+ *
+ * @author agent <agent at local>
+ */
+public final class BranchSideLimitsBinaryFormat {
+
+    private BranchSideLimitsBinaryFormat() {
+    }
+
+    public static byte[] encode(List<BranchSideLimits> limits) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(limits.size());
+            for (BranchSideLimits branchSideLimits : limits) {
+                out.writeUTF(branchSideLimits.getBranchId());
+                out.writeByte(branchSideLimits.getSide());
+                out.writeDouble(branchSideLimits.getPermanentLimit());
+                int[] acceptableDurations = branchSideLimits.getAcceptableDurations();
+                double[] values = branchSideLimits.getValues();
+                out.writeInt(acceptableDurations.length);
+                for (int acceptableDuration : acceptableDurations) {
+                    out.writeInt(acceptableDuration);
+                }
+                for (double value : values) {
+                    out.writeDouble(value);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static List<BranchSideLimits> decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            int count = in.readInt();
+            List<BranchSideLimits> limits = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                String branchId = in.readUTF();
+                int side = in.readByte();
+                double permanentLimit = in.readDouble();
+                int temporaryLimitsCount = in.readInt();
+                int[] acceptableDurations = new int[temporaryLimitsCount];
+                double[] values = new double[temporaryLimitsCount];
+                for (int j = 0; j < temporaryLimitsCount; j++) {
+                    acceptableDurations[j] = in.readInt();
+                }
+                for (int j = 0; j < temporaryLimitsCount; j++) {
+                    values[j] = in.readDouble();
+                }
+                limits.add(new BranchSideLimits(branchId, side, permanentLimit, acceptableDurations, values));
+            }
+            return limits;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
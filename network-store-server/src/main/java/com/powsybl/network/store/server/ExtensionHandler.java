@@ -7,6 +7,7 @@
 package com.powsybl.network.store.server;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Lists;
 import com.powsybl.network.store.model.*;
@@ -19,12 +20,15 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BooleanSupplier;
 import java.util.function.Supplier;
 
 import static com.powsybl.network.store.server.QueryCatalog.*;
 import static com.powsybl.network.store.server.QueryExtensionCatalog.EXTENSION_NAME_COLUMN;
+import static com.powsybl.network.store.server.QueryExtensionCatalog.EXTENSION_TABLE;
 import static com.powsybl.network.store.server.QueryExtensionCatalog.buildIsTombstonedExtensionQuery;
 import static com.powsybl.network.store.server.Utils.BATCH_SIZE;
 import static com.powsybl.network.store.server.Utils.bindValues;
@@ -36,34 +40,137 @@ import static com.powsybl.network.store.server.Utils.bindValues;
 public class ExtensionHandler {
 
     private final ObjectMapper mapper;
+    private final NetworkStoreSqlObserver sqlObserver;
+    private final Mappings mappings;
+    private final ParallelRowDecoder rowDecoder;
+    private final StringInterners stringInterners;
 
-    public ExtensionHandler(ObjectMapper mapper) {
+    public ExtensionHandler(ObjectMapper mapper, NetworkStoreSqlObserver sqlObserver, Mappings mappings, ParallelRowDecoder rowDecoder,
+                            StringInterners stringInterners) {
         this.mapper = mapper;
+        this.sqlObserver = sqlObserver;
+        this.mappings = mappings;
+        this.rowDecoder = rowDecoder;
+        this.stringInterners = stringInterners;
+    }
+
+    /**
+     * Extension row, with the raw value until decoded.
+     */
+    private record ExtensionRow<V>(String identifiableId, String extensionName, V value) {
     }
 
     public void insertExtensions(Connection connection, Map<OwnerInfo, Map<String, ExtensionAttributes>> extensions) throws SQLException {
+        // On PostgreSQL the value column is jsonb, a JSON string has to be bound as an untyped value to be cast
+        boolean jsonb = Utils.isPostgreSql(connection);
+        Map<ExtensionTableMapping, List<Map.Entry<OwnerInfo, ExtensionAttributes>>> typedExtensions = new LinkedHashMap<>();
         try (var preparedStmt = connection.prepareStatement(QueryExtensionCatalog.buildInsertExtensionsQuery())) {
             List<Object> values = new ArrayList<>(6);
             List<Map.Entry<OwnerInfo, Map<String, ExtensionAttributes>>> list = new ArrayList<>(extensions.entrySet());
             for (List<Map.Entry<OwnerInfo, Map<String, ExtensionAttributes>>> subExtensions : Lists.partition(list, BATCH_SIZE)) {
                 for (Map.Entry<OwnerInfo, Map<String, ExtensionAttributes>> entry : subExtensions) {
                     for (Map.Entry<String, ExtensionAttributes> extension : entry.getValue().entrySet()) {
-                        if (extension.getValue().isPersistent()) {
+                        if (!extension.getValue().isPersistent()) {
+                            continue;
+                        }
+                        ExtensionTableMapping extensionTableMapping = mappings.getExtensionTableMapping(extension.getKey());
+                        if (extensionTableMapping != null) {
+                            typedExtensions.computeIfAbsent(extensionTableMapping, k -> new ArrayList<>()).add(Map.entry(entry.getKey(), extension.getValue()));
+                        } else {
                             values.clear();
                             values.add(entry.getKey().getEquipmentId());
                             values.add(entry.getKey().getEquipmentType().toString());
                             values.add(entry.getKey().getNetworkUuid());
                             values.add(entry.getKey().getVariantNum());
                             values.add(extension.getKey());
-                            values.add(extension.getValue());
+                            values.add(writeExtensionValue(extension.getValue()));
                             bindValues(preparedStmt, values, mapper);
+                            if (jsonb) {
+                                preparedStmt.setObject(6, values.get(5), Types.OTHER);
+                            }
                             preparedStmt.addBatch();
                         }
                     }
                 }
-                preparedStmt.executeBatch();
+                sqlObserver.executeBatch(preparedStmt, EXTENSION_TABLE);
             }
         }
+        for (Map.Entry<ExtensionTableMapping, List<Map.Entry<OwnerInfo, ExtensionAttributes>>> entry : typedExtensions.entrySet()) {
+            insertTypedExtensions(connection, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void insertTypedExtensions(Connection connection, ExtensionTableMapping extensionTableMapping,
+                                       List<Map.Entry<OwnerInfo, ExtensionAttributes>> extensions) throws SQLException {
+        Map<String, ColumnMapping> columnsMapping = extensionTableMapping.getColumnsMapping();
+        try (var preparedStmt = connection.prepareStatement(QueryExtensionCatalog.buildInsertTypedExtensionsQuery(extensionTableMapping.getTable(), columnsMapping.keySet()))) {
+            List<Object> values = new ArrayList<>(4 + columnsMapping.size());
+            for (List<Map.Entry<OwnerInfo, ExtensionAttributes>> subExtensions : Lists.partition(extensions, BATCH_SIZE)) {
+                for (Map.Entry<OwnerInfo, ExtensionAttributes> extension : subExtensions) {
+                    values.clear();
+                    values.add(extension.getKey().getEquipmentId());
+                    values.add(extension.getKey().getEquipmentType().toString());
+                    values.add(extension.getKey().getNetworkUuid());
+                    values.add(extension.getKey().getVariantNum());
+                    for (ColumnMapping columnMapping : columnsMapping.values()) {
+                        values.add(columnMapping.get(extension.getValue()));
+                    }
+                    bindValues(preparedStmt, values, mapper);
+                    preparedStmt.addBatch();
+                }
+                sqlObserver.executeBatch(preparedStmt, extensionTableMapping.getTable());
+            }
+        }
+    }
+
+    private Map<String, ExtensionAttributes> getTypedExtensionsForVariant(Connection connection, ExtensionTableMapping extensionTableMapping, UUID networkUuid,
+                                                                          int variantNum, String columnNameForWhereClause, String value, String variantLayer) throws SQLException {
+        try (var preparedStmt = connection.prepareStatement(QueryExtensionCatalog.buildGetTypedExtensionsQuery(extensionTableMapping.getTable(),
+                extensionTableMapping.getColumnsMapping().keySet(), columnNameForWhereClause))) {
+            preparedStmt.setObject(1, networkUuid);
+            preparedStmt.setInt(2, variantNum);
+            preparedStmt.setString(3, value);
+            return innerGetTypedExtensions(preparedStmt, extensionTableMapping, variantLayer);
+        }
+    }
+
+    private Map<String, ExtensionAttributes> getTypedExtensionsByIdentifiableIdsForVariant(Connection connection, ExtensionTableMapping extensionTableMapping, UUID networkUuid,
+                                                                                           int variantNum, List<String> identifiableIds, String variantLayer) throws SQLException {
+        try (var preparedStmt = connection.prepareStatement(QueryExtensionCatalog.buildGetTypedExtensionsByIdentifiableIdsQuery(extensionTableMapping.getTable(),
+                extensionTableMapping.getColumnsMapping().keySet()))) {
+            preparedStmt.setObject(1, networkUuid);
+            preparedStmt.setInt(2, variantNum);
+            preparedStmt.setArray(3, connection.createArrayOf("varchar", identifiableIds.toArray(new String[0])));
+            return innerGetTypedExtensions(preparedStmt, extensionTableMapping, variantLayer);
+        }
+    }
+
+    private Map<String, ExtensionAttributes> innerGetTypedExtensions(PreparedStatement preparedStmt, ExtensionTableMapping extensionTableMapping, String variantLayer) throws SQLException {
+        try (ResultSet resultSet = sqlObserver.executeQuery(preparedStmt, extensionTableMapping.getTable(), variantLayer)) {
+            Map<String, ExtensionAttributes> map = new HashMap<>();
+            long bindingStart = System.nanoTime();
+            while (resultSet.next()) {
+                ExtensionAttributes attributes = extensionTableMapping.getAttributesSupplier().get();
+                int columnIndex = 2;
+                for (ColumnMapping columnMapping : extensionTableMapping.getColumnsMapping().values()) {
+                    Object value = resultSet.getObject(columnIndex++, columnMapping.getClassR());
+                    if (value != null) {
+                        columnMapping.set(attributes, value);
+                    }
+                }
+                map.put(resultSet.getString(1), attributes);
+            }
+            sqlObserver.recordRowBinding(extensionTableMapping.getTable(), variantLayer, System.nanoTime() - bindingStart, 0, map.size());
+            return map;
+        }
+    }
+
+    private String writeExtensionValue(ExtensionAttributes extensionAttributes) {
+        try {
+            return mapper.writeValueAsString(extensionAttributes);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     public Map<String, Set<String>> getTombstonedExtensions(Connection connection, UUID networkUuid, int variantNum) throws SQLException {
@@ -133,6 +240,15 @@ public class ExtensionHandler {
     }
 
     public Optional<ExtensionAttributes> getExtensionAttributesForVariant(Connection connection, UUID networkUuid, int variantNum, String identifiableId, String extensionName) {
+        ExtensionTableMapping extensionTableMapping = mappings.getExtensionTableMapping(extensionName);
+        if (extensionTableMapping != null) {
+            try {
+                return Optional.ofNullable(getTypedExtensionsForVariant(connection, extensionTableMapping, networkUuid, variantNum, EQUIPMENT_ID_COLUMN, identifiableId,
+                        NetworkStoreSqlObserver.REQUESTED_VARIANT_LAYER).get(identifiableId));
+            } catch (SQLException e) {
+                throw new UncheckedSqlException(e);
+            }
+        }
         try (var preparedStmt = connection.prepareStatement(QueryExtensionCatalog.buildGetExtensionsQuery())) {
             preparedStmt.setObject(1, networkUuid);
             preparedStmt.setInt(2, variantNum);
@@ -171,7 +287,8 @@ public class ExtensionHandler {
 
         // Retrieve extensions in full variant
         Map<String, ExtensionAttributes> extensionsAttributesByResourceTypeAndExtensionName =
-                getAllExtensionsAttributesByResourceTypeAndExtensionNameForVariant(connection, networkId, fullVariantNum, resourceType, extensionName);
+                getAllExtensionsAttributesByResourceTypeAndExtensionNameForVariant(connection, networkId, fullVariantNum, resourceType, extensionName,
+                        NetworkStoreSqlObserver.FULL_VARIANT_LAYER);
 
         // Remove tombstoned identifiables and tombstoned extensions
         Set<String> tombstonedIds = tombstonedIdsSupplier.get();
@@ -191,29 +308,150 @@ public class ExtensionHandler {
 
     public Map<String, ExtensionAttributes> getAllExtensionsAttributesByResourceTypeAndExtensionNameForVariant(
             Connection connection, UUID networkUuid, int variantNum, String resourceType, String extensionName) throws SQLException {
+        return getAllExtensionsAttributesByResourceTypeAndExtensionNameForVariant(connection, networkUuid, variantNum, resourceType, extensionName,
+                NetworkStoreSqlObserver.REQUESTED_VARIANT_LAYER);
+    }
+
+    private Map<String, ExtensionAttributes> getAllExtensionsAttributesByResourceTypeAndExtensionNameForVariant(
+            Connection connection, UUID networkUuid, int variantNum, String resourceType, String extensionName, String variantLayer) throws SQLException {
+        ExtensionTableMapping extensionTableMapping = mappings.getExtensionTableMapping(extensionName);
+        if (extensionTableMapping != null) {
+            return getTypedExtensionsForVariant(connection, extensionTableMapping, networkUuid, variantNum, EQUIPMENT_TYPE_COLUMN, resourceType, variantLayer);
+        }
         try (var preparedStmt = connection.prepareStatement(QueryExtensionCatalog.buildGetAllExtensionsAttributesByResourceTypeAndExtensionName())) {
             preparedStmt.setObject(1, networkUuid);
             preparedStmt.setInt(2, variantNum);
             preparedStmt.setString(3, resourceType);
             preparedStmt.setString(4, extensionName);
-            return innerGetAllExtensionsAttributesByResourceTypeAndExtensionName(preparedStmt);
+            return innerGetAllExtensionsAttributesByResourceTypeAndExtensionName(preparedStmt, variantLayer);
         }
     }
 
-    private Map<String, ExtensionAttributes> innerGetAllExtensionsAttributesByResourceTypeAndExtensionName(PreparedStatement preparedStmt) throws SQLException {
-        try (ResultSet resultSet = preparedStmt.executeQuery()) {
+    private Map<String, ExtensionAttributes> innerGetAllExtensionsAttributesByResourceTypeAndExtensionName(PreparedStatement preparedStmt, String variantLayer) throws SQLException {
+        try (ResultSet resultSet = sqlObserver.executeQuery(preparedStmt, EXTENSION_TABLE, variantLayer)) {
             Map<String, ExtensionAttributes> map = new HashMap<>();
+            long bindingStart = System.nanoTime();
+            long jsonDecodeNanos = 0;
             while (resultSet.next()) {
                 String equipmentId = resultSet.getString(1);
-                ExtensionAttributes extensionValue = mapper.readValue(resultSet.getString(2), ExtensionAttributes.class);
+                String value = resultSet.getString(2);
+                long decodeStart = System.nanoTime();
+                ExtensionAttributes extensionValue = mapper.readValue(value, ExtensionAttributes.class);
+                jsonDecodeNanos += System.nanoTime() - decodeStart;
                 map.put(equipmentId, extensionValue);
             }
+            sqlObserver.recordRowBinding(EXTENSION_TABLE, variantLayer, System.nanoTime() - bindingStart, jsonDecodeNanos, map.size());
             return map;
         } catch (JsonProcessingException e) {
             throw new UncheckedIOException(e);
         }
     }
 
+    /**
+     * Returns the given top-level fields of the extension of all the identifiables of a type, by identifiable id.
+     * Fields missing from an extension are omitted. On PostgreSQL the fields are extracted from the jsonb values by
+     * the database, otherwise the values are parsed as JSON trees, in both cases without decoding the extension
+     * attributes.
+     */
+    public Map<String, Map<String, JsonNode>> getExtensionFieldsByResourceTypeAndExtensionName(
+            Connection connection,
+            UUID networkId,
+            int variantNum,
+            String resourceType,
+            String extensionName,
+            List<String> fields,
+            int fullVariantNum,
+            Supplier<Set<String>> tombstonedIdsSupplier) throws SQLException {
+        if (NetworkAttributes.isFullVariant(fullVariantNum)) {
+            // If the variant is full, retrieve extension fields for the specified variant directly
+            return getExtensionFieldsByResourceTypeAndExtensionNameForVariant(connection, networkId, variantNum, resourceType, extensionName, fields,
+                    NetworkStoreSqlObserver.REQUESTED_VARIANT_LAYER);
+        }
+
+        // Retrieve extension fields in full variant
+        Map<String, Map<String, JsonNode>> extensionFields =
+                getExtensionFieldsByResourceTypeAndExtensionNameForVariant(connection, networkId, fullVariantNum, resourceType, extensionName, fields,
+                        NetworkStoreSqlObserver.FULL_VARIANT_LAYER);
+
+        // Remove tombstoned identifiables and tombstoned extensions
+        Set<String> tombstonedIds = tombstonedIdsSupplier.get();
+        Map<String, Set<String>> tombstonedExtensions = getTombstonedExtensions(connection, networkId, variantNum);
+        extensionFields.entrySet().removeIf(entry ->
+                tombstonedIds.contains(entry.getKey()) ||
+                tombstonedExtensions.getOrDefault(entry.getKey(), Set.of()).contains(extensionName));
+
+        // Combine extension fields from full and partial variants
+        extensionFields.putAll(getExtensionFieldsByResourceTypeAndExtensionNameForVariant(connection, networkId, variantNum, resourceType, extensionName, fields,
+                NetworkStoreSqlObserver.REQUESTED_VARIANT_LAYER));
+        return extensionFields;
+    }
+
+    private Map<String, Map<String, JsonNode>> getExtensionFieldsByResourceTypeAndExtensionNameForVariant(
+            Connection connection, UUID networkUuid, int variantNum, String resourceType, String extensionName, List<String> fields,
+            String variantLayer) throws SQLException {
+        ExtensionTableMapping extensionTableMapping = mappings.getExtensionTableMapping(extensionName);
+        if (extensionTableMapping != null) {
+            // The typed columns are already decoded, the fields are picked from their JSON tree
+            Map<String, Map<String, JsonNode>> map = new HashMap<>();
+            getTypedExtensionsForVariant(connection, extensionTableMapping, networkUuid, variantNum, EQUIPMENT_TYPE_COLUMN, resourceType, variantLayer)
+                    .forEach((identifiableId, extensionAttributes) -> map.put(identifiableId, getFields(mapper.valueToTree(extensionAttributes), fields)));
+            return map;
+        }
+        boolean jsonb = Utils.isPostgreSql(connection);
+        String query = jsonb
+                ? QueryExtensionCatalog.buildGetExtensionFieldsByResourceTypeAndExtensionName(fields.size())
+                : QueryExtensionCatalog.buildGetAllExtensionsAttributesByResourceTypeAndExtensionName();
+        try (var preparedStmt = connection.prepareStatement(query)) {
+            int idx = 0;
+            if (jsonb) {
+                for (String field : fields) {
+                    preparedStmt.setString(++idx, field);
+                }
+            }
+            preparedStmt.setObject(++idx, networkUuid);
+            preparedStmt.setInt(++idx, variantNum);
+            preparedStmt.setString(++idx, resourceType);
+            preparedStmt.setString(++idx, extensionName);
+            try (ResultSet resultSet = sqlObserver.executeQuery(preparedStmt, EXTENSION_TABLE, variantLayer)) {
+                Map<String, Map<String, JsonNode>> map = new HashMap<>();
+                long bindingStart = System.nanoTime();
+                long jsonDecodeNanos = 0;
+                while (resultSet.next()) {
+                    Map<String, JsonNode> values;
+                    long decodeStart = System.nanoTime();
+                    if (jsonb) {
+                        values = new LinkedHashMap<>();
+                        for (int i = 0; i < fields.size(); i++) {
+                            String value = resultSet.getString(i + 2);
+                            if (value != null) {
+                                values.put(fields.get(i), mapper.readTree(value));
+                            }
+                        }
+                    } else {
+                        values = getFields(mapper.readTree(resultSet.getString(2)), fields);
+                    }
+                    jsonDecodeNanos += System.nanoTime() - decodeStart;
+                    map.put(resultSet.getString(1), values);
+                }
+                sqlObserver.recordRowBinding(EXTENSION_TABLE, variantLayer, System.nanoTime() - bindingStart, jsonDecodeNanos, map.size());
+                return map;
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static Map<String, JsonNode> getFields(JsonNode extension, List<String> fields) {
+        Map<String, JsonNode> values = new LinkedHashMap<>();
+        for (String field : fields) {
+            JsonNode value = extension.get(field);
+            if (value != null) {
+                values.put(field, value);
+            }
+        }
+        return values;
+    }
+
     public Map<String, ExtensionAttributes> getAllExtensionsAttributesByIdentifiableId(
             Connection connection,
             UUID networkId,
@@ -249,7 +487,15 @@ public class ExtensionHandler {
             preparedStmt.setObject(1, networkUuid);
             preparedStmt.setInt(2, variantNum);
             preparedStmt.setString(3, identifiableId);
-            return innerGetAllExtensionsAttributesByIdentifiableId(preparedStmt);
+            Map<String, ExtensionAttributes> extensionsAttributes = innerGetAllExtensionsAttributesByIdentifiableId(preparedStmt);
+            for (ExtensionTableMapping extensionTableMapping : mappings.getAllExtensions()) {
+                ExtensionAttributes extensionAttributes = getTypedExtensionsForVariant(connection, extensionTableMapping, networkUuid, variantNum, EQUIPMENT_ID_COLUMN,
+                        identifiableId, NetworkStoreSqlObserver.REQUESTED_VARIANT_LAYER).get(identifiableId);
+                if (extensionAttributes != null) {
+                    extensionsAttributes.put(extensionTableMapping.getExtensionName(), extensionAttributes);
+                }
+            }
+            return extensionsAttributes;
         }
     }
 
@@ -278,62 +524,137 @@ public class ExtensionHandler {
             return getAllExtensionsAttributesByResourceTypeForVariant(connection, networkId, variantNum, type.toString());
         }
 
-        // Retrieve extensions from full variant
-        Map<String, Map<String, ExtensionAttributes>> extensionsAttributesByResourceType = getAllExtensionsAttributesByResourceTypeForVariant(connection, networkId, fullVariantNum, type.toString());
+        // Retrieve extensions from full and partial variants
+        Map<String, Map<String, ExtensionAttributes>> fullVariantExtensionsAttributesByResourceType = getAllExtensionsAttributesByResourceTypeForVariant(connection, networkId, fullVariantNum, type.toString(),
+                NetworkStoreSqlObserver.FULL_VARIANT_LAYER);
+        Map<String, Map<String, ExtensionAttributes>> partialVariantExtensionsAttributesByResourceType =
+                getAllExtensionsAttributesByResourceTypeForVariant(connection, networkId, variantNum, type.toString());
+        return mergeExtensionsAttributes(connection, networkId, variantNum, fullVariantExtensionsAttributesByResourceType,
+                partialVariantExtensionsAttributesByResourceType, tombstonedIdsSupplier);
+    }
+
+    public Map<String, Map<String, ExtensionAttributes>> getAllExtensionsAttributesByIdentifiableIds(
+            Connection connection, UUID networkId,
+            int variantNum,
+            List<String> identifiableIds,
+            int fullVariantNum,
+            Supplier<Set<String>> tombstonedIdsSupplier) throws SQLException {
+        if (identifiableIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        if (NetworkAttributes.isFullVariant(fullVariantNum)) {
+            // If the variant is full, retrieve extensions for the specified variant directly
+            return getAllExtensionsAttributesByIdentifiableIdsForVariant(connection, networkId, variantNum, identifiableIds, NetworkStoreSqlObserver.REQUESTED_VARIANT_LAYER);
+        }
+
+        // Retrieve extensions from full and partial variants
+        Map<String, Map<String, ExtensionAttributes>> fullVariantExtensionsAttributes =
+                getAllExtensionsAttributesByIdentifiableIdsForVariant(connection, networkId, fullVariantNum, identifiableIds, NetworkStoreSqlObserver.FULL_VARIANT_LAYER);
+        Map<String, Map<String, ExtensionAttributes>> partialVariantExtensionsAttributes =
+                getAllExtensionsAttributesByIdentifiableIdsForVariant(connection, networkId, variantNum, identifiableIds, NetworkStoreSqlObserver.REQUESTED_VARIANT_LAYER);
+        return mergeExtensionsAttributes(connection, networkId, variantNum, fullVariantExtensionsAttributes, partialVariantExtensionsAttributes, tombstonedIdsSupplier);
+    }
+
+    private Map<String, Map<String, ExtensionAttributes>> getAllExtensionsAttributesByIdentifiableIdsForVariant(
+            Connection connection, UUID networkUuid, int variantNum, List<String> identifiableIds, String variantLayer) throws SQLException {
+        try (var preparedStmt = connection.prepareStatement(QueryExtensionCatalog.buildGetAllExtensionsAttributesByIdentifiableIds())) {
+            preparedStmt.setObject(1, networkUuid);
+            preparedStmt.setInt(2, variantNum);
+            // One array parameter whatever the number of ids, so that the statement is the same for all requests
+            preparedStmt.setArray(3, connection.createArrayOf("varchar", identifiableIds.toArray(new String[0])));
+            Map<String, Map<String, ExtensionAttributes>> extensionsAttributes = innerGetAllExtensionsAttributesByResourceType(preparedStmt, variantLayer,
+                    stringInterners.get(networkUuid));
+            for (ExtensionTableMapping extensionTableMapping : mappings.getAllExtensions()) {
+                addTypedExtensions(extensionsAttributes, extensionTableMapping,
+                        getTypedExtensionsByIdentifiableIdsForVariant(connection, extensionTableMapping, networkUuid, variantNum, identifiableIds, variantLayer));
+            }
+            return extensionsAttributes;
+        }
+    }
+
+    private static void addTypedExtensions(Map<String, Map<String, ExtensionAttributes>> extensionsAttributes, ExtensionTableMapping extensionTableMapping,
+                                           Map<String, ExtensionAttributes> typedExtensionsAttributes) {
+        typedExtensionsAttributes.forEach((identifiableId, extensionAttributes) ->
+                extensionsAttributes.computeIfAbsent(identifiableId, k -> new HashMap<>()).put(extensionTableMapping.getExtensionName(), extensionAttributes));
+    }
 
+    /**
+     * Merges the extensions of a partial variant over the ones of its full variant, minus the tombstoned
+     * identifiables and extensions of the partial variant.
+     */
+    private Map<String, Map<String, ExtensionAttributes>> mergeExtensionsAttributes(
+            Connection connection, UUID networkId, int variantNum,
+            Map<String, Map<String, ExtensionAttributes>> extensionsAttributes,
+            Map<String, Map<String, ExtensionAttributes>> partialVariantExtensionsAttributes,
+            Supplier<Set<String>> tombstonedIdsSupplier) throws SQLException {
         // Remove tombstoned identifiables
         Set<String> tombstonedIds = tombstonedIdsSupplier.get();
-        extensionsAttributesByResourceType.keySet().removeIf(tombstonedIds::contains);
+        extensionsAttributes.keySet().removeIf(tombstonedIds::contains);
 
         // Remove tombstoned extensions
         Map<String, Set<String>> tombstonedExtensions = getTombstonedExtensions(connection, networkId, variantNum);
-        extensionsAttributesByResourceType.forEach((identifiableId, extensionsAttributes) -> {
+        extensionsAttributes.forEach((identifiableId, identifiableExtensionsAttributes) -> {
             Set<String> tombstonedExtensionNames = tombstonedExtensions.get(identifiableId);
             if (tombstonedExtensionNames != null) {
-                extensionsAttributes.keySet().removeIf(tombstonedExtensionNames::contains);
+                identifiableExtensionsAttributes.keySet().removeIf(tombstonedExtensionNames::contains);
             }
         });
         // Remove entries with no remaining extensions after removing tombstoned extensions
-        extensionsAttributesByResourceType.entrySet().removeIf(entry -> entry.getValue().isEmpty());
-
-        // Retrieve extensions in partial variant
-        Map<String, Map<String, ExtensionAttributes>> partialVariantExtensionsAttributesByResourceType =
-                getAllExtensionsAttributesByResourceTypeForVariant(connection, networkId, variantNum, type.toString());
+        extensionsAttributes.entrySet().removeIf(entry -> entry.getValue().isEmpty());
 
         // Combine extensions from full and partial variants
-        partialVariantExtensionsAttributesByResourceType.forEach((identifiableId, updatedExtensions) ->
-                extensionsAttributesByResourceType.merge(identifiableId, updatedExtensions, (existingExtensions, newExtensions) -> {
+        partialVariantExtensionsAttributes.forEach((identifiableId, updatedExtensions) ->
+                extensionsAttributes.merge(identifiableId, updatedExtensions, (existingExtensions, newExtensions) -> {
                     // Merge each extension within the nested maps
                     newExtensions.forEach((extensionName, newExtensionAttributes) ->
                             existingExtensions.merge(extensionName, newExtensionAttributes, (oldValue, value) -> value));
                     return existingExtensions;
                 })
         );
-        return extensionsAttributesByResourceType;
+        return extensionsAttributes;
     }
 
     public Map<String, Map<String, ExtensionAttributes>> getAllExtensionsAttributesByResourceTypeForVariant(
             Connection connection, UUID networkUuid, int variantNum, String resourceType) throws SQLException {
+        return getAllExtensionsAttributesByResourceTypeForVariant(connection, networkUuid, variantNum, resourceType, NetworkStoreSqlObserver.REQUESTED_VARIANT_LAYER);
+    }
+
+    private Map<String, Map<String, ExtensionAttributes>> getAllExtensionsAttributesByResourceTypeForVariant(
+            Connection connection, UUID networkUuid, int variantNum, String resourceType, String variantLayer) throws SQLException {
         try (var preparedStmt = connection.prepareStatement(QueryExtensionCatalog.buildGetAllExtensionsAttributesByResourceType())) {
             preparedStmt.setObject(1, networkUuid);
             preparedStmt.setInt(2, variantNum);
             preparedStmt.setString(3, resourceType);
-            return innerGetAllExtensionsAttributesByResourceType(preparedStmt);
+            Map<String, Map<String, ExtensionAttributes>> extensionsAttributes = innerGetAllExtensionsAttributesByResourceType(preparedStmt, variantLayer,
+                    stringInterners.get(networkUuid));
+            for (ExtensionTableMapping extensionTableMapping : mappings.getAllExtensions()) {
+                addTypedExtensions(extensionsAttributes, extensionTableMapping,
+                        getTypedExtensionsForVariant(connection, extensionTableMapping, networkUuid, variantNum, EQUIPMENT_TYPE_COLUMN, resourceType, variantLayer));
+            }
+            return extensionsAttributes;
         }
     }
 
-    private Map<String, Map<String, ExtensionAttributes>> innerGetAllExtensionsAttributesByResourceType(PreparedStatement preparedStmt) throws SQLException {
-        try (ResultSet resultSet = preparedStmt.executeQuery()) {
+    private Map<String, Map<String, ExtensionAttributes>> innerGetAllExtensionsAttributesByResourceType(PreparedStatement preparedStmt, String variantLayer,
+                                                                                                        StringInterner interner) throws SQLException {
+        try (ResultSet resultSet = sqlObserver.executeQuery(preparedStmt, EXTENSION_TABLE, variantLayer)) {
             Map<String, Map<String, ExtensionAttributes>> map = new HashMap<>();
-            while (resultSet.next()) {
-                String equipmentId = resultSet.getString(1);
-                String extensionName = resultSet.getString(2);
-                ExtensionAttributes extensionValue = mapper.readValue(resultSet.getString(3), ExtensionAttributes.class);
-                map.computeIfAbsent(equipmentId, k -> new HashMap<>()).put(extensionName, extensionValue);
+            long bindingStart = System.nanoTime();
+            // Summed over the decoding threads
+            LongAdder jsonDecodeNanos = new LongAdder();
+            List<ExtensionRow<ExtensionAttributes>> rows = rowDecoder.decode(resultSet,
+                rs -> new ExtensionRow<>(interner.intern(rs.getString(1)), interner.intern(rs.getString(2)), rs.getString(3)),
+                row -> {
+                    long decodeStart = System.nanoTime();
+                    ExtensionAttributes extensionValue = mapper.readValue(row.value(), ExtensionAttributes.class);
+                    jsonDecodeNanos.add(System.nanoTime() - decodeStart);
+                    return new ExtensionRow<>(row.identifiableId(), row.extensionName(), extensionValue);
+                });
+            for (ExtensionRow<ExtensionAttributes> row : rows) {
+                map.computeIfAbsent(row.identifiableId(), k -> new HashMap<>()).put(row.extensionName(), row.value());
             }
+            sqlObserver.recordRowBinding(EXTENSION_TABLE, variantLayer, System.nanoTime() - bindingStart, jsonDecodeNanos.sum(), rows.size());
             return map;
-        } catch (JsonProcessingException e) {
-            throw new UncheckedIOException(e);
         }
     }
 
@@ -350,6 +671,16 @@ public class ExtensionHandler {
             }
             preparedStmt.executeUpdate();
         }
+        for (ExtensionTableMapping extensionTableMapping : mappings.getAllExtensions()) {
+            try (var preparedStmt = connection.prepareStatement(QueryExtensionCatalog.buildDeleteTypedExtensionsVariantEquipmentINQuery(extensionTableMapping.getTable(), equipmentIds.size()))) {
+                preparedStmt.setObject(1, networkUuid);
+                preparedStmt.setInt(2, variantNum);
+                for (int i = 0; i < equipmentIds.size(); i++) {
+                    preparedStmt.setString(3 + i, equipmentIds.get(i));
+                }
+                preparedStmt.executeUpdate();
+            }
+        }
     }
 
     public void deleteExtensionsFromIdentifiables(Connection connection, UUID networkUuid, int variantNum, Map<String, Set<String>> identifiableIdsByExtensionName) {
@@ -357,7 +688,23 @@ public class ExtensionHandler {
             String extensionName = entry.getKey();
             Set<String> equipmentIds = entry.getValue();
 
-            if (!equipmentIds.isEmpty()) {
+            if (equipmentIds.isEmpty()) {
+                continue;
+            }
+            ExtensionTableMapping extensionTableMapping = mappings.getExtensionTableMapping(extensionName);
+            if (extensionTableMapping != null) {
+                try (var preparedStmt = connection.prepareStatement(QueryExtensionCatalog.buildDeleteTypedExtensionsVariantEquipmentINQuery(extensionTableMapping.getTable(), equipmentIds.size()))) {
+                    preparedStmt.setObject(1, networkUuid);
+                    preparedStmt.setInt(2, variantNum);
+                    int paramIndex = 3;
+                    for (String equipmentId : equipmentIds) {
+                        preparedStmt.setString(paramIndex++, equipmentId);
+                    }
+                    preparedStmt.executeUpdate();
+                } catch (SQLException e) {
+                    throw new UncheckedSqlException(e);
+                }
+            } else {
                 try (var preparedStmt = connection.prepareStatement(QueryExtensionCatalog.buildDeleteExtensionsVariantByExtensionsNameAndIdentifiableIdsINQuery(equipmentIds.size()))) {
                     preparedStmt.setObject(1, networkUuid);
                     preparedStmt.setInt(2, variantNum);
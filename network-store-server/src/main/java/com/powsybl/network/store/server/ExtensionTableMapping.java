@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import com.powsybl.network.store.model.ExtensionAttributes;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Mapping of an extension stored in a dedicated table, one column per attribute, instead of a JSON value of the
+ * generic extension table. The table is keyed like the extension table, without the extension name column.
+ *
+ * @author agent <agent at local>
+ */
+public class ExtensionTableMapping {
+
+    private final String table;
+
+    private final String extensionName;
+
+    private final Supplier<ExtensionAttributes> attributesSupplier;
+
+    private final Map<String, ColumnMapping> columnsMapping = new LinkedHashMap<>();
+
+    public ExtensionTableMapping(String table, String extensionName, Supplier<ExtensionAttributes> attributesSupplier) {
+        this.table = Objects.requireNonNull(table);
+        this.extensionName = Objects.requireNonNull(extensionName);
+        this.attributesSupplier = Objects.requireNonNull(attributesSupplier);
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getExtensionName() {
+        return extensionName;
+    }
+
+    public Supplier<ExtensionAttributes> getAttributesSupplier() {
+        return attributesSupplier;
+    }
+
+    public Map<String, ColumnMapping> getColumnsMapping() {
+        return columnsMapping;
+    }
+
+    public void addColumnMapping(String name, ColumnMapping columnMapping) {
+        this.columnsMapping.put(name, columnMapping);
+    }
+}
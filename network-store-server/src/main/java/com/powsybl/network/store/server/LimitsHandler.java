@@ -10,21 +10,30 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Lists;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.powsybl.iidm.network.LimitType;
 import com.powsybl.network.store.model.*;
+import com.powsybl.network.store.server.dto.BranchSideLimits;
 import com.powsybl.network.store.server.dto.OperationalLimitsGroupOwnerInfo;
 import com.powsybl.network.store.server.dto.OwnerInfo;
 import com.powsybl.network.store.server.exceptions.UncheckedSqlException;
 import com.powsybl.network.store.server.json.OperationalLimitsGroupAttributesSqlData;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.sql.DataSource;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Array;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.powsybl.network.store.server.QueryCatalog.EQUIPMENT_ID_COLUMN;
@@ -40,16 +49,26 @@ public class LimitsHandler {
     private final DataSource dataSource;
     private final ObjectMapper mapper;
     private final Mappings mappings;
-
-    public LimitsHandler(DataSource dataSource, ObjectMapper mapper, Mappings mappings) {
+    private final NetworkStoreSqlObserver sqlObserver;
+    private final boolean temporaryLimitsArrays;
+    private final ParallelRowDecoder rowDecoder;
+    private final StringInterners stringInterners;
+
+    public LimitsHandler(DataSource dataSource, ObjectMapper mapper, Mappings mappings, NetworkStoreSqlObserver sqlObserver,
+                         @Value("${network-store-server.limits.temporary-limits-arrays:false}") boolean temporaryLimitsArrays,
+                         ParallelRowDecoder rowDecoder, StringInterners stringInterners) {
         this.dataSource = dataSource;
         this.mapper = mapper;
         this.mappings = mappings;
+        this.sqlObserver = sqlObserver;
+        this.temporaryLimitsArrays = temporaryLimitsArrays;
+        this.rowDecoder = rowDecoder;
+        this.stringInterners = stringInterners;
     }
 
     public Map<OwnerInfo, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> getOperationalLimitsGroupsAttributes(
             UUID networkUuid, int variantNum, String columnNameForWhereClause, String valueForWhereClause) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             return PartialVariantUtils.getOperationalLimitsGroupsAttributes(
                 variantNum,
                 getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
@@ -87,7 +106,7 @@ public class LimitsHandler {
 
     public Map<OwnerInfo, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> getOperationalLimitsGroupsWithInClause(
             UUID networkUuid, int variantNum, String columnNameForWhereClause, List<String> valuesForInClause) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             return PartialVariantUtils.getOperationalLimitsGroupsAttributes(
                 variantNum,
                 getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
@@ -106,7 +125,7 @@ public class LimitsHandler {
             preparedStmt.setInt(2, variantNum);
             preparedStmt.setString(3, valueForWhereClause);
 
-            return innerGetOperationalLimitsGroups(preparedStmt, variantNumOverride);
+            return innerGetOperationalLimitsGroups(preparedStmt, networkUuid, variantNumOverride, NetworkStoreSqlObserver.variantLayer(variantNum, variantNumOverride));
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
@@ -124,81 +143,102 @@ public class LimitsHandler {
                 preparedStmt.setString(3 + i, valuesForInClause.get(i));
             }
 
-            return innerGetOperationalLimitsGroups(preparedStmt, variantNumOverride);
+            return innerGetOperationalLimitsGroups(preparedStmt, networkUuid, variantNumOverride, NetworkStoreSqlObserver.variantLayer(variantNum, variantNumOverride));
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
     }
 
-    private Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> innerGetOperationalLimitsGroups(PreparedStatement preparedStmt, int variantNumOverride) throws SQLException {
-        try (ResultSet resultSet = preparedStmt.executeQuery()) {
-            Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> map = new HashMap<>();
-            while (resultSet.next()) {
-                OperationalLimitsGroupOwnerInfo owner = new OperationalLimitsGroupOwnerInfo();
-                // In order, from the QueryCatalog.buildOperationalLimitsGroupQuery SQL query :
-                // equipmentId, equipmentType, networkUuid, variantNum, side, operationallimitgroupid,
-                // current_limits_permanent_limit, current_limits_temporary_limits, current_limits_properties,
-                // apparent_power_limits_permanent_limit, apparent_power_limits_temporary_limits, apparent_power_limits_properties,
-                // active_power_limits_permanent_limit, active_power_limits_temporary_limits, active_power_limits_properties,
-                // properties
-                owner.setEquipmentId(resultSet.getString(1));
-                owner.setEquipmentType(ResourceType.valueOf(resultSet.getString(2)));
-                owner.setNetworkUuid(UUID.fromString(resultSet.getString(3)));
-                owner.setVariantNum(variantNumOverride);
-                owner.setSide(resultSet.getInt(5));
-                String operationalLimitsGroupId = resultSet.getString(6);
-                owner.setOperationalLimitsGroupId(operationalLimitsGroupId);
-
-                OperationalLimitsGroupAttributes operationalLimitsGroupAttributes = new OperationalLimitsGroupAttributes();
-                operationalLimitsGroupAttributes.setId(operationalLimitsGroupId);
-                LimitsAttributes currentLimits = createLimitsAttributes(
-                        resultSet.getObject(7, Double.class),
-                        resultSet.getString(8),
-                        resultSet.getString(9)
-                );
-                operationalLimitsGroupAttributes.setCurrentLimits(currentLimits);
-
-                LimitsAttributes apparentPowerLimits = createLimitsAttributes(
-                        resultSet.getObject(10, Double.class),
-                        resultSet.getString(11),
-                        resultSet.getString(12)
-                );
-                operationalLimitsGroupAttributes.setApparentPowerLimits(apparentPowerLimits);
-
-                LimitsAttributes activePowerLimits = createLimitsAttributes(
-                        resultSet.getObject(13, Double.class),
-                        resultSet.getString(14),
-                        resultSet.getString(15)
-                );
-                operationalLimitsGroupAttributes.setActivePowerLimits(activePowerLimits);
-
-                String propertiesData = resultSet.getString(16);
-                if (!StringUtils.isEmpty(propertiesData)) {
-                    Map<String, String> properties = mapper.readValue(propertiesData, new TypeReference<>() {
-                    });
-                    operationalLimitsGroupAttributes.setProperties(properties);
-                }
+    /**
+     * Operational limits group row, with the raw limits until decoded.
+     */
+    private record OperationalLimitsGroupRow(OperationalLimitsGroupOwnerInfo owner,
+                                             LimitsInterningPool.LimitsKey currentLimits,
+                                             LimitsInterningPool.LimitsKey apparentPowerLimits,
+                                             LimitsInterningPool.LimitsKey activePowerLimits,
+                                             String properties) {
+    }
 
-                map.put(owner, operationalLimitsGroupAttributes);
+    private Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> innerGetOperationalLimitsGroups(PreparedStatement preparedStmt, UUID networkUuid,
+                                                                                                                 int variantNumOverride, String variantLayer) throws SQLException {
+        try (ResultSet resultSet = sqlObserver.executeQuery(preparedStmt, OPERATIONAL_LIMITS_GROUP_TABLE, variantLayer)) {
+            Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> map = new HashMap<>();
+            LimitsInterningPool pool = new LimitsInterningPool();
+            StringInterner interner = stringInterners.get(networkUuid);
+            long bindingStart = System.nanoTime();
+            // Summed over the decoding threads
+            LongAdder jsonDecodeNanos = new LongAdder();
+            List<Map.Entry<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes>> operationalLimitsGroups = rowDecoder.decode(resultSet,
+                rs -> readOperationalLimitsGroupRow(rs, networkUuid, variantNumOverride, interner),
+                row -> {
+                    long decodeStart = System.nanoTime();
+                    OperationalLimitsGroupAttributes operationalLimitsGroupAttributes = new OperationalLimitsGroupAttributes();
+                    operationalLimitsGroupAttributes.setId(row.owner().getOperationalLimitsGroupId());
+                    operationalLimitsGroupAttributes.setCurrentLimits(pool.getLimits(row.currentLimits(), this::decodeLimitsAttributes));
+                    operationalLimitsGroupAttributes.setApparentPowerLimits(pool.getLimits(row.apparentPowerLimits(), this::decodeLimitsAttributes));
+                    operationalLimitsGroupAttributes.setActivePowerLimits(pool.getLimits(row.activePowerLimits(), this::decodeLimitsAttributes));
+                    if (!StringUtils.isEmpty(row.properties())) {
+                        operationalLimitsGroupAttributes.setProperties(pool.getProperties(row.properties(), this::readProperties));
+                    }
+                    jsonDecodeNanos.add(System.nanoTime() - decodeStart);
+                    return Map.entry(row.owner(), operationalLimitsGroupAttributes);
+                });
+            for (Map.Entry<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> operationalLimitsGroup : operationalLimitsGroups) {
+                map.put(operationalLimitsGroup.getKey(), operationalLimitsGroup.getValue());
             }
+            sqlObserver.recordRowBinding(OPERATIONAL_LIMITS_GROUP_TABLE, variantLayer, System.nanoTime() - bindingStart, jsonDecodeNanos.sum(), map.size());
             return map;
-        } catch (JsonProcessingException e) {
-            throw new UncheckedIOException(e);
         }
     }
 
-    private LimitsAttributes createLimitsAttributes(Double permanentLimitData,
+    private static OperationalLimitsGroupRow readOperationalLimitsGroupRow(ResultSet resultSet, UUID networkUuid, int variantNumOverride,
+                                                                           StringInterner interner) throws SQLException {
+        OperationalLimitsGroupOwnerInfo owner = new OperationalLimitsGroupOwnerInfo();
+        // In order, from the QueryCatalog.buildOperationalLimitsGroupQuery SQL query :
+        // equipmentId, equipmentType, networkUuid, variantNum, side, operationallimitgroupid,
+        // current_limits_permanent_limit, current_limits_temporary_limits, current_limits_properties,
+        // apparent_power_limits_permanent_limit, apparent_power_limits_temporary_limits, apparent_power_limits_properties,
+        // active_power_limits_permanent_limit, active_power_limits_temporary_limits, active_power_limits_properties,
+        // properties,
+        // then the temporary limits arrays of the current, apparent power and active power limits
+        owner.setEquipmentId(interner.intern(resultSet.getString(1)));
+        owner.setEquipmentType(ResourceType.valueOf(resultSet.getString(2)));
+        // The network of the query, shared by all the rows
+        owner.setNetworkUuid(networkUuid);
+        owner.setVariantNum(variantNumOverride);
+        owner.setSide(resultSet.getInt(5));
+        owner.setOperationalLimitsGroupId(interner.intern(resultSet.getString(6)));
+        return new OperationalLimitsGroupRow(owner,
+                new LimitsInterningPool.LimitsKey(resultSet.getObject(7, Double.class), resultSet.getString(8), TemporaryLimitsArrays.read(resultSet, 17), resultSet.getString(9)),
+                new LimitsInterningPool.LimitsKey(resultSet.getObject(10, Double.class), resultSet.getString(11), TemporaryLimitsArrays.read(resultSet, 21), resultSet.getString(12)),
+                new LimitsInterningPool.LimitsKey(resultSet.getObject(13, Double.class), resultSet.getString(14), TemporaryLimitsArrays.read(resultSet, 25), resultSet.getString(15)),
+                resultSet.getString(16));
+    }
+
+    private LimitsAttributes createLimitsAttributes(LimitsInterningPool pool,
+                                                    Double permanentLimitData,
                                                     String temporaryLimitsData,
+                                                    TemporaryLimitsArrays temporaryLimitsArraysData,
                                                     String propertiesData) throws JsonProcessingException {
+        return pool.getLimits(new LimitsInterningPool.LimitsKey(permanentLimitData, temporaryLimitsData, temporaryLimitsArraysData, propertiesData),
+                this::decodeLimitsAttributes);
+    }
+
+    private LimitsAttributes decodeLimitsAttributes(LimitsInterningPool.LimitsKey key) throws JsonProcessingException {
+        Double permanentLimitData = key.permanentLimit();
+        String temporaryLimitsData = key.temporaryLimits();
+        TemporaryLimitsArrays temporaryLimitsArraysData = key.temporaryLimitsArrays();
         boolean hasPermanentLimit = permanentLimitData != null && !Double.isNaN(permanentLimitData);
         boolean hasTemporaryLimits = temporaryLimitsData != null && !"[]".equals(temporaryLimitsData);
-        if (!hasPermanentLimit && !hasTemporaryLimits) {
+        if (!hasPermanentLimit && !hasTemporaryLimits && temporaryLimitsArraysData == null) {
             return null;
         }
 
         double permanentLimit = hasPermanentLimit ? permanentLimitData : Double.NaN;
         TreeMap<Integer, TemporaryLimitAttributes> temporaryLimits = null;
-        if (hasTemporaryLimits) {
+        if (temporaryLimitsArraysData != null) {
+            temporaryLimits = temporaryLimitsArraysData.toTemporaryLimits();
+        } else if (hasTemporaryLimits) {
             List<TemporaryLimitAttributes> temporaryLimitsList = mapper.readValue(temporaryLimitsData, new TypeReference<>() { });
             temporaryLimits = new TreeMap<>();
             for (TemporaryLimitAttributes temporaryLimit : temporaryLimitsList) {
@@ -208,13 +248,17 @@ public class LimitsHandler {
         }
 
         Map<String, String> properties = null;
-        if (!StringUtils.isEmpty(propertiesData)) {
-            properties = mapper.readValue(propertiesData, new TypeReference<>() { });
+        if (!StringUtils.isEmpty(key.properties())) {
+            properties = readProperties(key.properties());
         }
 
         return new LimitsAttributes(permanentLimit, temporaryLimits, properties);
     }
 
+    private Map<String, String> readProperties(String propertiesData) throws JsonProcessingException {
+        return mapper.readValue(propertiesData, new TypeReference<>() { });
+    }
+
     protected <T extends LimitHolder & IdentifiableAttributes> Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> getOperationalLimitsGroupsFromEquipments(
             UUID networkUuid, List<Resource<T>> resources) {
         Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> map = new HashMap<>();
@@ -244,35 +288,53 @@ public class LimitsHandler {
         return map;
     }
 
+    /**
+     * Inserts the groups as rows referencing their content by hash. The contents are first inserted in the definitions
+     * table, once per network: the groups of a network sharing the same limits, in the same variant or in several
+     * variants, share the same definition.
+     */
     public void insertOperationalLimitsGroups(Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> operationalLimitsGroups) {
-        try (var connection = dataSource.getConnection()) {
-            try (var preparedStmt = connection.prepareStatement(buildInsertOperationalLimitsGroupQuery())) {
-                List<Object> values = new ArrayList<>(16);
+        try (var connection = RequestConnection.getConnection(dataSource)) {
+            try (var definitionStmt = connection.prepareStatement(buildInsertOperationalLimitsDefinitionQuery(isPostgreSql(connection)));
+                 var preparedStmt = connection.prepareStatement(buildInsertOperationalLimitsGroupQuery())) {
+                List<Object> values = new ArrayList<>(2 + LIMITS_DEFINITION_COLUMNS.size());
                 List<Map.Entry<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes>> list = new ArrayList<>(operationalLimitsGroups.entrySet());
                 for (List<Map.Entry<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes>> subUnit : Lists.partition(list, BATCH_SIZE)) {
+                    // Sorted by network and hash so that concurrent inserts lock the definitions in the same order
+                    Map<UUID, SortedMap<String, List<Object>>> definitions = new TreeMap<>();
+                    List<String> hashes = new ArrayList<>(subUnit.size());
                     for (Map.Entry<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> entry : subUnit) {
+                        List<Object> definitionValues = getLimitsDefinitionValues(entry.getValue());
+                        String hash = hashLimitsDefinition(definitionValues);
+                        hashes.add(hash);
+                        definitions.computeIfAbsent(entry.getKey().getNetworkUuid(), uuid -> new TreeMap<>()).putIfAbsent(hash, definitionValues);
+                    }
+                    for (Map.Entry<UUID, SortedMap<String, List<Object>>> networkDefinitions : definitions.entrySet()) {
+                        for (Map.Entry<String, List<Object>> definition : networkDefinitions.getValue().entrySet()) {
+                            values.clear();
+                            values.add(networkDefinitions.getKey());
+                            values.add(definition.getKey());
+                            addLimitsDefinitionValues(connection, values, definition.getValue());
+                            bindValues(definitionStmt, values, mapper);
+                            definitionStmt.addBatch();
+                        }
+                    }
+                    sqlObserver.executeBatch(definitionStmt, OPERATIONAL_LIMITS_DEFINITION_TABLE);
+
+                    for (int i = 0; i < subUnit.size(); i++) {
+                        OperationalLimitsGroupOwnerInfo owner = subUnit.get(i).getKey();
                         values.clear();
-                        values.add(entry.getKey().getNetworkUuid());
-                        values.add(entry.getKey().getVariantNum());
-                        values.add(entry.getKey().getEquipmentType().toString());
-                        values.add(entry.getKey().getEquipmentId());
-                        values.add(entry.getKey().getOperationalLimitsGroupId());
-                        values.add(entry.getKey().getSide());
-                        OperationalLimitsGroupAttributesSqlData operationalLimitsGroupSqlData = OperationalLimitsGroupAttributesSqlData.of(entry.getValue());
-                        values.add(operationalLimitsGroupSqlData.getCurrentLimitsPermanentLimit());
-                        values.add(operationalLimitsGroupSqlData.getCurrentLimitsTemporaryLimits());
-                        values.add(operationalLimitsGroupSqlData.getCurrentLimitsProperties());
-                        values.add(operationalLimitsGroupSqlData.getApparentPowerLimitsPermanentLimit());
-                        values.add(operationalLimitsGroupSqlData.getApparentPowerLimitsTemporaryLimits());
-                        values.add(operationalLimitsGroupSqlData.getApparentPowerLimitsProperties());
-                        values.add(operationalLimitsGroupSqlData.getActivePowerLimitsPermanentLimit());
-                        values.add(operationalLimitsGroupSqlData.getActivePowerLimitsTemporaryLimits());
-                        values.add(operationalLimitsGroupSqlData.getActivePowerLimitsProperties());
-                        values.add(operationalLimitsGroupSqlData.getProperties());
+                        values.add(owner.getNetworkUuid());
+                        values.add(owner.getVariantNum());
+                        values.add(owner.getEquipmentType().toString());
+                        values.add(owner.getEquipmentId());
+                        values.add(owner.getOperationalLimitsGroupId());
+                        values.add(owner.getSide());
+                        values.add(hashes.get(i));
                         bindValues(preparedStmt, values, mapper);
                         preparedStmt.addBatch();
                     }
-                    preparedStmt.executeBatch();
+                    sqlObserver.executeBatch(preparedStmt, OPERATIONAL_LIMITS_GROUP_TABLE);
                 }
             }
         } catch (SQLException e) {
@@ -280,6 +342,65 @@ public class LimitsHandler {
         }
     }
 
+    /**
+     * Content values of an operational limits group: the values of the {@link QueryLimitsCatalog#LIMITS_DEFINITION_COLUMNS}
+     * without the temporary limits arrays, then the {@link TemporaryLimitsArrays} of the current, apparent power and
+     * active power limits.
+     */
+    private List<Object> getLimitsDefinitionValues(OperationalLimitsGroupAttributes operationalLimitsGroup) {
+        List<Object> values = new ArrayList<>(13);
+        OperationalLimitsGroupAttributesSqlData operationalLimitsGroupSqlData = OperationalLimitsGroupAttributesSqlData.of(operationalLimitsGroup);
+        TemporaryLimitsArrays currentLimitsArrays = toTemporaryLimitsArrays(operationalLimitsGroupSqlData.getCurrentLimitsTemporaryLimits());
+        TemporaryLimitsArrays apparentPowerLimitsArrays = toTemporaryLimitsArrays(operationalLimitsGroupSqlData.getApparentPowerLimitsTemporaryLimits());
+        TemporaryLimitsArrays activePowerLimitsArrays = toTemporaryLimitsArrays(operationalLimitsGroupSqlData.getActivePowerLimitsTemporaryLimits());
+        values.add(operationalLimitsGroupSqlData.getCurrentLimitsPermanentLimit());
+        values.add(currentLimitsArrays == null ? operationalLimitsGroupSqlData.getCurrentLimitsTemporaryLimits() : null);
+        values.add(operationalLimitsGroupSqlData.getCurrentLimitsProperties());
+        values.add(operationalLimitsGroupSqlData.getApparentPowerLimitsPermanentLimit());
+        values.add(apparentPowerLimitsArrays == null ? operationalLimitsGroupSqlData.getApparentPowerLimitsTemporaryLimits() : null);
+        values.add(operationalLimitsGroupSqlData.getApparentPowerLimitsProperties());
+        values.add(operationalLimitsGroupSqlData.getActivePowerLimitsPermanentLimit());
+        values.add(activePowerLimitsArrays == null ? operationalLimitsGroupSqlData.getActivePowerLimitsTemporaryLimits() : null);
+        values.add(operationalLimitsGroupSqlData.getActivePowerLimitsProperties());
+        values.add(operationalLimitsGroupSqlData.getProperties());
+        values.add(currentLimitsArrays);
+        values.add(apparentPowerLimitsArrays);
+        values.add(activePowerLimitsArrays);
+        return values;
+    }
+
+    private static void addLimitsDefinitionValues(Connection connection, List<Object> values, List<Object> definitionValues) throws SQLException {
+        int arraysIndex = definitionValues.size() - LIMITS_COLUMN_PREFIXES.size();
+        values.addAll(definitionValues.subList(0, arraysIndex));
+        for (Object arrays : definitionValues.subList(arraysIndex, definitionValues.size())) {
+            TemporaryLimitsArrays.addValues(connection, values, (TemporaryLimitsArrays) arrays);
+        }
+    }
+
+    /**
+     * SHA-256 of the JSON of the content values of an operational limits group, hex encoded. The JSON of the values
+     * is what is stored, so two groups have the same hash if and only if they store the same content.
+     */
+    private String hashLimitsDefinition(List<Object> definitionValues) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        for (Object value : definitionValues) {
+            try {
+                hasher.putString(mapper.writeValueAsString(value instanceof TemporaryLimitsArrays arrays
+                        ? List.of(arrays.acceptableDurations(), arrays.values(), arrays.names(), arrays.fictitious())
+                        : value), StandardCharsets.UTF_8);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+            // JSON values never contain a raw line feed
+            hasher.putChar('\n');
+        }
+        return hasher.hash().toString();
+    }
+
+    private TemporaryLimitsArrays toTemporaryLimitsArrays(List<TemporaryLimitAttributes> temporaryLimits) {
+        return temporaryLimitsArrays ? TemporaryLimitsArrays.of(temporaryLimits) : null;
+    }
+
     protected <T extends LimitHolder & IdentifiableAttributes> void insertOperationalLimitsGroupsInEquipments(
             UUID networkUuid, List<Resource<T>> equipments, Map<OwnerInfo, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> operationalLimitsGroups) {
         for (Resource<T> equipmentAttributesResource : equipments) {
@@ -302,7 +423,7 @@ public class LimitsHandler {
     }
 
     public void deleteOperationalLimitsGroups(UUID networkUuid, int variantNum, List<String> equipmentIds) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             try (var preparedStmt = connection.prepareStatement(buildDeleteOperationalLimitsGroupVariantEquipmentINQuery(equipmentIds.size()))) {
                 preparedStmt.setObject(1, networkUuid);
                 preparedStmt.setInt(2, variantNum);
@@ -324,7 +445,7 @@ public class LimitsHandler {
                     Collectors.toSet()
                 ));
 
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             for (Map.Entry<Integer, Set<OperationalLimitsGroupOwnerInfo>> variantEntry : operationalLimitGroupsToDeleteByVariant.entrySet()) {
                 Integer variantNum = variantEntry.getKey();
                 Set<OperationalLimitsGroupOwnerInfo> operationalLimitGroupsToDelete = variantEntry.getValue();
@@ -353,10 +474,49 @@ public class LimitsHandler {
         }
     }
 
+    /**
+     * Writes the operational limits groups of the updated equipments which differ from the stored ones, as seen from
+     * the variant of each equipment (i.e. merged with the full variant for a partial variant), so that editing a branch
+     * does not rewrite all its limits. The groups which are not part of the equipments are left untouched, as the
+     * equipments may have been sent without their limits, they are removed with
+     * {@link #deleteAndTombstoneOperationalLimitsGroups}.
+     */
     public <T extends IdentifiableAttributes & LimitHolder> void updateOperationalLimitsGroups(UUID networkUuid, List<Resource<T>> resources) {
         Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> operationalLimitsGroups = getOperationalLimitsGroupsFromEquipments(networkUuid, resources);
-        deleteOperationalLimitsGroups(networkUuid, operationalLimitsGroups.keySet().stream().toList());
-        insertOperationalLimitsGroups(operationalLimitsGroups);
+        if (operationalLimitsGroups.isEmpty()) {
+            return;
+        }
+        Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> changedOperationalLimitsGroups = getChangedOperationalLimitsGroups(networkUuid, operationalLimitsGroups);
+        if (changedOperationalLimitsGroups.isEmpty()) {
+            return;
+        }
+        deleteOperationalLimitsGroups(networkUuid, changedOperationalLimitsGroups.keySet().stream().toList());
+        insertOperationalLimitsGroups(changedOperationalLimitsGroups);
+    }
+
+    private Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> getChangedOperationalLimitsGroups(
+            UUID networkUuid, Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> operationalLimitsGroups) {
+        Map<Integer, List<String>> equipmentIdsByVariant = operationalLimitsGroups.keySet().stream()
+                .collect(Collectors.groupingBy(OperationalLimitsGroupOwnerInfo::getVariantNum,
+                        Collectors.mapping(OperationalLimitsGroupOwnerInfo::getEquipmentId, Collectors.collectingAndThen(Collectors.toSet(), ArrayList::new))));
+        Map<OwnerInfo, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> storedOperationalLimitsGroups = new HashMap<>();
+        equipmentIdsByVariant.forEach((variantNum, equipmentIds) -> {
+            for (List<String> subEquipmentIds : Lists.partition(equipmentIds, BATCH_SIZE)) {
+                storedOperationalLimitsGroups.putAll(getOperationalLimitsGroupsWithInClause(networkUuid, variantNum, EQUIPMENT_ID_COLUMN, subEquipmentIds));
+            }
+        });
+
+        Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> changedOperationalLimitsGroups = new HashMap<>();
+        operationalLimitsGroups.forEach((owner, operationalLimitsGroup) -> {
+            OperationalLimitsGroupAttributes storedOperationalLimitsGroup = storedOperationalLimitsGroups
+                    .getOrDefault(new OwnerInfo(owner.getEquipmentId(), owner.getEquipmentType(), owner.getNetworkUuid(), owner.getVariantNum()), Map.of())
+                    .getOrDefault(owner.getSide(), Map.of())
+                    .get(owner.getOperationalLimitsGroupId());
+            if (!operationalLimitsGroup.equals(storedOperationalLimitsGroup)) {
+                changedOperationalLimitsGroups.put(owner, operationalLimitsGroup);
+            }
+        });
+        return changedOperationalLimitsGroups;
     }
 
     public Optional<OperationalLimitsGroupAttributes> getOperationalLimitsGroupAttributes(UUID networkId, int variantNum,
@@ -382,7 +542,7 @@ public class LimitsHandler {
     }
 
     public void insertTombstonedOperationalLimitsGroups(List<OperationalLimitsGroupOwnerInfo> operationalLimitsGroupInfos, UUID networkUuid, Integer variantNum) throws SQLException {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             Set<OperationalLimitsGroupOwnerInfo> tombstonedOperationalLimitsGroups = getTombstonedOperationalLimitsGroups(connection, networkUuid, variantNum);
             try (var preparedStmt = connection.prepareStatement(QueryLimitsCatalog.buildInsertTombstonedOperationalLimitsGroupQuery())) {
                 for (List<OperationalLimitsGroupOwnerInfo> partition : Lists.partition(operationalLimitsGroupInfos, BATCH_SIZE)) {
@@ -397,7 +557,7 @@ public class LimitsHandler {
                             preparedStmt.addBatch();
                         }
                     }
-                    preparedStmt.executeBatch();
+                    sqlObserver.executeBatch(preparedStmt, TOMBSTONED_OPERATIONAL_LIMITS_GROUP_TABLE);
                 }
             }
         }
@@ -419,11 +579,17 @@ public class LimitsHandler {
         return new ArrayList<>(sideAttributes.values());
     }
 
+    /**
+     * Selected operational limits groups of all the branches of the given type, keyed by branch id.
+     * The selected group ids are resolved in the database by joining the branch table with the limits table,
+     * so that there is only one query per variant layer whatever the number of branches.
+     */
     public Map<String, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> getAllSelectedOperationalLimitsGroupAttributesByResourceType(
             UUID networkId, int variantNum, ResourceType type) {
-        Map<OwnerInfo, SelectedOperationalLimitsGroupIdentifiers> selectedOperationalLimitsGroupIds = getSelectedOperationalLimitsGroupIds(networkId, variantNum, type);
-        Map<OwnerInfo, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> selectedOperationalLimitsGroups =
-                getSelectedOperationalLimitsGroups(networkId, variantNum, selectedOperationalLimitsGroupIds.values().stream().toList());
+        String branchTable = mappings.getTableMapping(type).getTable();
+        Map<OwnerInfo, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> selectedOperationalLimitsGroups = getSelectedOperationalLimitsGroups(
+                networkId, variantNum, partialVariant -> QueryLimitsCatalog.buildSelectedOperationalLimitsGroupJoinQuery(branchTable, partialVariant),
+                this::innerGetOperationalLimitsGroups);
 
         return selectedOperationalLimitsGroups.entrySet().stream()
                 .collect(Collectors.toMap(
@@ -432,116 +598,144 @@ public class LimitsHandler {
                 ));
     }
 
-    private Map<OwnerInfo, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> getSelectedOperationalLimitsGroups(
-            UUID networkId, int variantNum, List<SelectedOperationalLimitsGroupIdentifiers> selectedOperationalLimitsGroups) {
-        if (selectedOperationalLimitsGroups.isEmpty()) {
-            return Collections.emptyMap();
-        }
-        try (var connection = dataSource.getConnection()) {
-            return PartialVariantUtils.getOperationalLimitsGroupsAttributes(
-                    variantNum,
-                    getNetworkAttributes(connection, networkId, variantNum, mappings, mapper).getFullVariantNum(),
-                    () -> getTombstonedIdentifiableIds(connection, networkId, variantNum),
-                    () -> getTombstonedOperationalLimitsGroups(connection, networkId, variantNum),
-                    variant -> getSelectedOperationalLimitsGroupsForVariant(connection, networkId, variant, selectedOperationalLimitsGroups, variantNum));
-        } catch (SQLException e) {
-            throw new UncheckedSqlException(e);
-        }
+    /**
+     * Compact projection of one kind of limits of the selected operational limits groups of all the branches of the
+     * given type. Only the permanent limit and the temporary limits durations and values are read, the properties
+     * of the limits, of the temporary limits and of the groups are ignored.
+     */
+    public List<BranchSideLimits> getSelectedLimitsByResourceType(UUID networkId, int variantNum, ResourceType type, LimitType limitType) {
+        String branchTable = mappings.getTableMapping(type).getTable();
+        String limitsColumnPrefix = switch (limitType) {
+            case CURRENT -> LIMITS_COLUMN_PREFIXES.get(0);
+            case APPARENT_POWER -> LIMITS_COLUMN_PREFIXES.get(1);
+            case ACTIVE_POWER -> LIMITS_COLUMN_PREFIXES.get(2);
+            default -> throw new IllegalArgumentException("Limit type " + limitType + " is not stored in operational limits groups");
+        };
+        Map<OwnerInfo, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> selectedLimits = getSelectedOperationalLimitsGroups(
+                networkId, variantNum, partialVariant -> QueryLimitsCatalog.buildSelectedLimitsJoinQuery(branchTable, partialVariant, limitsColumnPrefix),
+                this::innerGetSelectedLimits);
+
+        List<BranchSideLimits> branchSideLimits = new ArrayList<>();
+        selectedLimits.forEach((owner, limitsBySide) -> limitsBySide.forEach((side, limitsByGroup) ->
+                limitsByGroup.values().forEach(operationalLimitsGroup -> {
+                    // innerGetSelectedLimits always reads the projected limits in the current limits
+                    LimitsAttributes limits = operationalLimitsGroup.getCurrentLimits();
+                    if (limits != null) {
+                        branchSideLimits.add(toBranchSideLimits(owner.getEquipmentId(), side, limits));
+                    }
+                })));
+        branchSideLimits.sort(Comparator.comparing(BranchSideLimits::getBranchId).thenComparingInt(BranchSideLimits::getSide));
+        return branchSideLimits;
     }
 
-    private Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> getSelectedOperationalLimitsGroupsForVariant(
-            Connection connection, UUID networkId, int variantNum, List<SelectedOperationalLimitsGroupIdentifiers> selectedOperationalLimitsGroups, int variantNumOverride) {
-        List<SelectedOperationalLimitsGroupIdentifiers> branchesWithSelectedLimitGroups =
-                selectedOperationalLimitsGroups.stream()
-                        .filter(ids -> ids.operationalLimitsGroupId1() != null || ids.operationalLimitsGroupId2() != null)
-                        .toList();
-
-        if (branchesWithSelectedLimitGroups.isEmpty()) {
-            return Collections.emptyMap();
-        }
-
-        Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> results = new HashMap<>();
-        for (List<SelectedOperationalLimitsGroupIdentifiers> subSelectedOperationalLimitsGroups : Lists.partition(branchesWithSelectedLimitGroups, BATCH_SIZE)) {
-            int conditionCount = subSelectedOperationalLimitsGroups.stream()
-                    .mapToInt(identifiers ->
-                            (identifiers.operationalLimitsGroupId1() != null ? 1 : 0) +
-                            (identifiers.operationalLimitsGroupId2() != null ? 1 : 0))
-                    .sum();
-
-            try (var preparedStmt = connection.prepareStatement(QueryLimitsCatalog.buildSelectedOperationalLimitsGroupINQuery(conditionCount))) {
-                preparedStmt.setObject(1, networkId);
-                preparedStmt.setInt(2, variantNum);
-                setSelectedOperationalLimitsGroupParameters(preparedStmt, subSelectedOperationalLimitsGroups);
-
-                Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> batchResults = innerGetOperationalLimitsGroups(preparedStmt, variantNumOverride);
-                results.putAll(batchResults);
-            } catch (SQLException e) {
-                throw new UncheckedSqlException(e);
+    private static BranchSideLimits toBranchSideLimits(String branchId, int side, LimitsAttributes limits) {
+        Map<Integer, TemporaryLimitAttributes> temporaryLimits = limits.getTemporaryLimits();
+        int size = temporaryLimits != null ? temporaryLimits.size() : 0;
+        int[] acceptableDurations = new int[size];
+        double[] values = new double[size];
+        if (temporaryLimits != null) {
+            int i = 0;
+            for (TemporaryLimitAttributes temporaryLimit : temporaryLimits.values()) {
+                acceptableDurations[i] = temporaryLimit.getAcceptableDuration();
+                values[i] = temporaryLimit.getValue();
+                i++;
             }
         }
-        return results;
+        return new BranchSideLimits(branchId, side, limits.getPermanentLimit(), acceptableDurations, values);
     }
 
-    private static void setSelectedOperationalLimitsGroupParameters(
-            PreparedStatement preparedStmt, List<SelectedOperationalLimitsGroupIdentifiers> selectedOperationalLimitsGroups) throws SQLException {
-        int paramIndex = 3;
-        for (SelectedOperationalLimitsGroupIdentifiers identifiers : selectedOperationalLimitsGroups) {
-            if (identifiers.operationalLimitsGroupId1() != null) {
-                preparedStmt.setString(paramIndex++, identifiers.branchId());
-                preparedStmt.setString(paramIndex++, identifiers.operationalLimitsGroupId1());
-                preparedStmt.setInt(paramIndex++, 1);
-            }
-            if (identifiers.operationalLimitsGroupId2() != null) {
-                preparedStmt.setString(paramIndex++, identifiers.branchId());
-                preparedStmt.setString(paramIndex++, identifiers.operationalLimitsGroupId2());
-                preparedStmt.setInt(paramIndex++, 2);
-            }
-        }
+    @FunctionalInterface
+    private interface OperationalLimitsGroupsReader {
+        Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> read(PreparedStatement preparedStmt, int variantNumOverride,
+                                                                                      String variantLayer) throws SQLException;
     }
 
-    private Map<OwnerInfo, SelectedOperationalLimitsGroupIdentifiers> getSelectedOperationalLimitsGroupIds(UUID networkId, int variantNum, ResourceType type) {
-        try (var connection = dataSource.getConnection()) {
-            return PartialVariantUtils.getExternalAttributes(
+    private Map<OwnerInfo, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> getSelectedOperationalLimitsGroups(
+            UUID networkId, int variantNum, Function<Boolean, String> queryBuilder, OperationalLimitsGroupsReader reader) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
+            int fullVariantNum = getNetworkAttributes(connection, networkId, variantNum, mappings, mapper).getFullVariantNum();
+            String query = queryBuilder.apply(!NetworkAttributes.isFullVariant(fullVariantNum));
+            return PartialVariantUtils.getOperationalLimitsGroupsAttributes(
                     variantNum,
-                    getNetworkAttributes(connection, networkId, variantNum, mappings, mapper).getFullVariantNum(),
+                    fullVariantNum,
                     () -> getTombstonedIdentifiableIds(connection, networkId, variantNum),
-                    Set::of,
-                    variant -> getSelectedOperationalLimitsGroupIdsForVariant(connection, networkId, variant, type, variantNum),
-                    OwnerInfo::getEquipmentId);
+                    () -> getTombstonedOperationalLimitsGroups(connection, networkId, variantNum),
+                    variant -> getSelectedOperationalLimitsGroupsForVariant(connection, networkId, variant, query, variantNum, fullVariantNum, reader));
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
     }
 
-    private Map<OwnerInfo, SelectedOperationalLimitsGroupIdentifiers> getSelectedOperationalLimitsGroupIdsForVariant(
-            Connection connection, UUID networkId, int variantNum, ResourceType type, int variantNumOverride) {
-        try (var preparedStmt = connection.prepareStatement(
-                QueryCatalog.buildGetSelectedOperationalLimitsGroupsQuery(mappings.getTableMapping(type).getTable()))) {
+    private static Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> getSelectedOperationalLimitsGroupsForVariant(
+            Connection connection, UUID networkId, int variantNum, String query, int variantNumOverride, int fullVariantNum,
+            OperationalLimitsGroupsReader reader) {
+        try (var preparedStmt = connection.prepareStatement(query)) {
             preparedStmt.setObject(1, networkId);
             preparedStmt.setInt(2, variantNum);
-            return getInnerSelectedOperationalLimitsGroupIds(networkId, type, preparedStmt, variantNumOverride);
+            // The selected group ids are always the ones of the requested variant
+            preparedStmt.setInt(3, variantNumOverride);
+            if (!NetworkAttributes.isFullVariant(fullVariantNum)) {
+                preparedStmt.setInt(4, fullVariantNum);
+                preparedStmt.setInt(5, variantNumOverride);
+            }
+            return reader.read(preparedStmt, variantNumOverride, NetworkStoreSqlObserver.variantLayer(variantNum, variantNumOverride));
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
     }
 
-    private Map<OwnerInfo, SelectedOperationalLimitsGroupIdentifiers> getInnerSelectedOperationalLimitsGroupIds(
-            UUID networkId, ResourceType type, PreparedStatement preparedStmt, int variantNumOverride) throws SQLException {
-        try (ResultSet resultSet = preparedStmt.executeQuery()) {
-            Map<OwnerInfo, SelectedOperationalLimitsGroupIdentifiers> resources = new HashMap<>();
+    private Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> innerGetSelectedLimits(PreparedStatement preparedStmt, int variantNumOverride,
+                                                                                                        String variantLayer) throws SQLException {
+        try (ResultSet resultSet = sqlObserver.executeQuery(preparedStmt, OPERATIONAL_LIMITS_GROUP_TABLE, variantLayer)) {
+            Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> map = new HashMap<>();
+            LimitsInterningPool pool = new LimitsInterningPool();
+            long bindingStart = System.nanoTime();
+            long jsonDecodeNanos = 0;
             while (resultSet.next()) {
-                String branchId = resultSet.getString(1);
-                String operationalLimitsGroupId1 = resultSet.getString(2);
-                String operationalLimitsGroupId2 = resultSet.getString(3);
-                resources.put(
-                        new OwnerInfo(branchId, type, networkId, variantNumOverride),
-                        new SelectedOperationalLimitsGroupIdentifiers(branchId, operationalLimitsGroupId1, operationalLimitsGroupId2));
+                // In order, from the QueryLimitsCatalog.buildSelectedLimitsJoinQuery SQL query :
+                // equipmentId, equipmentType, networkUuid, variantNum, side, operationallimitgroupid,
+                // permanent_limit, temporary_limits, temporary_limits_durations, temporary_limits_values
+                OperationalLimitsGroupOwnerInfo owner = new OperationalLimitsGroupOwnerInfo();
+                owner.setEquipmentId(resultSet.getString(1));
+                owner.setEquipmentType(ResourceType.valueOf(resultSet.getString(2)));
+                owner.setNetworkUuid(UUID.fromString(resultSet.getString(3)));
+                owner.setVariantNum(variantNumOverride);
+                owner.setSide(resultSet.getInt(5));
+                String operationalLimitsGroupId = resultSet.getString(6);
+                owner.setOperationalLimitsGroupId(operationalLimitsGroupId);
+
+                long decodeStart = System.nanoTime();
+                TemporaryLimitsArrays temporaryLimitsArrays = readDurationsAndValues(resultSet, 9);
+                LimitsAttributes limits = createLimitsAttributes(pool, resultSet.getObject(7, Double.class), resultSet.getString(8), temporaryLimitsArrays, null);
+                jsonDecodeNanos += System.nanoTime() - decodeStart;
+
+                OperationalLimitsGroupAttributes operationalLimitsGroupAttributes = new OperationalLimitsGroupAttributes();
+                operationalLimitsGroupAttributes.setId(operationalLimitsGroupId);
+                operationalLimitsGroupAttributes.setCurrentLimits(limits);
+                map.put(owner, operationalLimitsGroupAttributes);
             }
-            return resources;
+            sqlObserver.recordRowBinding(OPERATIONAL_LIMITS_GROUP_TABLE, variantLayer, System.nanoTime() - bindingStart, jsonDecodeNanos, map.size());
+            return map;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
         }
     }
 
-    private record SelectedOperationalLimitsGroupIdentifiers(String branchId, String operationalLimitsGroupId1,
-                                                     String operationalLimitsGroupId2) {
+    private static TemporaryLimitsArrays readDurationsAndValues(ResultSet resultSet, int firstColumnIndex) throws SQLException {
+        Array acceptableDurationsArray = resultSet.getArray(firstColumnIndex);
+        if (acceptableDurationsArray == null) {
+            return null;
+        }
+        Object[] acceptableDurationsData = (Object[]) acceptableDurationsArray.getArray();
+        Object[] valuesData = (Object[]) resultSet.getArray(firstColumnIndex + 1).getArray();
+        int size = acceptableDurationsData.length;
+        int[] acceptableDurations = new int[size];
+        double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            acceptableDurations[i] = ((Number) acceptableDurationsData[i]).intValue();
+            values[i] = ((Number) valuesData[i]).doubleValue();
+        }
+        // Names and fictitious flags are not part of the projection
+        return new TemporaryLimitsArrays(acceptableDurations, values, new String[size], new boolean[size]);
     }
 }
@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.powsybl.network.store.model.LimitsAttributes;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interning pool of the limits decoded by one limits query: many branches share identical limits sets. They are
+ * stored once per network (see {@link QueryLimitsCatalog#OPERATIONAL_LIMITS_DEFINITION_TABLE}) but a query still
+ * returns them once per operational limits group. Each distinct value is decoded once and the decoded instance is
+ * shared by all the operational limits groups having it, which saves both the decoding time and the heap of the
+ * decoded limits.
+ * <p>
+ * The shared instances must not be modified, which is the case as the server only serializes the limits it reads.
+ * The pool may be used concurrently by the threads decoding the rows of one query: two threads may then decode the
+ * same value, only the first decoded instance is kept.
+ *
+ * @author agent <agent at local>
+ */
+final class LimitsInterningPool {
+
+    @FunctionalInterface
+    interface Decoder<K, V> {
+        V decode(K key) throws JsonProcessingException;
+    }
+
+    /**
+     * Raw column values of one kind of limits.
+     */
+    record LimitsKey(Double permanentLimit, String temporaryLimits, TemporaryLimitsArrays temporaryLimitsArrays, String properties) {
+    }
+
+    private final Map<LimitsKey, LimitsAttributes> limits = new ConcurrentHashMap<>();
+
+    private final Map<String, Map<String, String>> properties = new ConcurrentHashMap<>();
+
+    LimitsAttributes getLimits(LimitsKey key, Decoder<LimitsKey, LimitsAttributes> decoder) throws JsonProcessingException {
+        return intern(limits, key, decoder);
+    }
+
+    Map<String, String> getProperties(String json, Decoder<String, Map<String, String>> decoder) throws JsonProcessingException {
+        return intern(properties, json, decoder);
+    }
+
+    private <K, V> V intern(Map<K, V> pool, K key, Decoder<K, V> decoder) throws JsonProcessingException {
+        V value = pool.get(key);
+        if (value != null) {
+            return value;
+        }
+        value = decoder.decode(key);
+        if (value == null) {
+            return null;
+        }
+        V pooledValue = pool.putIfAbsent(key, value);
+        return pooledValue != null ? pooledValue : value;
+    }
+}
@@ -120,6 +120,14 @@ public class Mappings {
     private final Map<String, TableMapping> mappingByTable = new LinkedHashMap<>();
     private final Map<ResourceType, TableMapping> mappingByType = new LinkedHashMap<>();
 
+    // Extensions read on every load flow, stored in dedicated tables instead of the generic extension table
+    private final ExtensionTableMapping activePowerControlExtensionMappings = new ExtensionTableMapping(QueryExtensionCatalog.ACTIVE_POWER_CONTROL_EXTENSION_TABLE,
+            "activePowerControl", ActivePowerControlAttributes::new);
+
+    private final List<ExtensionTableMapping> allExtensions = List.of(activePowerControlExtensionMappings);
+
+    private final Map<String, ExtensionTableMapping> extensionMappingByName = new LinkedHashMap<>();
+
     private static final String VOLTAGE_LEVEL_ID = "voltageLevelId";
     private static final String VOLTAGE_LEVEL_ID_1 = "voltageLevelId1";
     private static final String VOLTAGE_LEVEL_ID_2 = "voltageLevelId2";
@@ -170,6 +178,27 @@ public class Mappings {
         return tableMapping;
     }
 
+    /**
+     * @return the mapping of the extension if it is stored in a dedicated table, null if it is stored in the generic
+     * extension table
+     */
+    public ExtensionTableMapping getExtensionTableMapping(String extensionName) {
+        return extensionMappingByName.get(Objects.requireNonNull(extensionName));
+    }
+
+    private void createActivePowerControlExtensionMappings() {
+        activePowerControlExtensionMappings.addColumnMapping("participate", new ColumnMapping<>(Boolean.class, ActivePowerControlAttributes::isParticipate,
+                ActivePowerControlAttributes::setParticipate));
+        activePowerControlExtensionMappings.addColumnMapping("droop", new ColumnMapping<>(Double.class, ActivePowerControlAttributes::getDroop,
+                ActivePowerControlAttributes::setDroop));
+        activePowerControlExtensionMappings.addColumnMapping("participationFactor", new ColumnMapping<>(Double.class, ActivePowerControlAttributes::getParticipationFactor,
+                ActivePowerControlAttributes::setParticipationFactor));
+        activePowerControlExtensionMappings.addColumnMapping("minTargetP", new ColumnMapping<>(Double.class, ActivePowerControlAttributes::getMinTargetP,
+                ActivePowerControlAttributes::setMinTargetP));
+        activePowerControlExtensionMappings.addColumnMapping("maxTargetP", new ColumnMapping<>(Double.class, ActivePowerControlAttributes::getMaxTargetP,
+                ActivePowerControlAttributes::setMaxTargetP));
+    }
+
     private void createLineMappings() {
         lineMappings.addColumnMapping("name", new ColumnMapping<>(String.class, LineAttributes::getName, LineAttributes::setName));
         lineMappings.addColumnMapping(VOLTAGE_LEVEL_ID_1, new ColumnMapping<>(String.class, LineAttributes::getVoltageLevelId1, LineAttributes::setVoltageLevelId1));
@@ -1031,5 +1060,9 @@ public class Mappings {
             mappingByTable.put(tableMapping.getTable().toLowerCase(), tableMapping);
             mappingByType.put(tableMapping.getResourceType(), tableMapping);
         }
+        createActivePowerControlExtensionMappings();
+        for (ExtensionTableMapping extensionTableMapping : allExtensions) {
+            extensionMappingByName.put(extensionTableMapping.getExtensionName(), extensionTableMapping);
+        }
     }
 }
@@ -6,25 +6,44 @@
  */
 package com.powsybl.network.store.server;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.Lists;
+import com.powsybl.iidm.network.LimitType;
 import com.powsybl.network.store.model.*;
 import com.powsybl.network.store.model.svattributes.*;
+import com.powsybl.network.store.server.RequestBulkheads.RequestClass;
+import com.powsybl.network.store.server.RequestCoalescer.CollectionReadKey;
+import com.powsybl.network.store.server.dto.BranchSideLimits;
+import com.powsybl.network.store.server.dto.NetworkChanges;
+import com.powsybl.network.store.server.dto.VariantDiff;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
+import static org.springframework.http.MediaType.APPLICATION_OCTET_STREAM_VALUE;
 
 /**
  * @author Geoffroy Jamgotchian <geoffroy.jamgotchian at rte-france.com>
@@ -40,37 +59,145 @@ public class NetworkStoreController {
     @Autowired
     private NetworkStoreObserver networkStoreObserver;
 
-    private <T extends IdentifiableAttributes> ResponseEntity<TopLevelDocument<T>> get(Supplier<Optional<Resource<T>>> f) {
-        Optional<Resource<T>> optResource = networkStoreObserver.observeOne("get", f::get);
+    @Autowired
+    private StorageStatisticsService storageStatisticsService;
+
+    @Autowired
+    private RequestBulkheads bulkheads;
+
+    @Autowired
+    private RequestCoalescer coalescer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${network-store-server.conditional-reads.enabled:true}")
+    private boolean conditionalReads;
+
+    @Value("${network-store-server.change-feed.max-changes:1000}")
+    private int maxChanges;
+
+    private <T extends IdentifiableAttributes> ResponseEntity<TopLevelDocument<T>> get(UUID networkId, int variantNum, ResourceType resourceType,
+                                                                                       Supplier<Optional<Resource<T>>> f) {
+        String version = getResourceVersion(networkId, variantNum, resourceType);
+        if (isNotModified(version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).build();
+        }
+        Optional<Resource<T>> optResource = bulkheads.execute(RequestClass.POINT_READ,
+            () -> networkStoreObserver.observeOne("get", () -> repository.withRequestConnection(f)));
         return optResource
-                .map(resource -> ResponseEntity.ok(TopLevelDocument.of(resource)))
-                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(TopLevelDocument.empty()));
+                .map(resource -> ResponseEntity.ok().eTag(version).body(withDiagnostics(TopLevelDocument.of(resource))))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(withDiagnostics(TopLevelDocument.<T>empty())));
+    }
+
+    /**
+     * @return the version of the resources of the type, used as the ETag of their reads, or null if the read is not
+     * conditional: disabled, the type is not known, or the request collects diagnostics which are specific to it. The
+     * version is read before the resources, so that it is never newer than them.
+     */
+    private String getResourceVersion(UUID networkId, int variantNum, ResourceType resourceType) {
+        if (!conditionalReads || resourceType == null || RequestDiagnostics.current() != null) {
+            return null;
+        }
+        return readResourceVersion(networkId, variantNum, resourceType);
+    }
+
+    private String readResourceVersion(UUID networkId, int variantNum, ResourceType resourceType) {
+        return bulkheads.execute(RequestClass.POINT_READ, () -> repository.getResourceVersion(networkId, variantNum, resourceType));
+    }
+
+    private static boolean isNotModified(String version) {
+        if (version == null || !(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        return matchesETag(attributes.getRequest().getHeader(HttpHeaders.IF_NONE_MATCH), version);
+    }
+
+    /**
+     * @return true if an entity tag of the If-None-Match header is the version, compared weakly.
+     */
+    static boolean matchesETag(String ifNoneMatch, String version) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String eTag = "\"" + version + "\"";
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = StringUtils.removeStart(candidate.trim(), "W/");
+            if (tag.equals("*") || tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T extends IdentifiableAttributes> TopLevelDocument<T> withDiagnostics(TopLevelDocument<T> document) {
+        RequestDiagnostics.ifActive(diagnostics -> diagnostics.addTo(document));
+        return document;
     }
 
     private ResponseEntity<ExtensionAttributesTopLevelDocument> getExtensionAttributes(Supplier<Optional<ExtensionAttributes>> f) {
-        return f.get()
+        return bulkheads.execute(RequestClass.POINT_READ, () -> repository.withRequestConnection(f))
                 .map(resource -> ResponseEntity.ok(ExtensionAttributesTopLevelDocument.of(resource)))
                 .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(ExtensionAttributesTopLevelDocument.empty()));
     }
 
     private ResponseEntity<OperationalLimitsGroupAttributesTopLevelDocument> getOperationalLimitsGroupAttributes(Supplier<Optional<OperationalLimitsGroupAttributes>> f) {
-        return f.get()
+        return bulkheads.execute(RequestClass.POINT_READ, () -> repository.withRequestConnection(f))
             .map(resource -> ResponseEntity.ok(OperationalLimitsGroupAttributesTopLevelDocument.of(resource)))
             .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(OperationalLimitsGroupAttributesTopLevelDocument.empty()));
     }
 
     private <T extends IdentifiableAttributes> ResponseEntity<Void> createAll(Consumer<List<Resource<T>>> f, List<Resource<T>> resources, ResourceType resourceType) {
-        networkStoreObserver.observe("create.all", resourceType, resources.size(), () -> f.accept(resources));
+        bulkheads.run(RequestClass.WRITE, () -> networkStoreObserver.observe("create.all", resourceType, resources.size(),
+            () -> repository.withWriteTransaction(() -> f.accept(resources))));
         return ResponseEntity.status(HttpStatus.CREATED).build();
     }
 
     private <T extends Attributes> ResponseEntity<Void> updateAll(Consumer<List<Resource<T>>> f, List<Resource<T>> resources, ResourceType resourceType) {
-        networkStoreObserver.observe("update.all", resourceType, resources.size(), () -> f.accept(resources));
+        bulkheads.run(RequestClass.WRITE, () -> networkStoreObserver.observe("update.all", resourceType, resources.size(),
+            () -> repository.withWriteTransaction(() -> f.accept(resources))));
         return ResponseEntity.status(HttpStatus.OK).build();
     }
 
-    private <T extends IdentifiableAttributes> ResponseEntity<TopLevelDocument<T>> getAll(Supplier<List<Resource<T>>> resourcesSupplier, Integer limit, ResourceType resourceType) {
-        List<Resource<T>> resources = networkStoreObserver.observe("get.all", resourceType, resourcesSupplier::get);
+    private <T extends IdentifiableAttributes> ResponseEntity<TopLevelDocument<T>> getAll(Supplier<List<Resource<T>>> resourcesSupplier, Integer limit, ResourceType resourceType,
+                                                                                           CollectionReadKey key) {
+        return getAll(resourcesSupplier, limit, null, null, resourceType, key);
+    }
+
+    /**
+     * With after or pageSize, only the page of the resources following the id after, ordered by id, is read: its meta
+     * "after" gives the id to read the next page from, unless it is the last one.
+     */
+    private <T extends IdentifiableAttributes> ResponseEntity<TopLevelDocument<T>> getAll(Supplier<List<Resource<T>>> resourcesSupplier, Integer limit,
+                                                                                           String after, Integer pageSize, ResourceType resourceType,
+                                                                                           CollectionReadKey key) {
+        if (pageSize != null && pageSize < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        String version = getResourceVersion(key.networkUuid(), key.variantNum(), resourceType);
+        if (isNotModified(version)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(version).build();
+        }
+        if (after != null || pageSize != null) {
+            // The ids of the page are bound in the in clauses reading its external attributes
+            int size = pageSize != null ? Math.min(pageSize, Utils.BATCH_SIZE) : Utils.BATCH_SIZE;
+            List<Resource<T>> page = bulkheads.execute(RequestClass.BULK_READ, () -> networkStoreObserver.observe("get.page", resourceType,
+                () -> repository.withRequestConnection(() -> repository.<T>getIdentifiablesPage(key.networkUuid(), key.variantNum(), resourceType, after, size))));
+            TopLevelDocument<T> document = TopLevelDocument.of(page);
+            if (page.size() == size) {
+                document.addMeta("after", page.get(page.size() - 1).getId());
+            }
+            return ResponseEntity.ok()
+                    .eTag(version)
+                    .body(withDiagnostics(document));
+        }
+        // Only the reads of the same version of the resources are coalesced, a read started before a write may not see it
+        String readVersion = version == null && coalescer.isEnabled() && resourceType != null && RequestDiagnostics.current() == null
+                ? readResourceVersion(key.networkUuid(), key.variantNum(), resourceType)
+                : version;
+        // Identical reads coalesced with this one do not take a permit while waiting for it
+        List<Resource<T>> resources = coalescer.execute(key.atVersion(readVersion), () -> bulkheads.execute(RequestClass.BULK_READ,
+            () -> networkStoreObserver.observe("get.all", resourceType, () -> repository.withRequestConnection(resourcesSupplier))));
         List<Resource<T>> limitedResources;
         if (limit == null || resources.size() < limit) {
             limitedResources = resources;
@@ -80,16 +207,18 @@ public class NetworkStoreController {
         TopLevelDocument<T> document = TopLevelDocument.of(limitedResources);
         document.addMeta("totalCount", Integer.toString(resources.size()));
         return ResponseEntity.ok()
-                .body(document);
+                .eTag(version)
+                .body(withDiagnostics(document));
     }
 
     private ResponseEntity<Void> clone(Runnable r, int numberOfVariants) {
-        networkStoreObserver.observeClone("clone", numberOfVariants, r::run);
+        bulkheads.run(RequestClass.CLONE_DELETE, () -> networkStoreObserver.observeClone("clone", numberOfVariants, () -> repository.withWriteTransaction(r)));
         return ResponseEntity.ok().build();
     }
 
     private ResponseEntity<Void> removeAll(Consumer<List<String>> c, List<String> ids, ResourceType resourceType) {
-        networkStoreObserver.observe("remove.all", resourceType, ids.size(), () -> c.accept(ids));
+        bulkheads.run(RequestClass.WRITE, () -> networkStoreObserver.observe("remove.all", resourceType, ids.size(),
+            () -> repository.withWriteTransaction(() -> c.accept(ids))));
         return ResponseEntity.ok().build();
     }
 
@@ -99,14 +228,14 @@ public class NetworkStoreController {
     @Operation(summary = "Get all networks infos")
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get all networks infos"))
     public List<NetworkInfos> getNetworksInfos() {
-        return repository.getNetworksInfos();
+        return bulkheads.execute(RequestClass.POINT_READ, repository::getNetworksInfos);
     }
 
     @GetMapping(value = "/{networkId}", produces = APPLICATION_JSON_VALUE)
     @Operation(summary = "Get variants infos for a given network")
     @ApiResponses(value = @ApiResponse(responseCode = "200", description = "Successfully get variants infos"))
     public List<VariantInfos> getNetworks(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID id) {
-        return repository.getVariantsInfos(id);
+        return bulkheads.execute(RequestClass.POINT_READ, () -> repository.getVariantsInfos(id));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}", produces = APPLICATION_JSON_VALUE)
@@ -117,7 +246,7 @@ public class NetworkStoreController {
     })
     public ResponseEntity<TopLevelDocument<NetworkAttributes>> getNetwork(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID id,
                                                                           @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum) {
-        return get(() -> repository.getNetwork(id, variantNum));
+        return get(id, variantNum, ResourceType.NETWORK, () -> repository.getNetwork(id, variantNum));
     }
 
     @PostMapping(consumes = APPLICATION_JSON_VALUE)
@@ -134,7 +263,8 @@ public class NetworkStoreController {
         @ApiResponse(responseCode = "404", description = "Network has not been found")
         })
     public ResponseEntity<Void> deleteNetwork(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID id) {
-        repository.deleteNetwork(id);
+        bulkheads.run(RequestClass.CLONE_DELETE, () -> repository.withWriteTransaction(() -> repository.deleteNetwork(id)));
+        storageStatisticsService.invalidate(id);
         return ResponseEntity.ok().build();
     }
 
@@ -146,7 +276,8 @@ public class NetworkStoreController {
     })
     public ResponseEntity<Void> deleteNetwork(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID id,
                                               @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum) {
-        repository.deleteNetwork(id, variantNum);
+        bulkheads.run(RequestClass.CLONE_DELETE, () -> repository.withWriteTransaction(() -> repository.deleteNetwork(id, variantNum)));
+        storageStatisticsService.invalidate(id, variantNum);
         return ResponseEntity.ok().build();
     }
 
@@ -166,7 +297,9 @@ public class NetworkStoreController {
                                                     @Parameter(description = "Source variant number", required = true) @PathVariable("sourceVariantNum") int sourceVariantNum,
                                                     @Parameter(description = "Target variant number", required = true) @PathVariable("targetVariantNum") int targetVariantNum,
                                                     @Parameter(description = "Target variant id") @RequestParam(required = false) String targetVariantId) {
-        return clone(() -> repository.cloneNetworkVariant(networkId, sourceVariantNum, targetVariantNum, targetVariantId), 1);
+        ResponseEntity<Void> response = clone(() -> repository.cloneNetworkVariant(networkId, sourceVariantNum, targetVariantNum, targetVariantId), 1);
+        storageStatisticsService.invalidate(networkId, targetVariantNum);
+        return response;
     }
 
     @PostMapping(value = "/{targetNetworkUuid}")
@@ -175,8 +308,85 @@ public class NetworkStoreController {
     public ResponseEntity<Void> cloneNetwork(@Parameter(description = "Target network ID", required = true) @PathVariable("targetNetworkUuid") UUID targetNetworkUuid,
                                              @Parameter(description = "Source network ID", required = true) @RequestParam("duplicateFrom") UUID sourceNetworkId,
                                              @Parameter(description = "List of target variant ID", required = true) @RequestParam("targetVariantIds") List<String> targetVariantIds) {
-        return clone(() -> repository.cloneNetwork(targetNetworkUuid, sourceNetworkId, targetVariantIds), targetVariantIds.size());
+        ResponseEntity<Void> response = clone(() -> repository.cloneNetwork(targetNetworkUuid, sourceNetworkId, targetVariantIds), targetVariantIds.size());
+        storageStatisticsService.invalidate(targetNetworkUuid);
+        return response;
+    }
+
+    @PostMapping(value = "/{networkId}/{variantNum}/compact")
+    @Operation(summary = "Compact a partial network variant into a full variant")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully compact the network variant"),
+        @ApiResponse(responseCode = "204", description = "The network variant is already a full variant")
+    })
+    public ResponseEntity<Void> compactNetworkVariant(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
+                                                      @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum) {
+        boolean compacted = bulkheads.execute(RequestClass.CLONE_DELETE, () -> repository.compactVariant(networkId, variantNum));
+        storageStatisticsService.invalidate(networkId, variantNum);
+        return compacted ? ResponseEntity.ok().build() : ResponseEntity.noContent().build();
+    }
+
+    @PostMapping(value = "/{networkId}/{variantNum}/rebase")
+    @Operation(summary = "Rebase a partial network variant onto another full variant")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully rebase the network variant"),
+        @ApiResponse(responseCode = "204", description = "The network variant is already built on the full variant")
+    })
+    public ResponseEntity<Void> rebaseNetworkVariant(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
+                                                     @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
+                                                     @Parameter(description = "Number of the full variant to rebase onto", required = true) @RequestParam("fullVariantNum") int fullVariantNum) {
+        boolean rebased = bulkheads.execute(RequestClass.CLONE_DELETE, () -> repository.rebaseVariant(networkId, variantNum, fullVariantNum));
+        storageStatisticsService.invalidate(networkId, variantNum);
+        return rebased ? ResponseEntity.ok().build() : ResponseEntity.noContent().build();
+    }
 
+    @GetMapping(value = "/{networkId}/{variantNum}/changes", produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the changes of a network variant since a token")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully get the changes, or only the current token without since token"),
+        @ApiResponse(responseCode = "410", description = "The changes since the token are no longer available, the network variant has to be read again")
+    })
+    public ResponseEntity<NetworkChanges> getNetworkChanges(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
+                                                            @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
+                                                            @Parameter(description = "Token returned by the previous call") @RequestParam(required = false) String since) {
+        return bulkheads.execute(RequestClass.BULK_READ, () -> repository.withRequestConnection(() -> repository.getChanges(networkId, variantNum, since, maxChanges)))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE).build());
+    }
+
+    @GetMapping(value = "/{networkId}/diff", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Get the identifiables which differ between two variants of a network, streamed as one JSON object per line")
+    @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get the differences"))
+    public void getVariantsDiff(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
+                                @Parameter(description = "Variant number to compare from", required = true) @RequestParam("from") int fromVariantNum,
+                                @Parameter(description = "Variant number to compare to", required = true) @RequestParam("to") int toVariantNum,
+                                HttpServletResponse response) throws IOException {
+        // Only the ids of the identifiables to compare are kept for the whole request. They are compared by batches,
+        // each one read within its own permit and connection and written once both are released, so that a slow client
+        // holds neither. A missing variant still answers an error, a failure after the first batch aborts the response.
+        Map<ResourceType, Set<String>> idsByType = bulkheads.execute(RequestClass.BULK_READ,
+            () -> repository.withRequestConnection(() -> repository.getVariantsDiffIds(networkId, fromVariantNum, toVariantNum)));
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream outputStream = response.getOutputStream();
+        for (Map.Entry<ResourceType, Set<String>> ids : idsByType.entrySet()) {
+            for (List<String> idsPartition : Lists.partition(new ArrayList<>(ids.getValue()), Utils.BATCH_SIZE)) {
+                List<VariantDiff> diffs = bulkheads.execute(RequestClass.BULK_READ, () -> repository.withRequestConnection(
+                    () -> repository.getVariantsDiff(networkId, fromVariantNum, toVariantNum, ids.getKey(), idsPartition)));
+                for (VariantDiff diff : diffs) {
+                    writeLine(outputStream, diff);
+                }
+                outputStream.flush();
+            }
+        }
+    }
+
+    private void writeLine(OutputStream outputStream, Object value) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(value));
+            outputStream.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     @PutMapping(value = "/{networkId}/{sourceVariantId}/toId/{targetVariantId}")
@@ -200,8 +410,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get substation list"))
     public ResponseEntity<TopLevelDocument<SubstationAttributes>> getSubstations(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                  @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-                                                                                 @Parameter(description = "Max number of substation to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getSubstations(networkId, variantNum), limit, ResourceType.SUBSTATION);
+                                                                                 @Parameter(description = "Max number of substation to get") @RequestParam(required = false) Integer limit,
+                                                                                 @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+                                                                                 @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getSubstations(networkId, variantNum), limit, after, pageSize, ResourceType.SUBSTATION,
+            new CollectionReadKey(networkId, variantNum, ResourceType.SUBSTATION, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/substations/{substationId}", produces = APPLICATION_JSON_VALUE)
@@ -213,7 +426,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<SubstationAttributes>> getSubstation(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                 @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                                                                 @Parameter(description = "Substation ID", required = true) @PathVariable("substationId") String substationId) {
-        return get(() -> repository.getSubstation(networkId, variantNum, substationId));
+        return get(networkId, variantNum, ResourceType.SUBSTATION, () -> repository.getSubstation(networkId, variantNum, substationId));
     }
 
     @PostMapping(value = "/{networkId}/substations")
@@ -252,8 +465,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get voltage level list"))
     public ResponseEntity<TopLevelDocument<VoltageLevelAttributes>> getVoltageLevels(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                      @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-                                                                                     @Parameter(description = "Max number of voltage level to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getVoltageLevels(networkId, variantNum), limit, ResourceType.VOLTAGE_LEVEL);
+                                                                                     @Parameter(description = "Max number of voltage level to get") @RequestParam(required = false) Integer limit,
+                                                                                     @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+                                                                                     @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getVoltageLevels(networkId, variantNum), limit, after, pageSize, ResourceType.VOLTAGE_LEVEL,
+            new CollectionReadKey(networkId, variantNum, ResourceType.VOLTAGE_LEVEL, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/voltage-levels/{voltageLevelId}", produces = APPLICATION_JSON_VALUE)
@@ -265,7 +481,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<VoltageLevelAttributes>> getVoltageLevel(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                     @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Voltage level ID", required = true) @PathVariable("voltageLevelId") String voltageLevelId) {
-        return get(() -> repository.getVoltageLevel(networkId, variantNum, voltageLevelId));
+        return get(networkId, variantNum, ResourceType.VOLTAGE_LEVEL, () -> repository.getVoltageLevel(networkId, variantNum, voltageLevelId));
     }
 
     @PostMapping(value = "/{networkId}/voltage-levels")
@@ -312,7 +528,8 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<VoltageLevelAttributes>> getVoltageLevels(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                      @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                                                                      @Parameter(description = "Substation ID", required = true) @PathVariable("substationId") String substationId) {
-        return getAll(() -> repository.getVoltageLevels(networkId, variantNum, substationId), null, ResourceType.VOLTAGE_LEVEL);
+        return getAll(() -> repository.getVoltageLevels(networkId, variantNum, substationId), null, ResourceType.VOLTAGE_LEVEL,
+            new CollectionReadKey(networkId, variantNum, ResourceType.VOLTAGE_LEVEL, substationId));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/voltage-levels/{voltageLevelId}/busbar-sections", produces = APPLICATION_JSON_VALUE)
@@ -321,7 +538,8 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<BusbarSectionAttributes>> getVoltageLevelBusbarSections(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Voltage level ID", required = true) @PathVariable("voltageLevelId") String voltageLevelId) {
-        return getAll(() -> repository.getVoltageLevelBusbarSections(networkId, variantNum, voltageLevelId), null, ResourceType.BUSBAR_SECTION);
+        return getAll(() -> repository.getVoltageLevelBusbarSections(networkId, variantNum, voltageLevelId), null, ResourceType.BUSBAR_SECTION,
+            new CollectionReadKey(networkId, variantNum, ResourceType.BUSBAR_SECTION, voltageLevelId));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/voltage-levels/{voltageLevelId}/switches", produces = APPLICATION_JSON_VALUE)
@@ -330,7 +548,8 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<SwitchAttributes>> getVoltageLevelSwitches(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                       @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Voltage level ID", required = true) @PathVariable("voltageLevelId") String voltageLevelId) {
-        return getAll(() -> repository.getVoltageLevelSwitches(networkId, variantNum, voltageLevelId), null, ResourceType.SWITCH);
+        return getAll(() -> repository.getVoltageLevelSwitches(networkId, variantNum, voltageLevelId), null, ResourceType.SWITCH,
+            new CollectionReadKey(networkId, variantNum, ResourceType.SWITCH, voltageLevelId));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/voltage-levels/{voltageLevelId}/generators", produces = APPLICATION_JSON_VALUE)
@@ -339,7 +558,8 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<GeneratorAttributes>> getVoltageLevelGenerators(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                            @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Voltage level ID", required = true) @PathVariable("voltageLevelId") String voltageLevelId) {
-        return getAll(() -> repository.getVoltageLevelGenerators(networkId, variantNum, voltageLevelId), null, ResourceType.GENERATOR);
+        return getAll(() -> repository.getVoltageLevelGenerators(networkId, variantNum, voltageLevelId), null, ResourceType.GENERATOR,
+            new CollectionReadKey(networkId, variantNum, ResourceType.GENERATOR, voltageLevelId));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/voltage-levels/{voltageLevelId}/batteries", produces = APPLICATION_JSON_VALUE)
@@ -348,7 +568,8 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<BatteryAttributes>> getVoltageLevelBatteries(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                         @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Voltage level ID", required = true) @PathVariable("voltageLevelId") String voltageLevelId) {
-        return getAll(() -> repository.getVoltageLevelBatteries(networkId, variantNum, voltageLevelId), null, ResourceType.BATTERY);
+        return getAll(() -> repository.getVoltageLevelBatteries(networkId, variantNum, voltageLevelId), null, ResourceType.BATTERY,
+            new CollectionReadKey(networkId, variantNum, ResourceType.BATTERY, voltageLevelId));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/voltage-levels/{voltageLevelId}/loads", produces = APPLICATION_JSON_VALUE)
@@ -357,7 +578,8 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<LoadAttributes>> getVoltageLevelLoads(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                  @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                                                                  @Parameter(description = "Voltage level ID", required = true) @PathVariable("voltageLevelId") String voltageLevelId) {
-        return getAll(() -> repository.getVoltageLevelLoads(networkId, variantNum, voltageLevelId), null, ResourceType.LOAD);
+        return getAll(() -> repository.getVoltageLevelLoads(networkId, variantNum, voltageLevelId), null, ResourceType.LOAD,
+            new CollectionReadKey(networkId, variantNum, ResourceType.LOAD, voltageLevelId));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/voltage-levels/{voltageLevelId}/shunt-compensators", produces = APPLICATION_JSON_VALUE)
@@ -367,7 +589,8 @@ public class NetworkStoreController {
             @Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Voltage level ID", required = true) @PathVariable("voltageLevelId") String voltageLevelId) {
-        return getAll(() -> repository.getVoltageLevelShuntCompensators(networkId, variantNum, voltageLevelId), null, ResourceType.SHUNT_COMPENSATOR);
+        return getAll(() -> repository.getVoltageLevelShuntCompensators(networkId, variantNum, voltageLevelId), null, ResourceType.SHUNT_COMPENSATOR,
+            new CollectionReadKey(networkId, variantNum, ResourceType.SHUNT_COMPENSATOR, voltageLevelId));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/voltage-levels/{voltageLevelId}/vsc-converter-stations", produces = APPLICATION_JSON_VALUE)
@@ -377,7 +600,8 @@ public class NetworkStoreController {
             @Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Voltage level ID", required = true) @PathVariable("voltageLevelId") String voltageLevelId) {
-        return getAll(() -> repository.getVoltageLevelVscConverterStations(networkId, variantNum, voltageLevelId), null, ResourceType.VSC_CONVERTER_STATION);
+        return getAll(() -> repository.getVoltageLevelVscConverterStations(networkId, variantNum, voltageLevelId), null, ResourceType.VSC_CONVERTER_STATION,
+            new CollectionReadKey(networkId, variantNum, ResourceType.VSC_CONVERTER_STATION, voltageLevelId));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/voltage-levels/{voltageLevelId}/lcc-converter-stations", produces = APPLICATION_JSON_VALUE)
@@ -387,7 +611,8 @@ public class NetworkStoreController {
             @Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Voltage level ID", required = true) @PathVariable("voltageLevelId") String voltageLevelId) {
-        return getAll(() -> repository.getVoltageLevelLccConverterStations(networkId, variantNum, voltageLevelId), null, ResourceType.LCC_CONVERTER_STATION);
+        return getAll(() -> repository.getVoltageLevelLccConverterStations(networkId, variantNum, voltageLevelId), null, ResourceType.LCC_CONVERTER_STATION,
+            new CollectionReadKey(networkId, variantNum, ResourceType.LCC_CONVERTER_STATION, voltageLevelId));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/voltage-levels/{voltageLevelId}/static-var-compensators", produces = APPLICATION_JSON_VALUE)
@@ -397,7 +622,8 @@ public class NetworkStoreController {
             @Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Voltage level ID", required = true) @PathVariable("voltageLevelId") String voltageLevelId) {
-        return getAll(() -> repository.getVoltageLevelStaticVarCompensators(networkId, variantNum, voltageLevelId), null, ResourceType.STATIC_VAR_COMPENSATOR);
+        return getAll(() -> repository.getVoltageLevelStaticVarCompensators(networkId, variantNum, voltageLevelId), null, ResourceType.STATIC_VAR_COMPENSATOR,
+            new CollectionReadKey(networkId, variantNum, ResourceType.STATIC_VAR_COMPENSATOR, voltageLevelId));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/voltage-levels/{voltageLevelId}/2-windings-transformers", produces = APPLICATION_JSON_VALUE)
@@ -407,7 +633,8 @@ public class NetworkStoreController {
             @Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Voltage level ID", required = true) @PathVariable("voltageLevelId") String voltageLevelId) {
-        return getAll(() -> repository.getVoltageLevelTwoWindingsTransformers(networkId, variantNum, voltageLevelId), null, ResourceType.TWO_WINDINGS_TRANSFORMER);
+        return getAll(() -> repository.getVoltageLevelTwoWindingsTransformers(networkId, variantNum, voltageLevelId), null, ResourceType.TWO_WINDINGS_TRANSFORMER,
+            new CollectionReadKey(networkId, variantNum, ResourceType.TWO_WINDINGS_TRANSFORMER, voltageLevelId));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/voltage-levels/{voltageLevelId}/3-windings-transformers", produces = APPLICATION_JSON_VALUE)
@@ -417,7 +644,8 @@ public class NetworkStoreController {
             @Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Voltage level ID", required = true) @PathVariable("voltageLevelId") String voltageLevelId) {
-        return getAll(() -> repository.getVoltageLevelThreeWindingsTransformers(networkId, variantNum, voltageLevelId), null, ResourceType.THREE_WINDINGS_TRANSFORMER);
+        return getAll(() -> repository.getVoltageLevelThreeWindingsTransformers(networkId, variantNum, voltageLevelId), null, ResourceType.THREE_WINDINGS_TRANSFORMER,
+            new CollectionReadKey(networkId, variantNum, ResourceType.THREE_WINDINGS_TRANSFORMER, voltageLevelId));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/voltage-levels/{voltageLevelId}/lines", produces = APPLICATION_JSON_VALUE)
@@ -426,7 +654,8 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<LineAttributes>> getVoltageLevelLines(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                  @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                                                                  @Parameter(description = "Voltage level ID", required = true) @PathVariable("voltageLevelId") String voltageLevelId) {
-        return getAll(() -> repository.getVoltageLevelLines(networkId, variantNum, voltageLevelId), null, ResourceType.LINE);
+        return getAll(() -> repository.getVoltageLevelLines(networkId, variantNum, voltageLevelId), null, ResourceType.LINE,
+            new CollectionReadKey(networkId, variantNum, ResourceType.LINE, voltageLevelId));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/voltage-levels/{voltageLevelId}/boundary-lines", produces = APPLICATION_JSON_VALUE)
@@ -435,7 +664,8 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<BoundaryLineAttributes>> getVoltageLevelBoundaryLines(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                                  @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Voltage level ID", required = true) @PathVariable("voltageLevelId") String voltageLevelId) {
-        return getAll(() -> repository.getVoltageLevelBoundaryLines(networkId, variantNum, voltageLevelId), null, ResourceType.BOUNDARY_LINE);
+        return getAll(() -> repository.getVoltageLevelBoundaryLines(networkId, variantNum, voltageLevelId), null, ResourceType.BOUNDARY_LINE,
+            new CollectionReadKey(networkId, variantNum, ResourceType.BOUNDARY_LINE, voltageLevelId));
     }
 
     // grounds
@@ -446,7 +676,8 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<GroundAttributes>> getVoltageLevelGrounds(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                      @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Voltage level ID", required = true) @PathVariable("voltageLevelId") String voltageLevelId) {
-        return getAll(() -> repository.getVoltageLevelGrounds(networkId, variantNum, voltageLevelId), null, ResourceType.GROUND);
+        return getAll(() -> repository.getVoltageLevelGrounds(networkId, variantNum, voltageLevelId), null, ResourceType.GROUND,
+            new CollectionReadKey(networkId, variantNum, ResourceType.GROUND, voltageLevelId));
     }
 
     // generator
@@ -464,8 +695,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get generator list"))
     public ResponseEntity<TopLevelDocument<GeneratorAttributes>> getGenerators(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-                                                                               @Parameter(description = "Max number of generator to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getGenerators(networkId, variantNum), limit, ResourceType.GENERATOR);
+                                                                               @Parameter(description = "Max number of generator to get") @RequestParam(required = false) Integer limit,
+                                                                               @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+                                                                               @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getGenerators(networkId, variantNum), limit, after, pageSize, ResourceType.GENERATOR,
+            new CollectionReadKey(networkId, variantNum, ResourceType.GENERATOR, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/generators/{generatorId}", produces = APPLICATION_JSON_VALUE)
@@ -477,7 +711,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<GeneratorAttributes>> getGenerator(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                               @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                                                               @Parameter(description = "Generator ID", required = true) @PathVariable("generatorId") String generatorId) {
-        return get(() -> repository.getGenerator(networkId, variantNum, generatorId));
+        return get(networkId, variantNum, ResourceType.GENERATOR, () -> repository.getGenerator(networkId, variantNum, generatorId));
     }
 
     @PutMapping(value = "/{networkId}/generators")
@@ -524,8 +758,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get tie line list"))
     public ResponseEntity<TopLevelDocument<TieLineAttributes>> getTieLines(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                            @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-                                                                           @Parameter(description = "Max number of tie lines to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getTieLines(networkId, variantNum), limit, ResourceType.TIE_LINE);
+                                                                           @Parameter(description = "Max number of tie lines to get") @RequestParam(required = false) Integer limit,
+                                                                           @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+                                                                           @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getTieLines(networkId, variantNum), limit, after, pageSize, ResourceType.TIE_LINE,
+            new CollectionReadKey(networkId, variantNum, ResourceType.TIE_LINE, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/tie-lines/{tieLineId}", produces = APPLICATION_JSON_VALUE)
@@ -537,7 +774,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<TieLineAttributes>> getTieLine(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                           @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                                                           @Parameter(description = "Tie Line ID", required = true) @PathVariable("tieLineId") String tieLineId) {
-        return get(() -> repository.getTieLine(networkId, variantNum, tieLineId));
+        return get(networkId, variantNum, ResourceType.TIE_LINE, () -> repository.getTieLine(networkId, variantNum, tieLineId));
     }
 
     @PutMapping(value = "/{networkId}/tie-lines")
@@ -575,8 +812,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get area list"))
     public ResponseEntity<TopLevelDocument<AreaAttributes>> getAreas(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                            @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-                                                                           @Parameter(description = "Max number of areas to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getAreas(networkId, variantNum), limit, ResourceType.AREA);
+                                                                           @Parameter(description = "Max number of areas to get") @RequestParam(required = false) Integer limit,
+                                                                           @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+                                                                           @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getAreas(networkId, variantNum), limit, after, pageSize, ResourceType.AREA,
+            new CollectionReadKey(networkId, variantNum, ResourceType.AREA, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/areas/{areaId}", produces = APPLICATION_JSON_VALUE)
@@ -588,7 +828,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<AreaAttributes>> getArea(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                           @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                                                           @Parameter(description = "area ID", required = true) @PathVariable("areaId") String areaId) {
-        return get(() -> repository.getArea(networkId, variantNum, areaId));
+        return get(networkId, variantNum, ResourceType.AREA, () -> repository.getArea(networkId, variantNum, areaId));
     }
 
     @PutMapping(value = "/{networkId}/areas")
@@ -626,8 +866,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get batteries list"))
     public ResponseEntity<TopLevelDocument<BatteryAttributes>> getBatteries(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-                                                                            @Parameter(description = "Max number of batteries to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getBatteries(networkId, variantNum), limit, ResourceType.BATTERY);
+                                                                            @Parameter(description = "Max number of batteries to get") @RequestParam(required = false) Integer limit,
+                                                                            @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+                                                                            @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getBatteries(networkId, variantNum), limit, after, pageSize, ResourceType.BATTERY,
+            new CollectionReadKey(networkId, variantNum, ResourceType.BATTERY, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/batteries/{batteryId}", produces = APPLICATION_JSON_VALUE)
@@ -639,7 +882,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<BatteryAttributes>> getBattery(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                           @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                                                           @Parameter(description = "Battery ID", required = true) @PathVariable("batteryId") String batteryId) {
-        return get(() -> repository.getBattery(networkId, variantNum, batteryId));
+        return get(networkId, variantNum, ResourceType.BATTERY, () -> repository.getBattery(networkId, variantNum, batteryId));
     }
 
     @PutMapping(value = "/{networkId}/batteries")
@@ -687,8 +930,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get load list"))
     public ResponseEntity<TopLevelDocument<LoadAttributes>> getLoads(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                      @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-                                                                     @Parameter(description = "Max number of load to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getLoads(networkId, variantNum), limit, ResourceType.LOAD);
+                                                                     @Parameter(description = "Max number of load to get") @RequestParam(required = false) Integer limit,
+                                                                     @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+                                                                     @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getLoads(networkId, variantNum), limit, after, pageSize, ResourceType.LOAD,
+            new CollectionReadKey(networkId, variantNum, ResourceType.LOAD, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/loads/{loadId}", produces = APPLICATION_JSON_VALUE)
@@ -700,7 +946,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<LoadAttributes>> getLoad(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                     @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                                                     @Parameter(description = "Load ID", required = true) @PathVariable("loadId") String loadId) {
-        return get(() -> repository.getLoad(networkId, variantNum, loadId));
+        return get(networkId, variantNum, ResourceType.LOAD, () -> repository.getLoad(networkId, variantNum, loadId));
     }
 
     @PutMapping(value = "/{networkId}/loads")
@@ -748,8 +994,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get shunt compensator list"))
     public ResponseEntity<TopLevelDocument<ShuntCompensatorAttributes>> getShuntCompensators(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                              @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-            @Parameter(description = "Max number of shunt compensator to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getShuntCompensators(networkId, variantNum), limit, ResourceType.SHUNT_COMPENSATOR);
+            @Parameter(description = "Max number of shunt compensator to get") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getShuntCompensators(networkId, variantNum), limit, after, pageSize, ResourceType.SHUNT_COMPENSATOR,
+            new CollectionReadKey(networkId, variantNum, ResourceType.SHUNT_COMPENSATOR, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/shunt-compensators/{shuntCompensatorId}", produces = APPLICATION_JSON_VALUE)
@@ -761,7 +1010,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<ShuntCompensatorAttributes>> getShuntCompensator(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Shunt compensator ID", required = true) @PathVariable("shuntCompensatorId") String shuntCompensatorId) {
-        return get(() -> repository.getShuntCompensator(networkId, variantNum, shuntCompensatorId));
+        return get(networkId, variantNum, ResourceType.SHUNT_COMPENSATOR, () -> repository.getShuntCompensator(networkId, variantNum, shuntCompensatorId));
     }
 
     @PutMapping(value = "/{networkId}/shunt-compensators")
@@ -810,8 +1059,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get VSC converter stations list"))
     public ResponseEntity<TopLevelDocument<VscConverterStationAttributes>> getVscConverterStations(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-            @Parameter(description = "Max number of VSC converter stations to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getVscConverterStations(networkId, variantNum), limit, ResourceType.VSC_CONVERTER_STATION);
+            @Parameter(description = "Max number of VSC converter stations to get") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getVscConverterStations(networkId, variantNum), limit, after, pageSize, ResourceType.VSC_CONVERTER_STATION,
+            new CollectionReadKey(networkId, variantNum, ResourceType.VSC_CONVERTER_STATION, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/vsc-converter-stations/{vscConverterStationId}", produces = APPLICATION_JSON_VALUE)
@@ -823,7 +1075,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<VscConverterStationAttributes>> getVscConverterStation(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "VSC converter station ID", required = true) @PathVariable("vscConverterStationId") String vscConverterStationId) {
-        return get(() -> repository.getVscConverterStation(networkId, variantNum, vscConverterStationId));
+        return get(networkId, variantNum, ResourceType.VSC_CONVERTER_STATION, () -> repository.getVscConverterStation(networkId, variantNum, vscConverterStationId));
     }
 
     @PutMapping(value = "/{networkId}/vsc-converter-stations")
@@ -872,8 +1124,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get LCC converter stations list"))
     public ResponseEntity<TopLevelDocument<LccConverterStationAttributes>> getLccConverterStations(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-            @Parameter(description = "Max number of LCC converter stations to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getLccConverterStations(networkId, variantNum), limit, ResourceType.LCC_CONVERTER_STATION);
+            @Parameter(description = "Max number of LCC converter stations to get") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getLccConverterStations(networkId, variantNum), limit, after, pageSize, ResourceType.LCC_CONVERTER_STATION,
+            new CollectionReadKey(networkId, variantNum, ResourceType.LCC_CONVERTER_STATION, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/lcc-converter-stations/{lccConverterStationId}", produces = APPLICATION_JSON_VALUE)
@@ -885,7 +1140,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<LccConverterStationAttributes>> getLccConverterStation(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "LCC converter station ID", required = true) @PathVariable("lccConverterStationId") String lccConverterStationId) {
-        return get(() -> repository.getLccConverterStation(networkId, variantNum, lccConverterStationId));
+        return get(networkId, variantNum, ResourceType.LCC_CONVERTER_STATION, () -> repository.getLccConverterStation(networkId, variantNum, lccConverterStationId));
     }
 
     @PutMapping(value = "/{networkId}/lcc-converter-stations")
@@ -934,8 +1189,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get static var compensator list"))
     public ResponseEntity<TopLevelDocument<StaticVarCompensatorAttributes>> getStaticVarCompensators(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-            @Parameter(description = "Max number of static var compensators to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getStaticVarCompensators(networkId, variantNum), limit, ResourceType.STATIC_VAR_COMPENSATOR);
+            @Parameter(description = "Max number of static var compensators to get") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getStaticVarCompensators(networkId, variantNum), limit, after, pageSize, ResourceType.STATIC_VAR_COMPENSATOR,
+            new CollectionReadKey(networkId, variantNum, ResourceType.STATIC_VAR_COMPENSATOR, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/static-var-compensators/{staticVarCompensatorId}", produces = APPLICATION_JSON_VALUE)
@@ -947,7 +1205,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<StaticVarCompensatorAttributes>> getStaticVarCompensator(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Static var compensator ID", required = true) @PathVariable("staticVarCompensatorId") String staticVarCompensatorId) {
-        return get(() -> repository.getStaticVarCompensator(networkId, variantNum, staticVarCompensatorId));
+        return get(networkId, variantNum, ResourceType.STATIC_VAR_COMPENSATOR, () -> repository.getStaticVarCompensator(networkId, variantNum, staticVarCompensatorId));
     }
 
     @PutMapping(value = "/{networkId}/static-var-compensators")
@@ -995,8 +1253,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get busbar section list"))
     public ResponseEntity<TopLevelDocument<BusbarSectionAttributes>> getBusbarSections(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                        @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-                                                                                       @Parameter(description = "Max number of busbar section to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getBusbarSections(networkId, variantNum), limit, ResourceType.BUSBAR_SECTION);
+                                                                                       @Parameter(description = "Max number of busbar section to get") @RequestParam(required = false) Integer limit,
+                                                                                       @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+                                                                                       @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getBusbarSections(networkId, variantNum), limit, after, pageSize, ResourceType.BUSBAR_SECTION,
+            new CollectionReadKey(networkId, variantNum, ResourceType.BUSBAR_SECTION, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/busbar-sections/{busbarSectionId}", produces = APPLICATION_JSON_VALUE)
@@ -1008,7 +1269,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<BusbarSectionAttributes>> getBusbarSection(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                       @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Busbar section ID", required = true) @PathVariable("busbarSectionId") String busbarSectionId) {
-        return get(() -> repository.getBusbarSection(networkId, variantNum, busbarSectionId));
+        return get(networkId, variantNum, ResourceType.BUSBAR_SECTION, () -> repository.getBusbarSection(networkId, variantNum, busbarSectionId));
     }
 
     @DeleteMapping(value = "/{networkId}/{variantNum}/busbar-sections", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
@@ -1047,8 +1308,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get switch list"))
     public ResponseEntity<TopLevelDocument<SwitchAttributes>> getSwitches(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                           @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-                                                                          @Parameter(description = "Max number of switch to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getSwitches(networkId, variantNum), limit, ResourceType.SWITCH);
+                                                                          @Parameter(description = "Max number of switch to get") @RequestParam(required = false) Integer limit,
+                                                                          @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+                                                                          @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getSwitches(networkId, variantNum), limit, after, pageSize, ResourceType.SWITCH,
+            new CollectionReadKey(networkId, variantNum, ResourceType.SWITCH, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/switches/{switchId}", produces = APPLICATION_JSON_VALUE)
@@ -1060,7 +1324,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<SwitchAttributes>> getSwitch(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                         @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                                                         @Parameter(description = "Switch ID", required = true) @PathVariable("switchId") String switchId) {
-        return get(() -> repository.getSwitch(networkId, variantNum, switchId));
+        return get(networkId, variantNum, ResourceType.SWITCH, () -> repository.getSwitch(networkId, variantNum, switchId));
     }
 
     @PutMapping(value = "/{networkId}/switches")
@@ -1101,8 +1365,11 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<TwoWindingsTransformerAttributes>> getTwoWindingsTransformers(
             @Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-            @Parameter(description = "Max number of 2 windings transformer to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getTwoWindingsTransformers(networkId, variantNum), limit, ResourceType.TWO_WINDINGS_TRANSFORMER);
+            @Parameter(description = "Max number of 2 windings transformer to get") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getTwoWindingsTransformers(networkId, variantNum), limit, after, pageSize, ResourceType.TWO_WINDINGS_TRANSFORMER,
+            new CollectionReadKey(networkId, variantNum, ResourceType.TWO_WINDINGS_TRANSFORMER, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/2-windings-transformers/{twoWindingsTransformerId}", produces = APPLICATION_JSON_VALUE)
@@ -1115,7 +1382,7 @@ public class NetworkStoreController {
             @Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "2 windings transformer ID", required = true) @PathVariable("twoWindingsTransformerId") String twoWindingsTransformerId) {
-        return get(() -> repository.getTwoWindingsTransformer(networkId, variantNum, twoWindingsTransformerId));
+        return get(networkId, variantNum, ResourceType.TWO_WINDINGS_TRANSFORMER, () -> repository.getTwoWindingsTransformer(networkId, variantNum, twoWindingsTransformerId));
     }
 
     @PutMapping(value = "/{networkId}/2-windings-transformers")
@@ -1164,8 +1431,11 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<ThreeWindingsTransformerAttributes>> getThreeWindingsTransformers(
             @Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-            @Parameter(description = "Max number of 3 windings transformer to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getThreeWindingsTransformers(networkId, variantNum), limit, ResourceType.THREE_WINDINGS_TRANSFORMER);
+            @Parameter(description = "Max number of 3 windings transformer to get") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+            @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getThreeWindingsTransformers(networkId, variantNum), limit, after, pageSize, ResourceType.THREE_WINDINGS_TRANSFORMER,
+            new CollectionReadKey(networkId, variantNum, ResourceType.THREE_WINDINGS_TRANSFORMER, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/3-windings-transformers/{threeWindingsTransformerId}", produces = APPLICATION_JSON_VALUE)
@@ -1178,7 +1448,7 @@ public class NetworkStoreController {
             @Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "3 windings transformer ID", required = true) @PathVariable("threeWindingsTransformerId") String threeWindingsTransformerId) {
-        return get(() -> repository.getThreeWindingsTransformer(networkId, variantNum, threeWindingsTransformerId));
+        return get(networkId, variantNum, ResourceType.THREE_WINDINGS_TRANSFORMER, () -> repository.getThreeWindingsTransformer(networkId, variantNum, threeWindingsTransformerId));
     }
 
     @PutMapping(value = "/{networkId}/3-windings-transformers")
@@ -1226,8 +1496,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get line list"))
     public ResponseEntity<TopLevelDocument<LineAttributes>> getLines(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                      @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-                                                                     @Parameter(description = "Max number of line to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getLines(networkId, variantNum), limit, ResourceType.LINE);
+                                                                     @Parameter(description = "Max number of line to get") @RequestParam(required = false) Integer limit,
+                                                                     @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+                                                                     @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getLines(networkId, variantNum), limit, after, pageSize, ResourceType.LINE,
+            new CollectionReadKey(networkId, variantNum, ResourceType.LINE, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/lines/{lineId}", produces = APPLICATION_JSON_VALUE)
@@ -1239,7 +1512,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<LineAttributes>> getLine(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                     @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                                                     @Parameter(description = "Line ID", required = true) @PathVariable("lineId") String lineId) {
-        return get(() -> repository.getLine(networkId, variantNum, lineId));
+        return get(networkId, variantNum, ResourceType.LINE, () -> repository.getLine(networkId, variantNum, lineId));
     }
 
     @PutMapping(value = "/{networkId}/lines")
@@ -1287,8 +1560,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get hvdc line list"))
     public ResponseEntity<TopLevelDocument<HvdcLineAttributes>> getHvdcLines(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                              @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-                                                                             @Parameter(description = "Max number of hvdc line to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getHvdcLines(networkId, variantNum), limit, ResourceType.HVDC_LINE);
+                                                                             @Parameter(description = "Max number of hvdc line to get") @RequestParam(required = false) Integer limit,
+                                                                             @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+                                                                             @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getHvdcLines(networkId, variantNum), limit, after, pageSize, ResourceType.HVDC_LINE,
+            new CollectionReadKey(networkId, variantNum, ResourceType.HVDC_LINE, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/hvdc-lines/{hvdcLineId}", produces = APPLICATION_JSON_VALUE)
@@ -1300,7 +1576,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<HvdcLineAttributes>> getHvdcLine(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                                                             @Parameter(description = "Hvdc line ID", required = true) @PathVariable("hvdcLineId") String hvdcLineId) {
-        return get(() -> repository.getHvdcLine(networkId, variantNum, hvdcLineId));
+        return get(networkId, variantNum, ResourceType.HVDC_LINE, () -> repository.getHvdcLine(networkId, variantNum, hvdcLineId));
     }
 
     @PutMapping(value = "/{networkId}/hvdc-lines")
@@ -1339,8 +1615,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get boundary line list"))
     public ResponseEntity<TopLevelDocument<BoundaryLineAttributes>> getBoundaryLines(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                      @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-                                                                                     @Parameter(description = "Max number of boundary line to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getBoundaryLines(networkId, variantNum), limit, ResourceType.BOUNDARY_LINE);
+                                                                                     @Parameter(description = "Max number of boundary line to get") @RequestParam(required = false) Integer limit,
+                                                                                     @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+                                                                                     @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getBoundaryLines(networkId, variantNum), limit, after, pageSize, ResourceType.BOUNDARY_LINE,
+            new CollectionReadKey(networkId, variantNum, ResourceType.BOUNDARY_LINE, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/boundary-lines/{boundaryLineId}", produces = APPLICATION_JSON_VALUE)
@@ -1352,7 +1631,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<BoundaryLineAttributes>> getBoundaryLine(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                     @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Boundary line ID", required = true) @PathVariable("boundaryLineId") String boundaryLineId) {
-        return get(() -> repository.getBoundaryLine(networkId, variantNum, boundaryLineId));
+        return get(networkId, variantNum, ResourceType.BOUNDARY_LINE, () -> repository.getBoundaryLine(networkId, variantNum, boundaryLineId));
     }
 
     @DeleteMapping(value = "/{networkId}/{variantNum}/boundary-lines", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
@@ -1391,8 +1670,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get ground list"))
     public ResponseEntity<TopLevelDocument<GroundAttributes>> getGrounds(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                          @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-                                                                         @Parameter(description = "Max number of grounds to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getGrounds(networkId, variantNum), limit, ResourceType.GROUND);
+                                                                         @Parameter(description = "Max number of grounds to get") @RequestParam(required = false) Integer limit,
+                                                                         @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+                                                                         @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getGrounds(networkId, variantNum), limit, after, pageSize, ResourceType.GROUND,
+            new CollectionReadKey(networkId, variantNum, ResourceType.GROUND, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/grounds/{groundId}", produces = APPLICATION_JSON_VALUE)
@@ -1404,7 +1686,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<GroundAttributes>> getGround(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                         @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                                                         @Parameter(description = "Ground ID", required = true) @PathVariable("groundId") String groundId) {
-        return get(() -> repository.getGround(networkId, variantNum, groundId));
+        return get(networkId, variantNum, ResourceType.GROUND, () -> repository.getGround(networkId, variantNum, groundId));
     }
 
     @PostMapping(value = "/{networkId}/grounds")
@@ -1450,8 +1732,11 @@ public class NetworkStoreController {
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get buses list"))
     public ResponseEntity<TopLevelDocument<ConfiguredBusAttributes>> getBuses(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                               @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
-                                                                              @Parameter(description = "Max number of buses to get") @RequestParam(required = false) Integer limit) {
-        return getAll(() -> repository.getConfiguredBuses(networkId, variantNum), limit, ResourceType.CONFIGURED_BUS);
+                                                                              @Parameter(description = "Max number of buses to get") @RequestParam(required = false) Integer limit,
+                                                                              @Parameter(description = "Id after which to get the page, ordered by id") @RequestParam(required = false) String after,
+                                                                              @Parameter(description = "Number of resources of the page") @RequestParam(required = false) Integer pageSize) {
+        return getAll(() -> repository.getConfiguredBuses(networkId, variantNum), limit, after, pageSize, ResourceType.CONFIGURED_BUS,
+            new CollectionReadKey(networkId, variantNum, ResourceType.CONFIGURED_BUS, null));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/configured-buses/{busId}", produces = APPLICATION_JSON_VALUE)
@@ -1463,7 +1748,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<ConfiguredBusAttributes>> getBuses(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                               @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                                                               @Parameter(description = "bus ID", required = true) @PathVariable("busId") String busId) {
-        return get(() -> repository.getConfiguredBus(networkId, variantNum, busId));
+        return get(networkId, variantNum, ResourceType.CONFIGURED_BUS, () -> repository.getConfiguredBus(networkId, variantNum, busId));
     }
 
     @GetMapping(value = "/{networkId}/{variantNum}/voltage-levels/{voltageLevelId}/configured-buses", produces = APPLICATION_JSON_VALUE)
@@ -1475,7 +1760,8 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<ConfiguredBusAttributes>> getVoltageLevelBuses(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                           @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "voltage level ID", required = true) @PathVariable("voltageLevelId") String voltageLevelId) {
-        return getAll(() -> repository.getVoltageLevelBuses(networkId, variantNum, voltageLevelId), null, ResourceType.CONFIGURED_BUS);
+        return getAll(() -> repository.getVoltageLevelBuses(networkId, variantNum, voltageLevelId), null, ResourceType.CONFIGURED_BUS,
+            new CollectionReadKey(networkId, variantNum, ResourceType.CONFIGURED_BUS, voltageLevelId));
     }
 
     @PutMapping(value = "/{networkId}/configured-buses")
@@ -1508,7 +1794,7 @@ public class NetworkStoreController {
     public ResponseEntity<TopLevelDocument<IdentifiableAttributes>> getIdentifiable(@Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                                                                     @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                                                                     @Parameter(description = "Identifiable ID", required = true) @PathVariable("id") String id) {
-        return get(() -> repository.getIdentifiable(networkId, variantNum, id));
+        return get(networkId, variantNum, null, () -> repository.getIdentifiable(networkId, variantNum, id));
     }
 
     @GetMapping(value = "/{networkUuid}/{variantNum}/identifiables-ids", produces = APPLICATION_JSON_VALUE)
@@ -1519,7 +1805,7 @@ public class NetworkStoreController {
     })
     public List<String> getIdentifiablesIds(@Parameter(description = "Network ID", required = true) @PathVariable("networkUuid") UUID networkUuid,
                                             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum) {
-        return repository.getIdentifiablesIds(networkUuid, variantNum);
+        return bulkheads.execute(RequestClass.BULK_READ, () -> repository.getIdentifiablesIds(networkUuid, variantNum));
     }
 
     @GetMapping(value = "{networkId}/{variantNum}/identifiables/{identifiableId}/extensions/{extensionName}")
@@ -1542,7 +1828,22 @@ public class NetworkStoreController {
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                                                                                      @Parameter(description = "Resource type", required = true) @PathVariable("type") ResourceType type,
             @Parameter(description = "Extension name", required = true) @PathVariable("extensionName") String extensionName) {
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(repository.getAllExtensionsAttributesByResourceTypeAndExtensionName(networkId, variantNum, type, extensionName));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(
+            bulkheads.execute(RequestClass.BULK_READ, () -> repository.getAllExtensionsAttributesByResourceTypeAndExtensionName(networkId, variantNum, type, extensionName)));
+    }
+
+    @GetMapping(value = "{networkId}/{variantNum}/identifiables/types/{type}/extensions/{extensionName}/fields")
+    @Operation(summary = "Get selected fields of the extension with specific extension name for all identifiables with specific type")
+    @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get extension fields"))
+    public ResponseEntity<Map<String, Map<String, JsonNode>>> getExtensionFieldsByResourceTypeAndExtensionName(
+            @Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
+            @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
+            @Parameter(description = "Resource type", required = true) @PathVariable("type") ResourceType type,
+            @Parameter(description = "Extension name", required = true) @PathVariable("extensionName") String extensionName,
+            @Parameter(description = "Top-level extension fields", required = true) @RequestParam("fields") List<String> fields) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(
+            bulkheads.execute(RequestClass.BULK_READ, () -> networkStoreObserver.observeExtensions("get.all.extensions.fields", type,
+                () -> repository.getExtensionFieldsByResourceTypeAndExtensionName(networkId, variantNum, type, extensionName, fields))));
     }
 
     @GetMapping(value = "{networkId}/{variantNum}/identifiables/{identifiableId}/extensions")
@@ -1552,10 +1853,22 @@ public class NetworkStoreController {
             @Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
                                              @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                              @Parameter(description = "Identifiable id", required = true) @PathVariable("identifiableId") String identifiableId) {
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(repository.getAllExtensionsAttributesByIdentifiableId(networkId, variantNum, identifiableId));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(
+            bulkheads.execute(RequestClass.POINT_READ, () -> repository.getAllExtensionsAttributesByIdentifiableId(networkId, variantNum, identifiableId)));
 
     }
 
+    @PostMapping(value = "{networkId}/{variantNum}/identifiables/extensions/by-ids", consumes = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get all extension attributes for the identifiables with the given ids")
+    @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get extension attributes"))
+    public ResponseEntity<Map<String, Map<String, ExtensionAttributes>>> getAllExtensionsAttributesByIdentifiableIds(
+            @Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
+            @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
+            @Parameter(description = "Identifiable ids", required = true) @RequestBody List<String> identifiableIds) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(
+            bulkheads.execute(RequestClass.BULK_READ, () -> repository.getAllExtensionsAttributesByIdentifiableIds(networkId, variantNum, identifiableIds)));
+    }
+
     @GetMapping(value = "{networkId}/{variantNum}/identifiables/types/{type}/extensions")
     @Operation(summary = "Get all extensions attributes for all identifiables with specific type")
     @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get extension attributes"))
@@ -1564,8 +1877,8 @@ public class NetworkStoreController {
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                                                                                   @Parameter(description = "Resource type", required = true) @PathVariable("type") ResourceType type) {
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(
-            networkStoreObserver.observeExtensions("get.all.extensions", type,
-                () -> repository.getAllExtensionsAttributesByResourceType(networkId, variantNum, type)));
+            bulkheads.execute(RequestClass.BULK_READ, () -> networkStoreObserver.observeExtensions("get.all.extensions", type,
+                () -> repository.getAllExtensionsAttributesByResourceType(networkId, variantNum, type))));
     }
 
     @DeleteMapping(value = "{networkId}/{variantNum}/identifiables/{identifiableId}/extensions/{extensionName}")
@@ -1575,7 +1888,7 @@ public class NetworkStoreController {
                                           @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
                                           @Parameter(description = "Identifiable id", required = true) @PathVariable("identifiableId") String identifiableId,
                                           @Parameter(description = "Extension name", required = true) @PathVariable("extensionName") String extensionName) {
-        repository.removeExtensionAttributes(networkId, variantNum, identifiableId, extensionName);
+        bulkheads.run(RequestClass.WRITE, () -> repository.withWriteTransaction(() -> repository.removeExtensionAttributes(networkId, variantNum, identifiableId, extensionName)));
         return ResponseEntity.ok().build();
     }
 
@@ -1600,7 +1913,8 @@ public class NetworkStoreController {
             @Parameter(description = "Resource type", required = true) @PathVariable("resourceType") ResourceType type,
                                                                                                                 @Parameter(description = "List of olg IDs to delete", required = true)
                                                                                                                 @RequestBody Map<String, Map<Integer, Set<String>>> operationalLimitsGroupsToDelete) {
-        repository.removeOperationalLimitsGroupAttributes(networkId, variantNum, type, operationalLimitsGroupsToDelete);
+        bulkheads.run(RequestClass.WRITE, () -> repository.withWriteTransaction(
+            () -> repository.removeOperationalLimitsGroupAttributes(networkId, variantNum, type, operationalLimitsGroupsToDelete)));
     }
 
     @GetMapping(value = "{networkId}/{variantNum}/branch/types/{resourceType}/operationalLimitsGroup")
@@ -1611,8 +1925,8 @@ public class NetworkStoreController {
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Resource type", required = true) @PathVariable("resourceType") ResourceType type) {
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(
-            networkStoreObserver.observeLimitsGroups("get.all.limits.groups", type,
-                () -> repository.getAllOperationalLimitsGroupAttributesByResourceType(networkId, variantNum, type)));
+            bulkheads.execute(RequestClass.BULK_READ, () -> networkStoreObserver.observeLimitsGroups("get.all.limits.groups", type,
+                () -> repository.getAllOperationalLimitsGroupAttributesByResourceType(networkId, variantNum, type))));
     }
 
     @GetMapping(value = "{networkId}/{variantNum}/branch/types/{resourceType}/operationalLimitsGroup/selected")
@@ -1623,8 +1937,34 @@ public class NetworkStoreController {
             @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
             @Parameter(description = "Resource type", required = true) @PathVariable("resourceType") ResourceType type) {
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(
-            networkStoreObserver.observeLimitsGroups("get.all.limits.groups.selected", type,
-                () -> repository.getAllSelectedOperationalLimitsGroupAttributesByResourceType(networkId, variantNum, type)));
+            bulkheads.execute(RequestClass.BULK_READ, () -> networkStoreObserver.observeLimitsGroups("get.all.limits.groups.selected", type,
+                () -> repository.getAllSelectedOperationalLimitsGroupAttributesByResourceType(networkId, variantNum, type))));
+    }
+
+    @GetMapping(value = "{networkId}/{variantNum}/branch/types/{resourceType}/operationalLimitsGroup/selected/limits", produces = APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get the permanent and temporary limits of the selected operational limits groups for a specific type of branch")
+    @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get selected limits"))
+    public ResponseEntity<List<BranchSideLimits>> getSelectedLimitsByResourceType(
+            @Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
+            @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
+            @Parameter(description = "Resource type", required = true) @PathVariable("resourceType") ResourceType type,
+            @Parameter(description = "Limit type") @RequestParam(value = "limitType", required = false, defaultValue = "CURRENT") LimitType limitType) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(
+            bulkheads.execute(RequestClass.BULK_READ, () -> networkStoreObserver.observe("get.all.limits.groups.selected.limits", type,
+                () -> repository.getSelectedLimitsByResourceType(networkId, variantNum, type, limitType))));
+    }
+
+    @GetMapping(value = "{networkId}/{variantNum}/branch/types/{resourceType}/operationalLimitsGroup/selected/limits", produces = APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Get the permanent and temporary limits of the selected operational limits groups for a specific type of branch, binary encoded as described in BranchSideLimitsBinaryFormat")
+    @ApiResponses(@ApiResponse(responseCode = "200", description = "Successfully get selected limits"))
+    public ResponseEntity<byte[]> getSelectedLimitsByResourceTypeBinary(
+            @Parameter(description = "Network ID", required = true) @PathVariable("networkId") UUID networkId,
+            @Parameter(description = "Variant number", required = true) @PathVariable("variantNum") int variantNum,
+            @Parameter(description = "Resource type", required = true) @PathVariable("resourceType") ResourceType type,
+            @Parameter(description = "Limit type") @RequestParam(value = "limitType", required = false, defaultValue = "CURRENT") LimitType limitType) {
+        List<BranchSideLimits> limits = bulkheads.execute(RequestClass.BULK_READ, () -> networkStoreObserver.observe("get.all.limits.groups.selected.limits", type,
+            () -> repository.getSelectedLimitsByResourceType(networkId, variantNum, type, limitType)));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM).body(BranchSideLimitsBinaryFormat.encode(limits));
     }
 
     @GetMapping(value = "{networkId}/{variantNum}/branch/{branchId}/types/{resourceType}/side/{side}/operationalLimitsGroup")
@@ -1637,6 +1977,6 @@ public class NetworkStoreController {
             @Parameter(description = "Branch id", required = true) @PathVariable("branchId") String branchId,
             @Parameter(description = "Branch side", required = true) @PathVariable("side") int side) {
         return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(
-            repository.getOperationalLimitsGroupAttributesForBranchSide(networkId, variantNum, type, branchId, side));
+            bulkheads.execute(RequestClass.POINT_READ, () -> repository.getOperationalLimitsGroupAttributesForBranchSide(networkId, variantNum, type, branchId, side)));
     }
 }
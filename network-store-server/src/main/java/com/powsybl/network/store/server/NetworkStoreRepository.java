@@ -9,30 +9,39 @@ package com.powsybl.network.store.server;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.LimitType;
 import com.powsybl.iidm.network.ReactiveLimitsKind;
 import com.powsybl.iidm.network.ThreeSides;
 import com.powsybl.network.store.model.*;
 import com.powsybl.network.store.model.svattributes.*;
 import com.powsybl.network.store.model.utils.VariantUtils;
+import com.powsybl.network.store.server.SubQueryExecutor.SubQuery;
+import com.powsybl.network.store.server.dto.BranchSideLimits;
+import com.powsybl.network.store.server.dto.NetworkChanges;
 import com.powsybl.network.store.server.dto.OperationalLimitsGroupOwnerInfo;
 import com.powsybl.network.store.server.dto.OwnerInfo;
 import com.powsybl.network.store.server.dto.RegulatingOwnerInfo;
+import com.powsybl.network.store.server.dto.VariantDiff;
 import com.powsybl.network.store.server.exceptions.JsonApiErrorResponseException;
 import com.powsybl.network.store.server.exceptions.UncheckedSqlException;
 import com.powsybl.network.store.server.json.TapChangerStepSqlData;
 import com.powsybl.ws.commons.LogUtils;
 import lombok.Getter;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.mutable.MutableBoolean;
 import org.apache.commons.lang3.mutable.MutableInt;
 import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.CollectionUtils;
 
@@ -42,10 +51,13 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static com.powsybl.network.store.model.TapChangerType.PHASE;
@@ -63,7 +75,10 @@ public class NetworkStoreRepository {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(NetworkStoreRepository.class);
 
-    public NetworkStoreRepository(DataSource dataSource, ObjectMapper mapper, Mappings mappings, ExtensionHandler extensionHandler, LimitsHandler limitsHandler) {
+    public NetworkStoreRepository(DataSource dataSource, ObjectMapper mapper, Mappings mappings, ExtensionHandler extensionHandler, LimitsHandler limitsHandler,
+                                  NetworkStoreSqlObserver sqlObserver, ParallelRowDecoder rowDecoder, StringInterners stringInterners,
+                                  SubQueryExecutor subQueryExecutor,
+                                  @Value("${network-store-server.change-feed.retained-changes:10000}") long retainedChanges) {
         this.dataSource = dataSource;
         this.mappings = mappings;
         this.mapper = mapper.registerModule(new JavaTimeModule())
@@ -71,6 +86,11 @@ public class NetworkStoreRepository {
                 .configure(DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS, false);
         this.extensionHandler = extensionHandler;
         this.limitsHandler = limitsHandler;
+        this.sqlObserver = sqlObserver;
+        this.rowDecoder = rowDecoder;
+        this.stringInterners = stringInterners;
+        this.subQueryExecutor = subQueryExecutor;
+        this.retainedChanges = retainedChanges;
     }
 
     @Getter
@@ -85,15 +105,109 @@ public class NetworkStoreRepository {
     @Getter
     private final LimitsHandler limitsHandler;
 
+    private final NetworkStoreSqlObserver sqlObserver;
+
+    private final ParallelRowDecoder rowDecoder;
+
+    private final StringInterners stringInterners;
+
+    private final SubQueryExecutor subQueryExecutor;
+
+    private final long retainedChanges;
+
     private static final String SUBSTATION_ID = "substationid";
 
+    // The equipments regulated by a regulating point can be of any type, and their regulating equipments are part of
+    // their resources
+    private static final Set<ResourceType> ALL_RESOURCE_TYPES = Collections.unmodifiableSet(EnumSet.allOf(ResourceType.class));
+
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+
+    /**
+     * Executes the reads of the supplier with one connection and one resolution of the network variants, see
+     * {@link RequestConnection}.
+     */
+    public <T> T withRequestConnection(Supplier<T> reads) {
+        return RequestConnection.execute(dataSource, reads);
+    }
+
+    /**
+     * Executes the writes in one transaction with one connection, see {@link RequestConnection}: the resources, their
+     * external attributes, their versions and the change feed are committed together.
+     */
+    public void withWriteTransaction(Runnable writes) {
+        RequestConnection.executeInTransaction(dataSource, writes);
+    }
+
+    /**
+     * Runs the job unless another instance of the server is already running it: a PostgreSQL session advisory lock of
+     * the key is held meanwhile on a connection of its own, without any open transaction, and explicitly released at
+     * the end. The connection is discarded if the lock cannot be released, so that it is not given back to the pool
+     * still holding it. Other databases (H2 in tests) run the job directly.
+     *
+     * @return false if the job was not run
+     */
+    public boolean runOnSingleInstance(long lockKey, Runnable job) {
+        try (var connection = dataSource.getConnection()) {
+            if (!Utils.isPostgreSql(connection)) {
+                job.run();
+                return true;
+            }
+            try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildTryAdvisoryLockQuery())) {
+                preparedStmt.setLong(1, lockKey);
+                try (ResultSet resultSet = preparedStmt.executeQuery()) {
+                    if (!resultSet.next() || !resultSet.getBoolean(1)) {
+                        return false;
+                    }
+                }
+            }
+            try {
+                job.run();
+            } finally {
+                releaseAdvisoryLock(connection, lockKey);
+            }
+            return true;
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e);
+        }
+    }
+
+    private static void releaseAdvisoryLock(Connection connection, long lockKey) throws SQLException {
+        try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildAdvisoryUnlockQuery())) {
+            preparedStmt.setLong(1, lockKey);
+            try (ResultSet resultSet = preparedStmt.executeQuery()) {
+                if (!resultSet.next() || !resultSet.getBoolean(1)) {
+                    LOGGER.warn("The advisory lock {} was not held", lockKey);
+                }
+            }
+        } catch (SQLException e) {
+            LOGGER.error("Cannot release the advisory lock {}, discarding its connection", lockKey, e);
+            connection.abort(Runnable::run);
+        }
+    }
+
+    /**
+     * Executes a read submitting sub-queries to the {@link SubQueryExecutor}: the network variant is resolved once,
+     * before they are submitted, on the connection of the request, and inherited by the sub-queries.
+     */
+    private <T> T withSubQueries(UUID networkUuid, int variantNum, Supplier<T> read) {
+        return withRequestConnection(() -> {
+            try (var connection = RequestConnection.getConnection(dataSource)) {
+                getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper);
+            } catch (SQLException e) {
+                throw new UncheckedSqlException(e);
+            }
+            return read.get();
+        });
+    }
+
     // network
 
     /**
      * Get all networks infos.
      */
     public List<NetworkInfos> getNetworksInfos() {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             try (var stmt = connection.createStatement()) {
                 try (ResultSet resultSet = stmt.executeQuery(QueryCatalog.buildGetNetworkInfos())) {
                     List<NetworkInfos> networksInfos = new ArrayList<>();
@@ -110,7 +224,7 @@ public class NetworkStoreRepository {
     }
 
     public List<VariantInfos> getVariantsInfos(UUID networkUuid) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildGetVariantsInfos())) {
                 preparedStmt.setObject(1, networkUuid);
                 try (ResultSet resultSet = preparedStmt.executeQuery()) {
@@ -130,11 +244,11 @@ public class NetworkStoreRepository {
         Stopwatch stopwatch = Stopwatch.createStarted();
 
         List<String> ids = new ArrayList<>();
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             ids.addAll(PartialVariantUtils.getIdentifiables(
                     variantNum,
                     getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
-                    () -> getTombstonedIdentifiableIds(connection, networkUuid, variantNum),
+                    () -> observeTombstonedIdentifiableIds(connection, networkUuid, variantNum),
                     variant -> getIdentifiablesIdsForVariant(connection, networkUuid, variant),
                     Function.identity(),
                     () -> getIdentifiablesIdsForVariant(connection, networkUuid, variantNum)));
@@ -195,6 +309,11 @@ public class NetworkStoreRepository {
     }
 
     private static void executeWithoutAutoCommit(Connection connection, SqlExecutor executor) throws SQLException {
+        if (!connection.getAutoCommit()) {
+            // Part of the transaction of the write request, committed at its end
+            executor.execute(connection);
+            return;
+        }
         connection.setAutoCommit(false);
         try {
             executor.execute(connection);
@@ -208,7 +327,7 @@ public class NetworkStoreRepository {
     }
 
     private void executeWithoutAutoCommit(SqlExecutor executor) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             executeWithoutAutoCommit(connection, executor);
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
@@ -217,6 +336,12 @@ public class NetworkStoreRepository {
 
     public void createNetworks(List<Resource<NetworkAttributes>> resources) {
         executeWithoutAutoCommit(connection -> createNetworks(connection, resources));
+        resources.stream()
+                .collect(Collectors.groupingBy(resource -> resource.getAttributes().getUuid(), Collectors.mapping(Resource::getVariantNum, Collectors.toSet())))
+                .forEach((networkUuid, variantNums) -> {
+                    resetChanges(networkUuid, variantNums);
+                    bumpResourceVersions(networkUuid, variantNums, Set.of(ResourceType.NETWORK));
+                });
     }
 
     private void createNetworks(Connection connection, List<Resource<NetworkAttributes>> resources) throws SQLException {
@@ -235,7 +360,7 @@ public class NetworkStoreRepository {
                     bindValues(preparedStmt, values, mapper);
                     preparedStmt.addBatch();
                 }
-                preparedStmt.executeBatch();
+                sqlObserver.executeBatch(preparedStmt, tableMapping.getTable());
             }
         }
         extensionHandler.insertExtensions(connection, extensionHandler.getExtensionsFromNetworks(resources));
@@ -264,21 +389,32 @@ public class NetworkStoreRepository {
                         bindValues(preparedStmt, values, mapper);
                         preparedStmt.addBatch();
                     }
-                    preparedStmt.executeBatch();
+                    sqlObserver.executeBatch(preparedStmt, NETWORK_TABLE);
                 }
             }
             extensionHandler.updateExtensionsFromNetworks(connection, resources);
         });
+        resources.stream()
+                .collect(Collectors.groupingBy(resource -> resource.getAttributes().getUuid()))
+                .forEach((networkUuid, networkResources) -> recordChanges(networkUuid, networkResources, ResourceType.NETWORK));
     }
 
     public void deleteNetwork(UUID uuid) {
-        try (var connection = dataSource.getConnection()) {
+        PendingChanges pendingChanges = getPendingChanges();
+        if (pendingChanges != null) {
+            // Their rows are removed with the network
+            pendingChanges.discard(uuid);
+        }
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             deleteIdentifiables(uuid, connection);
             deleteExternalAttributes(uuid, connection);
             deleteNetwork(uuid, connection);
+            deleteResourceVersions(uuid, connection);
+            deleteChanges(uuid, connection);
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
+        stringInterners.invalidate(uuid);
     }
 
     private static void deleteNetwork(UUID uuid, Connection connection) throws SQLException {
@@ -302,10 +438,11 @@ public class NetworkStoreRepository {
         }
     }
 
-    private static void deleteExternalAttributes(UUID uuid, Connection connection) throws SQLException {
-        List<String> deleteExternalAttributesQueries = List.of(
+    private void deleteExternalAttributes(UUID uuid, Connection connection) throws SQLException {
+        List<String> deleteExternalAttributesQueries = new ArrayList<>(List.of(
                 QueryLimitsCatalog.buildDeleteOperationalLimitsGroupQuery(),
                 QueryLimitsCatalog.buildDeleteTombstonedOperationalLimitsGroupQuery(),
+                QueryLimitsCatalog.buildDeleteOperationalLimitsDefinitionsQuery(),
                 QueryCatalog.buildDeleteReactiveCapabilityCurvePointsQuery(),
                 QueryCatalog.buildDeleteAreaBoundariesQuery(),
                 QueryCatalog.buildDeleteRegulatingPointsQuery(),
@@ -313,7 +450,10 @@ public class NetworkStoreRepository {
                 QueryCatalog.buildDeleteTombstonedExternalAttributesQuery(),
                 QueryExtensionCatalog.buildDeleteExtensionsQuery(),
                 QueryExtensionCatalog.buildDeleteTombstonedExtensionsQuery()
-        );
+        ));
+        for (ExtensionTableMapping extensionTableMapping : mappings.getAllExtensions()) {
+            deleteExternalAttributesQueries.add(QueryExtensionCatalog.buildDeleteTypedExtensionsQuery(extensionTableMapping.getTable()));
+        }
 
         for (String query : deleteExternalAttributesQueries) {
             try (var preparedStmt = connection.prepareStatement(query)) {
@@ -330,17 +470,23 @@ public class NetworkStoreRepository {
         if (variantNum == Resource.INITIAL_VARIANT_NUM) {
             throw new IllegalArgumentException("Cannot delete initial variant");
         }
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             deleteIdentifiablesVariant(uuid, variantNum, connection);
             deleteExternalAttributesVariant(uuid, variantNum, connection);
+            deleteOrphanOperationalLimitsDefinitions(uuid, connection);
             deleteNetworkVariant(uuid, variantNum, connection);
+            executeDeleteVariantQuery(uuid, variantNum, connection, QueryCatalog.buildDeleteResourceChangesVariantQuery());
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
+        // The versions and change numbers are kept, so that a variant created again with the same number does not
+        // reuse them
+        resetChanges(uuid, Set.of(variantNum));
+        bumpResourceVersions(uuid, variantNum, ALL_RESOURCE_TYPES);
     }
 
-    private static void deleteExternalAttributesVariant(UUID uuid, int variantNum, Connection connection) throws SQLException {
-        List<String> deleteExternalAttributesVariantQueries = List.of(
+    private void deleteExternalAttributesVariant(UUID uuid, int variantNum, Connection connection) throws SQLException {
+        List<String> deleteExternalAttributesVariantQueries = new ArrayList<>(List.of(
                 QueryLimitsCatalog.buildDeleteOperationalLimitsGroupVariantQuery(),
                 QueryLimitsCatalog.buildDeleteTombstonedOperationalLimitsGroupVariantQuery(),
                 QueryCatalog.buildDeleteReactiveCapabilityCurvePointsVariantQuery(),
@@ -350,13 +496,29 @@ public class NetworkStoreRepository {
                 QueryCatalog.buildDeleteTombstonedExternalAttributesVariantQuery(),
                 QueryExtensionCatalog.buildDeleteExtensionsVariantQuery(),
                 QueryExtensionCatalog.buildDeleteTombstonedExtensionsVariantQuery()
-        );
+        ));
+        for (ExtensionTableMapping extensionTableMapping : mappings.getAllExtensions()) {
+            deleteExternalAttributesVariantQueries.add(QueryExtensionCatalog.buildDeleteTypedExtensionsVariantQuery(extensionTableMapping.getTable()));
+        }
 
         for (String query : deleteExternalAttributesVariantQueries) {
             executeDeleteVariantQuery(uuid, variantNum, connection, query);
         }
     }
 
+    /**
+     * Deletes the contents of operational limits groups no longer referenced in the network, left by the deleted
+     * variants and by the updated or removed groups of all the variants.
+     */
+    private static void deleteOrphanOperationalLimitsDefinitions(UUID uuid, Connection connection) throws SQLException {
+        try (var preparedStmt = connection.prepareStatement(QueryLimitsCatalog.buildDeleteOrphanOperationalLimitsDefinitionsQuery(isPostgreSql(connection)))) {
+            preparedStmt.setObject(1, uuid);
+            preparedStmt.setObject(2, uuid);
+            int deleted = preparedStmt.executeUpdate();
+            LOGGER.debug("Deleted {} orphan operational limits definitions of network {}", deleted, uuid);
+        }
+    }
+
     private static void deleteIdentifiablesVariant(UUID uuid, int variantNum, Connection connection) throws SQLException {
         for (String table : ELEMENT_TABLES) {
             executeDeleteVariantQuery(uuid, variantNum, connection, QueryCatalog.buildDeleteIdentifiablesVariantQuery(table));
@@ -377,6 +539,710 @@ public class NetworkStoreRepository {
         }
     }
 
+    // resource versions
+
+    /**
+     * @return the version of the resources of the type in the variant, used as the ETag of their reads, or null if
+     * the variant does not exist. Each write of these resources increments it. A partial variant also shows the
+     * resources of its full variant, so its version is made of the version of its full variant and its own one.
+     */
+    public String getResourceVersion(UUID networkUuid, int variantNum, ResourceType type) {
+        try (var connection = RequestConnection.getConnection(dataSource);
+             var preparedStmt = connection.prepareStatement(QueryCatalog.buildGetResourceVersionsQuery())) {
+            preparedStmt.setString(1, type.toString());
+            preparedStmt.setObject(2, networkUuid);
+            preparedStmt.setInt(3, variantNum);
+            try (ResultSet resultSet = preparedStmt.executeQuery()) {
+                boolean found = false;
+                int fullVariantNum = -1;
+                long version = 0;
+                long fullVariantVersion = 0;
+                while (resultSet.next()) {
+                    found = true;
+                    fullVariantNum = resultSet.getInt(1);
+                    if (resultSet.wasNull()) {
+                        fullVariantNum = -1;
+                    }
+                    int versionVariantNum = resultSet.getInt(2);
+                    if (!resultSet.wasNull()) {
+                        if (versionVariantNum == variantNum) {
+                            version = resultSet.getLong(3);
+                        } else {
+                            fullVariantVersion = resultSet.getLong(3);
+                        }
+                    }
+                }
+                if (!found) {
+                    return null;
+                }
+                return NetworkAttributes.isFullVariant(fullVariantNum) ? Long.toString(version) : fullVariantVersion + "." + version;
+            }
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e);
+        }
+    }
+
+    private void bumpResourceVersions(UUID networkUuid, int variantNum, Set<ResourceType> types) {
+        bumpResourceVersions(networkUuid, Set.of(variantNum), types);
+    }
+
+    /**
+     * Increments the versions of the resources of the types in the variants, in the transaction of their write (see
+     * {@link #withWriteTransaction}): the new versions are committed with the new resources, so a read may return the
+     * new resources with the previous version, but never the previous resources with the new version. The first write
+     * of the resources records their version.
+     * <p>
+     * Within a write transaction, the versions are only incremented just before its commit, see
+     * {@link #getPendingChanges}.
+     */
+    private void bumpResourceVersions(UUID networkUuid, Collection<Integer> variantNums, Set<ResourceType> types) {
+        PendingChanges pendingChanges = getPendingChanges();
+        if (pendingChanges != null) {
+            pendingChanges.addVersionedTypes(networkUuid, variantNums, types);
+        } else {
+            incrementResourceVersions(networkUuid, variantNums, types);
+        }
+    }
+
+    /**
+     * The versions are always incremented in the same order, so that concurrent writes wait for each other's row locks
+     * instead of deadlocking.
+     */
+    private void incrementResourceVersions(UUID networkUuid, Collection<Integer> variantNums, Set<ResourceType> types) {
+        if (variantNums.isEmpty() || types.isEmpty()) {
+            return;
+        }
+        List<Pair<Integer, ResourceType>> versions = new ArrayList<>(variantNums.size() * types.size());
+        variantNums.stream().sorted().forEach(variantNum -> types.stream().sorted().forEach(type -> versions.add(Pair.of(variantNum, type))));
+        try (var connection = RequestConnection.getConnection(dataSource)) {
+            List<Pair<Integer, ResourceType>> missingVersions = new ArrayList<>();
+            try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildIncrementResourceVersionQuery())) {
+                for (Pair<Integer, ResourceType> version : versions) {
+                    bindResourceVersion(preparedStmt, networkUuid, version);
+                    preparedStmt.addBatch();
+                }
+                int[] updateCounts = preparedStmt.executeBatch();
+                for (int i = 0; i < updateCounts.length; i++) {
+                    if (updateCounts[i] == 0) {
+                        missingVersions.add(versions.get(i));
+                    }
+                }
+            }
+            for (Pair<Integer, ResourceType> version : missingVersions) {
+                insertResourceVersion(connection, networkUuid, version);
+            }
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e);
+        }
+    }
+
+    private static void insertResourceVersion(Connection connection, UUID networkUuid, Pair<Integer, ResourceType> version) throws SQLException {
+        boolean inserted = insertIfAbsent(connection, QueryCatalog.buildInsertResourceVersionQuery(), preparedStmt -> bindResourceVersion(preparedStmt, networkUuid, version));
+        if (!inserted) {
+            // Recorded meanwhile by a concurrent write, whose commit the insert waited for: increment its version
+            try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildIncrementResourceVersionQuery())) {
+                bindResourceVersion(preparedStmt, networkUuid, version);
+                preparedStmt.executeUpdate();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface StatementBinder {
+
+        void bind(PreparedStatement preparedStmt) throws SQLException;
+    }
+
+    /**
+     * Inserts a row which may be inserted at the same time by a concurrent write. Within a transaction, the insert is
+     * run in a savepoint, so that its failure does not abort the transaction.
+     *
+     * @return false if the row already exists
+     */
+    private static boolean insertIfAbsent(Connection connection, String insertQuery, StatementBinder binder) throws SQLException {
+        Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+        try (var preparedStmt = connection.prepareStatement(insertQuery)) {
+            binder.bind(preparedStmt);
+            preparedStmt.executeUpdate();
+        } catch (SQLException e) {
+            if (!UNIQUE_VIOLATION_SQL_STATE.equals(e.getSQLState())) {
+                throw e;
+            }
+            if (savepoint != null) {
+                connection.rollback(savepoint);
+            }
+            return false;
+        }
+        if (savepoint != null) {
+            connection.releaseSavepoint(savepoint);
+        }
+        return true;
+    }
+
+    private static void bindResourceVersion(PreparedStatement preparedStmt, UUID networkUuid, Pair<Integer, ResourceType> version) throws SQLException {
+        preparedStmt.setObject(1, networkUuid);
+        preparedStmt.setInt(2, version.getLeft());
+        preparedStmt.setString(3, version.getRight().toString());
+    }
+
+    private static void deleteResourceVersions(UUID uuid, Connection connection) throws SQLException {
+        try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildDeleteResourceVersionsQuery())) {
+            preparedStmt.setObject(1, uuid);
+            preparedStmt.executeUpdate();
+        }
+    }
+
+    // change feed
+
+    private record ChangeNums(long changeNum, long firstChangeNum) {
+
+        boolean isAvailableSince(long sinceChangeNum) {
+            return sinceChangeNum >= firstChangeNum && sinceChangeNum <= changeNum;
+        }
+    }
+
+    /**
+     * @return the changes of the variant since the token, or empty if they are not available and the variant has to
+     * be read again: the token is not one of the variant, the variant was created again or its changes were pruned
+     * since then (see {@code network-store-server.change-feed.retained-changes}), or more resources changed than
+     * maxChanges. Without token, only the current token is returned.
+     * <p>
+     * A partial variant also shows the changes of its full variant, so its token is made of the token of its full
+     * variant and its own one. The returned resources are read after the token, they may already include the next
+     * changes, which are returned again with the next token.
+     */
+    public Optional<NetworkChanges> getChanges(UUID networkUuid, int variantNum, String since, int maxChanges) {
+        String token;
+        Set<Pair<ResourceType, String>> changedResources = new LinkedHashSet<>();
+        try (var connection = RequestConnection.getConnection(dataSource)) {
+            int fullVariantNum = getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum();
+            List<Integer> changedVariantNums = NetworkAttributes.isFullVariant(fullVariantNum) ? List.of(variantNum) : List.of(fullVariantNum, variantNum);
+            Map<Integer, ChangeNums> changeNumsByVariant = getChangeNums(connection, networkUuid, variantNum, fullVariantNum);
+            if (!changeNumsByVariant.keySet().containsAll(changedVariantNums)) {
+                return Optional.empty();
+            }
+            token = changedVariantNums.stream()
+                    .map(changedVariantNum -> Long.toString(changeNumsByVariant.get(changedVariantNum).changeNum()))
+                    .collect(Collectors.joining("."));
+            if (since == null) {
+                return Optional.of(new NetworkChanges(token, List.of(), Map.of()));
+            }
+            long[] sinceChangeNums = parseChangesToken(since, changedVariantNums.size());
+            if (sinceChangeNums == null) {
+                return Optional.empty();
+            }
+            for (int i = 0; i < changedVariantNums.size(); i++) {
+                int changedVariantNum = changedVariantNums.get(i);
+                if (!changeNumsByVariant.get(changedVariantNum).isAvailableSince(sinceChangeNums[i])) {
+                    return Optional.empty();
+                }
+                changedResources.addAll(getResourceChanges(connection, networkUuid, changedVariantNum, sinceChangeNums[i], maxChanges + 1));
+                if (changedResources.size() > maxChanges) {
+                    return Optional.empty();
+                }
+            }
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e);
+        }
+        // The changed resources are read by batches after the connection of the changes is released
+        return Optional.of(getChangedResources(networkUuid, variantNum, token, changedResources));
+    }
+
+    private static long[] parseChangesToken(String token, int changeNumsCount) {
+        String[] parts = token.split("\\.");
+        if (parts.length != changeNumsCount) {
+            return null;
+        }
+        long[] changeNums = new long[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                changeNums[i] = Long.parseLong(parts[i]);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return changeNums;
+    }
+
+    /**
+     * @return the changes made of the current state of the changed resources, read by type with in clauses.
+     */
+    private NetworkChanges getChangedResources(UUID networkUuid, int variantNum, String token, Set<Pair<ResourceType, String>> changedResources) {
+        List<Resource<? extends IdentifiableAttributes>> resources = new ArrayList<>();
+        Map<ResourceType, List<String>> removedIds = new EnumMap<>(ResourceType.class);
+        Map<ResourceType, List<String>> changedIdsByType = changedResources.stream()
+                .collect(Collectors.groupingBy(Pair::getLeft, () -> new EnumMap<>(ResourceType.class), Collectors.mapping(Pair::getRight, Collectors.toList())));
+        changedIdsByType.forEach((type, ids) -> {
+            if (type == ResourceType.NETWORK) {
+                getNetwork(networkUuid, variantNum).ifPresent(resources::add);
+                return;
+            }
+            List<Resource<IdentifiableAttributes>> changedIdentifiables = getIdentifiablesWithInClause(networkUuid, variantNum, type, ids);
+            resources.addAll(changedIdentifiables);
+            Set<String> presentIds = changedIdentifiables.stream().map(Resource::getId).collect(Collectors.toSet());
+            List<String> typeRemovedIds = ids.stream().filter(id -> !presentIds.contains(id)).toList();
+            if (!typeRemovedIds.isEmpty()) {
+                removedIds.put(type, new ArrayList<>(typeRemovedIds));
+            }
+        });
+        return new NetworkChanges(token, resources, removedIds);
+    }
+
+    private static Map<Integer, ChangeNums> getChangeNums(Connection connection, UUID networkUuid, int variantNum, int fullVariantNum) throws SQLException {
+        Map<Integer, ChangeNums> changeNumsByVariant = new HashMap<>();
+        try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildGetChangeNumsQuery())) {
+            preparedStmt.setObject(1, networkUuid);
+            preparedStmt.setInt(2, variantNum);
+            preparedStmt.setInt(3, fullVariantNum);
+            try (ResultSet resultSet = preparedStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    changeNumsByVariant.put(resultSet.getInt(1), new ChangeNums(resultSet.getLong(2), resultSet.getLong(3)));
+                }
+            }
+        }
+        return changeNumsByVariant;
+    }
+
+    private static List<Pair<ResourceType, String>> getResourceChanges(Connection connection, UUID networkUuid, int variantNum, long sinceChangeNum, int maxChanges) throws SQLException {
+        List<Pair<ResourceType, String>> changedResources = new ArrayList<>();
+        try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildGetResourceChangesQuery())) {
+            preparedStmt.setObject(1, networkUuid);
+            preparedStmt.setInt(2, variantNum);
+            preparedStmt.setLong(3, sinceChangeNum);
+            preparedStmt.setInt(4, maxChanges);
+            try (ResultSet resultSet = preparedStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    changedResources.add(Pair.of(ResourceType.valueOf(resultSet.getString(1)), resultSet.getString(2)));
+                }
+            }
+        }
+        return changedResources;
+    }
+
+    private <T extends Attributes> void recordChanges(UUID networkUuid, List<Resource<T>> resources, ResourceType type) {
+        recordChanges(networkUuid, resources, type, Set.of(type));
+    }
+
+    private <T extends Attributes> void recordChanges(UUID networkUuid, List<Resource<T>> resources, ResourceType type, Set<ResourceType> versionedTypes) {
+        recordChanges(networkUuid, resources.stream().collect(Collectors.groupingBy(Resource::getVariantNum,
+                Collectors.mapping(Resource::getId, Collectors.toCollection(LinkedHashSet::new)))), type, versionedTypes);
+    }
+
+    private void recordChanges(UUID networkUuid, int variantNum, Collection<String> ids, ResourceType type) {
+        recordChanges(networkUuid, variantNum, ids, type, Set.of(type));
+    }
+
+    private void recordChanges(UUID networkUuid, int variantNum, Collection<String> ids, ResourceType type, Set<ResourceType> versionedTypes) {
+        recordChanges(networkUuid, Map.of(variantNum, new LinkedHashSet<>(ids)), type, versionedTypes);
+    }
+
+    /**
+     * Records the resources of the type written in each variant in the change feed, and increments the versions of the
+     * resources of the versioned types, in the transaction of the write (see {@link #withWriteTransaction}): a change
+     * is never seen before the resources it records, nor kept if their write fails.
+     */
+    private void recordChanges(UUID networkUuid, Map<Integer, ? extends Set<String>> idsByVariant, ResourceType type, Set<ResourceType> versionedTypes) {
+        PendingChanges pendingChanges = getPendingChanges();
+        if (pendingChanges != null) {
+            idsByVariant.forEach((variantNum, ids) -> pendingChanges.addIds(networkUuid, variantNum, type, ids));
+        } else {
+            idsByVariant.forEach((variantNum, ids) -> appendChanges(networkUuid, variantNum, Map.of(type, ids)));
+        }
+        bumpResourceVersions(networkUuid, idsByVariant.keySet(), versionedTypes);
+    }
+
+    /**
+     * Changes and resource versions of a write transaction, written at its end.
+     */
+    private static final class PendingChanges {
+
+        // Sorted, so that concurrent writes take the row locks in the same order
+        private final SortedMap<UUID, SortedMap<Integer, Map<ResourceType, Set<String>>>> ids = new TreeMap<>();
+
+        private final SortedMap<UUID, SortedMap<Integer, Set<ResourceType>>> versionedTypes = new TreeMap<>();
+
+        void addIds(UUID networkUuid, int variantNum, ResourceType type, Set<String> changedIds) {
+            if (changedIds.isEmpty()) {
+                return;
+            }
+            ids.computeIfAbsent(networkUuid, k -> new TreeMap<>())
+                    .computeIfAbsent(variantNum, k -> new EnumMap<>(ResourceType.class))
+                    .computeIfAbsent(type, k -> new LinkedHashSet<>())
+                    .addAll(changedIds);
+        }
+
+        void addVersionedTypes(UUID networkUuid, Collection<Integer> variantNums, Set<ResourceType> types) {
+            SortedMap<Integer, Set<ResourceType>> typesByVariant = versionedTypes.computeIfAbsent(networkUuid, k -> new TreeMap<>());
+            for (int variantNum : variantNums) {
+                typesByVariant.computeIfAbsent(variantNum, k -> EnumSet.noneOf(ResourceType.class)).addAll(types);
+            }
+        }
+
+        /**
+         * The changes recorded before the change feed of the variants is started again are not part of it.
+         */
+        void discardIds(UUID networkUuid, Collection<Integer> variantNums) {
+            SortedMap<Integer, Map<ResourceType, Set<String>>> idsByVariant = ids.get(networkUuid);
+            if (idsByVariant != null) {
+                idsByVariant.keySet().removeAll(variantNums);
+            }
+        }
+
+        void discard(UUID networkUuid) {
+            ids.remove(networkUuid);
+            versionedTypes.remove(networkUuid);
+        }
+    }
+
+    /**
+     * @return the changes of the current write transaction, or null outside of a write transaction. They are written
+     * just before its commit: the change number and the versions of a variant are rows updated by all of its writes,
+     * which would otherwise wait for each other from their first statement to their commit, even when they write
+     * different resources.
+     */
+    private PendingChanges getPendingChanges() {
+        return RequestConnection.getBeforeCommitState(this, PendingChanges::new, this::writePendingChanges);
+    }
+
+    private void writePendingChanges(PendingChanges pendingChanges) {
+        pendingChanges.ids.forEach((networkUuid, idsByVariant) ->
+                idsByVariant.forEach((variantNum, idsByType) -> appendChanges(networkUuid, variantNum, idsByType)));
+        pendingChanges.versionedTypes.forEach((networkUuid, typesByVariant) ->
+                typesByVariant.forEach((variantNum, types) -> incrementResourceVersions(networkUuid, Set.of(variantNum), types)));
+    }
+
+    /**
+     * Resource types whose versions change with the regulating points of resources of the type: the type itself, and
+     * the types of the equipments regulated before and after the write, whose resources expose their regulating
+     * equipments.
+     */
+    private static Set<ResourceType> getRegulatingPointsVersionedTypes(ResourceType type, Set<ResourceType> previousRegulatedTypes,
+                                                                       Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPoints) {
+        Set<ResourceType> types = EnumSet.of(type);
+        types.addAll(previousRegulatedTypes);
+        regulatingPoints.values().stream()
+                .filter(Objects::nonNull)
+                .map(RegulatingPointAttributes::getRegulatedResourceType)
+                .filter(Objects::nonNull)
+                .forEach(types::add);
+        return types;
+    }
+
+    private <T extends IdentifiableAttributes> Set<ResourceType> getRegulatedResourceTypes(UUID networkUuid, List<Resource<T>> resources, ResourceType type) {
+        Set<ResourceType> types = EnumSet.noneOf(ResourceType.class);
+        resources.stream()
+                .collect(Collectors.groupingBy(Resource::getVariantNum, Collectors.mapping(Resource::getId, Collectors.toList())))
+                .forEach((variantNum, ids) -> types.addAll(getRegulatedResourceTypes(networkUuid, variantNum, ids, type)));
+        return types;
+    }
+
+    /**
+     * Types of the equipments regulated by the equipments of the type, to be read before their regulating points are
+     * written. The regulating points of the full variant are read even if they are tombstoned in the variant, which
+     * can only add types.
+     */
+    private Set<ResourceType> getRegulatedResourceTypes(UUID networkUuid, int variantNum, List<String> equipmentIds, ResourceType type) {
+        Set<ResourceType> types = EnumSet.noneOf(ResourceType.class);
+        if (equipmentIds.isEmpty()) {
+            return types;
+        }
+        try (var connection = RequestConnection.getConnection(dataSource)) {
+            int fullVariantNum = getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum();
+            try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildRegulatedEquipmentTypesWithInClauseQuery(equipmentIds.size()))) {
+                preparedStmt.setObject(1, networkUuid);
+                preparedStmt.setInt(2, variantNum);
+                preparedStmt.setInt(3, NetworkAttributes.isFullVariant(fullVariantNum) ? variantNum : fullVariantNum);
+                preparedStmt.setString(4, type.toString());
+                for (int i = 0; i < equipmentIds.size(); i++) {
+                    preparedStmt.setString(5 + i, equipmentIds.get(i));
+                }
+                try (ResultSet resultSet = sqlObserver.executeQuery(preparedStmt, REGULATING_POINT_TABLE, NetworkStoreSqlObserver.variantLayer(variantNum, variantNum))) {
+                    while (resultSet.next()) {
+                        String regulatedType = resultSet.getString(1);
+                        if (regulatedType != null) {
+                            types.add(ResourceType.valueOf(regulatedType));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e);
+        }
+        return types;
+    }
+
+    /**
+     * Appends a change of the resources to the change feed of the variant. The change number of the variant is
+     * incremented in the same transaction, the one of the write when run by {@link #withWriteTransaction}, which
+     * serializes the changes of the variant: the changes up to the number read by {@link #getChanges} are all
+     * committed. The oldest changes are pruned to keep the retained ones.
+     */
+    private void appendChanges(UUID networkUuid, int variantNum, Map<ResourceType, Set<String>> idsByType) {
+        if (idsByType.values().stream().allMatch(Set::isEmpty)) {
+            return;
+        }
+        executeWithoutAutoCommit(connection -> {
+            try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildIncrementChangeNumQuery())) {
+                preparedStmt.setObject(1, networkUuid);
+                preparedStmt.setInt(2, variantNum);
+                if (preparedStmt.executeUpdate() == 0) {
+                    // The variant has been removed meanwhile
+                    return;
+                }
+            }
+            ChangeNums changeNums = getChangeNums(connection, networkUuid, variantNum, variantNum).get(variantNum);
+            try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildInsertResourceChangeQuery())) {
+                for (Map.Entry<ResourceType, Set<String>> ids : idsByType.entrySet()) {
+                    for (List<String> idsPartition : Lists.partition(new ArrayList<>(ids.getValue()), BATCH_SIZE)) {
+                        for (String id : idsPartition) {
+                            preparedStmt.setObject(1, networkUuid);
+                            preparedStmt.setInt(2, variantNum);
+                            preparedStmt.setLong(3, changeNums.changeNum());
+                            preparedStmt.setString(4, ids.getKey().toString());
+                            preparedStmt.setString(5, id);
+                            preparedStmt.addBatch();
+                        }
+                        sqlObserver.executeBatch(preparedStmt, RESOURCE_CHANGE_TABLE);
+                    }
+                }
+            }
+            long firstRetainedChangeNum = changeNums.changeNum() - retainedChanges;
+            if (retainedChanges > 0 && firstRetainedChangeNum > changeNums.firstChangeNum()) {
+                try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildDeleteResourceChangesBeforeQuery())) {
+                    preparedStmt.setObject(1, networkUuid);
+                    preparedStmt.setInt(2, variantNum);
+                    preparedStmt.setLong(3, firstRetainedChangeNum);
+                    preparedStmt.executeUpdate();
+                }
+                try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildUpdateFirstChangeNumQuery())) {
+                    preparedStmt.setLong(1, firstRetainedChangeNum);
+                    preparedStmt.setObject(2, networkUuid);
+                    preparedStmt.setInt(3, variantNum);
+                    preparedStmt.setLong(4, firstRetainedChangeNum);
+                    preparedStmt.executeUpdate();
+                }
+            }
+        });
+    }
+
+    /**
+     * Starts the change feed of the variants again, once they are created or removed: their previous tokens are no
+     * longer valid.
+     */
+    private void resetChanges(UUID networkUuid, Collection<Integer> variantNums) {
+        PendingChanges pendingChanges = getPendingChanges();
+        if (pendingChanges != null) {
+            pendingChanges.discardIds(networkUuid, variantNums);
+        }
+        try (var connection = RequestConnection.getConnection(dataSource)) {
+            for (int variantNum : variantNums) {
+                int updateCount;
+                try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildResetChangeNumQuery())) {
+                    preparedStmt.setObject(1, networkUuid);
+                    preparedStmt.setInt(2, variantNum);
+                    updateCount = preparedStmt.executeUpdate();
+                }
+                if (updateCount == 0) {
+                    insertChangeNum(connection, networkUuid, variantNum);
+                }
+            }
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e);
+        }
+    }
+
+    private static void insertChangeNum(Connection connection, UUID networkUuid, int variantNum) throws SQLException {
+        // Already inserted by a concurrent creation of the variant otherwise
+        insertIfAbsent(connection, QueryCatalog.buildInsertChangeNumQuery(), preparedStmt -> {
+            preparedStmt.setObject(1, networkUuid);
+            preparedStmt.setInt(2, variantNum);
+        });
+    }
+
+    private static void deleteChanges(UUID uuid, Connection connection) throws SQLException {
+        for (String query : List.of(QueryCatalog.buildDeleteChangeNumsQuery(), QueryCatalog.buildDeleteResourceChangesQuery())) {
+            try (var preparedStmt = connection.prepareStatement(query)) {
+                preparedStmt.setObject(1, uuid);
+                preparedStmt.executeUpdate();
+            }
+        }
+    }
+
+    // variant diff
+
+    /**
+     * @return the ids of the identifiables which may differ between two variants of the network, by type, to be compared
+     * by batches with {@link #getVariantsDiff}. They are found in SQL, table by table: the ones written in the partial
+     * variants, from their elements, tombstones and external attributes, and, when the variants are built on different
+     * full variants, the ones whose rows differ between these full variants. Only these identifiables are read to be
+     * compared, so the diff of two variants built on the same full variant is proportional to the changes.
+     * <p>
+     * The network attributes themselves are not compared, they always differ between variants.
+     */
+    public Map<ResourceType, Set<String>> getVariantsDiffIds(UUID networkUuid, int fromVariantNum, int toVariantNum) {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        Map<ResourceType, Set<String>> idsByType;
+        try (var connection = RequestConnection.getConnection(dataSource)) {
+            int fromFullVariantNum = getNetworkAttributes(connection, networkUuid, fromVariantNum, mappings, mapper).getFullVariantNum();
+            int toFullVariantNum = getNetworkAttributes(connection, networkUuid, toVariantNum, mappings, mapper).getFullVariantNum();
+            int fromBaseVariantNum = NetworkAttributes.isFullVariant(fromFullVariantNum) ? fromVariantNum : fromFullVariantNum;
+            int toBaseVariantNum = NetworkAttributes.isFullVariant(toFullVariantNum) ? toVariantNum : toFullVariantNum;
+            // A full variant has no row of its own on top of its base
+            Set<Integer> partialVariantNums = new TreeSet<>();
+            if (!NetworkAttributes.isFullVariant(fromFullVariantNum)) {
+                partialVariantNums.add(fromVariantNum);
+            }
+            if (!NetworkAttributes.isFullVariant(toFullVariantNum)) {
+                partialVariantNums.add(toVariantNum);
+            }
+            idsByType = getVariantsDiffIds(connection, networkUuid, new ArrayList<>(partialVariantNums), fromBaseVariantNum, toBaseVariantNum,
+                    new ArrayList<>(new TreeSet<>(List.of(fromVariantNum, fromBaseVariantNum, toVariantNum, toBaseVariantNum))));
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e);
+        }
+        stopwatch.stop();
+        LOGGER.info("{} identifiables which may differ between variants {} and {} found in {} ms",
+                idsByType.values().stream().mapToInt(Set::size).sum(), fromVariantNum, toVariantNum, stopwatch.elapsed(TimeUnit.MILLISECONDS));
+        return idsByType;
+    }
+
+    /**
+     * @return the ids of the identifiables which may differ between the variants, by type. The owners of the
+     * tombstones and of the external attributes are typed by the elements they have in the variants.
+     */
+    private Map<ResourceType, Set<String>> getVariantsDiffIds(Connection connection, UUID networkUuid, List<Integer> partialVariantNums,
+                                                            int fromBaseVariantNum, int toBaseVariantNum, List<Integer> variantNums) throws SQLException {
+        Map<ResourceType, Set<String>> idsByType = new EnumMap<>(ResourceType.class);
+        for (String table : ELEMENT_TABLES) {
+            TableMapping tableMapping = mappings.getTableMapping(table.toLowerCase());
+            List<String> columns = new ArrayList<>();
+            columns.add(ID_COLUMN);
+            columns.addAll(tableMapping.getColumnsMapping().keySet());
+            Set<String> ids = getVariantsDiffIds(connection, networkUuid, new QueryCatalog.VariantDiffTable(table, ID_COLUMN, columns),
+                    partialVariantNums, fromBaseVariantNum, toBaseVariantNum);
+            if (!ids.isEmpty()) {
+                idsByType.put(tableMapping.getResourceType(), ids);
+            }
+        }
+        Map<String, Collection<String>> typedExtensionColumnsByTable = new LinkedHashMap<>();
+        mappings.getAllExtensions().forEach(extensionTableMapping ->
+                typedExtensionColumnsByTable.put(extensionTableMapping.getTable(), extensionTableMapping.getColumnsMapping().keySet()));
+        Set<String> ownerIds = new LinkedHashSet<>();
+        for (QueryCatalog.VariantDiffTable diffTable : QueryCatalog.getVariantDiffExternalAttributesTables(typedExtensionColumnsByTable)) {
+            ownerIds.addAll(getVariantsDiffIds(connection, networkUuid, diffTable, partialVariantNums, fromBaseVariantNum, toBaseVariantNum));
+        }
+        idsByType.values().forEach(ownerIds::removeAll);
+        for (List<String> ownerIdsPartition : Lists.partition(new ArrayList<>(ownerIds), BATCH_SIZE)) {
+            for (String table : ELEMENT_TABLES) {
+                try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildGetIdsInVariantsWithInClauseQuery(table, variantNums.size(), ownerIdsPartition.size()))) {
+                    int index = 1;
+                    preparedStmt.setObject(index++, networkUuid);
+                    for (int variantNum : variantNums) {
+                        preparedStmt.setInt(index++, variantNum);
+                    }
+                    for (String ownerId : ownerIdsPartition) {
+                        preparedStmt.setString(index++, ownerId);
+                    }
+                    try (ResultSet resultSet = preparedStmt.executeQuery()) {
+                        while (resultSet.next()) {
+                            idsByType.computeIfAbsent(mappings.getTableMapping(table.toLowerCase()).getResourceType(), k -> new LinkedHashSet<>())
+                                    .add(resultSet.getString(1));
+                        }
+                    }
+                }
+            }
+        }
+        return idsByType;
+    }
+
+    private static Set<String> getVariantsDiffIds(Connection connection, UUID networkUuid, QueryCatalog.VariantDiffTable diffTable,
+                                                  List<Integer> partialVariantNums, int fromBaseVariantNum, int toBaseVariantNum) throws SQLException {
+        Set<String> ids = new LinkedHashSet<>();
+        boolean compareFullVariants = fromBaseVariantNum != toBaseVariantNum && !diffTable.columns().isEmpty();
+        String query = QueryCatalog.buildGetVariantsDiffIdsQuery(diffTable, partialVariantNums.size(), compareFullVariants);
+        if (query == null) {
+            return ids;
+        }
+        try (var preparedStmt = connection.prepareStatement(query)) {
+            int index = 1;
+            if (!partialVariantNums.isEmpty()) {
+                preparedStmt.setObject(index++, networkUuid);
+                for (int partialVariantNum : partialVariantNums) {
+                    preparedStmt.setInt(index++, partialVariantNum);
+                }
+            }
+            if (compareFullVariants) {
+                for (int variantNum : List.of(fromBaseVariantNum, toBaseVariantNum, toBaseVariantNum, fromBaseVariantNum)) {
+                    preparedStmt.setObject(index++, networkUuid);
+                    preparedStmt.setInt(index++, variantNum);
+                }
+            }
+            try (ResultSet resultSet = preparedStmt.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getString(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * @return the differences between the two variants of the identifiables of the type, among a batch of the ids
+     * given by {@link #getVariantsDiffIds}
+     */
+    public List<VariantDiff> getVariantsDiff(UUID networkUuid, int fromVariantNum, int toVariantNum, ResourceType type, List<String> ids) {
+        Map<String, Resource<IdentifiableAttributes>> fromResources = getIdentifiablesWithInClause(networkUuid, fromVariantNum, type, ids).stream()
+                .collect(Collectors.toMap(Resource::getId, Function.identity()));
+        Map<String, Resource<IdentifiableAttributes>> toResources = getIdentifiablesWithInClause(networkUuid, toVariantNum, type, ids).stream()
+                .collect(Collectors.toMap(Resource::getId, Function.identity()));
+        List<String> idsInBoth = ids.stream().filter(id -> fromResources.containsKey(id) && toResources.containsKey(id)).toList();
+        Map<String, Map<String, ExtensionAttributes>> fromExtensions = Map.of();
+        Map<String, Map<String, ExtensionAttributes>> toExtensions = Map.of();
+        Map<String, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> fromLimits = Map.of();
+        Map<String, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> toLimits = Map.of();
+        if (!idsInBoth.isEmpty()) {
+            fromExtensions = getAllExtensionsAttributesByIdentifiableIds(networkUuid, fromVariantNum, idsInBoth);
+            toExtensions = getAllExtensionsAttributesByIdentifiableIds(networkUuid, toVariantNum, idsInBoth);
+            fromLimits = getOperationalLimitsGroupsByEquipmentId(networkUuid, fromVariantNum, idsInBoth);
+            toLimits = getOperationalLimitsGroupsByEquipmentId(networkUuid, toVariantNum, idsInBoth);
+        }
+        List<VariantDiff> diffs = new ArrayList<>();
+        for (String id : ids) {
+            Resource<IdentifiableAttributes> fromResource = fromResources.get(id);
+            Resource<IdentifiableAttributes> toResource = toResources.get(id);
+            if (fromResource == null && toResource == null) {
+                // Only tombstoned or written then removed in the partial variants
+                continue;
+            }
+            if (fromResource == null) {
+                diffs.add(new VariantDiff(id, type, VariantDiff.DiffType.ADDED, toResource, Set.of(), false));
+            } else if (toResource == null) {
+                diffs.add(new VariantDiff(id, type, VariantDiff.DiffType.REMOVED, null, Set.of(), false));
+            } else {
+                Map<String, ExtensionAttributes> fromIdentifiableExtensions = fromExtensions.getOrDefault(id, Map.of());
+                Map<String, ExtensionAttributes> toIdentifiableExtensions = toExtensions.getOrDefault(id, Map.of());
+                Set<String> modifiedExtensions = new TreeSet<>();
+                for (String extensionName : Sets.union(fromIdentifiableExtensions.keySet(), toIdentifiableExtensions.keySet())) {
+                    if (!Objects.equals(fromIdentifiableExtensions.get(extensionName), toIdentifiableExtensions.get(extensionName))) {
+                        modifiedExtensions.add(extensionName);
+                    }
+                }
+                boolean operationalLimitsGroupsModified = !Objects.equals(fromLimits.getOrDefault(id, Map.of()), toLimits.getOrDefault(id, Map.of()));
+                if (!Objects.equals(fromResource.getAttributes(), toResource.getAttributes())
+                        || !modifiedExtensions.isEmpty() || operationalLimitsGroupsModified) {
+                    diffs.add(new VariantDiff(id, type, VariantDiff.DiffType.MODIFIED, toResource,
+                            modifiedExtensions, operationalLimitsGroupsModified));
+                }
+            }
+        }
+        return diffs;
+    }
+
+    private Map<String, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> getOperationalLimitsGroupsByEquipmentId(UUID networkUuid, int variantNum, List<String> ids) {
+        return limitsHandler.getOperationalLimitsGroupsWithInClause(networkUuid, variantNum, EQUIPMENT_ID_COLUMN, ids).entrySet().stream()
+                .collect(Collectors.toMap(entry -> entry.getKey().getEquipmentId(), Map.Entry::getValue));
+    }
+
     public void cloneNetwork(UUID targetNetworkUuid, UUID sourceNetworkUuid, List<String> targetVariantIds) {
         LOGGER.info("Cloning network {} to network {} with variants {}", sourceNetworkUuid, targetNetworkUuid,
                 targetVariantIds.stream().map(LogUtils::sanitizeParam).collect(Collectors.toList()));
@@ -408,6 +1274,10 @@ public class NetworkStoreRepository {
             }
         });
 
+        Set<Integer> newVariantNums = newNetworkVariants.stream().map(VariantInfos::getNum).collect(Collectors.toSet());
+        resetChanges(targetNetworkUuid, newVariantNums);
+        bumpResourceVersions(targetNetworkUuid, newVariantNums, ALL_RESOURCE_TYPES);
+
         variantsNotFound.forEach(variantNotFound -> LOGGER.warn("The network {} has no variant ID named : {}, thus it has not been cloned", sourceNetworkUuid, variantNotFound));
 
         stopwatch.stop();
@@ -418,7 +1288,7 @@ public class NetworkStoreRepository {
         String nonNullTargetVariantId = targetVariantId == null ? "variant-" + UUID.randomUUID() : targetVariantId;
         var stopwatch = Stopwatch.createStarted();
 
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             NetworkAttributes sourceNetwork = getNetworkAttributes(connection, uuid, sourceVariantNum, mappings, mapper);
             LOGGER.info("Cloning network {} variant {} to variant {}", uuid, sourceVariantNum, targetVariantNum);
             int fullVariantNum = getFullVariantNum(sourceVariantNum, sourceNetwork);
@@ -435,6 +1305,8 @@ public class NetworkStoreRepository {
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
+        resetChanges(uuid, Set.of(targetVariantNum));
+        bumpResourceVersions(uuid, targetVariantNum, ALL_RESOURCE_TYPES);
 
         stopwatch.stop();
         LOGGER.info("Network variant clone done in {} ms", stopwatch.elapsed(TimeUnit.MILLISECONDS));
@@ -459,14 +1331,29 @@ public class NetworkStoreRepository {
 
     private void cloneExternalAttributes(Connection connection, UUID uuid, UUID targetUuid, int sourceVariantNum, int targetVariantNum) throws SQLException {
         Stopwatch stopwatch = Stopwatch.createStarted();
-        List<String> externalAttributesQueries = List.of(
+        if (!uuid.equals(targetUuid)) {
+            // The cloned operational limits groups reference their contents by hash, within the network
+            try (var preparedStmt = connection.prepareStatement(QueryLimitsCatalog.buildCloneOperationalLimitsDefinitionsQuery())) {
+                preparedStmt.setObject(1, targetUuid);
+                preparedStmt.setObject(2, uuid);
+                preparedStmt.setObject(3, uuid);
+                preparedStmt.setInt(4, sourceVariantNum);
+                preparedStmt.setObject(5, targetUuid);
+                preparedStmt.executeUpdate();
+            }
+        }
+        List<String> externalAttributesQueries = new ArrayList<>(List.of(
                 QueryLimitsCatalog.buildCloneOperationalLimitsGroupQuery(),
                 QueryCatalog.buildCloneReactiveCapabilityCurvePointsQuery(),
                 QueryCatalog.buildCloneAreaBoundariesQuery(),
                 QueryCatalog.buildCloneRegulatingPointsQuery(),
                 QueryCatalog.buildCloneTapChangerStepQuery(),
                 QueryExtensionCatalog.buildCloneExtensionsQuery()
-        );
+        ));
+        for (ExtensionTableMapping extensionTableMapping : mappings.getAllExtensions()) {
+            externalAttributesQueries.add(QueryExtensionCatalog.buildCloneTypedExtensionsQuery(extensionTableMapping.getTable(),
+                    extensionTableMapping.getColumnsMapping().keySet()));
+        }
 
         int totalExternalAttributesCloned = 0;
         for (String query : externalAttributesQueries) {
@@ -503,42 +1390,319 @@ public class NetworkStoreRepository {
         LOGGER.info("Cloned {} tombstoned in {}ms", totalTombstonedCloned, stopwatch.elapsed(TimeUnit.MILLISECONDS));
     }
 
-    private void cloneIdentifiables(Connection connection, UUID uuid, UUID targetUuid, int sourceVariantNum, int targetVariantNum) throws SQLException {
-        Stopwatch stopwatch = Stopwatch.createStarted();
-        int totalIdentifiablesCloned = 0;
+    private void cloneIdentifiables(Connection connection, UUID uuid, UUID targetUuid, int sourceVariantNum, int targetVariantNum) throws SQLException {
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        int totalIdentifiablesCloned = 0;
+        for (String tableName : ELEMENT_TABLES) {
+            try (var preparedStmt = connection.prepareStatement(buildCloneIdentifiablesQuery(tableName, mappings.getTableMapping(tableName.toLowerCase()).getColumnsMapping().keySet()))) {
+                preparedStmt.setInt(1, targetVariantNum);
+                preparedStmt.setObject(2, targetUuid);
+                preparedStmt.setObject(3, uuid);
+                preparedStmt.setInt(4, sourceVariantNum);
+                totalIdentifiablesCloned += preparedStmt.executeUpdate();
+            }
+        }
+        LOGGER.info("Cloned {} identifiables in {}ms", totalIdentifiablesCloned, stopwatch.elapsed(TimeUnit.MILLISECONDS));
+    }
+
+    public void cloneNetwork(UUID networkUuid, String sourceVariantId, String targetVariantId, boolean mayOverwrite) {
+        List<VariantInfos> variantsInfos = getVariantsInfos(networkUuid);
+        Optional<VariantInfos> targetVariant = VariantUtils.getVariant(targetVariantId, variantsInfos);
+        if (targetVariant.isPresent()) {
+            if (!mayOverwrite) {
+                throw new JsonApiErrorResponseException(ErrorObject.cloneOverExisting(targetVariantId));
+            } else {
+                if (Resource.INITIAL_VARIANT_NUM == targetVariant.get().getNum()) {
+                    throw new JsonApiErrorResponseException(ErrorObject.cloneOverInitialForbidden());
+                }
+                deleteNetwork(networkUuid, targetVariant.get().getNum());
+            }
+        }
+        int sourceVariantNum = VariantUtils.getVariantNum(sourceVariantId, variantsInfos);
+        int targetVariantNum = VariantUtils.findFirstAvailableVariantNum(variantsInfos);
+        cloneNetworkVariant(networkUuid, sourceVariantNum, targetVariantNum, targetVariantId);
+    }
+
+    /**
+     * Turns a partial variant into a full variant in a single transaction: the rows of its full variant which are
+     * neither overridden nor tombstoned in the partial variant are copied into it, then its tombstones are dropped.
+     * Reads of the variant then no longer need to merge it with its full variant.
+     * <p>
+     * The row of the network variant is locked exclusively for the whole transaction, the writes of the variant, which
+     * lock it in shared mode when reading the network attributes (see {@link Utils#getNetworkAttributes}), wait for
+     * the compaction and the compaction waits for them. All the resources of the variant are rewritten, their versions
+     * are bumped in the same transaction.
+     *
+     * @return false if the variant was already a full variant
+     */
+    public boolean compactVariant(UUID networkUuid, int variantNum) {
+        var stopwatch = Stopwatch.createStarted();
+        MutableBoolean compacted = new MutableBoolean(false);
+        withWriteTransaction(() -> executeWithoutAutoCommit(connection -> {
+            Utils.lockNetwork(connection, networkUuid, variantNum, true);
+            NetworkAttributes network = getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper);
+            if (network.isFullVariant()) {
+                return;
+            }
+            LOGGER.info("Compacting network {} variant {} built on full variant {}", networkUuid, variantNum, network.getFullVariantNum());
+            materializeVariant(connection, networkUuid, variantNum, network.getFullVariantNum());
+            try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildUpdateFullVariantNumQuery())) {
+                preparedStmt.setInt(1, -1);
+                preparedStmt.setObject(2, networkUuid);
+                preparedStmt.setInt(3, variantNum);
+                preparedStmt.executeUpdate();
+            }
+            bumpResourceVersions(networkUuid, variantNum, ALL_RESOURCE_TYPES);
+            compacted.setTrue();
+        }));
+        stopwatch.stop();
+        if (compacted.isTrue()) {
+            LOGGER.info("Network variant compaction done in {} ms", stopwatch.elapsed(TimeUnit.MILLISECONDS));
+        }
+        return compacted.isTrue();
+    }
+
+    /**
+     * Rebases a partial variant onto another full variant of the network in a single transaction: the partial variant
+     * is first materialized as in {@link #compactVariant}, then the rows which are the same in the new full variant are
+     * deleted from it and the rows of the new full variant which it does not have are tombstoned in it. The content
+     * of the variant is unchanged, only the rows it shares with the new full variant are no longer stored in it.
+     * <p>
+     * Both network variants are locked exclusively for the whole transaction, so that neither of them is written
+     * during the rebase. All the resources of the variant are rewritten, their versions are bumped.
+     *
+     * @return false if the variant was already built on the full variant
+     */
+    public boolean rebaseVariant(UUID networkUuid, int variantNum, int targetFullVariantNum) {
+        var stopwatch = Stopwatch.createStarted();
+        MutableBoolean rebased = new MutableBoolean(false);
+        withWriteTransaction(() -> executeWithoutAutoCommit(connection -> {
+            Utils.lockNetwork(connection, networkUuid, variantNum, true);
+            NetworkAttributes network = getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper);
+            if (network.isFullVariant()) {
+                throw new PowsyblException("Cannot rebase network " + networkUuid + " variant " + variantNum + ": it is a full variant");
+            }
+            if (network.getFullVariantNum() == targetFullVariantNum) {
+                return;
+            }
+            if (targetFullVariantNum == variantNum || !Utils.lockNetwork(connection, networkUuid, targetFullVariantNum, true)
+                    || !getNetworkAttributes(connection, networkUuid, targetFullVariantNum, mappings, mapper).isFullVariant()) {
+                throw new PowsyblException("Cannot rebase network " + networkUuid + " variant " + variantNum + ": variant " + targetFullVariantNum + " is not a full variant");
+            }
+            LOGGER.info("Rebasing network {} variant {} from full variant {} onto full variant {}", networkUuid, variantNum, network.getFullVariantNum(), targetFullVariantNum);
+            materializeVariant(connection, networkUuid, variantNum, network.getFullVariantNum());
+            int totalTombstoned = 0;
+            int totalDeleted = 0;
+            // The tombstones are inserted first, the rows of the tombstoned keys are kept in the variant
+            for (RebaseTable rebaseTable : getRebaseTables()) {
+                totalTombstoned += executeRebaseQuery(connection, rebaseTable.insertTombstonesQuery(), networkUuid, variantNum, targetFullVariantNum,
+                        rebaseTable.tombstonesClauseCount(), rebaseTable.tombstonedType());
+            }
+            for (RebaseTable rebaseTable : getRebaseTables()) {
+                String query = QueryCatalog.buildDeleteRowsAsInVariantQuery(rebaseTable.table(), rebaseTable.keyColumns(), rebaseTable.columns()) +
+                        buildNotTombstonedIdentifiableClause(rebaseTable.table(), rebaseTable.keyColumns().get(0)) +
+                        Objects.requireNonNullElse(rebaseTable.notTombstonedClause(), "");
+                try (var preparedStmt = connection.prepareStatement(query)) {
+                    preparedStmt.setObject(1, networkUuid);
+                    preparedStmt.setInt(2, variantNum);
+                    int index = 3;
+                    for (int fromVariantNum : new int[] {variantNum, targetFullVariantNum, targetFullVariantNum, variantNum}) {
+                        preparedStmt.setObject(index++, networkUuid);
+                        preparedStmt.setInt(index++, fromVariantNum);
+                    }
+                    bindCompactionClauses(preparedStmt, index, networkUuid, variantNum, rebaseTable.notTombstonedClause() != null ? 2 : 1, rebaseTable.tombstonedType());
+                    totalDeleted += preparedStmt.executeUpdate();
+                }
+            }
+            try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildUpdateFullVariantNumQuery())) {
+                preparedStmt.setInt(1, targetFullVariantNum);
+                preparedStmt.setObject(2, networkUuid);
+                preparedStmt.setInt(3, variantNum);
+                preparedStmt.executeUpdate();
+            }
+            bumpResourceVersions(networkUuid, variantNum, ALL_RESOURCE_TYPES);
+            LOGGER.info("Tombstoned {} rows and deleted {} rows which are the same in the full variant", totalTombstoned, totalDeleted);
+            rebased.setTrue();
+        }));
+        stopwatch.stop();
+        if (rebased.isTrue()) {
+            LOGGER.info("Network variant rebase done in {} ms", stopwatch.elapsed(TimeUnit.MILLISECONDS));
+        }
+        return rebased.isTrue();
+    }
+
+    /**
+     * Table of a variant rebased onto another full variant: the key columns of its tombstones, the columns compared
+     * between the two variants, the query tombstoning the rows of the full variant which are not overridden in the
+     * variant and the clause keeping the rows of the tombstoned keys, none for the identifiables.
+     */
+    private record RebaseTable(String table, List<String> keyColumns, List<String> columns, String insertTombstonesQuery,
+                               int tombstonesClauseCount, String notTombstonedClause, ExternalAttributesType tombstonedType) {
+    }
+
+    private List<RebaseTable> getRebaseTables() {
+        List<RebaseTable> rebaseTables = new ArrayList<>();
+        for (String tableName : ELEMENT_TABLES) {
+            List<String> columns = new ArrayList<>(List.of(ID_COLUMN));
+            columns.addAll(mappings.getTableMapping(tableName.toLowerCase()).getColumnsMapping().keySet());
+            rebaseTables.add(new RebaseTable(tableName, List.of(ID_COLUMN), columns,
+                    QueryCatalog.buildInsertTombstonedIdentifiablesNotOverriddenQuery(tableName), 1, null, null));
+        }
+        rebaseTables.add(new RebaseTable(QueryLimitsCatalog.OPERATIONAL_LIMITS_GROUP_TABLE,
+                List.of(EQUIPMENT_ID_COLUMN, QueryLimitsCatalog.GROUP_ID_COLUMN, QueryLimitsCatalog.SIDE_COLUMN), QueryLimitsCatalog.OPERATIONAL_LIMITS_GROUP_COLUMNS,
+                QueryLimitsCatalog.buildInsertTombstonedOperationalLimitsGroupNotOverriddenQuery(), 2,
+                QueryLimitsCatalog.buildNotTombstonedOperationalLimitsGroupClause(), null));
+        // Same override keys as in compactExternalAttributes, the external attributes are tombstoned by owner
+        rebaseTables.add(buildExternalAttributesRebaseTable(REACTIVE_CAPABILITY_CURVE_POINT_TABLE, QueryCatalog.REACTIVE_CAPABILITY_CURVE_POINT_COLUMNS,
+                List.of(EQUIPMENT_ID_COLUMN), ExternalAttributesType.REACTIVE_CAPABILITY_CURVE_POINT));
+        rebaseTables.add(buildExternalAttributesRebaseTable(AREA_BOUNDARY_TABLE, QueryCatalog.AREA_BOUNDARY_COLUMNS,
+                List.of(AREA_ID_COLUMN), ExternalAttributesType.AREA_BOUNDARIES));
+        rebaseTables.add(buildExternalAttributesRebaseTable(REGULATING_POINT_TABLE, QueryCatalog.REGULATING_POINT_COLUMNS,
+                List.of(REGULATING_EQUIPMENT_ID, REGULATING_TAP_CHANGER_TYPE), ExternalAttributesType.REGULATING_POINT));
+        rebaseTables.add(buildExternalAttributesRebaseTable(TAP_CHANGER_STEP_TABLE, QueryCatalog.TAP_CHANGER_STEP_COLUMNS,
+                List.of(EQUIPMENT_ID_COLUMN), ExternalAttributesType.TAP_CHANGER_STEP));
+        rebaseTables.add(new RebaseTable(QueryExtensionCatalog.EXTENSION_TABLE,
+                List.of(EQUIPMENT_ID_COLUMN, QueryExtensionCatalog.EXTENSION_NAME_COLUMN), QueryExtensionCatalog.EXTENSION_COLUMNS,
+                QueryExtensionCatalog.buildInsertTombstonedExtensionsNotOverriddenQuery(), 2,
+                QueryExtensionCatalog.buildNotTombstonedExtensionClause(), null));
+        for (ExtensionTableMapping extensionTableMapping : mappings.getAllExtensions()) {
+            String table = extensionTableMapping.getTable();
+            List<String> columns = new ArrayList<>(List.of(EQUIPMENT_ID_COLUMN, EQUIPMENT_TYPE_COLUMN));
+            columns.addAll(extensionTableMapping.getColumnsMapping().keySet());
+            rebaseTables.add(new RebaseTable(table, List.of(EQUIPMENT_ID_COLUMN), columns,
+                    QueryExtensionCatalog.buildInsertTombstonedTypedExtensionsNotOverriddenQuery(table, extensionTableMapping.getExtensionName()), 2,
+                    QueryExtensionCatalog.buildNotTombstonedTypedExtensionClause(table, extensionTableMapping.getExtensionName()), null));
+        }
+        return rebaseTables;
+    }
+
+    private static RebaseTable buildExternalAttributesRebaseTable(String table, List<String> columns, List<String> overrideKeyColumns,
+                                                                  ExternalAttributesType type) {
+        String ownerIdColumn = overrideKeyColumns.get(0);
+        return new RebaseTable(table, List.of(ownerIdColumn), columns,
+                QueryCatalog.buildInsertTombstonedExternalAttributesNotOverriddenQuery(table, ownerIdColumn, overrideKeyColumns), 2,
+                buildNotTombstonedExternalAttributesClause(table, ownerIdColumn), type);
+    }
+
+    private static int executeRebaseQuery(Connection connection, String query, UUID networkUuid, int variantNum, int fullVariantNum,
+                                          int clauseCount, ExternalAttributesType tombstonedType) throws SQLException {
+        try (var preparedStmt = connection.prepareStatement(query)) {
+            int index = 1;
+            preparedStmt.setObject(index++, networkUuid);
+            preparedStmt.setInt(index++, variantNum);
+            if (tombstonedType != null) {
+                preparedStmt.setString(index++, tombstonedType.toString());
+            }
+            preparedStmt.setObject(index++, networkUuid);
+            preparedStmt.setInt(index++, fullVariantNum);
+            bindCompactionClauses(preparedStmt, index, networkUuid, variantNum, clauseCount, null);
+            return preparedStmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Copies into a partial variant the rows of its full variant which are neither overridden nor tombstoned in it,
+     * then drops its tombstones. Its full variant number is left to the caller.
+     */
+    private void materializeVariant(Connection connection, UUID networkUuid, int variantNum, int fullVariantNum) throws SQLException {
+        int totalIdentifiablesCompacted = 0;
         for (String tableName : ELEMENT_TABLES) {
-            try (var preparedStmt = connection.prepareStatement(buildCloneIdentifiablesQuery(tableName, mappings.getTableMapping(tableName.toLowerCase()).getColumnsMapping().keySet()))) {
-                preparedStmt.setInt(1, targetVariantNum);
-                preparedStmt.setObject(2, targetUuid);
-                preparedStmt.setObject(3, uuid);
-                preparedStmt.setInt(4, sourceVariantNum);
-                totalIdentifiablesCloned += preparedStmt.executeUpdate();
+            String query = buildCloneIdentifiablesQuery(tableName, mappings.getTableMapping(tableName.toLowerCase()).getColumnsMapping().keySet()) +
+                    buildNotOverriddenInVariantClause(tableName, List.of(ID_COLUMN)) +
+                    buildNotTombstonedIdentifiableClause(tableName, ID_COLUMN);
+            try (var preparedStmt = connection.prepareStatement(query)) {
+                preparedStmt.setInt(1, variantNum);
+                preparedStmt.setObject(2, networkUuid);
+                preparedStmt.setObject(3, networkUuid);
+                preparedStmt.setInt(4, fullVariantNum);
+                bindCompactionClauses(preparedStmt, 5, networkUuid, variantNum, 2, null);
+                totalIdentifiablesCompacted += preparedStmt.executeUpdate();
             }
         }
-        LOGGER.info("Cloned {} identifiables in {}ms", totalIdentifiablesCloned, stopwatch.elapsed(TimeUnit.MILLISECONDS));
+        int totalExternalAttributesCompacted = compactExternalAttributes(connection, networkUuid, variantNum, fullVariantNum);
+        for (String query : List.of(QueryCatalog.buildDeleteTombstonedIdentifiablesVariantQuery(),
+                QueryCatalog.buildDeleteTombstonedExternalAttributesVariantQuery(),
+                QueryExtensionCatalog.buildDeleteTombstonedExtensionsVariantQuery(),
+                QueryLimitsCatalog.buildDeleteTombstonedOperationalLimitsGroupVariantQuery())) {
+            executeDeleteVariantQuery(networkUuid, variantNum, connection, query);
+        }
+        LOGGER.info("Compacted {} identifiables and {} external attributes", totalIdentifiablesCompacted, totalExternalAttributesCompacted);
+    }
+
+    private int compactExternalAttributes(Connection connection, UUID networkUuid, int variantNum, int fullVariantNum) throws SQLException {
+        record CompactionQuery(String query, int clauseCount, ExternalAttributesType tombstonedType) {
+        }
+        // Rows are overridden using the same keys as the ones used to merge full and partial variants in PartialVariantUtils
+        List<CompactionQuery> compactionQueries = new ArrayList<>(List.of(
+                new CompactionQuery(QueryLimitsCatalog.buildCloneOperationalLimitsGroupQuery() +
+                        buildNotOverriddenInVariantClause(QueryLimitsCatalog.OPERATIONAL_LIMITS_GROUP_TABLE,
+                                List.of(EQUIPMENT_ID_COLUMN, QueryLimitsCatalog.GROUP_ID_COLUMN, QueryLimitsCatalog.SIDE_COLUMN)) +
+                        buildNotTombstonedIdentifiableClause(QueryLimitsCatalog.OPERATIONAL_LIMITS_GROUP_TABLE, EQUIPMENT_ID_COLUMN) +
+                        QueryLimitsCatalog.buildNotTombstonedOperationalLimitsGroupClause(), 3, null),
+                new CompactionQuery(QueryCatalog.buildCloneReactiveCapabilityCurvePointsQuery() +
+                        buildNotOverriddenInVariantClause(REACTIVE_CAPABILITY_CURVE_POINT_TABLE, List.of(EQUIPMENT_ID_COLUMN)) +
+                        buildNotTombstonedIdentifiableClause(REACTIVE_CAPABILITY_CURVE_POINT_TABLE, EQUIPMENT_ID_COLUMN) +
+                        buildNotTombstonedExternalAttributesClause(REACTIVE_CAPABILITY_CURVE_POINT_TABLE, EQUIPMENT_ID_COLUMN),
+                        3, ExternalAttributesType.REACTIVE_CAPABILITY_CURVE_POINT),
+                new CompactionQuery(QueryCatalog.buildCloneAreaBoundariesQuery() +
+                        buildNotOverriddenInVariantClause(AREA_BOUNDARY_TABLE, List.of(AREA_ID_COLUMN)) +
+                        buildNotTombstonedIdentifiableClause(AREA_BOUNDARY_TABLE, AREA_ID_COLUMN) +
+                        buildNotTombstonedExternalAttributesClause(AREA_BOUNDARY_TABLE, AREA_ID_COLUMN),
+                        3, ExternalAttributesType.AREA_BOUNDARIES),
+                new CompactionQuery(QueryCatalog.buildCloneRegulatingPointsQuery() +
+                        buildNotOverriddenInVariantClause(REGULATING_POINT_TABLE, List.of(REGULATING_EQUIPMENT_ID, REGULATING_TAP_CHANGER_TYPE)) +
+                        buildNotTombstonedIdentifiableClause(REGULATING_POINT_TABLE, REGULATING_EQUIPMENT_ID) +
+                        buildNotTombstonedExternalAttributesClause(REGULATING_POINT_TABLE, REGULATING_EQUIPMENT_ID),
+                        3, ExternalAttributesType.REGULATING_POINT),
+                new CompactionQuery(QueryCatalog.buildCloneTapChangerStepQuery() +
+                        buildNotOverriddenInVariantClause(TAP_CHANGER_STEP_TABLE, List.of(EQUIPMENT_ID_COLUMN)) +
+                        buildNotTombstonedIdentifiableClause(TAP_CHANGER_STEP_TABLE, EQUIPMENT_ID_COLUMN) +
+                        buildNotTombstonedExternalAttributesClause(TAP_CHANGER_STEP_TABLE, EQUIPMENT_ID_COLUMN),
+                        3, ExternalAttributesType.TAP_CHANGER_STEP),
+                new CompactionQuery(QueryExtensionCatalog.buildCloneExtensionsQuery() +
+                        buildNotOverriddenInVariantClause(QueryExtensionCatalog.EXTENSION_TABLE,
+                                List.of(EQUIPMENT_ID_COLUMN, QueryExtensionCatalog.EXTENSION_NAME_COLUMN)) +
+                        buildNotTombstonedIdentifiableClause(QueryExtensionCatalog.EXTENSION_TABLE, EQUIPMENT_ID_COLUMN) +
+                        QueryExtensionCatalog.buildNotTombstonedExtensionClause(), 3, null)
+        ));
+        for (ExtensionTableMapping extensionTableMapping : mappings.getAllExtensions()) {
+            String table = extensionTableMapping.getTable();
+            compactionQueries.add(new CompactionQuery(QueryExtensionCatalog.buildCloneTypedExtensionsQuery(table, extensionTableMapping.getColumnsMapping().keySet()) +
+                    buildNotOverriddenInVariantClause(table, List.of(EQUIPMENT_ID_COLUMN)) +
+                    buildNotTombstonedIdentifiableClause(table, EQUIPMENT_ID_COLUMN) +
+                    QueryExtensionCatalog.buildNotTombstonedTypedExtensionClause(table, extensionTableMapping.getExtensionName()), 3, null));
+        }
+
+        int totalExternalAttributesCompacted = 0;
+        for (CompactionQuery compactionQuery : compactionQueries) {
+            try (var preparedStmt = connection.prepareStatement(compactionQuery.query())) {
+                preparedStmt.setObject(1, networkUuid);
+                preparedStmt.setInt(2, variantNum);
+                preparedStmt.setObject(3, networkUuid);
+                preparedStmt.setInt(4, fullVariantNum);
+                bindCompactionClauses(preparedStmt, 5, networkUuid, variantNum, compactionQuery.clauseCount(), compactionQuery.tombstonedType());
+                totalExternalAttributesCompacted += preparedStmt.executeUpdate();
+            }
+        }
+        return totalExternalAttributesCompacted;
     }
 
-    public void cloneNetwork(UUID networkUuid, String sourceVariantId, String targetVariantId, boolean mayOverwrite) {
-        List<VariantInfos> variantsInfos = getVariantsInfos(networkUuid);
-        Optional<VariantInfos> targetVariant = VariantUtils.getVariant(targetVariantId, variantsInfos);
-        if (targetVariant.isPresent()) {
-            if (!mayOverwrite) {
-                throw new JsonApiErrorResponseException(ErrorObject.cloneOverExisting(targetVariantId));
-            } else {
-                if (Resource.INITIAL_VARIANT_NUM == targetVariant.get().getNum()) {
-                    throw new JsonApiErrorResponseException(ErrorObject.cloneOverInitialForbidden());
-                }
-                deleteNetwork(networkUuid, targetVariant.get().getNum());
-            }
+    private static void bindCompactionClauses(PreparedStatement preparedStmt, int firstIndex, UUID networkUuid, int variantNum,
+                                              int clauseCount, ExternalAttributesType tombstonedType) throws SQLException {
+        int index = firstIndex;
+        for (int i = 0; i < clauseCount; i++) {
+            preparedStmt.setObject(index++, networkUuid);
+            preparedStmt.setInt(index++, variantNum);
+        }
+        if (tombstonedType != null) {
+            // The tombstoned external attributes clause is always the last one, its type is bound after its variant
+            preparedStmt.setString(index, tombstonedType.toString());
         }
-        int sourceVariantNum = VariantUtils.getVariantNum(sourceVariantId, variantsInfos);
-        int targetVariantNum = VariantUtils.findFirstAvailableVariantNum(variantsInfos);
-        cloneNetworkVariant(networkUuid, sourceVariantNum, targetVariantNum, targetVariantId);
     }
 
     public <T extends IdentifiableAttributes> void createIdentifiables(UUID networkUuid, List<Resource<T>> resources,
                                                                        TableMapping tableMapping) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             processInsertIdentifiables(networkUuid, resources, tableMapping, connection);
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
@@ -566,17 +1730,18 @@ public class NetworkStoreRepository {
                     bindValues(preparedStmt, values, mapper);
                     preparedStmt.addBatch();
                 }
-                preparedStmt.executeBatch();
+                sqlObserver.executeBatch(preparedStmt, tableMapping.getTable());
             }
         }
     }
 
     private <T extends IdentifiableAttributes> Optional<Resource<T>> getIdentifiable(UUID networkUuid, int variantNum, String equipmentId,
                                                                                      TableMapping tableMapping) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
+            int fullVariantNum = getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum();
             return PartialVariantUtils.getOptionalIdentifiable(
                     variantNum,
-                    getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
+                    fullVariantNum,
                     () -> isTombstonedIdentifiable(connection, networkUuid, variantNum, equipmentId),
                     variant -> getIdentifiableForVariant(connection, networkUuid, variant, equipmentId, tableMapping, variantNum));
         } catch (SQLException e) {
@@ -592,18 +1757,7 @@ public class NetworkStoreRepository {
             preparedStmt.setString(3, equipmentId);
             try (ResultSet resultSet = preparedStmt.executeQuery()) {
                 if (resultSet.next()) {
-                    T attributes = (T) tableMapping.getAttributesSupplier().get();
-                    MutableInt columnIndex = new MutableInt(1);
-                    tableMapping.getColumnsMapping().forEach((columnName, columnMapping) -> {
-                        bindAttributes(resultSet, columnIndex.getValue(), columnMapping, attributes, mapper);
-                        columnIndex.increment();
-                    });
-                    Resource.Builder<T> resourceBuilder = (Resource.Builder<T>) tableMapping.getResourceBuilderSupplier().get();
-                    Resource<T> resource = resourceBuilder
-                            .id(equipmentId)
-                            .variantNum(variantNumOverride)
-                            .attributes(attributes)
-                            .build();
+                    Resource<T> resource = readIdentifiable(resultSet, equipmentId, tableMapping, variantNumOverride);
                     return Optional.of(completeResourceInfos(resource, networkUuid, variantNumOverride, equipmentId));
                 }
             }
@@ -613,123 +1767,194 @@ public class NetworkStoreRepository {
         }
     }
 
+    private <T extends IdentifiableAttributes> Resource<T> readIdentifiable(ResultSet resultSet, String equipmentId, TableMapping tableMapping, int variantNumOverride) {
+        T attributes = (T) tableMapping.getAttributesSupplier().get();
+        MutableInt columnIndex = new MutableInt(1);
+        tableMapping.getColumnsMapping().forEach((columnName, columnMapping) -> {
+            bindAttributes(resultSet, columnIndex.getValue(), columnMapping, attributes, mapper);
+            columnIndex.increment();
+        });
+        Resource.Builder<T> resourceBuilder = (Resource.Builder<T>) tableMapping.getResourceBuilderSupplier().get();
+        return resourceBuilder
+                .id(equipmentId)
+                .variantNum(variantNumOverride)
+                .attributes(attributes)
+                .build();
+    }
+
+    private static boolean hasReactiveCapabilityCurvePoints(ResourceType type) {
+        return type == ResourceType.GENERATOR || type == ResourceType.BATTERY || type == ResourceType.VSC_CONVERTER_STATION;
+    }
+
+    private static boolean hasRegulatingPoints(ResourceType type) {
+        return switch (type) {
+            case GENERATOR, VSC_CONVERTER_STATION, STATIC_VAR_COMPENSATOR, SHUNT_COMPENSATOR,
+                 TWO_WINDINGS_TRANSFORMER, THREE_WINDINGS_TRANSFORMER -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean hasTapChangerSteps(ResourceType type) {
+        return type == ResourceType.TWO_WINDINGS_TRANSFORMER || type == ResourceType.THREE_WINDINGS_TRANSFORMER;
+    }
+
+    private static boolean hasOperationalLimitsGroups(ResourceType type) {
+        return type == ResourceType.THREE_WINDINGS_TRANSFORMER || type == ResourceType.BOUNDARY_LINE;
+    }
+
+    private static boolean hasAreaBoundaries(ResourceType type) {
+        return type == ResourceType.AREA;
+    }
+
+    /**
+     * Attributes of one identifiable, or of a page of identifiables of the same type, stored in other tables than the
+     * one of the identifiable. Only the attributes of its resource type are read, the other ones are null.
+     */
+    private record ExternalAttributes(Set<RegulatingEquipmentIdentifier> regulatingEquipments,
+                                      Map<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>> reactiveCapabilityCurvePoints,
+                                      Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPoints,
+                                      Map<OwnerInfo, List<TapChangerStepAttributes>> tapChangerSteps,
+                                      Map<OwnerInfo, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> operationalLimitsGroups,
+                                      Map<OwnerInfo, List<AreaBoundaryAttributes>> areaBoundaries) {
+
+        ExternalAttributes withRegulatingEquipments(Set<RegulatingEquipmentIdentifier> identifiableRegulatingEquipments) {
+            return new ExternalAttributes(identifiableRegulatingEquipments, reactiveCapabilityCurvePoints, regulatingPoints, tapChangerSteps,
+                    operationalLimitsGroups, areaBoundaries);
+        }
+    }
+
+    private ExternalAttributes getExternalAttributes(UUID networkUuid, int variantNum, String equipmentId, ResourceType type) {
+        return new ExternalAttributes(
+                getRegulatingEquipmentsForIdentifiable(networkUuid, variantNum, equipmentId, type),
+                hasReactiveCapabilityCurvePoints(type) ? getReactiveCapabilityCurvePoints(networkUuid, variantNum, EQUIPMENT_ID_COLUMN, equipmentId) : null,
+                hasRegulatingPoints(type) ? getRegulatingPointsWithInClause(networkUuid, variantNum, REGULATING_EQUIPMENT_ID, Collections.singletonList(equipmentId), type) : null,
+                hasTapChangerSteps(type) ? getTapChangerSteps(networkUuid, variantNum, EQUIPMENT_ID_COLUMN, equipmentId) : null,
+                hasOperationalLimitsGroups(type) ? limitsHandler.getOperationalLimitsGroupsAttributes(networkUuid, variantNum, EQUIPMENT_ID_COLUMN, equipmentId) : null,
+                hasAreaBoundaries(type) ? getAreaBoundaries(networkUuid, variantNum, AREA_ID_COLUMN, equipmentId) : null);
+    }
+
     private <T extends IdentifiableAttributes> Resource<T> completeResourceInfos(Resource<T> resource, UUID networkUuid, int variantNum, String equipmentId) {
-        insertRegulatingEquipmentsInto(networkUuid, variantNum, equipmentId, resource, resource.getType());
+        return completeResourceInfos(resource, networkUuid, variantNum, equipmentId, getExternalAttributes(networkUuid, variantNum, equipmentId, resource.getType()));
+    }
+
+    private <T extends IdentifiableAttributes> Resource<T> completeResourceInfos(Resource<T> resource, UUID networkUuid, int variantNum, String equipmentId,
+                                                                                ExternalAttributes externalAttributes) {
+        if (resource.getAttributes() instanceof RegulatedEquipmentAttributes regulatedEquipmentAttributes) {
+            regulatedEquipmentAttributes.setRegulatingEquipments(externalAttributes.regulatingEquipments());
+        }
         return switch (resource.getType()) {
-            case GENERATOR -> completeGeneratorInfos(resource, networkUuid, variantNum, equipmentId);
-            case BATTERY -> completeBatteryInfos(resource, networkUuid, variantNum, equipmentId);
+            case GENERATOR -> completeGeneratorInfos(resource, networkUuid, externalAttributes);
+            case BATTERY -> completeBatteryInfos(resource, networkUuid, externalAttributes);
             case TWO_WINDINGS_TRANSFORMER ->
-                completeTwoWindingsTransformerInfos(resource, networkUuid, variantNum, equipmentId);
+                completeTwoWindingsTransformerInfos(resource, networkUuid, variantNum, equipmentId, externalAttributes);
             case THREE_WINDINGS_TRANSFORMER ->
-                completeThreeWindingsTransformerInfos(resource, networkUuid, variantNum, equipmentId);
+                completeThreeWindingsTransformerInfos(resource, networkUuid, variantNum, equipmentId, externalAttributes);
             case VSC_CONVERTER_STATION ->
-                completeVscConverterStationInfos(resource, networkUuid, variantNum, equipmentId);
-            case BOUNDARY_LINE -> completeBoundaryLineInfos(resource, networkUuid, variantNum, equipmentId);
-            case STATIC_VAR_COMPENSATOR -> completeStaticVarCompensatorInfos(resource, networkUuid, variantNum, equipmentId);
-            case SHUNT_COMPENSATOR -> completeShuntCompensatorInfos(resource, networkUuid, variantNum, equipmentId);
-            case AREA -> completeAreaInfos(resource, networkUuid, variantNum, equipmentId);
+                completeVscConverterStationInfos(resource, networkUuid, externalAttributes);
+            case BOUNDARY_LINE -> completeBoundaryLineInfos(resource, networkUuid, externalAttributes);
+            case STATIC_VAR_COMPENSATOR -> completeStaticVarCompensatorInfos(resource, externalAttributes);
+            case SHUNT_COMPENSATOR -> completeShuntCompensatorInfos(resource, externalAttributes);
+            case AREA -> completeAreaInfos(resource, networkUuid, externalAttributes);
             default -> resource;
         };
     }
 
-    private <T extends IdentifiableAttributes> Resource<T> completeAreaInfos(Resource<T> resource, UUID networkUuid, int variantNum, String areaId) {
+    private <T extends IdentifiableAttributes> Resource<T> completeAreaInfos(Resource<T> resource, UUID networkUuid, ExternalAttributes externalAttributes) {
         Resource<AreaAttributes> areaAttributesResource = (Resource<AreaAttributes>) resource;
-        Map<OwnerInfo, List<AreaBoundaryAttributes>> areaBoundaries = getAreaBoundaries(networkUuid, variantNum, AREA_ID_COLUMN, areaId);
-        insertAreaBoundariesInAreas(networkUuid, List.of(areaAttributesResource), areaBoundaries);
+        insertAreaBoundariesInAreas(networkUuid, List.of(areaAttributesResource), externalAttributes.areaBoundaries());
         return resource;
     }
 
-    private <T extends IdentifiableAttributes> Resource<T> completeGeneratorInfos(Resource<T> resource, UUID networkUuid, int variantNum, String equipmentId) {
+    private <T extends IdentifiableAttributes> Resource<T> completeGeneratorInfos(Resource<T> resource, UUID networkUuid, ExternalAttributes externalAttributes) {
         Resource<GeneratorAttributes> generatorAttributesResource = (Resource<GeneratorAttributes>) resource;
-        Map<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>> reactiveCapabilityCurvePoints = getReactiveCapabilityCurvePoints(networkUuid, variantNum, EQUIPMENT_ID_COLUMN, equipmentId);
-        insertReactiveCapabilityCurvePointsInEquipments(networkUuid, List.of(generatorAttributesResource), reactiveCapabilityCurvePoints);
-        insertRegulatingPointIntoInjection(networkUuid, variantNum, equipmentId, generatorAttributesResource, ResourceType.GENERATOR);
+        insertReactiveCapabilityCurvePointsInEquipments(networkUuid, List.of(generatorAttributesResource), externalAttributes.reactiveCapabilityCurvePoints());
+        insertRegulatingPointIntoInjection(generatorAttributesResource, externalAttributes.regulatingPoints());
         return resource;
     }
 
-    private <T extends IdentifiableAttributes> Resource<T> completeBatteryInfos(Resource<T> resource, UUID networkUuid, int variantNum, String equipmentId) {
-        Map<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>> reactiveCapabilityCurvePoints = getReactiveCapabilityCurvePoints(networkUuid, variantNum, EQUIPMENT_ID_COLUMN, equipmentId);
-        insertReactiveCapabilityCurvePointsInEquipments(networkUuid, List.of((Resource<BatteryAttributes>) resource), reactiveCapabilityCurvePoints);
+    private <T extends IdentifiableAttributes> Resource<T> completeBatteryInfos(Resource<T> resource, UUID networkUuid, ExternalAttributes externalAttributes) {
+        insertReactiveCapabilityCurvePointsInEquipments(networkUuid, List.of((Resource<BatteryAttributes>) resource), externalAttributes.reactiveCapabilityCurvePoints());
         return resource;
     }
 
-    private <T extends IdentifiableAttributes> Resource<T> completeTwoWindingsTransformerInfos(Resource<T> resource, UUID networkUuid, int variantNum, String equipmentId) {
+    private <T extends IdentifiableAttributes> Resource<T> completeTwoWindingsTransformerInfos(Resource<T> resource, UUID networkUuid, int variantNum, String equipmentId,
+                                                                                              ExternalAttributes externalAttributes) {
         Resource<TwoWindingsTransformerAttributes> twoWindingsTransformerResource = (Resource<TwoWindingsTransformerAttributes>) resource;
-        Map<OwnerInfo, List<TapChangerStepAttributes>> tapChangerSteps = getTapChangerSteps(networkUuid, variantNum, EQUIPMENT_ID_COLUMN, equipmentId);
-        insertTapChangerStepsInEquipments(networkUuid, List.of(twoWindingsTransformerResource), tapChangerSteps);
-        insertRegulatingPointIntoTwoWindingsTransformer(networkUuid, variantNum, equipmentId, twoWindingsTransformerResource);
+        insertTapChangerStepsInEquipments(networkUuid, List.of(twoWindingsTransformerResource), externalAttributes.tapChangerSteps());
+        insertRegulatingPointIntoTwoWindingsTransformer(networkUuid, variantNum, equipmentId, twoWindingsTransformerResource, externalAttributes.regulatingPoints());
         return resource;
     }
 
-    private <T extends IdentifiableAttributes> Resource<T> completeThreeWindingsTransformerInfos(Resource<T> resource, UUID networkUuid, int variantNum, String equipmentId) {
+    private <T extends IdentifiableAttributes> Resource<T> completeThreeWindingsTransformerInfos(Resource<T> resource, UUID networkUuid, int variantNum, String equipmentId,
+                                                                                                ExternalAttributes externalAttributes) {
         Resource<ThreeWindingsTransformerAttributes> threeWindingsTransformerResource = (Resource<ThreeWindingsTransformerAttributes>) resource;
-        Map<OwnerInfo, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> operationalLimitsGroups =
-                limitsHandler.getOperationalLimitsGroupsAttributes(networkUuid, variantNum, EQUIPMENT_ID_COLUMN, equipmentId);
-        limitsHandler.insertOperationalLimitsGroupsInEquipments(networkUuid, List.of(threeWindingsTransformerResource), operationalLimitsGroups);
-
-        Map<OwnerInfo, List<TapChangerStepAttributes>> tapChangerSteps = getTapChangerSteps(networkUuid, variantNum, EQUIPMENT_ID_COLUMN, equipmentId);
-        insertTapChangerStepsInEquipments(networkUuid, List.of(threeWindingsTransformerResource), tapChangerSteps);
-        insertRegulatingPointIntoThreeWindingsTransformer(networkUuid, variantNum, equipmentId, threeWindingsTransformerResource);
+        limitsHandler.insertOperationalLimitsGroupsInEquipments(networkUuid, List.of(threeWindingsTransformerResource), externalAttributes.operationalLimitsGroups());
+        insertTapChangerStepsInEquipments(networkUuid, List.of(threeWindingsTransformerResource), externalAttributes.tapChangerSteps());
+        insertRegulatingPointIntoThreeWindingsTransformer(networkUuid, variantNum, equipmentId, threeWindingsTransformerResource, externalAttributes.regulatingPoints());
         return resource;
     }
 
-    private <T extends IdentifiableAttributes> Resource<T> completeVscConverterStationInfos(Resource<T> resource, UUID networkUuid, int variantNum, String equipmentId) {
+    private <T extends IdentifiableAttributes> Resource<T> completeVscConverterStationInfos(Resource<T> resource, UUID networkUuid, ExternalAttributes externalAttributes) {
         Resource<VscConverterStationAttributes> vscConverterStationAttributesResource = (Resource<VscConverterStationAttributes>) resource;
-        Map<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>> reactiveCapabilityCurvePoints = getReactiveCapabilityCurvePoints(networkUuid, variantNum, EQUIPMENT_ID_COLUMN, equipmentId);
-        insertReactiveCapabilityCurvePointsInEquipments(networkUuid, List.of(vscConverterStationAttributesResource), reactiveCapabilityCurvePoints);
-        insertRegulatingPointIntoInjection(networkUuid, variantNum, equipmentId, vscConverterStationAttributesResource, ResourceType.VSC_CONVERTER_STATION);
+        insertReactiveCapabilityCurvePointsInEquipments(networkUuid, List.of(vscConverterStationAttributesResource), externalAttributes.reactiveCapabilityCurvePoints());
+        insertRegulatingPointIntoInjection(vscConverterStationAttributesResource, externalAttributes.regulatingPoints());
         return resource;
     }
 
-    private <T extends IdentifiableAttributes> Resource<T> completeBoundaryLineInfos(Resource<T> resource, UUID networkUuid, int variantNum, String equipmentId) {
-        Map<OwnerInfo, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> operationalLimitsGroups =
-                limitsHandler.getOperationalLimitsGroupsAttributes(networkUuid, variantNum, EQUIPMENT_ID_COLUMN, equipmentId);
-        limitsHandler.insertOperationalLimitsGroupsInEquipments(networkUuid, List.of((Resource<BoundaryLineAttributes>) resource), operationalLimitsGroups);
+    private <T extends IdentifiableAttributes> Resource<T> completeBoundaryLineInfos(Resource<T> resource, UUID networkUuid, ExternalAttributes externalAttributes) {
+        limitsHandler.insertOperationalLimitsGroupsInEquipments(networkUuid, List.of((Resource<BoundaryLineAttributes>) resource), externalAttributes.operationalLimitsGroups());
         return resource;
     }
 
-    private <T extends IdentifiableAttributes> Resource<T> completeStaticVarCompensatorInfos(Resource<T> resource, UUID networkUuid, int variantNum, String equipmentId) {
-        Resource<StaticVarCompensatorAttributes> staticVarCompensatorAttributesResource = (Resource<StaticVarCompensatorAttributes>) resource;
-        insertRegulatingPointIntoInjection(networkUuid, variantNum, equipmentId, staticVarCompensatorAttributesResource, ResourceType.STATIC_VAR_COMPENSATOR);
+    private <T extends IdentifiableAttributes> Resource<T> completeStaticVarCompensatorInfos(Resource<T> resource, ExternalAttributes externalAttributes) {
+        insertRegulatingPointIntoInjection((Resource<StaticVarCompensatorAttributes>) resource, externalAttributes.regulatingPoints());
         return resource;
     }
 
-    private <T extends IdentifiableAttributes> Resource<T> completeShuntCompensatorInfos(Resource<T> resource, UUID networkUuid, int variantNum, String equipmentId) {
-        Resource<ShuntCompensatorAttributes> shuntCompensatorAttributesResource = (Resource<ShuntCompensatorAttributes>) resource;
-        insertRegulatingPointIntoInjection(networkUuid, variantNum, equipmentId, shuntCompensatorAttributesResource, ResourceType.SHUNT_COMPENSATOR);
+    private <T extends IdentifiableAttributes> Resource<T> completeShuntCompensatorInfos(Resource<T> resource, ExternalAttributes externalAttributes) {
+        insertRegulatingPointIntoInjection((Resource<ShuntCompensatorAttributes>) resource, externalAttributes.regulatingPoints());
         return resource;
     }
 
-    private <T extends IdentifiableAttributes> List<Resource<T>> getIdentifiablesInternal(int variantNum, PreparedStatement preparedStmt, TableMapping tableMapping) throws SQLException {
-        try (ResultSet resultSet = preparedStmt.executeQuery()) {
-            List<Resource<T>> resources = new ArrayList<>();
-            while (resultSet.next()) {
+    private <T extends IdentifiableAttributes> List<Resource<T>> getIdentifiablesInternal(int variantNum, PreparedStatement preparedStmt, TableMapping tableMapping,
+                                                                                          String variantLayer, StringInterner interner) throws SQLException {
+        try (ResultSet resultSet = sqlObserver.executeQuery(preparedStmt, tableMapping.getTable(), variantLayer)) {
+            long bindingStart = System.nanoTime();
+            // Summed over the decoding threads
+            LongAdder jsonDecodeNanos = new LongAdder();
+            List<ColumnMapping> columnMappings = new ArrayList<>(tableMapping.getColumnsMapping().values());
+            List<Resource<T>> resources = rowDecoder.decode(resultSet,
                 // first is ID
-                String id = resultSet.getString(1);
-                T attributes = (T) tableMapping.getAttributesSupplier().get();
-                MutableInt columnIndex = new MutableInt(2);
-                tableMapping.getColumnsMapping().forEach((columnName, columnMapping) -> {
-                    bindAttributes(resultSet, columnIndex.getValue(), columnMapping, attributes, mapper);
-                    columnIndex.increment();
+                rs -> new IdentifiableRow(interner.intern(rs.getString(1)), readColumns(rs, 2, columnMappings, interner)),
+                row -> {
+                    T attributes = (T) tableMapping.getAttributesSupplier().get();
+                    jsonDecodeNanos.add(bindColumns(row.values(), columnMappings, attributes, mapper, interner));
+                    Resource.Builder<T> resourceBuilder = (Resource.Builder<T>) tableMapping.getResourceBuilderSupplier().get();
+                    return resourceBuilder
+                            .id(row.id())
+                            .variantNum(variantNum)
+                            .attributes(attributes)
+                            .build();
                 });
-                Resource.Builder<T> resourceBuilder = (Resource.Builder<T>) tableMapping.getResourceBuilderSupplier().get();
-                resources.add(resourceBuilder
-                        .id(id)
-                        .variantNum(variantNum)
-                        .attributes(attributes)
-                        .build());
-            }
+            sqlObserver.recordRowBinding(tableMapping.getTable(), variantLayer, System.nanoTime() - bindingStart, jsonDecodeNanos.sum(), resources.size());
             return resources;
         }
     }
 
+    /**
+     * Raw values of an identifiable row, see {@link Utils#readColumns}.
+     */
+    private record IdentifiableRow(String id, Object[] values) {
+    }
+
     <T extends IdentifiableAttributes> List<Resource<T>> getIdentifiablesForVariant(Connection connection, UUID networkUuid, int variantNum,
                                                                                               TableMapping tableMapping, int variantNumOverride) {
         List<Resource<T>> identifiables;
         try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildGetIdentifiablesQuery(tableMapping.getTable(), tableMapping.getColumnsMapping().keySet()))) {
             preparedStmt.setObject(1, networkUuid);
             preparedStmt.setInt(2, variantNum);
-            identifiables = getIdentifiablesInternal(variantNumOverride, preparedStmt, tableMapping);
+            identifiables = getIdentifiablesInternal(variantNumOverride, preparedStmt, tableMapping, NetworkStoreSqlObserver.variantLayer(variantNum, variantNumOverride),
+                    stringInterners.get(networkUuid));
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
@@ -748,7 +1973,8 @@ public class NetworkStoreRepository {
                 preparedStmt.setString(3 + i, valuesForInClause.get(i));
             }
 
-            return getIdentifiablesInternal(variantNumOverride, preparedStmt, tableMapping);
+            return getIdentifiablesInternal(variantNumOverride, preparedStmt, tableMapping, NetworkStoreSqlObserver.variantLayer(variantNum, variantNumOverride),
+                    stringInterners.get(networkUuid));
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
@@ -757,11 +1983,11 @@ public class NetworkStoreRepository {
     private <T extends IdentifiableAttributes> List<Resource<T>> getIdentifiablesInContainer(UUID networkUuid, int variantNum, String containerId,
                                                                                              Set<String> containerColumns,
                                                                                              TableMapping tableMapping) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             return PartialVariantUtils.getIdentifiables(
                     variantNum,
                     getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
-                    () -> getTombstonedIdentifiableIds(connection, networkUuid, variantNum),
+                    () -> observeTombstonedIdentifiableIds(connection, networkUuid, variantNum),
                     variant -> getIdentifiablesInContainerForVariant(connection, networkUuid, variant, containerId, containerColumns, tableMapping, variantNum),
                     Resource::getId,
                     () -> getIdentifiablesIdsForVariantFromTable(connection, networkUuid, variantNum, tableMapping.getTable()));
@@ -780,7 +2006,8 @@ public class NetworkStoreRepository {
             for (int i = 0; i < containerColumns.size(); i++) {
                 preparedStmt.setString(3 + i, containerId);
             }
-            identifiables = getIdentifiablesInternal(variantNumOverride, preparedStmt, tableMapping);
+            identifiables = getIdentifiablesInternal(variantNumOverride, preparedStmt, tableMapping, NetworkStoreSqlObserver.variantLayer(variantNum, variantNumOverride),
+                    stringInterners.get(networkUuid));
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
@@ -793,7 +2020,7 @@ public class NetworkStoreRepository {
 
     public <T extends IdentifiableAttributes & Contained> void updateIdentifiables(UUID networkUuid, List<Resource<T>> resources,
                                                                                    TableMapping tableMapping, String columnToAddToWhereClause) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             Map<Boolean, List<Resource<T>>> partitionResourcesByExistenceInVariant = partitionResourcesByExistenceInVariant(connection, networkUuid, resources, tableMapping.getTable());
             processInsertIdentifiables(networkUuid, partitionResourcesByExistenceInVariant.get(false), tableMapping, connection);
             processUpdateIdentifiables(connection, networkUuid, partitionResourcesByExistenceInVariant.get(true), tableMapping, columnToAddToWhereClause);
@@ -839,7 +2066,7 @@ public class NetworkStoreRepository {
                     bindValues(preparedStmt, values, mapper);
                     preparedStmt.addBatch();
                 }
-                preparedStmt.executeBatch();
+                sqlObserver.executeBatch(preparedStmt, tableMapping.getTable());
             }
         }
         extensionHandler.updateExtensionsFromEquipments(connection, networkUuid, resources);
@@ -897,7 +2124,7 @@ public class NetworkStoreRepository {
             BiConsumer<T, U> svAttributeUpdater,
             BiConsumer<U, List<Object>> svAttributeBinder
     ) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             Map<Boolean, List<Resource<U>>> partitionedResourcesByExistenceInVariant = partitionResourcesByExistenceInVariant(connection, networkUuid, updatedSvResources, tableMapping.getTable());
             processUpdateIdentifiablesSv(networkUuid, partitionedResourcesByExistenceInVariant.get(true), updateQuery, svAttributeBinder, connection);
             processInsertUpdatedIdentifiablesSv(networkUuid, tableMapping, partitionedResourcesByExistenceInVariant.get(false), connection, svAttributeUpdater);
@@ -1049,7 +2276,7 @@ public class NetworkStoreRepository {
                     bindValues(preparedStmt, values, mapper);
                     preparedStmt.addBatch();
                 }
-                preparedStmt.executeBatch();
+                sqlObserver.executeBatch(preparedStmt, tableMapping.getTable());
             }
         }
         extensionHandler.updateExtensionsFromEquipments(connection, networkUuid, resources);
@@ -1069,7 +2296,7 @@ public class NetworkStoreRepository {
             throw new IllegalArgumentException("The list of IDs to delete cannot be null or empty");
         }
 
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildDeleteIdentifiablesQuery(tableName, ids.size()))) {
                 for (List<String> idsPartition : Lists.partition(ids, BATCH_SIZE)) {
                     preparedStmt.setObject(1, networkUuid);
@@ -1095,7 +2322,7 @@ public class NetworkStoreRepository {
                                 preparedStmt.addBatch();
                             }
                         }
-                        preparedStmt.executeBatch();
+                        sqlObserver.executeBatch(preparedStmt, TOMBSTONED_IDENTIFIABLE_TABLE);
                     }
                 }
             }
@@ -1117,24 +2344,29 @@ public class NetworkStoreRepository {
 
     public void createSubstations(UUID networkUuid, List<Resource<SubstationAttributes>> resources) {
         createIdentifiables(networkUuid, resources, mappings.getSubstationMappings());
+        recordChanges(networkUuid, resources, ResourceType.SUBSTATION);
     }
 
     public void updateSubstations(UUID networkUuid, List<Resource<SubstationAttributes>> resources) {
         updateIdentifiables(networkUuid, resources, mappings.getSubstationMappings());
+        recordChanges(networkUuid, resources, ResourceType.SUBSTATION);
     }
 
     public void deleteSubstations(UUID networkUuid, int variantNum, List<String> substationIds) {
         deleteIdentifiables(networkUuid, variantNum, substationIds, SUBSTATION_TABLE);
+        recordChanges(networkUuid, variantNum, substationIds, ResourceType.SUBSTATION);
     }
 
     // voltage level
 
     public void createVoltageLevels(UUID networkUuid, List<Resource<VoltageLevelAttributes>> resources) {
         createIdentifiables(networkUuid, resources, mappings.getVoltageLevelMappings());
+        recordChanges(networkUuid, resources, ResourceType.VOLTAGE_LEVEL);
     }
 
     public void updateVoltageLevels(UUID networkUuid, List<Resource<VoltageLevelAttributes>> resources) {
         updateIdentifiables(networkUuid, resources, mappings.getVoltageLevelMappings(), SUBSTATION_ID);
+        recordChanges(networkUuid, resources, ResourceType.VOLTAGE_LEVEL);
     }
 
     public void updateVoltageLevelsSv(UUID networkUuid, List<Resource<VoltageLevelSvAttributes>> resources) {
@@ -1146,6 +2378,7 @@ public class NetworkStoreRepository {
                 NetworkStoreRepository::updateVoltageLevelSvAttributes,
                 NetworkStoreRepository::bindVoltageLevelSvAttributes
         );
+        recordChanges(networkUuid, resources, ResourceType.VOLTAGE_LEVEL);
     }
 
     static void bindVoltageLevelSvAttributes(VoltageLevelSvAttributes attributes, List<Object> values) {
@@ -1174,6 +2407,7 @@ public class NetworkStoreRepository {
 
     public void deleteVoltageLevels(UUID networkUuid, int variantNum, List<String> voltageLevelIds) {
         deleteIdentifiables(networkUuid, variantNum, voltageLevelIds, VOLTAGE_LEVEL_TABLE);
+        recordChanges(networkUuid, variantNum, voltageLevelIds, ResourceType.VOLTAGE_LEVEL);
     }
 
     // generator
@@ -1183,7 +2417,10 @@ public class NetworkStoreRepository {
 
         // Now that generators are created, we will insert in the database the corresponding reactive capability curve points.
         insertReactiveCapabilityCurvePoints(getReactiveCapabilityCurvePointsFromEquipments(networkUuid, resources));
-        insertRegulatingPoints(getRegulatingPointFromEquipments(networkUuid, resources));
+        Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPoints = getRegulatingPointFromEquipments(networkUuid, resources);
+        insertRegulatingPoints(regulatingPoints);
+        recordChanges(networkUuid, resources, ResourceType.GENERATOR,
+                getRegulatingPointsVersionedTypes(ResourceType.GENERATOR, Set.of(), regulatingPoints));
     }
 
     public Optional<Resource<GeneratorAttributes>> getGenerator(UUID networkUuid, int variantNum, String generatorId) {
@@ -1191,16 +2428,21 @@ public class NetworkStoreRepository {
     }
 
     public List<Resource<GeneratorAttributes>> getGenerators(UUID networkUuid, int variantNum) {
-        List<Resource<GeneratorAttributes>> generators = getIdentifiables(networkUuid, variantNum, mappings.getGeneratorMappings());
-
-        //  reactive capability curves
-        Map<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>> reactiveCapabilityCurvePoints = getReactiveCapabilityCurvePoints(networkUuid, variantNum, EQUIPMENT_TYPE_COLUMN,
-                ResourceType.GENERATOR.toString());
-        insertReactiveCapabilityCurvePointsInEquipments(networkUuid, generators, reactiveCapabilityCurvePoints);
-
-        // regulating points
-        setRegulatingPointAndRegulatingEquipments(generators, networkUuid, variantNum, ResourceType.GENERATOR);
-        return generators;
+        return withSubQueries(networkUuid, variantNum, () -> {
+            // the sub-queries are independent, see SubQueryExecutor
+            SubQuery<Map<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>>> reactiveCapabilityCurvePointsQuery = subQueryExecutor.submit(() -> getReactiveCapabilityCurvePoints(
+                    networkUuid, variantNum, EQUIPMENT_TYPE_COLUMN, ResourceType.GENERATOR.toString()));
+            SubQuery<Map<RegulatingOwnerInfo, RegulatingPointAttributes>> regulatingPointsQuery = subQueryExecutor.submit(() -> getRegulatingPoints(networkUuid, variantNum, ResourceType.GENERATOR));
+            SubQuery<Map<OwnerInfo, Set<RegulatingEquipmentIdentifier>>> regulatingEquipmentsQuery = subQueryExecutor.submit(() -> getRegulatingEquipments(networkUuid, variantNum, ResourceType.GENERATOR));
+            List<Resource<GeneratorAttributes>> generators = getIdentifiables(networkUuid, variantNum, mappings.getGeneratorMappings());
+
+            //  reactive capability curves
+            insertReactiveCapabilityCurvePointsInEquipments(networkUuid, generators, reactiveCapabilityCurvePointsQuery.join());
+
+            // regulating points
+            setRegulatingPointAndRegulatingEquipments(generators, networkUuid, variantNum, ResourceType.GENERATOR, regulatingPointsQuery.join(), regulatingEquipmentsQuery.join());
+            return generators;
+        });
     }
 
     public List<Resource<GeneratorAttributes>> getVoltageLevelGenerators(UUID networkUuid, int variantNum, String voltageLevelId) {
@@ -1220,10 +2462,14 @@ public class NetworkStoreRepository {
     }
 
     public void updateGenerators(UUID networkUuid, List<Resource<GeneratorAttributes>> resources) {
+        Set<ResourceType> previousRegulatedTypes = getRegulatedResourceTypes(networkUuid, resources, ResourceType.GENERATOR);
         updateIdentifiables(networkUuid, resources, mappings.getGeneratorMappings(), VOLTAGE_LEVEL_ID_COLUMN);
 
         updateReactiveCapabilityCurvePoints(networkUuid, resources);
-        updateRegulatingPoints(networkUuid, resources, ResourceType.GENERATOR, getRegulatingPointFromEquipments(networkUuid, resources));
+        Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPoints = getRegulatingPointFromEquipments(networkUuid, resources);
+        updateRegulatingPoints(networkUuid, resources, ResourceType.GENERATOR, regulatingPoints);
+        recordChanges(networkUuid, resources, ResourceType.GENERATOR,
+                getRegulatingPointsVersionedTypes(ResourceType.GENERATOR, previousRegulatedTypes, regulatingPoints));
     }
 
     public <T extends IdentifiableAttributes & ReactiveLimitHolder> void updateReactiveCapabilityCurvePoints(UUID networkUuid, List<Resource<T>> resources) {
@@ -1235,20 +2481,24 @@ public class NetworkStoreRepository {
 
     public void updateGeneratorsSv(UUID networkUuid, List<Resource<InjectionSvAttributes>> resources) {
         updateInjectionsSv(networkUuid, resources, GENERATOR_TABLE, mappings.getGeneratorMappings());
+        recordChanges(networkUuid, resources, ResourceType.GENERATOR);
     }
 
     public void deleteGenerators(UUID networkUuid, int variantNum, List<String> generatorId) {
+        Set<ResourceType> regulatedTypes = getRegulatedResourceTypes(networkUuid, variantNum, generatorId, ResourceType.GENERATOR);
         deleteIdentifiables(networkUuid, variantNum, generatorId, GENERATOR_TABLE);
         deleteReactiveCapabilityCurvePoints(networkUuid, variantNum, generatorId);
         deleteRegulatingPoints(networkUuid, variantNum, generatorId, ResourceType.GENERATOR);
+        recordChanges(networkUuid, variantNum, generatorId, ResourceType.GENERATOR,
+                getRegulatingPointsVersionedTypes(ResourceType.GENERATOR, regulatedTypes, Map.of()));
     }
 
     private <T extends IdentifiableAttributes> List<Resource<T>> getIdentifiables(UUID networkUuid, int variantNum, TableMapping tableMapping) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             return PartialVariantUtils.getIdentifiables(
                     variantNum,
                     getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
-                    () -> getTombstonedIdentifiableIds(connection, networkUuid, variantNum),
+                    () -> observeTombstonedIdentifiableIds(connection, networkUuid, variantNum),
                     variant -> getIdentifiablesForVariant(connection, networkUuid, variant, tableMapping, variantNum),
                     Resource::getId,
                     null);
@@ -1257,13 +2507,103 @@ public class NetworkStoreRepository {
         }
     }
 
+    /**
+     * @return the page of the identifiables of the type following the id after, or the first page if null, ordered by
+     * id. The page is selected in SQL, and only the external attributes of its identifiables are read.
+     */
+    public <T extends IdentifiableAttributes> List<Resource<T>> getIdentifiablesPage(UUID networkUuid, int variantNum, ResourceType type, String after, int pageSize) {
+        TableMapping tableMapping = mappings.getTableMapping(type);
+        List<Resource<T>> page;
+        try (var connection = RequestConnection.getConnection(dataSource)) {
+            int fullVariantNum = getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum();
+            boolean partialVariant = !NetworkAttributes.isFullVariant(fullVariantNum);
+            // The ids are never empty, so all of them follow the empty string
+            String afterId = after != null ? after : "";
+            try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildGetIdentifiablesPageQuery(tableMapping.getTable(),
+                    tableMapping.getColumnsMapping().keySet(), partialVariant))) {
+                preparedStmt.setObject(1, networkUuid);
+                preparedStmt.setInt(2, variantNum);
+                preparedStmt.setString(3, afterId);
+                int limitIndex = 4;
+                if (partialVariant) {
+                    preparedStmt.setObject(4, networkUuid);
+                    preparedStmt.setInt(5, fullVariantNum);
+                    preparedStmt.setString(6, afterId);
+                    bindCompactionClauses(preparedStmt, 7, networkUuid, variantNum, 2, null);
+                    limitIndex = 11;
+                }
+                preparedStmt.setInt(limitIndex, pageSize);
+                page = getIdentifiablesInternal(variantNum, preparedStmt, tableMapping, NetworkStoreSqlObserver.REQUESTED_VARIANT_LAYER,
+                        stringInterners.get(networkUuid));
+            }
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e);
+        }
+        if (!page.isEmpty()) {
+            completeIdentifiablesPage(networkUuid, variantNum, type, page);
+        }
+        return page;
+    }
+
+    /**
+     * @return the identifiables of the type among the ids, read by batches of ids bound in in clauses, like their
+     * external attributes.
+     */
+    <T extends IdentifiableAttributes> List<Resource<T>> getIdentifiablesWithInClause(UUID networkUuid, int variantNum, ResourceType type, List<String> ids) {
+        TableMapping tableMapping = mappings.getTableMapping(type);
+        List<Resource<T>> identifiables = new ArrayList<>(ids.size());
+        for (List<String> idsPartition : Lists.partition(ids, BATCH_SIZE)) {
+            List<Resource<T>> partitionIdentifiables;
+            try (var connection = RequestConnection.getConnection(dataSource)) {
+                partitionIdentifiables = PartialVariantUtils.getIdentifiables(
+                        variantNum,
+                        getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
+                        () -> observeTombstonedIdentifiableIds(connection, networkUuid, variantNum),
+                        variant -> getIdentifiablesWithInClauseForVariant(connection, networkUuid, variant, tableMapping, idsPartition, variantNum),
+                        Resource::getId,
+                        null);
+            } catch (SQLException e) {
+                throw new UncheckedSqlException(e);
+            }
+            if (!partitionIdentifiables.isEmpty()) {
+                completeIdentifiablesPage(networkUuid, variantNum, type, partitionIdentifiables);
+            }
+            identifiables.addAll(partitionIdentifiables);
+        }
+        return identifiables;
+    }
+
+    private <T extends IdentifiableAttributes> void completeIdentifiablesPage(UUID networkUuid, int variantNum, ResourceType type, List<Resource<T>> page) {
+        List<String> ids = page.stream().map(Resource::getId).toList();
+        ExternalAttributes externalAttributes = new ExternalAttributes(
+                null,
+                hasReactiveCapabilityCurvePoints(type) ? getReactiveCapabilityCurvePointsWithInClause(networkUuid, variantNum, EQUIPMENT_ID_COLUMN, ids) : null,
+                hasRegulatingPoints(type) ? getRegulatingPointsWithInClause(networkUuid, variantNum, REGULATING_EQUIPMENT_ID, ids, type) : null,
+                hasTapChangerSteps(type) ? getTapChangerStepsWithInClause(networkUuid, variantNum, EQUIPMENT_ID_COLUMN, ids) : null,
+                hasOperationalLimitsGroups(type) ? limitsHandler.getOperationalLimitsGroupsWithInClause(networkUuid, variantNum, EQUIPMENT_ID_COLUMN, ids) : null,
+                hasAreaBoundaries(type) ? getAreaBoundariesWithInClause(networkUuid, variantNum, AREA_ID_COLUMN, ids) : null);
+        Map<OwnerInfo, Set<RegulatingEquipmentIdentifier>> regulatingEquipments = page.get(0).getAttributes() instanceof RegulatedEquipmentAttributes
+                ? getRegulatingEquipmentsWithInClause(networkUuid, variantNum, "regulatingterminalconnectableid", ids, type)
+                : Map.of();
+        for (Resource<T> resource : page) {
+            OwnerInfo ownerInfo = new OwnerInfo(resource.getId(), type, networkUuid, variantNum);
+            completeResourceInfos(resource, networkUuid, variantNum, resource.getId(),
+                    externalAttributes.withRegulatingEquipments(regulatingEquipments.getOrDefault(ownerInfo, Set.of())));
+        }
+    }
+
+    private Set<String> observeTombstonedIdentifiableIds(Connection connection, UUID networkUuid, int variantNum) {
+        return sqlObserver.observeQuery(TOMBSTONED_IDENTIFIABLE_TABLE, NetworkStoreSqlObserver.REQUESTED_VARIANT_LAYER,
+            () -> getTombstonedIdentifiableIds(connection, networkUuid, variantNum));
+    }
+
     private Set<String> getTombstonedTapChangerStepsIds(Connection connection, UUID networkUuid, int variantNum) {
         Set<String> identifiableIds = new HashSet<>();
         try (var preparedStmt = connection.prepareStatement(buildGetTombstonedExternalAttributesIdsQuery())) {
             preparedStmt.setObject(1, networkUuid);
             preparedStmt.setInt(2, variantNum);
             preparedStmt.setString(3, ExternalAttributesType.TAP_CHANGER_STEP.toString());
-            try (var resultSet = preparedStmt.executeQuery()) {
+            try (var resultSet = sqlObserver.executeQuery(preparedStmt, TOMBSTONED_EXTERNAL_ATTRIBUTES_TABLE, NetworkStoreSqlObserver.REQUESTED_VARIANT_LAYER)) {
                 while (resultSet.next()) {
                     identifiableIds.add(resultSet.getString(EQUIPMENT_ID_COLUMN));
                 }
@@ -1289,7 +2629,7 @@ public class NetworkStoreRepository {
 
     private <T extends IdentifiableAttributes & ReactiveLimitHolder> void insertTombstonedReactiveCapabilityCurvePoints(
             UUID networkUuid, Map<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>> reactiveCapabilityCurvePointsToInsert, List<Resource<T>> resources) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             Map<Integer, List<String>> resourcesByVariant = resources.stream()
                     .collect(Collectors.groupingBy(
                             Resource::getVariantNum,
@@ -1311,7 +2651,7 @@ public class NetworkStoreRepository {
                     preparedStmt.setString(4, ExternalAttributesType.REACTIVE_CAPABILITY_CURVE_POINT.toString());
                     preparedStmt.addBatch();
                 }
-                preparedStmt.executeBatch();
+                sqlObserver.executeBatch(preparedStmt, TOMBSTONED_EXTERNAL_ATTRIBUTES_TABLE);
             }
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
@@ -1324,7 +2664,7 @@ public class NetworkStoreRepository {
             preparedStmt.setObject(1, networkUuid);
             preparedStmt.setInt(2, variantNum);
             preparedStmt.setString(3, ExternalAttributesType.REACTIVE_CAPABILITY_CURVE_POINT.toString());
-            try (var resultSet = preparedStmt.executeQuery()) {
+            try (var resultSet = sqlObserver.executeQuery(preparedStmt, TOMBSTONED_EXTERNAL_ATTRIBUTES_TABLE, NetworkStoreSqlObserver.REQUESTED_VARIANT_LAYER)) {
                 while (resultSet.next()) {
                     identifiableIds.add(resultSet.getString(EQUIPMENT_ID_COLUMN));
                 }
@@ -1336,7 +2676,7 @@ public class NetworkStoreRepository {
     }
 
     private void insertTombstonedAreaBoundaries(UUID networkUuid, Map<OwnerInfo, List<AreaBoundaryAttributes>> areaBoundariesToInsert, List<Resource<AreaAttributes>> resources) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             Map<Integer, List<String>> resourcesByVariant = resources.stream()
                 .collect(Collectors.groupingBy(
                     Resource::getVariantNum,
@@ -1358,7 +2698,7 @@ public class NetworkStoreRepository {
                     preparedStmt.setString(4, ExternalAttributesType.AREA_BOUNDARIES.toString());
                     preparedStmt.addBatch();
                 }
-                preparedStmt.executeBatch();
+                sqlObserver.executeBatch(preparedStmt, TOMBSTONED_EXTERNAL_ATTRIBUTES_TABLE);
             }
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
@@ -1371,7 +2711,7 @@ public class NetworkStoreRepository {
             preparedStmt.setObject(1, networkUuid);
             preparedStmt.setInt(2, variantNum);
             preparedStmt.setString(3, ExternalAttributesType.AREA_BOUNDARIES.toString());
-            try (var resultSet = preparedStmt.executeQuery()) {
+            try (var resultSet = sqlObserver.executeQuery(preparedStmt, TOMBSTONED_EXTERNAL_ATTRIBUTES_TABLE, NetworkStoreSqlObserver.REQUESTED_VARIANT_LAYER)) {
                 while (resultSet.next()) {
                     identifiableIds.add(resultSet.getString(EQUIPMENT_ID_COLUMN));
                 }
@@ -1389,6 +2729,7 @@ public class NetworkStoreRepository {
 
         // Now that batteries are created, we will insert in the database the corresponding reactive capability curve points.
         insertReactiveCapabilityCurvePoints(getReactiveCapabilityCurvePointsFromEquipments(networkUuid, resources));
+        recordChanges(networkUuid, resources, ResourceType.BATTERY);
     }
 
     public Optional<Resource<BatteryAttributes>> getBattery(UUID networkUuid, int variantNum, String batteryId) {
@@ -1424,21 +2765,25 @@ public class NetworkStoreRepository {
         updateIdentifiables(networkUuid, resources, mappings.getBatteryMappings(), VOLTAGE_LEVEL_ID_COLUMN);
 
         updateReactiveCapabilityCurvePoints(networkUuid, resources);
+        recordChanges(networkUuid, resources, ResourceType.BATTERY);
     }
 
     public void updateBatteriesSv(UUID networkUuid, List<Resource<InjectionSvAttributes>> resources) {
         updateInjectionsSv(networkUuid, resources, BATTERY_TABLE, mappings.getBatteryMappings());
+        recordChanges(networkUuid, resources, ResourceType.BATTERY);
     }
 
     public void deleteBatteries(UUID networkUuid, int variantNum, List<String> batteryIds) {
         deleteIdentifiables(networkUuid, variantNum, batteryIds, BATTERY_TABLE);
         deleteReactiveCapabilityCurvePoints(networkUuid, variantNum, batteryIds);
+        recordChanges(networkUuid, variantNum, batteryIds, ResourceType.BATTERY);
     }
 
     // load
 
     public void createLoads(UUID networkUuid, List<Resource<LoadAttributes>> resources) {
         createIdentifiables(networkUuid, resources, mappings.getLoadMappings());
+        recordChanges(networkUuid, resources, ResourceType.LOAD);
     }
 
     public Optional<Resource<LoadAttributes>> getLoad(UUID networkUuid, int variantNum, String loadId) {
@@ -1459,20 +2804,26 @@ public class NetworkStoreRepository {
 
     public void updateLoads(UUID networkUuid, List<Resource<LoadAttributes>> resources) {
         updateIdentifiables(networkUuid, resources, mappings.getLoadMappings(), VOLTAGE_LEVEL_ID_COLUMN);
+        recordChanges(networkUuid, resources, ResourceType.LOAD);
     }
 
     public void updateLoadsSv(UUID networkUuid, List<Resource<InjectionSvAttributes>> resources) {
         updateInjectionsSv(networkUuid, resources, LOAD_TABLE, mappings.getLoadMappings());
+        recordChanges(networkUuid, resources, ResourceType.LOAD);
     }
 
     public void deleteLoads(UUID networkUuid, int variantNum, List<String> loadIds) {
         deleteIdentifiables(networkUuid, variantNum, loadIds, LOAD_TABLE);
+        recordChanges(networkUuid, variantNum, loadIds, ResourceType.LOAD);
     }
 
     // shunt compensator
     public void createShuntCompensators(UUID networkUuid, List<Resource<ShuntCompensatorAttributes>> resources) {
         createIdentifiables(networkUuid, resources, mappings.getShuntCompensatorMappings());
-        insertRegulatingPoints(getRegulatingPointFromEquipments(networkUuid, resources));
+        Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPoints = getRegulatingPointFromEquipments(networkUuid, resources);
+        insertRegulatingPoints(regulatingPoints);
+        recordChanges(networkUuid, resources, ResourceType.SHUNT_COMPENSATOR,
+                getRegulatingPointsVersionedTypes(ResourceType.SHUNT_COMPENSATOR, Set.of(), regulatingPoints));
     }
 
     public Optional<Resource<ShuntCompensatorAttributes>> getShuntCompensator(UUID networkUuid, int variantNum, String shuntCompensatorId) {
@@ -1497,19 +2848,27 @@ public class NetworkStoreRepository {
     }
 
     public void updateShuntCompensators(UUID networkUuid, List<Resource<ShuntCompensatorAttributes>> resources) {
+        Set<ResourceType> previousRegulatedTypes = getRegulatedResourceTypes(networkUuid, resources, ResourceType.SHUNT_COMPENSATOR);
         updateIdentifiables(networkUuid, resources, mappings.getShuntCompensatorMappings(), VOLTAGE_LEVEL_ID_COLUMN);
 
         // regulating points
-        updateRegulatingPoints(networkUuid, resources, ResourceType.SHUNT_COMPENSATOR, getRegulatingPointFromEquipments(networkUuid, resources));
+        Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPoints = getRegulatingPointFromEquipments(networkUuid, resources);
+        updateRegulatingPoints(networkUuid, resources, ResourceType.SHUNT_COMPENSATOR, regulatingPoints);
+        recordChanges(networkUuid, resources, ResourceType.SHUNT_COMPENSATOR,
+                getRegulatingPointsVersionedTypes(ResourceType.SHUNT_COMPENSATOR, previousRegulatedTypes, regulatingPoints));
     }
 
     public void updateShuntCompensatorsSv(UUID networkUuid, List<Resource<ShuntCompensatorSvAttributes>> resources) {
         updateShuntCompensatorSv(networkUuid, resources, mappings.getShuntCompensatorMappings());
+        recordChanges(networkUuid, resources, ResourceType.SHUNT_COMPENSATOR);
     }
 
     public void deleteShuntCompensators(UUID networkUuid, int variantNum, List<String> shuntCompensatorIds) {
+        Set<ResourceType> regulatedTypes = getRegulatedResourceTypes(networkUuid, variantNum, shuntCompensatorIds, ResourceType.SHUNT_COMPENSATOR);
         deleteRegulatingPoints(networkUuid, variantNum, shuntCompensatorIds, ResourceType.SHUNT_COMPENSATOR);
         deleteIdentifiables(networkUuid, variantNum, shuntCompensatorIds, SHUNT_COMPENSATOR_TABLE);
+        recordChanges(networkUuid, variantNum, shuntCompensatorIds, ResourceType.SHUNT_COMPENSATOR,
+                getRegulatingPointsVersionedTypes(ResourceType.SHUNT_COMPENSATOR, regulatedTypes, Map.of()));
     }
 
     // VSC converter station
@@ -1519,7 +2878,10 @@ public class NetworkStoreRepository {
 
         // Now that vsc converter stations are created, we will insert in the database the corresponding reactive capability curve points.
         insertReactiveCapabilityCurvePoints(getReactiveCapabilityCurvePointsFromEquipments(networkUuid, resources));
-        insertRegulatingPoints(getRegulatingPointFromEquipments(networkUuid, resources));
+        Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPoints = getRegulatingPointFromEquipments(networkUuid, resources);
+        insertRegulatingPoints(regulatingPoints);
+        recordChanges(networkUuid, resources, ResourceType.VSC_CONVERTER_STATION,
+                getRegulatingPointsVersionedTypes(ResourceType.VSC_CONVERTER_STATION, Set.of(), regulatingPoints));
     }
 
     public Optional<Resource<VscConverterStationAttributes>> getVscConverterStation(UUID networkUuid, int variantNum, String vscConverterStationId) {
@@ -1527,16 +2889,23 @@ public class NetworkStoreRepository {
     }
 
     public List<Resource<VscConverterStationAttributes>> getVscConverterStations(UUID networkUuid, int variantNum) {
-        List<Resource<VscConverterStationAttributes>> vscConverterStations = getIdentifiables(networkUuid, variantNum, mappings.getVscConverterStationMappings());
-
-        Map<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>> reactiveCapabilityCurvePoints = getReactiveCapabilityCurvePoints(
-                networkUuid, variantNum, EQUIPMENT_TYPE_COLUMN, ResourceType.VSC_CONVERTER_STATION.toString());
-
-        insertReactiveCapabilityCurvePointsInEquipments(networkUuid, vscConverterStations, reactiveCapabilityCurvePoints);
-
-        // regulating points
-        setRegulatingPointAndRegulatingEquipments(vscConverterStations, networkUuid, variantNum, ResourceType.VSC_CONVERTER_STATION);
-        return vscConverterStations;
+        return withSubQueries(networkUuid, variantNum, () -> {
+            // the sub-queries are independent, see SubQueryExecutor
+            SubQuery<Map<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>>> reactiveCapabilityCurvePointsQuery = subQueryExecutor.submit(() -> getReactiveCapabilityCurvePoints(
+                    networkUuid, variantNum, EQUIPMENT_TYPE_COLUMN, ResourceType.VSC_CONVERTER_STATION.toString()));
+            SubQuery<Map<RegulatingOwnerInfo, RegulatingPointAttributes>> regulatingPointsQuery = subQueryExecutor.submit(() -> getRegulatingPoints(networkUuid, variantNum,
+                    ResourceType.VSC_CONVERTER_STATION));
+            SubQuery<Map<OwnerInfo, Set<RegulatingEquipmentIdentifier>>> regulatingEquipmentsQuery = subQueryExecutor.submit(() -> getRegulatingEquipments(networkUuid, variantNum,
+                    ResourceType.VSC_CONVERTER_STATION));
+            List<Resource<VscConverterStationAttributes>> vscConverterStations = getIdentifiables(networkUuid, variantNum, mappings.getVscConverterStationMappings());
+
+            insertReactiveCapabilityCurvePointsInEquipments(networkUuid, vscConverterStations, reactiveCapabilityCurvePointsQuery.join());
+
+            // regulating points
+            setRegulatingPointAndRegulatingEquipments(vscConverterStations, networkUuid, variantNum, ResourceType.VSC_CONVERTER_STATION,
+                    regulatingPointsQuery.join(), regulatingEquipmentsQuery.join());
+            return vscConverterStations;
+        });
     }
 
     public List<Resource<VscConverterStationAttributes>> getVoltageLevelVscConverterStations(UUID networkUuid, int variantNum, String voltageLevelId) {
@@ -1554,26 +2923,35 @@ public class NetworkStoreRepository {
     }
 
     public void updateVscConverterStations(UUID networkUuid, List<Resource<VscConverterStationAttributes>> resources) {
+        Set<ResourceType> previousRegulatedTypes = getRegulatedResourceTypes(networkUuid, resources, ResourceType.VSC_CONVERTER_STATION);
         updateIdentifiables(networkUuid, resources, mappings.getVscConverterStationMappings(), VOLTAGE_LEVEL_ID_COLUMN);
 
         updateReactiveCapabilityCurvePoints(networkUuid, resources);
-        updateRegulatingPoints(networkUuid, resources, ResourceType.VSC_CONVERTER_STATION, getRegulatingPointFromEquipments(networkUuid, resources));
+        Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPoints = getRegulatingPointFromEquipments(networkUuid, resources);
+        updateRegulatingPoints(networkUuid, resources, ResourceType.VSC_CONVERTER_STATION, regulatingPoints);
+        recordChanges(networkUuid, resources, ResourceType.VSC_CONVERTER_STATION,
+                getRegulatingPointsVersionedTypes(ResourceType.VSC_CONVERTER_STATION, previousRegulatedTypes, regulatingPoints));
     }
 
     public void updateVscConverterStationsSv(UUID networkUuid, List<Resource<InjectionSvAttributes>> resources) {
         updateInjectionsSv(networkUuid, resources, VSC_CONVERTER_STATION_TABLE, mappings.getVscConverterStationMappings());
+        recordChanges(networkUuid, resources, ResourceType.VSC_CONVERTER_STATION);
     }
 
     public void deleteVscConverterStations(UUID networkUuid, int variantNum, List<String> vscConverterStationIds) {
+        Set<ResourceType> regulatedTypes = getRegulatedResourceTypes(networkUuid, variantNum, vscConverterStationIds, ResourceType.VSC_CONVERTER_STATION);
         deleteIdentifiables(networkUuid, variantNum, vscConverterStationIds, VSC_CONVERTER_STATION_TABLE);
         deleteReactiveCapabilityCurvePoints(networkUuid, variantNum, vscConverterStationIds);
         deleteRegulatingPoints(networkUuid, variantNum, vscConverterStationIds, ResourceType.VSC_CONVERTER_STATION);
+        recordChanges(networkUuid, variantNum, vscConverterStationIds, ResourceType.VSC_CONVERTER_STATION,
+                getRegulatingPointsVersionedTypes(ResourceType.VSC_CONVERTER_STATION, regulatedTypes, Map.of()));
     }
 
     // LCC converter station
 
     public void createLccConverterStations(UUID networkUuid, List<Resource<LccConverterStationAttributes>> resources) {
         createIdentifiables(networkUuid, resources, mappings.getLccConverterStationMappings());
+        recordChanges(networkUuid, resources, ResourceType.LCC_CONVERTER_STATION);
     }
 
     public Optional<Resource<LccConverterStationAttributes>> getLccConverterStation(UUID networkUuid, int variantNum, String lccConverterStationId) {
@@ -1590,20 +2968,26 @@ public class NetworkStoreRepository {
 
     public void updateLccConverterStations(UUID networkUuid, List<Resource<LccConverterStationAttributes>> resources) {
         updateIdentifiables(networkUuid, resources, mappings.getLccConverterStationMappings(), VOLTAGE_LEVEL_ID_COLUMN);
+        recordChanges(networkUuid, resources, ResourceType.LCC_CONVERTER_STATION);
     }
 
     public void updateLccConverterStationsSv(UUID networkUuid, List<Resource<InjectionSvAttributes>> resources) {
         updateInjectionsSv(networkUuid, resources, LCC_CONVERTER_STATION_TABLE, mappings.getLccConverterStationMappings());
+        recordChanges(networkUuid, resources, ResourceType.LCC_CONVERTER_STATION);
     }
 
     public void deleteLccConverterStations(UUID networkUuid, int variantNum, List<String> lccConverterStationIds) {
         deleteIdentifiables(networkUuid, variantNum, lccConverterStationIds, LCC_CONVERTER_STATION_TABLE);
+        recordChanges(networkUuid, variantNum, lccConverterStationIds, ResourceType.LCC_CONVERTER_STATION);
     }
 
     // static var compensators
     public void createStaticVarCompensators(UUID networkUuid, List<Resource<StaticVarCompensatorAttributes>> resources) {
         createIdentifiables(networkUuid, resources, mappings.getStaticVarCompensatorMappings());
-        insertRegulatingPoints(getRegulatingPointFromEquipments(networkUuid, resources));
+        Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPoints = getRegulatingPointFromEquipments(networkUuid, resources);
+        insertRegulatingPoints(regulatingPoints);
+        recordChanges(networkUuid, resources, ResourceType.STATIC_VAR_COMPENSATOR,
+                getRegulatingPointsVersionedTypes(ResourceType.STATIC_VAR_COMPENSATOR, Set.of(), regulatingPoints));
     }
 
     public Optional<Resource<StaticVarCompensatorAttributes>> getStaticVarCompensator(UUID networkUuid, int variantNum, String staticVarCompensatorId) {
@@ -1628,29 +3012,39 @@ public class NetworkStoreRepository {
     }
 
     public void updateStaticVarCompensators(UUID networkUuid, List<Resource<StaticVarCompensatorAttributes>> resources) {
+        Set<ResourceType> previousRegulatedTypes = getRegulatedResourceTypes(networkUuid, resources, ResourceType.STATIC_VAR_COMPENSATOR);
         updateIdentifiables(networkUuid, resources, mappings.getStaticVarCompensatorMappings(), VOLTAGE_LEVEL_ID_COLUMN);
 
         // regulating points
-        updateRegulatingPoints(networkUuid, resources, ResourceType.STATIC_VAR_COMPENSATOR, getRegulatingPointFromEquipments(networkUuid, resources));
+        Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPoints = getRegulatingPointFromEquipments(networkUuid, resources);
+        updateRegulatingPoints(networkUuid, resources, ResourceType.STATIC_VAR_COMPENSATOR, regulatingPoints);
+        recordChanges(networkUuid, resources, ResourceType.STATIC_VAR_COMPENSATOR,
+                getRegulatingPointsVersionedTypes(ResourceType.STATIC_VAR_COMPENSATOR, previousRegulatedTypes, regulatingPoints));
     }
 
     public void updateStaticVarCompensatorsSv(UUID networkUuid, List<Resource<InjectionSvAttributes>> resources) {
         updateInjectionsSv(networkUuid, resources, STATIC_VAR_COMPENSATOR_TABLE, mappings.getStaticVarCompensatorMappings());
+        recordChanges(networkUuid, resources, ResourceType.STATIC_VAR_COMPENSATOR);
     }
 
     public void deleteStaticVarCompensators(UUID networkUuid, int variantNum, List<String> staticVarCompensatorIds) {
+        Set<ResourceType> regulatedTypes = getRegulatedResourceTypes(networkUuid, variantNum, staticVarCompensatorIds, ResourceType.STATIC_VAR_COMPENSATOR);
         deleteRegulatingPoints(networkUuid, variantNum, staticVarCompensatorIds, ResourceType.STATIC_VAR_COMPENSATOR);
         deleteIdentifiables(networkUuid, variantNum, staticVarCompensatorIds, STATIC_VAR_COMPENSATOR_TABLE);
+        recordChanges(networkUuid, variantNum, staticVarCompensatorIds, ResourceType.STATIC_VAR_COMPENSATOR,
+                getRegulatingPointsVersionedTypes(ResourceType.STATIC_VAR_COMPENSATOR, regulatedTypes, Map.of()));
     }
 
     // busbar section
 
     public void createBusbarSections(UUID networkUuid, List<Resource<BusbarSectionAttributes>> resources) {
         createIdentifiables(networkUuid, resources, mappings.getBusbarSectionMappings());
+        recordChanges(networkUuid, resources, ResourceType.BUSBAR_SECTION);
     }
 
     public void updateBusbarSections(UUID networkUuid, List<Resource<BusbarSectionAttributes>> resources) {
         updateIdentifiables(networkUuid, resources, mappings.getBusbarSectionMappings(), VOLTAGE_LEVEL_ID_COLUMN);
+        recordChanges(networkUuid, resources, ResourceType.BUSBAR_SECTION);
     }
 
     public Optional<Resource<BusbarSectionAttributes>> getBusbarSection(UUID networkUuid, int variantNum, String busbarSectionId) {
@@ -1671,12 +3065,14 @@ public class NetworkStoreRepository {
 
     public void deleteBusBarSections(UUID networkUuid, int variantNum, List<String> busBarSectionIds) {
         deleteIdentifiables(networkUuid, variantNum, busBarSectionIds, BUSBAR_SECTION_TABLE);
+        recordChanges(networkUuid, variantNum, busBarSectionIds, ResourceType.BUSBAR_SECTION);
     }
 
     // switch
 
     public void createSwitches(UUID networkUuid, List<Resource<SwitchAttributes>> resources) {
         createIdentifiables(networkUuid, resources, mappings.getSwitchMappings());
+        recordChanges(networkUuid, resources, ResourceType.SWITCH);
     }
 
     public Optional<Resource<SwitchAttributes>> getSwitch(UUID networkUuid, int variantNum, String switchId) {
@@ -1693,10 +3089,12 @@ public class NetworkStoreRepository {
 
     public void updateSwitches(UUID networkUuid, List<Resource<SwitchAttributes>> resources) {
         updateIdentifiables(networkUuid, resources, mappings.getSwitchMappings(), VOLTAGE_LEVEL_ID_COLUMN);
+        recordChanges(networkUuid, resources, ResourceType.SWITCH);
     }
 
     public void deleteSwitches(UUID networkUuid, int variantNum, List<String> switchIds) {
         deleteIdentifiables(networkUuid, variantNum, switchIds, SWITCH_TABLE);
+        recordChanges(networkUuid, variantNum, switchIds, ResourceType.SWITCH);
     }
 
     // 2 windings transformer
@@ -1707,10 +3105,13 @@ public class NetworkStoreRepository {
         // Now that twowindingstransformers are created, we will insert in the database the corresponding operational limits groups.
         Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> operationalLimitsGroups = limitsHandler.getOperationalLimitsGroupsFromEquipments(networkUuid, resources);
         limitsHandler.insertOperationalLimitsGroups(operationalLimitsGroups);
-        insertRegulatingPoints(getRegulatingPointFromTwoWindingTransformers(networkUuid, resources));
+        Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPoints = getRegulatingPointFromTwoWindingTransformers(networkUuid, resources);
+        insertRegulatingPoints(regulatingPoints);
 
         // Now that twowindingstransformers are created, we will insert in the database the corresponding tap Changer steps.
         insertTapChangerSteps(getTapChangerStepsFromEquipment(networkUuid, resources));
+        recordChanges(networkUuid, resources, ResourceType.TWO_WINDINGS_TRANSFORMER,
+                getRegulatingPointsVersionedTypes(ResourceType.TWO_WINDINGS_TRANSFORMER, Set.of(), regulatingPoints));
     }
 
     public Optional<Resource<TwoWindingsTransformerAttributes>> getTwoWindingsTransformer(UUID networkUuid, int variantNum, String twoWindingsTransformerId) {
@@ -1718,13 +3119,23 @@ public class NetworkStoreRepository {
     }
 
     public List<Resource<TwoWindingsTransformerAttributes>> getTwoWindingsTransformers(UUID networkUuid, int variantNum) {
-        List<Resource<TwoWindingsTransformerAttributes>> twoWindingsTransformers = getIdentifiables(networkUuid, variantNum, mappings.getTwoWindingsTransformerMappings());
-        Map<OwnerInfo, List<TapChangerStepAttributes>> tapChangerSteps = getTapChangerSteps(networkUuid, variantNum, EQUIPMENT_TYPE_COLUMN, ResourceType.TWO_WINDINGS_TRANSFORMER.toString());
-        insertTapChangerStepsInEquipments(networkUuid, twoWindingsTransformers, tapChangerSteps);
-        // regulating points
-        setRegulatingPointAndRegulatingEquipmentsForTwoWindingsTransformers(twoWindingsTransformers, networkUuid, variantNum);
-
-        return twoWindingsTransformers;
+        return withSubQueries(networkUuid, variantNum, () -> {
+            // the sub-queries are independent, see SubQueryExecutor
+            SubQuery<Map<OwnerInfo, List<TapChangerStepAttributes>>> tapChangerStepsQuery = subQueryExecutor.submit(() -> getTapChangerSteps(networkUuid, variantNum,
+                    EQUIPMENT_TYPE_COLUMN, ResourceType.TWO_WINDINGS_TRANSFORMER.toString()));
+            SubQuery<Map<RegulatingOwnerInfo, RegulatingPointAttributes>> regulatingPointsQuery = subQueryExecutor.submit(() -> getRegulatingPoints(networkUuid, variantNum,
+                    ResourceType.TWO_WINDINGS_TRANSFORMER));
+            SubQuery<Map<OwnerInfo, Set<RegulatingEquipmentIdentifier>>> regulatingEquipmentsQuery = subQueryExecutor.submit(() -> getRegulatingEquipments(networkUuid, variantNum,
+                    ResourceType.TWO_WINDINGS_TRANSFORMER));
+            List<Resource<TwoWindingsTransformerAttributes>> twoWindingsTransformers = getIdentifiables(networkUuid, variantNum,
+                    mappings.getTwoWindingsTransformerMappings());
+            insertTapChangerStepsInEquipments(networkUuid, twoWindingsTransformers, tapChangerStepsQuery.join());
+            // regulating points
+            setRegulatingPointAndRegulatingEquipmentsForTwoWindingsTransformers(twoWindingsTransformers, networkUuid, variantNum,
+                    regulatingPointsQuery.join(), regulatingEquipmentsQuery.join());
+
+            return twoWindingsTransformers;
+        });
     }
 
     public List<Resource<TwoWindingsTransformerAttributes>> getVoltageLevelTwoWindingsTransformers(UUID networkUuid, int variantNum, String voltageLevelId) {
@@ -1742,11 +3153,15 @@ public class NetworkStoreRepository {
     }
 
     public void updateTwoWindingsTransformers(UUID networkUuid, List<Resource<TwoWindingsTransformerAttributes>> resources) {
+        Set<ResourceType> previousRegulatedTypes = getRegulatedResourceTypes(networkUuid, resources, ResourceType.TWO_WINDINGS_TRANSFORMER);
         updateIdentifiables(networkUuid, resources, mappings.getTwoWindingsTransformerMappings());
 
         limitsHandler.updateOperationalLimitsGroups(networkUuid, resources);
         updateTapChangerSteps(networkUuid, resources);
-        updateRegulatingPoints(networkUuid, resources, ResourceType.TWO_WINDINGS_TRANSFORMER, getRegulatingPointFromTwoWindingTransformers(networkUuid, resources));
+        Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPoints = getRegulatingPointFromTwoWindingTransformers(networkUuid, resources);
+        updateRegulatingPoints(networkUuid, resources, ResourceType.TWO_WINDINGS_TRANSFORMER, regulatingPoints);
+        recordChanges(networkUuid, resources, ResourceType.TWO_WINDINGS_TRANSFORMER,
+                getRegulatingPointsVersionedTypes(ResourceType.TWO_WINDINGS_TRANSFORMER, previousRegulatedTypes, regulatingPoints));
     }
 
     public <T extends IdentifiableAttributes> void updateTapChangerSteps(UUID networkUuid, List<Resource<T>> resources) {
@@ -1758,7 +3173,7 @@ public class NetworkStoreRepository {
 
     private <T extends IdentifiableAttributes> void insertTombstonedTapChangerSteps(
             UUID networkUuid, Map<OwnerInfo, List<TapChangerStepAttributes>> tapChangerStepsToInsert, List<Resource<T>> resources) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             Map<Integer, List<String>> resourcesByVariant = resources.stream()
                     .collect(Collectors.groupingBy(
                             Resource::getVariantNum,
@@ -1780,7 +3195,7 @@ public class NetworkStoreRepository {
                     preparedStmt.setString(4, ExternalAttributesType.TAP_CHANGER_STEP.toString());
                     preparedStmt.addBatch();
                 }
-                preparedStmt.executeBatch();
+                sqlObserver.executeBatch(preparedStmt, TOMBSTONED_EXTERNAL_ATTRIBUTES_TABLE);
             }
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
@@ -1801,19 +3216,24 @@ public class NetworkStoreRepository {
 
     public void updateTwoWindingsTransformersSv(UUID networkUuid, List<Resource<TwoWindingsTransformerSvAttributes>> resources) {
         updateTwoWindingsTransformerSv(networkUuid, resources, mappings.getTwoWindingsTransformerMappings());
+        recordChanges(networkUuid, resources, ResourceType.TWO_WINDINGS_TRANSFORMER);
     }
 
     public void deleteTwoWindingsTransformers(UUID networkUuid, int variantNum, List<String> twoWindingsTransformerIds) {
+        Set<ResourceType> regulatedTypes = getRegulatedResourceTypes(networkUuid, variantNum, twoWindingsTransformerIds, ResourceType.TWO_WINDINGS_TRANSFORMER);
         deleteIdentifiables(networkUuid, variantNum, twoWindingsTransformerIds, TWO_WINDINGS_TRANSFORMER_TABLE);
         limitsHandler.deleteOperationalLimitsGroups(networkUuid, variantNum, twoWindingsTransformerIds);
         deleteTapChangerSteps(networkUuid, variantNum, twoWindingsTransformerIds);
         deleteRegulatingPoints(networkUuid, variantNum, twoWindingsTransformerIds, ResourceType.TWO_WINDINGS_TRANSFORMER);
+        recordChanges(networkUuid, variantNum, twoWindingsTransformerIds, ResourceType.TWO_WINDINGS_TRANSFORMER,
+                getRegulatingPointsVersionedTypes(ResourceType.TWO_WINDINGS_TRANSFORMER, regulatedTypes, Map.of()));
     }
 
     // 3 windings transformer
     public void createThreeWindingsTransformers(UUID networkUuid, List<Resource<ThreeWindingsTransformerAttributes>> resources) {
         createIdentifiables(networkUuid, resources, mappings.getThreeWindingsTransformerMappings());
-        insertRegulatingPoints(getRegulatingPointFromThreeWindingTransformers(networkUuid, resources));
+        Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPoints = getRegulatingPointFromThreeWindingTransformers(networkUuid, resources);
+        insertRegulatingPoints(regulatingPoints);
 
         // Now that threewindingstransformers are created, we will insert in the database the corresponding operational limits groups.
         Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> operationalLimitsGroups = limitsHandler.getOperationalLimitsGroupsFromEquipments(networkUuid, resources);
@@ -1821,6 +3241,8 @@ public class NetworkStoreRepository {
 
         // Now that threewindingstransformers are created, we will insert in the database the corresponding tap Changer steps.
         insertTapChangerSteps(getTapChangerStepsFromEquipment(networkUuid, resources));
+        recordChanges(networkUuid, resources, ResourceType.THREE_WINDINGS_TRANSFORMER,
+                getRegulatingPointsVersionedTypes(ResourceType.THREE_WINDINGS_TRANSFORMER, Set.of(), regulatingPoints));
     }
 
     public Optional<Resource<ThreeWindingsTransformerAttributes>> getThreeWindingsTransformer(UUID networkUuid, int variantNum, String threeWindingsTransformerId) {
@@ -1828,17 +3250,27 @@ public class NetworkStoreRepository {
     }
 
     public List<Resource<ThreeWindingsTransformerAttributes>> getThreeWindingsTransformers(UUID networkUuid, int variantNum) {
-        List<Resource<ThreeWindingsTransformerAttributes>> threeWindingsTransformers = getIdentifiables(networkUuid, variantNum, mappings.getThreeWindingsTransformerMappings());
-
-        Map<OwnerInfo, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> operationalLimitsGroups =
-                limitsHandler.getOperationalLimitsGroupsAttributes(networkUuid, variantNum, EQUIPMENT_TYPE_COLUMN, ResourceType.THREE_WINDINGS_TRANSFORMER.toString());
-        limitsHandler.insertOperationalLimitsGroupsInEquipments(networkUuid, threeWindingsTransformers, operationalLimitsGroups);
-
-        Map<OwnerInfo, List<TapChangerStepAttributes>> tapChangerSteps = getTapChangerSteps(networkUuid, variantNum, EQUIPMENT_TYPE_COLUMN, ResourceType.THREE_WINDINGS_TRANSFORMER.toString());
-        insertTapChangerStepsInEquipments(networkUuid, threeWindingsTransformers, tapChangerSteps);
-
-        setRegulatingPointAndRegulatingEquipmentsForThreeWindingsTransformers(threeWindingsTransformers, networkUuid, variantNum);
-        return threeWindingsTransformers;
+        return withSubQueries(networkUuid, variantNum, () -> {
+            // the sub-queries are independent, see SubQueryExecutor
+            SubQuery<Map<OwnerInfo, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>>> operationalLimitsGroupsQuery = subQueryExecutor.submit(() ->
+                    limitsHandler.getOperationalLimitsGroupsAttributes(networkUuid, variantNum, EQUIPMENT_TYPE_COLUMN, ResourceType.THREE_WINDINGS_TRANSFORMER.toString()));
+            SubQuery<Map<OwnerInfo, List<TapChangerStepAttributes>>> tapChangerStepsQuery = subQueryExecutor.submit(() -> getTapChangerSteps(networkUuid, variantNum,
+                    EQUIPMENT_TYPE_COLUMN, ResourceType.THREE_WINDINGS_TRANSFORMER.toString()));
+            SubQuery<Map<RegulatingOwnerInfo, RegulatingPointAttributes>> regulatingPointsQuery = subQueryExecutor.submit(() -> getRegulatingPoints(networkUuid, variantNum,
+                    ResourceType.THREE_WINDINGS_TRANSFORMER));
+            SubQuery<Map<OwnerInfo, Set<RegulatingEquipmentIdentifier>>> regulatingEquipmentsQuery = subQueryExecutor.submit(() -> getRegulatingEquipments(networkUuid, variantNum,
+                    ResourceType.THREE_WINDINGS_TRANSFORMER));
+            List<Resource<ThreeWindingsTransformerAttributes>> threeWindingsTransformers = getIdentifiables(networkUuid, variantNum,
+                    mappings.getThreeWindingsTransformerMappings());
+
+            limitsHandler.insertOperationalLimitsGroupsInEquipments(networkUuid, threeWindingsTransformers, operationalLimitsGroupsQuery.join());
+
+            insertTapChangerStepsInEquipments(networkUuid, threeWindingsTransformers, tapChangerStepsQuery.join());
+
+            setRegulatingPointAndRegulatingEquipmentsForThreeWindingsTransformers(threeWindingsTransformers, networkUuid, variantNum,
+                    regulatingPointsQuery.join(), regulatingEquipmentsQuery.join());
+            return threeWindingsTransformers;
+        });
     }
 
     public List<Resource<ThreeWindingsTransformerAttributes>> getVoltageLevelThreeWindingsTransformers(UUID networkUuid, int variantNum, String voltageLevelId) {
@@ -1858,11 +3290,15 @@ public class NetworkStoreRepository {
     }
 
     public void updateThreeWindingsTransformers(UUID networkUuid, List<Resource<ThreeWindingsTransformerAttributes>> resources) {
+        Set<ResourceType> previousRegulatedTypes = getRegulatedResourceTypes(networkUuid, resources, ResourceType.THREE_WINDINGS_TRANSFORMER);
         updateIdentifiables(networkUuid, resources, mappings.getThreeWindingsTransformerMappings());
 
         limitsHandler.updateOperationalLimitsGroups(networkUuid, resources);
         updateTapChangerSteps(networkUuid, resources);
-        updateRegulatingPoints(networkUuid, resources, ResourceType.THREE_WINDINGS_TRANSFORMER, getRegulatingPointFromThreeWindingTransformers(networkUuid, resources));
+        Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPoints = getRegulatingPointFromThreeWindingTransformers(networkUuid, resources);
+        updateRegulatingPoints(networkUuid, resources, ResourceType.THREE_WINDINGS_TRANSFORMER, regulatingPoints);
+        recordChanges(networkUuid, resources, ResourceType.THREE_WINDINGS_TRANSFORMER,
+                getRegulatingPointsVersionedTypes(ResourceType.THREE_WINDINGS_TRANSFORMER, previousRegulatedTypes, regulatingPoints));
     }
 
     public void updateThreeWindingsTransformersSv(UUID networkUuid, List<Resource<ThreeWindingsTransformerSvAttributes>> resources) {
@@ -1874,6 +3310,7 @@ public class NetworkStoreRepository {
                 NetworkStoreRepository::updateThreeWindingsTransformerSvAttributes,
                 NetworkStoreRepository::bindThreeWindingsTransformerSvAttributes
         );
+        recordChanges(networkUuid, resources, ResourceType.THREE_WINDINGS_TRANSFORMER);
     }
 
     static void bindThreeWindingsTransformerSvAttributes(ThreeWindingsTransformerSvAttributes attributes, List<Object> values) {
@@ -1926,10 +3363,13 @@ public class NetworkStoreRepository {
     }
 
     public void deleteThreeWindingsTransformers(UUID networkUuid, int variantNum, List<String> threeWindingsTransformerIds) {
+        Set<ResourceType> regulatedTypes = getRegulatedResourceTypes(networkUuid, variantNum, threeWindingsTransformerIds, ResourceType.THREE_WINDINGS_TRANSFORMER);
         deleteIdentifiables(networkUuid, variantNum, threeWindingsTransformerIds, THREE_WINDINGS_TRANSFORMER_TABLE);
         limitsHandler.deleteOperationalLimitsGroups(networkUuid, variantNum, threeWindingsTransformerIds);
         deleteTapChangerSteps(networkUuid, variantNum, threeWindingsTransformerIds);
         deleteRegulatingPoints(networkUuid, variantNum, threeWindingsTransformerIds, ResourceType.THREE_WINDINGS_TRANSFORMER);
+        recordChanges(networkUuid, variantNum, threeWindingsTransformerIds, ResourceType.THREE_WINDINGS_TRANSFORMER,
+                getRegulatingPointsVersionedTypes(ResourceType.THREE_WINDINGS_TRANSFORMER, regulatedTypes, Map.of()));
     }
 
     // line
@@ -1940,6 +3380,7 @@ public class NetworkStoreRepository {
         // Now that lines are created, we will insert in the database the corresponding operational limits groups.
         Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> operationalLimitsGroups = limitsHandler.getOperationalLimitsGroupsFromEquipments(networkUuid, resources);
         limitsHandler.insertOperationalLimitsGroups(operationalLimitsGroups);
+        recordChanges(networkUuid, resources, ResourceType.LINE);
     }
 
     public Optional<Resource<LineAttributes>> getLine(UUID networkUuid, int variantNum, String lineId) {
@@ -1968,6 +3409,7 @@ public class NetworkStoreRepository {
         updateIdentifiables(networkUuid, resources, mappings.getLineMappings());
 
         limitsHandler.updateOperationalLimitsGroups(networkUuid, resources);
+        recordChanges(networkUuid, resources, ResourceType.LINE);
     }
 
     private <T extends IdentifiableAttributes, U> Set<RegulatingOwnerInfo> getRegulatingPointsToTombstoneFromEquipment(
@@ -1984,11 +3426,13 @@ public class NetworkStoreRepository {
 
     public void updateLinesSv(UUID networkUuid, List<Resource<BranchSvAttributes>> resources) {
         updateBranchesSv(networkUuid, resources, LINE_TABLE, mappings.getLineMappings());
+        recordChanges(networkUuid, resources, ResourceType.LINE);
     }
 
     public void deleteLines(UUID networkUuid, int variantNum, List<String> lineIds) {
         deleteIdentifiables(networkUuid, variantNum, lineIds, LINE_TABLE);
         limitsHandler.deleteOperationalLimitsGroups(networkUuid, variantNum, lineIds);
+        recordChanges(networkUuid, variantNum, lineIds, ResourceType.LINE);
     }
 
     // Hvdc line
@@ -2003,14 +3447,17 @@ public class NetworkStoreRepository {
 
     public void createHvdcLines(UUID networkUuid, List<Resource<HvdcLineAttributes>> resources) {
         createIdentifiables(networkUuid, resources, mappings.getHvdcLineMappings());
+        recordChanges(networkUuid, resources, ResourceType.HVDC_LINE);
     }
 
     public void updateHvdcLines(UUID networkUuid, List<Resource<HvdcLineAttributes>> resources) {
         updateIdentifiables(networkUuid, resources, mappings.getHvdcLineMappings());
+        recordChanges(networkUuid, resources, ResourceType.HVDC_LINE);
     }
 
     public void deleteHvdcLines(UUID networkUuid, int variantNum, List<String> hvdcLineIds) {
         deleteIdentifiables(networkUuid, variantNum, hvdcLineIds, HVDC_LINE_TABLE);
+        recordChanges(networkUuid, variantNum, hvdcLineIds, ResourceType.HVDC_LINE);
     }
 
     // Boundary line
@@ -2020,6 +3467,7 @@ public class NetworkStoreRepository {
         // Now that the boundary lines are created, we will insert in the database the corresponding operational limits groups.
         Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> operationalLimitsGroups = limitsHandler.getOperationalLimitsGroupsFromEquipments(networkUuid, resources);
         limitsHandler.insertOperationalLimitsGroups(operationalLimitsGroups);
+        recordChanges(networkUuid, resources, ResourceType.BOUNDARY_LINE);
     }
 
     public Optional<Resource<BoundaryLineAttributes>> getBoundaryLine(UUID networkUuid, int variantNum, String boundaryLineId) {
@@ -2053,21 +3501,25 @@ public class NetworkStoreRepository {
     public void deleteBoundaryLines(UUID networkUuid, int variantNum, List<String> boundaryLineIds) {
         deleteIdentifiables(networkUuid, variantNum, boundaryLineIds, BOUNDARY_LINE_TABLE);
         limitsHandler.deleteOperationalLimitsGroups(networkUuid, variantNum, boundaryLineIds);
+        recordChanges(networkUuid, variantNum, boundaryLineIds, ResourceType.BOUNDARY_LINE);
     }
 
     public void updateBoundaryLines(UUID networkUuid, List<Resource<BoundaryLineAttributes>> resources) {
         updateIdentifiables(networkUuid, resources, mappings.getBoundaryLineMappings(), VOLTAGE_LEVEL_ID_COLUMN);
 
         limitsHandler.updateOperationalLimitsGroups(networkUuid, resources);
+        recordChanges(networkUuid, resources, ResourceType.BOUNDARY_LINE);
     }
 
     public void updateBoundaryLinesSv(UUID networkUuid, List<Resource<InjectionSvAttributes>> resources) {
         updateInjectionsSv(networkUuid, resources, BOUNDARY_LINE_TABLE, mappings.getBoundaryLineMappings());
+        recordChanges(networkUuid, resources, ResourceType.BOUNDARY_LINE);
     }
 
     // Grounds
     public void createGrounds(UUID networkUuid, List<Resource<GroundAttributes>> resources) {
         createIdentifiables(networkUuid, resources, mappings.getGroundMappings());
+        recordChanges(networkUuid, resources, ResourceType.GROUND);
     }
 
     public Optional<Resource<GroundAttributes>> getGround(UUID networkUuid, int variantNum, String groundId) {
@@ -2084,10 +3536,12 @@ public class NetworkStoreRepository {
 
     public void updateGrounds(UUID networkUuid, List<Resource<GroundAttributes>> resources) {
         updateIdentifiables(networkUuid, resources, mappings.getGroundMappings(), VOLTAGE_LEVEL_ID_COLUMN);
+        recordChanges(networkUuid, resources, ResourceType.GROUND);
     }
 
     public void deleteGrounds(UUID networkUuid, int variantNum, List<String> groundIds) {
         deleteIdentifiables(networkUuid, variantNum, groundIds, GROUND_TABLE);
+        recordChanges(networkUuid, variantNum, groundIds, ResourceType.GROUND);
     }
 
     // Tie lines
@@ -2102,15 +3556,18 @@ public class NetworkStoreRepository {
 
     public void createTieLines(UUID networkUuid, List<Resource<TieLineAttributes>> resources) {
         createIdentifiables(networkUuid, resources, mappings.getTieLineMappings());
+        recordChanges(networkUuid, resources, ResourceType.TIE_LINE);
     }
 
     public void deleteTieLines(UUID networkUuid, int variantNum, List<String> tieLineIds) {
         deleteIdentifiables(networkUuid, variantNum, tieLineIds, TIE_LINE_TABLE);
         limitsHandler.deleteOperationalLimitsGroups(networkUuid, variantNum, tieLineIds);
+        recordChanges(networkUuid, variantNum, tieLineIds, ResourceType.TIE_LINE);
     }
 
     public void updateTieLines(UUID networkUuid, List<Resource<TieLineAttributes>> resources) {
         updateIdentifiables(networkUuid, resources, mappings.getTieLineMappings());
+        recordChanges(networkUuid, resources, ResourceType.TIE_LINE);
     }
 
     // Areas
@@ -2135,21 +3592,25 @@ public class NetworkStoreRepository {
             areaBoundaries.put(new OwnerInfo(area.getId(), null, networkUuid, area.getVariantNum()),
                 area.getAttributes().getAreaBoundaries()));
         insertAreaBoundaries(areaBoundaries);
+        recordChanges(networkUuid, resources, ResourceType.AREA);
     }
 
     public void deleteAreas(UUID networkUuid, int variantNum, List<String> areaIds) {
         deleteIdentifiables(networkUuid, variantNum, areaIds, AREA_TABLE);
         deleteAreaBoundaries(networkUuid, variantNum, areaIds);
+        recordChanges(networkUuid, variantNum, areaIds, ResourceType.AREA);
     }
 
     public void updateAreas(UUID networkUuid, List<Resource<AreaAttributes>> resources) {
         updateIdentifiables(networkUuid, resources, mappings.getAreaMappings());
         updateAreaBoundaries(networkUuid, resources);
+        recordChanges(networkUuid, resources, ResourceType.AREA);
     }
 
     // configured buses
     public void createBuses(UUID networkUuid, List<Resource<ConfiguredBusAttributes>> resources) {
         createIdentifiables(networkUuid, resources, mappings.getConfiguredBusMappings());
+        recordChanges(networkUuid, resources, ResourceType.CONFIGURED_BUS);
     }
 
     public Optional<Resource<ConfiguredBusAttributes>> getConfiguredBus(UUID networkUuid, int variantNum, String busId) {
@@ -2166,10 +3627,12 @@ public class NetworkStoreRepository {
 
     public void updateBuses(UUID networkUuid, List<Resource<ConfiguredBusAttributes>> resources) {
         updateIdentifiables(networkUuid, resources, mappings.getConfiguredBusMappings(), VOLTAGE_LEVEL_ID_COLUMN);
+        recordChanges(networkUuid, resources, ResourceType.CONFIGURED_BUS);
     }
 
     public void deleteBuses(UUID networkUuid, int variantNum, List<String> configuredBusId) {
         deleteIdentifiables(networkUuid, variantNum, configuredBusId, CONFIGURED_BUS_TABLE);
+        recordChanges(networkUuid, variantNum, configuredBusId, ResourceType.CONFIGURED_BUS);
     }
 
     private static String getNonEmptyTable(ResultSet resultSet) throws SQLException {
@@ -2194,7 +3657,7 @@ public class NetworkStoreRepository {
     }
 
     public Optional<Resource<IdentifiableAttributes>> getIdentifiable(UUID networkUuid, int variantNum, String id) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             return PartialVariantUtils.getOptionalIdentifiable(
                     variantNum,
                     getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
@@ -2243,7 +3706,7 @@ public class NetworkStoreRepository {
 
     // Regulating Points
     public void insertRegulatingPoints(Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPoints) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildInsertRegulatingPointsQuery())) {
                 List<Object> values = new ArrayList<>(12);
                 List<Map.Entry<RegulatingOwnerInfo, RegulatingPointAttributes>> list = new ArrayList<>(regulatingPoints.entrySet());
@@ -2285,7 +3748,7 @@ public class NetworkStoreRepository {
                         bindValues(preparedStmt, values, mapper);
                         preparedStmt.addBatch();
                     }
-                    preparedStmt.executeBatch();
+                    sqlObserver.executeBatch(preparedStmt, REGULATING_POINT_TABLE);
                 }
             }
         } catch (SQLException e) {
@@ -2302,7 +3765,7 @@ public class NetworkStoreRepository {
 
     private <T extends IdentifiableAttributes> void insertTombstonedRegulatingPoints(
             UUID networkUuid, Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPointToInsert, List<Resource<T>> resources, ResourceType resourceType) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             Map<Integer, List<String>> resourcesByVariant = resources.stream()
                     .collect(Collectors.groupingBy(
                             Resource::getVariantNum,
@@ -2325,7 +3788,7 @@ public class NetworkStoreRepository {
                     preparedStmt.setString(4, ExternalAttributesType.REGULATING_POINT.toString());
                     preparedStmt.addBatch();
                 }
-                preparedStmt.executeBatch();
+                sqlObserver.executeBatch(preparedStmt, TOMBSTONED_EXTERNAL_ATTRIBUTES_TABLE);
             }
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
@@ -2354,7 +3817,7 @@ public class NetworkStoreRepository {
             preparedStmt.setObject(1, networkUuid);
             preparedStmt.setInt(2, variantNum);
             preparedStmt.setString(3, ExternalAttributesType.REGULATING_POINT.toString());
-            try (var resultSet = preparedStmt.executeQuery()) {
+            try (var resultSet = sqlObserver.executeQuery(preparedStmt, TOMBSTONED_EXTERNAL_ATTRIBUTES_TABLE, NetworkStoreSqlObserver.REQUESTED_VARIANT_LAYER)) {
                 while (resultSet.next()) {
                     identifiableIds.add(resultSet.getString(EQUIPMENT_ID_COLUMN));
                 }
@@ -2381,12 +3844,12 @@ public class NetworkStoreRepository {
     }
 
     public Map<RegulatingOwnerInfo, RegulatingPointAttributes> getRegulatingPoints(UUID networkUuid, int variantNum, ResourceType type) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             return PartialVariantUtils.getExternalAttributes(
                     variantNum,
                     getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
                     () -> getTombstonedRegulatingPointsIds(connection, networkUuid, variantNum),
-                    () -> getTombstonedIdentifiableIds(connection, networkUuid, variantNum),
+                    () -> observeTombstonedIdentifiableIds(connection, networkUuid, variantNum),
                 variant -> getRegulatingPointsForVariant(connection, networkUuid, variant, type, variantNum),
                     RegulatingOwnerInfo::getEquipmentId);
         } catch (SQLException e) {
@@ -2400,7 +3863,7 @@ public class NetworkStoreRepository {
             preparedStmt.setInt(2, variantNum);
             preparedStmt.setString(3, type.toString());
 
-            return innerGetRegulatingPoints(preparedStmt, type, variantNumOverride);
+            return innerGetRegulatingPoints(preparedStmt, type, variantNumOverride, NetworkStoreSqlObserver.variantLayer(variantNum, variantNumOverride));
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
@@ -2411,12 +3874,12 @@ public class NetworkStoreRepository {
         if (valuesForInClause.isEmpty()) {
             return Collections.emptyMap();
         }
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             return PartialVariantUtils.getExternalAttributes(
                     variantNum,
                     getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
                     () -> getTombstonedRegulatingPointsIds(connection, networkUuid, variantNum),
-                    () -> getTombstonedIdentifiableIds(connection, networkUuid, variantNum),
+                    () -> observeTombstonedIdentifiableIds(connection, networkUuid, variantNum),
                 variant -> getRegulatingPointsWithInClauseForVariant(connection, networkUuid, variant, columnNameForWhereClause, valuesForInClause, type, variantNum),
                     RegulatingOwnerInfo::getEquipmentId);
         } catch (SQLException e) {
@@ -2434,14 +3897,14 @@ public class NetworkStoreRepository {
                 preparedStmt.setString(4 + i, valuesForInClause.get(i));
             }
 
-            return innerGetRegulatingPoints(preparedStmt, type, variantNumOverride);
+            return innerGetRegulatingPoints(preparedStmt, type, variantNumOverride, NetworkStoreSqlObserver.variantLayer(variantNum, variantNumOverride));
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
     }
 
     private void deleteRegulatingPoints(UUID networkUuid, int variantNum, List<String> equipmentIds, ResourceType type) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             try (var preparedStmt = connection.prepareStatement(buildDeleteRegulatingPointsVariantEquipmentINQuery(equipmentIds.size()))) {
                 preparedStmt.setObject(1, networkUuid);
                 preparedStmt.setInt(2, variantNum);
@@ -2458,7 +3921,7 @@ public class NetworkStoreRepository {
 
     // Reactive Capability Curve Points
     public void insertReactiveCapabilityCurvePoints(Map<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>> reactiveCapabilityCurvePoints) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             try (var preparedStmt = connection.prepareStatement(buildInsertReactiveCapabilityCurvePointsQuery())) {
                 List<Object> values = new ArrayList<>(8);
                 List<Map.Entry<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>>> list = new ArrayList<>(reactiveCapabilityCurvePoints.entrySet());
@@ -2480,7 +3943,7 @@ public class NetworkStoreRepository {
                             preparedStmt.addBatch();
                         }
                     }
-                    preparedStmt.executeBatch();
+                    sqlObserver.executeBatch(preparedStmt, REACTIVE_CAPABILITY_CURVE_POINT_TABLE);
                 }
             }
         } catch (SQLException e) {
@@ -2490,12 +3953,12 @@ public class NetworkStoreRepository {
 
     public Map<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>> getReactiveCapabilityCurvePointsWithInClause(
             UUID networkUuid, int variantNum, String columnNameForWhereClause, List<String> valuesForInClause) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             return PartialVariantUtils.getExternalAttributes(
                     variantNum,
                     getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
                     () -> getTombstonedReactiveCapabilityCurvePointsIds(connection, networkUuid, variantNum),
-                    () -> getTombstonedIdentifiableIds(connection, networkUuid, variantNum),
+                    () -> observeTombstonedIdentifiableIds(connection, networkUuid, variantNum),
                 variant -> getReactiveCapabilityCurvePointsWithInClauseForVariant(connection, networkUuid, variant, columnNameForWhereClause, valuesForInClause, variantNum),
                     OwnerInfo::getEquipmentId);
         } catch (SQLException e) {
@@ -2515,7 +3978,7 @@ public class NetworkStoreRepository {
                 preparedStmt.setString(3 + i, valuesForInClause.get(i));
             }
 
-            return innerGetReactiveCapabilityCurvePoints(preparedStmt, variantNumOverride);
+            return innerGetReactiveCapabilityCurvePoints(preparedStmt, variantNumOverride, NetworkStoreSqlObserver.variantLayer(variantNum, variantNumOverride));
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
@@ -2523,12 +3986,12 @@ public class NetworkStoreRepository {
 
     public Map<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>> getReactiveCapabilityCurvePoints(
             UUID networkUuid, int variantNum, String columnNameForWhereClause, String valueForWhereClause) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             return PartialVariantUtils.getExternalAttributes(
                     variantNum,
                     getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
                     () -> getTombstonedReactiveCapabilityCurvePointsIds(connection, networkUuid, variantNum),
-                    () -> getTombstonedIdentifiableIds(connection, networkUuid, variantNum),
+                    () -> observeTombstonedIdentifiableIds(connection, networkUuid, variantNum),
                     variant -> getReactiveCapabilityCurvePointsForVariant(connection, networkUuid, variant, columnNameForWhereClause, valueForWhereClause, variantNum),
                     OwnerInfo::getEquipmentId);
         } catch (SQLException e) {
@@ -2543,17 +4006,26 @@ public class NetworkStoreRepository {
             preparedStmt.setInt(2, variantNum);
             preparedStmt.setString(3, valueForWhereClause);
 
-            return innerGetReactiveCapabilityCurvePoints(preparedStmt, variantNumOverride);
+            return innerGetReactiveCapabilityCurvePoints(preparedStmt, variantNumOverride, NetworkStoreSqlObserver.variantLayer(variantNum, variantNumOverride));
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
     }
 
-    private Map<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>> innerGetReactiveCapabilityCurvePoints(PreparedStatement preparedStmt, int variantNumOverride) throws SQLException {
-        try (ResultSet resultSet = preparedStmt.executeQuery()) {
+    private Map<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>> innerGetReactiveCapabilityCurvePoints(PreparedStatement preparedStmt, int variantNumOverride, String variantLayer) throws SQLException {
+        try (ResultSet resultSet = sqlObserver.executeQuery(preparedStmt, REACTIVE_CAPABILITY_CURVE_POINT_TABLE, variantLayer)) {
+            return readReactiveCapabilityCurvePoints(resultSet, variantNumOverride, variantLayer);
+        }
+    }
+
+    private Map<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>> readReactiveCapabilityCurvePoints(ResultSet resultSet, int variantNumOverride, String variantLayer) throws SQLException {
+        try {
             Map<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>> map = new HashMap<>();
+            long bindingStart = System.nanoTime();
+            long jsonDecodeNanos = 0;
+            int rowCount = 0;
             while (resultSet.next()) {
-
+                rowCount++;
                 OwnerInfo owner = new OwnerInfo();
                 ReactiveCapabilityCurvePointAttributes reactiveCapabilityCurvePoint = new ReactiveCapabilityCurvePointAttributes();
                 // In order, from the QueryCatalog.buildReactiveCapabilityCurvePointQuery SQL query :
@@ -2566,12 +4038,15 @@ public class NetworkStoreRepository {
                 reactiveCapabilityCurvePoint.setMaxQ(resultSet.getDouble(6));
                 reactiveCapabilityCurvePoint.setP(resultSet.getDouble(7));
                 if (!StringUtils.isEmpty(resultSet.getString(8))) {
+                    long decodeStart = System.nanoTime();
                     Map<String, String> pointProperties = mapper.readValue(resultSet.getString(8), Map.class);
+                    jsonDecodeNanos += System.nanoTime() - decodeStart;
                     reactiveCapabilityCurvePoint.setProperties(pointProperties);
                 }
                 map.computeIfAbsent(owner, k -> new ArrayList<>());
                 map.get(owner).add(reactiveCapabilityCurvePoint);
             }
+            sqlObserver.recordRowBinding(REACTIVE_CAPABILITY_CURVE_POINT_TABLE, variantLayer, System.nanoTime() - bindingStart, jsonDecodeNanos, rowCount);
             return map;
         } catch (JsonProcessingException e) {
             throw new UncheckedIOException(e);
@@ -2587,7 +4062,7 @@ public class NetworkStoreRepository {
     }
 
     public void insertAreaBoundaries(Map<OwnerInfo, List<AreaBoundaryAttributes>> areaBoundaries) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             try (var preparedStmt = connection.prepareStatement(buildInsertAreaBoundariesQuery())) {
                 List<Object> values = new ArrayList<>(8);
                 List<Map.Entry<OwnerInfo, List<AreaBoundaryAttributes>>> list = new ArrayList<>(areaBoundaries.entrySet());
@@ -2614,7 +4089,7 @@ public class NetworkStoreRepository {
                             preparedStmt.addBatch();
                         }
                     }
-                    preparedStmt.executeBatch();
+                    sqlObserver.executeBatch(preparedStmt, AREA_BOUNDARY_TABLE);
                 }
             }
         } catch (SQLException e) {
@@ -2623,12 +4098,12 @@ public class NetworkStoreRepository {
     }
 
     public Map<OwnerInfo, List<AreaBoundaryAttributes>> getAreaBoundariesWithInClause(UUID networkUuid, int variantNum, String columnNameForWhereClause, List<String> valuesForInClause) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             return PartialVariantUtils.getExternalAttributes(
                 variantNum,
                 getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
                 () -> getTombstonedAreaBoundariesIds(connection, networkUuid, variantNum),
-                () -> getTombstonedIdentifiableIds(connection, networkUuid, variantNum),
+                () -> observeTombstonedIdentifiableIds(connection, networkUuid, variantNum),
                 variant -> getAreaBoundariesWithInClauseForVariant(connection, networkUuid, variant, columnNameForWhereClause, valuesForInClause, variantNum),
                 OwnerInfo::getEquipmentId);
         } catch (SQLException e) {
@@ -2647,19 +4122,19 @@ public class NetworkStoreRepository {
             for (int i = 0; i < valuesForInClause.size(); i++) {
                 preparedStmt.setString(3 + i, valuesForInClause.get(i));
             }
-            return innerGetAreaBoundaries(preparedStmt, variantNumOverride);
+            return innerGetAreaBoundaries(preparedStmt, variantNumOverride, NetworkStoreSqlObserver.variantLayer(variantNum, variantNumOverride));
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
     }
 
     public Map<OwnerInfo, List<AreaBoundaryAttributes>> getAreaBoundaries(UUID networkUuid, int variantNum, String columnNameForWhereClause, String valueForWhereClause) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             return PartialVariantUtils.getExternalAttributes(
                 variantNum,
                 getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
                 () -> getTombstonedAreaBoundariesIds(connection, networkUuid, variantNum),
-                () -> getTombstonedIdentifiableIds(connection, networkUuid, variantNum),
+                () -> observeTombstonedIdentifiableIds(connection, networkUuid, variantNum),
                 variant -> getAreaBoundariesForVariant(connection, networkUuid, variant, columnNameForWhereClause, valueForWhereClause, variantNum),
                 OwnerInfo::getEquipmentId);
         } catch (SQLException e) {
@@ -2675,16 +4150,26 @@ public class NetworkStoreRepository {
             if (valueForWhereClause != null) {
                 preparedStmt.setString(3, valueForWhereClause);
             }
-            return innerGetAreaBoundaries(preparedStmt, variantNumOverride);
+            return innerGetAreaBoundaries(preparedStmt, variantNumOverride, NetworkStoreSqlObserver.variantLayer(variantNum, variantNumOverride));
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
     }
 
-    private Map<OwnerInfo, List<AreaBoundaryAttributes>> innerGetAreaBoundaries(PreparedStatement preparedStmt, int variantNumOverride) throws SQLException {
-        try (ResultSet resultSet = preparedStmt.executeQuery()) {
+    private Map<OwnerInfo, List<AreaBoundaryAttributes>> innerGetAreaBoundaries(PreparedStatement preparedStmt, int variantNumOverride, String variantLayer) throws SQLException {
+        try (ResultSet resultSet = sqlObserver.executeQuery(preparedStmt, AREA_BOUNDARY_TABLE, variantLayer)) {
+            return readAreaBoundaries(resultSet, variantNumOverride, variantLayer);
+        }
+    }
+
+    private Map<OwnerInfo, List<AreaBoundaryAttributes>> readAreaBoundaries(ResultSet resultSet, int variantNumOverride, String variantLayer) throws SQLException {
+        try {
             Map<OwnerInfo, List<AreaBoundaryAttributes>> map = new HashMap<>();
+            long bindingStart = System.nanoTime();
+            long jsonDecodeNanos = 0;
+            int rowCount = 0;
             while (resultSet.next()) {
+                rowCount++;
                 OwnerInfo owner = new OwnerInfo();
                 AreaBoundaryAttributes areaBoundary = new AreaBoundaryAttributes();
                 // In order, from the QueryCatalog.buildAreaBoundariesQuery SQL query :
@@ -2700,12 +4185,15 @@ public class NetworkStoreRepository {
                 }
                 areaBoundary.setAc(resultSet.getBoolean(6));
                 if (!StringUtils.isEmpty(resultSet.getString(7))) {
+                    long decodeStart = System.nanoTime();
                     Map<String, String> areaBoundaryProperties = mapper.readValue(resultSet.getString(7), Map.class);
+                    jsonDecodeNanos += System.nanoTime() - decodeStart;
                     areaBoundary.setProperties(areaBoundaryProperties);
                 }
                 map.computeIfAbsent(owner, k -> new ArrayList<>());
                 map.get(owner).add(areaBoundary);
             }
+            sqlObserver.recordRowBinding(AREA_BOUNDARY_TABLE, variantLayer, System.nanoTime() - bindingStart, jsonDecodeNanos, rowCount);
             return map;
         } catch (JsonProcessingException e) {
             throw new UncheckedIOException(e);
@@ -2733,8 +4221,13 @@ public class NetworkStoreRepository {
     private <T extends AbstractRegulatingEquipmentAttributes & RegulatedEquipmentAttributes> void setRegulatingPointAndRegulatingEquipments(
             List<Resource<T>> elements, UUID networkUuid, int variantNum, ResourceType type) {
         // regulating points
-        Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPointAttributes = getRegulatingPoints(networkUuid, variantNum, type);
-        Map<OwnerInfo, Set<RegulatingEquipmentIdentifier>> regulatingEquipments = getRegulatingEquipments(networkUuid, variantNum, type);
+        setRegulatingPointAndRegulatingEquipments(elements, networkUuid, variantNum, type,
+                getRegulatingPoints(networkUuid, variantNum, type), getRegulatingEquipments(networkUuid, variantNum, type));
+    }
+
+    private <T extends AbstractRegulatingEquipmentAttributes & RegulatedEquipmentAttributes> void setRegulatingPointAndRegulatingEquipments(
+            List<Resource<T>> elements, UUID networkUuid, int variantNum, ResourceType type,
+            Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPointAttributes, Map<OwnerInfo, Set<RegulatingEquipmentIdentifier>> regulatingEquipments) {
         elements.forEach(element -> {
             OwnerInfo ownerInfo = new OwnerInfo(element.getId(), type, networkUuid, variantNum);
             RegulatingOwnerInfo regulatingOwnerInfo = new RegulatingOwnerInfo(element.getId(), type, RegulatingTapChangerType.NONE, networkUuid, variantNum);
@@ -2765,10 +4258,9 @@ public class NetworkStoreRepository {
     }
 
     // on all elements of the network
-    private void setRegulatingPointAndRegulatingEquipmentsForTwoWindingsTransformers(List<Resource<TwoWindingsTransformerAttributes>> twoWindingTransformers, UUID networkUuid, int variantNum) {
-        // regulating points
-        Map<RegulatingOwnerInfo, RegulatingPointAttributes> twoWindingsTransformerRegulatingPointAttributes = getRegulatingPoints(networkUuid, variantNum, ResourceType.TWO_WINDINGS_TRANSFORMER);
-        Map<OwnerInfo, Set<RegulatingEquipmentIdentifier>> regulatingEquipments = getRegulatingEquipments(networkUuid, variantNum, ResourceType.TWO_WINDINGS_TRANSFORMER);
+    private void setRegulatingPointAndRegulatingEquipmentsForTwoWindingsTransformers(List<Resource<TwoWindingsTransformerAttributes>> twoWindingTransformers, UUID networkUuid, int variantNum,
+                                                                                    Map<RegulatingOwnerInfo, RegulatingPointAttributes> twoWindingsTransformerRegulatingPointAttributes,
+                                                                                    Map<OwnerInfo, Set<RegulatingEquipmentIdentifier>> regulatingEquipments) {
         twoWindingTransformers.forEach(element -> {
             PhaseTapChangerAttributes phaseTapChangerAttributes = element.getAttributes().getPhaseTapChangerAttributes();
             RatioTapChangerAttributes ratioTapChangerAttributes = element.getAttributes().getRatioTapChangerAttributes();
@@ -2781,9 +4273,9 @@ public class NetworkStoreRepository {
     }
 
     // three windings transformers
-    private void setRegulatingPointAndRegulatingEquipmentsForThreeWindingsTransformers(List<Resource<ThreeWindingsTransformerAttributes>> threeWindingTransformers, UUID networkUuid, int variantNum) {
-        Map<RegulatingOwnerInfo, RegulatingPointAttributes> threeWindingsTransformerRegulatingPointAttributes = getRegulatingPoints(networkUuid, variantNum, ResourceType.THREE_WINDINGS_TRANSFORMER);
-        Map<OwnerInfo, Set<RegulatingEquipmentIdentifier>> regulatingEquipments = getRegulatingEquipments(networkUuid, variantNum, ResourceType.THREE_WINDINGS_TRANSFORMER);
+    private void setRegulatingPointAndRegulatingEquipmentsForThreeWindingsTransformers(List<Resource<ThreeWindingsTransformerAttributes>> threeWindingTransformers, UUID networkUuid, int variantNum,
+                                                                                      Map<RegulatingOwnerInfo, RegulatingPointAttributes> threeWindingsTransformerRegulatingPointAttributes,
+                                                                                      Map<OwnerInfo, Set<RegulatingEquipmentIdentifier>> regulatingEquipments) {
         threeWindingTransformers.forEach(threeWindingsTransformer -> {
             for (ThreeSides side : ThreeSides.values()) {
                 PhaseTapChangerAttributes phaseTapChangerAttributes = threeWindingsTransformer.getAttributes().getLeg(side.getNum()).getPhaseTapChangerAttributes();
@@ -2933,49 +4425,57 @@ public class NetworkStoreRepository {
         }
     }
 
-    private Map<RegulatingOwnerInfo, RegulatingPointAttributes> innerGetRegulatingPoints(PreparedStatement preparedStmt, ResourceType type, int variantNumOverride) throws SQLException {
-        try (ResultSet resultSet = preparedStmt.executeQuery()) {
-            Map<RegulatingOwnerInfo, RegulatingPointAttributes> map = new HashMap<>();
-            while (resultSet.next()) {
-                RegulatingOwnerInfo owner = new RegulatingOwnerInfo();
-                RegulatingPointAttributes regulatingPointAttributes = new RegulatingPointAttributes();
-                // In order, from the QueryCatalog.buildRegulatingPointQuery SQL query :
-                // equipmentId, networkUuid, variantNum, regulatingEquipmentId, localTerminal and regulatingTerminal
-                String regulatingEquipmentId = resultSet.getString(3);
-                owner.setEquipmentId(regulatingEquipmentId);
-                owner.setNetworkUuid(UUID.fromString(resultSet.getString(1)));
-                owner.setVariantNum(variantNumOverride);
-                owner.setEquipmentType(type);
-                String regulatingTapChangerType = resultSet.getString(4);
-                // regulatingTapChangerType can not be null because it is part of primary key of table RegulatingPoint
-                // it will be NONE for injection
-                owner.setRegulatingTapChangerType(RegulatingTapChangerType.valueOf(regulatingTapChangerType));
-                regulatingPointAttributes.setRegulatingEquipmentId(regulatingEquipmentId);
-                regulatingPointAttributes.setRegulationMode(resultSet.getString(5));
-                regulatingPointAttributes.setRegulatingResourceType(type);
-                regulatingPointAttributes.setRegulatingTapChangerType(RegulatingTapChangerType.valueOf(regulatingTapChangerType));
-                Optional<String> localConnectableId = Optional.ofNullable(resultSet.getString(6));
-                if (localConnectableId.isPresent()) {
-                    regulatingPointAttributes.setLocalTerminal(new TerminalRefAttributes(localConnectableId.get(), resultSet.getString(7)));
-                }
-                Optional<String> regulatingConnectableId = Optional.ofNullable(resultSet.getString(8));
-                if (regulatingConnectableId.isPresent()) {
-                    regulatingPointAttributes.setRegulatingTerminal(new TerminalRefAttributes(resultSet.getString(8), resultSet.getString(9)));
-                }
-                regulatingPointAttributes.setRegulating(resultSet.getBoolean(10));
-                map.put(owner, regulatingPointAttributes);
+    private Map<RegulatingOwnerInfo, RegulatingPointAttributes> innerGetRegulatingPoints(PreparedStatement preparedStmt, ResourceType type, int variantNumOverride, String variantLayer) throws SQLException {
+        try (ResultSet resultSet = sqlObserver.executeQuery(preparedStmt, REGULATING_POINT_TABLE, variantLayer)) {
+            return readRegulatingPoints(resultSet, type, variantNumOverride, variantLayer);
+        }
+    }
+
+    private Map<RegulatingOwnerInfo, RegulatingPointAttributes> readRegulatingPoints(ResultSet resultSet, ResourceType type, int variantNumOverride, String variantLayer) throws SQLException {
+        Map<RegulatingOwnerInfo, RegulatingPointAttributes> map = new HashMap<>();
+        long bindingStart = System.nanoTime();
+        int rowCount = 0;
+        while (resultSet.next()) {
+            rowCount++;
+            RegulatingOwnerInfo owner = new RegulatingOwnerInfo();
+            RegulatingPointAttributes regulatingPointAttributes = new RegulatingPointAttributes();
+            // In order, from the QueryCatalog.buildRegulatingPointQuery SQL query :
+            // equipmentId, networkUuid, variantNum, regulatingEquipmentId, localTerminal and regulatingTerminal
+            String regulatingEquipmentId = resultSet.getString(3);
+            owner.setEquipmentId(regulatingEquipmentId);
+            owner.setNetworkUuid(UUID.fromString(resultSet.getString(1)));
+            owner.setVariantNum(variantNumOverride);
+            owner.setEquipmentType(type);
+            String regulatingTapChangerType = resultSet.getString(4);
+            // regulatingTapChangerType can not be null because it is part of primary key of table RegulatingPoint
+            // it will be NONE for injection
+            owner.setRegulatingTapChangerType(RegulatingTapChangerType.valueOf(regulatingTapChangerType));
+            regulatingPointAttributes.setRegulatingEquipmentId(regulatingEquipmentId);
+            regulatingPointAttributes.setRegulationMode(resultSet.getString(5));
+            regulatingPointAttributes.setRegulatingResourceType(type);
+            regulatingPointAttributes.setRegulatingTapChangerType(RegulatingTapChangerType.valueOf(regulatingTapChangerType));
+            Optional<String> localConnectableId = Optional.ofNullable(resultSet.getString(6));
+            if (localConnectableId.isPresent()) {
+                regulatingPointAttributes.setLocalTerminal(new TerminalRefAttributes(localConnectableId.get(), resultSet.getString(7)));
             }
-            return map;
+            Optional<String> regulatingConnectableId = Optional.ofNullable(resultSet.getString(8));
+            if (regulatingConnectableId.isPresent()) {
+                regulatingPointAttributes.setRegulatingTerminal(new TerminalRefAttributes(resultSet.getString(8), resultSet.getString(9)));
+            }
+            regulatingPointAttributes.setRegulating(resultSet.getBoolean(10));
+            map.put(owner, regulatingPointAttributes);
         }
+        sqlObserver.recordRowBinding(REGULATING_POINT_TABLE, variantLayer, System.nanoTime() - bindingStart, 0, rowCount);
+        return map;
     }
 
     public Map<OwnerInfo, Set<RegulatingEquipmentIdentifier>> getRegulatingEquipments(UUID networkUuid, int variantNum, ResourceType type) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             return PartialVariantUtils.getRegulatingEquipments(
                     variantNum,
                     getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
                     () -> getTombstonedRegulatingPointsIds(connection, networkUuid, variantNum),
-                    () -> getTombstonedIdentifiableIds(connection, networkUuid, variantNum),
+                    () -> observeTombstonedIdentifiableIds(connection, networkUuid, variantNum),
                     () -> getRegulatingPointsIdentifiableIdsForVariant(connection, networkUuid, variantNum),
                     variant -> getRegulatingEquipmentsForVariant(connection, networkUuid, variant, type, variantNum));
         } catch (SQLException e) {
@@ -2989,7 +4489,7 @@ public class NetworkStoreRepository {
             preparedStmt.setInt(2, variantNum);
             preparedStmt.setString(3, type.toString());
 
-            return innerGetRegulatingEquipments(preparedStmt, type, variantNumOverride);
+            return innerGetRegulatingEquipments(preparedStmt, type, variantNumOverride, NetworkStoreSqlObserver.variantLayer(variantNum, variantNumOverride));
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
@@ -3000,12 +4500,12 @@ public class NetworkStoreRepository {
         if (valuesForInClause.isEmpty()) {
             return Collections.emptyMap();
         }
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             return PartialVariantUtils.getRegulatingEquipments(
                     variantNum,
                     getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
                     () -> getTombstonedRegulatingPointsIds(connection, networkUuid, variantNum),
-                    () -> getTombstonedIdentifiableIds(connection, networkUuid, variantNum),
+                    () -> observeTombstonedIdentifiableIds(connection, networkUuid, variantNum),
                     () -> getRegulatingPointsIdentifiableIdsForVariant(connection, networkUuid, variantNum),
                     variant -> getRegulatingEquipmentsWithInClauseForVariant(connection, networkUuid, variant, columnNameForWhereClause, valuesForInClause, type, variantNum));
         } catch (SQLException e) {
@@ -3023,16 +4523,19 @@ public class NetworkStoreRepository {
                 preparedStmt.setString(4 + i, valuesForInClause.get(i));
             }
 
-            return innerGetRegulatingEquipments(preparedStmt, type, variantNumOverride);
+            return innerGetRegulatingEquipments(preparedStmt, type, variantNumOverride, NetworkStoreSqlObserver.variantLayer(variantNum, variantNumOverride));
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
     }
 
-    public Map<OwnerInfo, Set<RegulatingEquipmentIdentifier>> innerGetRegulatingEquipments(PreparedStatement preparedStmt, ResourceType type, int variantNumOverride) throws SQLException {
-        try (ResultSet resultSet = preparedStmt.executeQuery()) {
+    public Map<OwnerInfo, Set<RegulatingEquipmentIdentifier>> innerGetRegulatingEquipments(PreparedStatement preparedStmt, ResourceType type, int variantNumOverride, String variantLayer) throws SQLException {
+        try (ResultSet resultSet = sqlObserver.executeQuery(preparedStmt, REGULATING_POINT_TABLE, variantLayer)) {
             Map<OwnerInfo, Set<RegulatingEquipmentIdentifier>> map = new HashMap<>();
+            long bindingStart = System.nanoTime();
+            int rowCount = 0;
             while (resultSet.next()) {
+                rowCount++;
                 OwnerInfo owner = new OwnerInfo();
                 String regulatingEquipmentId = resultSet.getString(3);
                 String regulatedConnectableId = resultSet.getString(4);
@@ -3052,22 +4555,13 @@ public class NetworkStoreRepository {
                     map.put(owner, regulatedEquipmentIds);
                 }
             }
+            sqlObserver.recordRowBinding(REGULATING_POINT_TABLE, variantLayer, System.nanoTime() - bindingStart, 0, rowCount);
             return map;
         }
     }
 
-    private <T extends IdentifiableAttributes> void insertRegulatingEquipmentsInto(UUID networkUuid, int variantNum,
-                                                                                   String equipmentId, Resource<T> resource,
-                                                                                   ResourceType type) {
-        Set<RegulatingEquipmentIdentifier> regulatingEquipments = getRegulatingEquipmentsForIdentifiable(networkUuid, variantNum, equipmentId, type);
-        IdentifiableAttributes identifiableAttributes = resource.getAttributes();
-        if (identifiableAttributes instanceof RegulatedEquipmentAttributes regulatedEquipmentAttributes) {
-            regulatedEquipmentAttributes.setRegulatingEquipments(regulatingEquipments);
-        }
-    }
-
     public Set<RegulatingEquipmentIdentifier> getRegulatingEquipmentsForIdentifiable(UUID networkUuid, int variantNum, String equipmentId, ResourceType type) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             int fullVariantNum = getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum();
             if (NetworkAttributes.isFullVariant(fullVariantNum)) {
                 // If the variant is full, retrieve regulating equipments for the specified variant directly
@@ -3113,17 +4607,21 @@ public class NetworkStoreRepository {
 
     private Set<RegulatingEquipmentIdentifier> getRegulatingEquipments(PreparedStatement preparedStmt) throws SQLException {
         try (ResultSet resultSet = preparedStmt.executeQuery()) {
-            Set<RegulatingEquipmentIdentifier> regulatingEquipements = new HashSet<>();
-            while (resultSet.next()) {
-                String regulatingEquipmentId = resultSet.getString(1);
-                ResourceType regulatingEquipmentType = ResourceType.valueOf(resultSet.getString(2));
-                String regulatingTapChangerType = resultSet.getString(3);
-                RegulatingEquipmentIdentifier identifier = new RegulatingEquipmentIdentifier(regulatingEquipmentId, regulatingEquipmentType, RegulatingTapChangerType.valueOf(
-                        regulatingTapChangerType));
-                regulatingEquipements.add(identifier);
-            }
-            return regulatingEquipements;
+            return readRegulatingEquipments(resultSet);
+        }
+    }
+
+    private static Set<RegulatingEquipmentIdentifier> readRegulatingEquipments(ResultSet resultSet) throws SQLException {
+        Set<RegulatingEquipmentIdentifier> regulatingEquipements = new HashSet<>();
+        while (resultSet.next()) {
+            String regulatingEquipmentId = resultSet.getString(1);
+            ResourceType regulatingEquipmentType = ResourceType.valueOf(resultSet.getString(2));
+            String regulatingTapChangerType = resultSet.getString(3);
+            RegulatingEquipmentIdentifier identifier = new RegulatingEquipmentIdentifier(regulatingEquipmentId, regulatingEquipmentType, RegulatingTapChangerType.valueOf(
+                    regulatingTapChangerType));
+            regulatingEquipements.add(identifier);
         }
+        return regulatingEquipements;
     }
 
     protected <T extends ReactiveLimitHolder & IdentifiableAttributes> Map<OwnerInfo, List<ReactiveCapabilityCurvePointAttributes>> getReactiveCapabilityCurvePointsFromEquipments(
@@ -3171,9 +4669,7 @@ public class NetworkStoreRepository {
     }
 
     private <T extends AbstractRegulatingEquipmentAttributes> void insertRegulatingPointIntoInjection(
-            UUID networkUuid, int variantNum, String equipmentId, Resource<T> resource, ResourceType resourceType) {
-        Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPointAttributes = getRegulatingPointsWithInClause(networkUuid, variantNum,
-            REGULATING_EQUIPMENT_ID, Collections.singletonList(equipmentId), resourceType);
+            Resource<T> resource, Map<RegulatingOwnerInfo, RegulatingPointAttributes> regulatingPointAttributes) {
         if (regulatingPointAttributes.size() != 1) {
             throw new PowsyblException("a regulating injection must have one regulating point");
         }
@@ -3181,9 +4677,8 @@ public class NetworkStoreRepository {
                 resource.getAttributes().setRegulatingPoint(regulatingPointAttribute));
     }
 
-    private void insertRegulatingPointIntoTwoWindingsTransformer(UUID networkUuid, int variantNum, String equipmentId, Resource<TwoWindingsTransformerAttributes> resource) {
-        Map<RegulatingOwnerInfo, RegulatingPointAttributes> twoWindingsTransformerRegulatingPointAttributes = getRegulatingPointsWithInClause(networkUuid, variantNum,
-            REGULATING_EQUIPMENT_ID, Collections.singletonList(equipmentId), ResourceType.TWO_WINDINGS_TRANSFORMER);
+    private void insertRegulatingPointIntoTwoWindingsTransformer(UUID networkUuid, int variantNum, String equipmentId, Resource<TwoWindingsTransformerAttributes> resource,
+                                                                 Map<RegulatingOwnerInfo, RegulatingPointAttributes> twoWindingsTransformerRegulatingPointAttributes) {
         RatioTapChangerAttributes ratioTapChangerAttributes = resource.getAttributes().getRatioTapChangerAttributes();
         setTapChangerRegulatingPoint(ratioTapChangerAttributes, twoWindingsTransformerRegulatingPointAttributes, new RegulatingOwnerInfo(equipmentId,
             ResourceType.TWO_WINDINGS_TRANSFORMER, RegulatingTapChangerType.RATIO_TAP_CHANGER, networkUuid, variantNum));
@@ -3192,9 +4687,8 @@ public class NetworkStoreRepository {
             ResourceType.TWO_WINDINGS_TRANSFORMER, RegulatingTapChangerType.PHASE_TAP_CHANGER, networkUuid, variantNum));
     }
 
-    private void insertRegulatingPointIntoThreeWindingsTransformer(UUID networkUuid, int variantNum, String equipmentId, Resource<ThreeWindingsTransformerAttributes> resource) {
-        Map<RegulatingOwnerInfo, RegulatingPointAttributes> threeWindingsTransformerRegulatingPointAttributes = getRegulatingPointsWithInClause(networkUuid, variantNum,
-            REGULATING_EQUIPMENT_ID, Collections.singletonList(equipmentId), ResourceType.THREE_WINDINGS_TRANSFORMER);
+    private void insertRegulatingPointIntoThreeWindingsTransformer(UUID networkUuid, int variantNum, String equipmentId, Resource<ThreeWindingsTransformerAttributes> resource,
+                                                                   Map<RegulatingOwnerInfo, RegulatingPointAttributes> threeWindingsTransformerRegulatingPointAttributes) {
         for (ThreeSides side : ThreeSides.values()) {
             RatioTapChangerAttributes ratioTapChangerAttributes = resource.getAttributes().getLeg(side.getNum()).getRatioTapChangerAttributes();
             setTapChangerRegulatingPoint(ratioTapChangerAttributes, threeWindingsTransformerRegulatingPointAttributes, new RegulatingOwnerInfo(equipmentId, ResourceType.THREE_WINDINGS_TRANSFORMER,
@@ -3250,7 +4744,7 @@ public class NetworkStoreRepository {
     }
 
     private void deleteReactiveCapabilityCurvePoints(UUID networkUuid, int variantNum, List<String> equipmentIds) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildDeleteReactiveCapabilityCurvePointsVariantEquipmentINQuery(equipmentIds.size()))) {
                 preparedStmt.setObject(1, networkUuid);
                 preparedStmt.setInt(2, variantNum);
@@ -3298,7 +4792,7 @@ public class NetworkStoreRepository {
     }
 
     private void deleteAreaBoundaries(UUID networkUuid, int variantNum, List<String> areaIds) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildDeleteAreaBoundariesVariantEquipmentINQuery(areaIds.size()))) {
                 preparedStmt.setObject(1, networkUuid);
                 preparedStmt.setInt(2, variantNum);
@@ -3329,12 +4823,12 @@ public class NetworkStoreRepository {
 
     // TapChanger Steps
     public Map<OwnerInfo, List<TapChangerStepAttributes>> getTapChangerStepsWithInClause(UUID networkUuid, int variantNum, String columnNameForWhereClause, List<String> valuesForInClause) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             return PartialVariantUtils.getExternalAttributes(
                     variantNum,
                     getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
                     () -> getTombstonedTapChangerStepsIds(connection, networkUuid, variantNum),
-                    () -> getTombstonedIdentifiableIds(connection, networkUuid, variantNum),
+                    () -> observeTombstonedIdentifiableIds(connection, networkUuid, variantNum),
                 variant -> getTapChangerStepsWithInClauseForVariant(connection, networkUuid, variant, columnNameForWhereClause, valuesForInClause, variantNum),
                     OwnerInfo::getEquipmentId);
         } catch (SQLException e) {
@@ -3358,19 +4852,19 @@ public class NetworkStoreRepository {
             for (int i = 0; i < valuesForInClause.size(); i++) {
                 preparedStmt.setString(3 + i, valuesForInClause.get(i));
             }
-            return innerGetTapChangerSteps(preparedStmt, variantNumOverride);
+            return innerGetTapChangerSteps(preparedStmt, variantNumOverride, NetworkStoreSqlObserver.variantLayer(variantNum, variantNumOverride));
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
     }
 
     public Map<OwnerInfo, List<TapChangerStepAttributes>> getTapChangerSteps(UUID networkUuid, int variantNum, String columnNameForWhereClause, String valueForWhereClause) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             return PartialVariantUtils.getExternalAttributes(
                     variantNum,
                     getNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper).getFullVariantNum(),
                     () -> getTombstonedTapChangerStepsIds(connection, networkUuid, variantNum),
-                    () -> getTombstonedIdentifiableIds(connection, networkUuid, variantNum),
+                    () -> observeTombstonedIdentifiableIds(connection, networkUuid, variantNum),
                     variant -> getTapChangerStepsForVariant(connection, networkUuid, variant, columnNameForWhereClause, valueForWhereClause, variantNum),
                     OwnerInfo::getEquipmentId);
         } catch (SQLException e) {
@@ -3385,17 +4879,26 @@ public class NetworkStoreRepository {
             preparedStmt.setInt(2, variantNum);
             preparedStmt.setString(3, valueForWhereClause);
 
-            return innerGetTapChangerSteps(preparedStmt, variantNumOverride);
+            return innerGetTapChangerSteps(preparedStmt, variantNumOverride, NetworkStoreSqlObserver.variantLayer(variantNum, variantNumOverride));
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
     }
 
-    private Map<OwnerInfo, List<TapChangerStepAttributes>> innerGetTapChangerSteps(PreparedStatement preparedStmt, int variantNumOverride) throws SQLException {
-        try (ResultSet resultSet = preparedStmt.executeQuery()) {
+    private Map<OwnerInfo, List<TapChangerStepAttributes>> innerGetTapChangerSteps(PreparedStatement preparedStmt, int variantNumOverride, String variantLayer) throws SQLException {
+        try (ResultSet resultSet = sqlObserver.executeQuery(preparedStmt, TAP_CHANGER_STEP_TABLE, variantLayer)) {
+            return readTapChangerSteps(resultSet, variantNumOverride, variantLayer);
+        }
+    }
+
+    private Map<OwnerInfo, List<TapChangerStepAttributes>> readTapChangerSteps(ResultSet resultSet, int variantNumOverride, String variantLayer) throws SQLException {
+        try {
             Map<OwnerInfo, List<TapChangerStepAttributes>> map = new HashMap<>();
+            long bindingStart = System.nanoTime();
+            long jsonDecodeNanos = 0;
+            int rowCount = 0;
             while (resultSet.next()) {
-
+                rowCount++;
                 OwnerInfo owner = new OwnerInfo();
                 // In order, from the QueryCatalog.buildTapChangerStepQuery SQL query :
                 // equipmentId, equipmentType, networkUuid, variantNum, tapChangerType, tapchangers (info to be parsed)
@@ -3406,7 +4909,9 @@ public class NetworkStoreRepository {
 
                 TapChangerType tapChangerType = TapChangerType.valueOf(resultSet.getString(5));
                 String tapChangerStepData = resultSet.getString(6);
+                long decodeStart = System.nanoTime();
                 List<TapChangerStepSqlData> parsedTapChangerStepSqlData = mapper.readValue(tapChangerStepData, new TypeReference<>() { });
+                jsonDecodeNanos += System.nanoTime() - decodeStart;
                 List<TapChangerStepAttributes> tapChangerStepAttributesList = parsedTapChangerStepSqlData.stream()
                     .map(data -> data.toTapChangerStepAttributes(tapChangerType)).collect(Collectors.toList());
                 if (!tapChangerStepAttributesList.isEmpty()) {
@@ -3417,6 +4922,7 @@ public class NetworkStoreRepository {
                     }
                 }
             }
+            sqlObserver.recordRowBinding(TAP_CHANGER_STEP_TABLE, variantLayer, System.nanoTime() - bindingStart, jsonDecodeNanos, rowCount);
             return map;
         } catch (JsonProcessingException e) {
             throw new UncheckedIOException(e);
@@ -3485,7 +4991,7 @@ public class NetworkStoreRepository {
     }
 
     public <T extends TapChangerStepAttributes> void insertTapChangerSteps(Map<OwnerInfo, List<T>> tapChangerSteps) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildInsertTapChangerStepQuery())) {
                 List<Object> values = new ArrayList<>(6);
 
@@ -3495,7 +5001,7 @@ public class NetworkStoreRepository {
                         addTapChangerBatch(values, entry, preparedStmt, RATIO);
                         addTapChangerBatch(values, entry, preparedStmt, PHASE);
                     }
-                    preparedStmt.executeBatch();
+                    sqlObserver.executeBatch(preparedStmt, TAP_CHANGER_STEP_TABLE);
                 }
             }
         } catch (SQLException e) {
@@ -3578,7 +5084,7 @@ public class NetworkStoreRepository {
     }
 
     private void deleteTapChangerSteps(UUID networkUuid, int variantNum, List<String> equipmentIds) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
 
             try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildDeleteTapChangerStepVariantEquipmentINQuery(equipmentIds.size()))) {
                 preparedStmt.setObject(1, networkUuid);
@@ -3609,7 +5115,7 @@ public class NetworkStoreRepository {
     }
 
     public Optional<ExtensionAttributes> getExtensionAttributes(UUID networkId, int variantNum, String identifiableId, String extensionName) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             int fullVariantNum = getNetworkAttributes(connection, networkId, variantNum, mappings, mapper).getFullVariantNum();
             return extensionHandler.getExtensionAttributes(
                     connection,
@@ -3625,7 +5131,7 @@ public class NetworkStoreRepository {
     }
 
     public Map<String, ExtensionAttributes> getAllExtensionsAttributesByResourceTypeAndExtensionName(UUID networkId, int variantNum, ResourceType type, String extensionName) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             int fullVariantNum = getNetworkAttributes(connection, networkId, variantNum, mappings, mapper).getFullVariantNum();
             return extensionHandler.getAllExtensionsAttributesByResourceTypeAndExtensionName(
                     connection,
@@ -3640,8 +5146,25 @@ public class NetworkStoreRepository {
         }
     }
 
+    public Map<String, Map<String, JsonNode>> getExtensionFieldsByResourceTypeAndExtensionName(UUID networkId, int variantNum, ResourceType type, String extensionName, List<String> fields) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
+            int fullVariantNum = getNetworkAttributes(connection, networkId, variantNum, mappings, mapper).getFullVariantNum();
+            return extensionHandler.getExtensionFieldsByResourceTypeAndExtensionName(
+                    connection,
+                    networkId,
+                    variantNum,
+                    type.toString(),
+                    extensionName,
+                    fields,
+                    fullVariantNum,
+                    () -> getTombstonedIdentifiableIds(connection, networkId, variantNum));
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e);
+        }
+    }
+
     public Map<String, ExtensionAttributes> getAllExtensionsAttributesByIdentifiableId(UUID networkId, int variantNum, String identifiableId) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             int fullVariantNum = getNetworkAttributes(connection, networkId, variantNum, mappings, mapper).getFullVariantNum();
             return extensionHandler.getAllExtensionsAttributesByIdentifiableId(
                     connection,
@@ -3655,8 +5178,23 @@ public class NetworkStoreRepository {
         }
     }
 
+    public Map<String, Map<String, ExtensionAttributes>> getAllExtensionsAttributesByIdentifiableIds(UUID networkId, int variantNum, List<String> identifiableIds) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
+            int fullVariantNum = getNetworkAttributes(connection, networkId, variantNum, mappings, mapper).getFullVariantNum();
+            return extensionHandler.getAllExtensionsAttributesByIdentifiableIds(
+                    connection,
+                    networkId,
+                    variantNum,
+                    identifiableIds,
+                    fullVariantNum,
+                    () -> getTombstonedIdentifiableIds(connection, networkId, variantNum));
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e);
+        }
+    }
+
     public Map<String, Map<String, ExtensionAttributes>> getAllExtensionsAttributesByResourceType(UUID networkId, int variantNum, ResourceType type) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             int fullVariantNum = getNetworkAttributes(connection, networkId, variantNum, mappings, mapper).getFullVariantNum();
             return extensionHandler.getAllExtensionsAttributesByResourceType(
                     connection,
@@ -3671,12 +5209,15 @@ public class NetworkStoreRepository {
     }
 
     public void removeExtensionAttributes(UUID networkId, int variantNum, String identifiableId, String extensionName) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             boolean isPartialVariant = !getNetworkAttributes(connection, networkId, variantNum, mappings, mapper).isFullVariant();
             extensionHandler.deleteAndTombstoneExtensions(connection, networkId, variantNum, Map.of(extensionName, Set.of(identifiableId)), isPartialVariant);
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
+        // The extensions of the identifiables which are not elements are the ones of the network
+        ResourceType type = getIdentifiable(networkId, variantNum, identifiableId).map(Resource::getType).orElse(ResourceType.NETWORK);
+        recordChanges(networkId, variantNum, List.of(identifiableId), type);
     }
 
     // operational limits groups
@@ -3686,7 +5227,7 @@ public class NetworkStoreRepository {
     }
 
     public void removeOperationalLimitsGroupAttributes(UUID networkId, int variantNum, ResourceType type, Map<String, Map<Integer, Set<String>>> operationalLimitsGroupsToDelete) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             boolean isPartialVariant = !getNetworkAttributes(connection, networkId, variantNum, mappings, mapper).isFullVariant();
             List<OperationalLimitsGroupOwnerInfo> operationalLimitsGroupOwnerInfos = new ArrayList<>();
             operationalLimitsGroupsToDelete.forEach((branchId, limitsGroupBySide) -> limitsGroupBySide.forEach((side, limitsGroupIds) ->
@@ -3697,6 +5238,7 @@ public class NetworkStoreRepository {
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         }
+        recordChanges(networkId, variantNum, operationalLimitsGroupsToDelete.keySet(), type);
     }
 
     public Map<String, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> getAllOperationalLimitsGroupAttributesByResourceType(
@@ -3716,6 +5258,10 @@ public class NetworkStoreRepository {
 
     }
 
+    public List<BranchSideLimits> getSelectedLimitsByResourceType(UUID networkId, int variantNum, ResourceType type, LimitType limitType) {
+        return limitsHandler.getSelectedLimitsByResourceType(networkId, variantNum, type, limitType);
+    }
+
     public List<OperationalLimitsGroupAttributes> getOperationalLimitsGroupAttributesForBranchSide(
         UUID networkId, int variantNum, ResourceType type, String branchId, int side) {
         return limitsHandler.getAllOperationalLimitsGroupAttributesForBranchSide(networkId, variantNum, type, branchId, side);
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Fine-grained metrics of the SQL phases run by the repository, complementing the
+ * controller-level observations of {@link NetworkStoreObserver}.
+ * <p>
+ * Every metric is tagged with the table and with the variant layer the rows come from:
+ * {@value #FULL_VARIANT_LAYER} when the rows are read from the full variant a partial variant
+ * is built on, {@value #REQUESTED_VARIANT_LAYER} when they are read from the requested variant itself.
+ *
+ * @author agent <agent at local>
+ */
+@Service
+public class NetworkStoreSqlObserver {
+
+    private static final String METRIC_PREFIX = "app.network.store.server.sql.";
+    private static final String ROWS_SUFFIX = ".rows";
+
+    private static final String TABLE_TAG_NAME = "table";
+    private static final String VARIANT_LAYER_TAG_NAME = "variant_layer";
+
+    public static final String FULL_VARIANT_LAYER = "full";
+    public static final String REQUESTED_VARIANT_LAYER = "requested";
+
+    private static final TimeUnit TIME_UNIT = TimeUnit.NANOSECONDS;
+
+    public enum SqlPhase {
+        QUERY_EXECUTE("query.execute"),
+        ROW_BINDING("row.binding"),
+        JSON_DECODE("json.decode"),
+        BATCH_EXECUTE("batch.execute");
+
+        private final String metricName;
+
+        SqlPhase(String metricName) {
+            this.metricName = METRIC_PREFIX + metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    private final SlowQueryRecorder slowQueryRecorder;
+
+    public NetworkStoreSqlObserver(MeterRegistry meterRegistry, SlowQueryRecorder slowQueryRecorder) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryRecorder = slowQueryRecorder;
+    }
+
+    /**
+     * Variant layer of a read of {@code variantNum} done on behalf of {@code requestedVariantNum}.
+     */
+    public static String variantLayer(int variantNum, int requestedVariantNum) {
+        return variantNum == requestedVariantNum ? REQUESTED_VARIANT_LAYER : FULL_VARIANT_LAYER;
+    }
+
+    public ResultSet executeQuery(PreparedStatement preparedStmt, String table, String variantLayer) throws SQLException {
+        RequestDiagnostics.ifActive(diagnostics -> diagnostics.addSqlStatements(1));
+        long start = System.nanoTime();
+        try {
+            return preparedStmt.executeQuery();
+        } finally {
+            long duration = System.nanoTime() - start;
+            record(SqlPhase.QUERY_EXECUTE, table, variantLayer, duration);
+            slowQueryRecorder.queryExecuted(preparedStmt, table, variantLayer, duration);
+        }
+    }
+
+    public int[] executeBatch(PreparedStatement preparedStmt, String table) throws SQLException {
+        RequestDiagnostics.ifActive(diagnostics -> diagnostics.addSqlStatements(1));
+        long start = System.nanoTime();
+        int[] updateCounts = new int[0];
+        try {
+            updateCounts = preparedStmt.executeBatch();
+            return updateCounts;
+        } finally {
+            long duration = System.nanoTime() - start;
+            record(SqlPhase.BATCH_EXECUTE, table, REQUESTED_VARIANT_LAYER, duration);
+            slowQueryRecorder.batchExecuted(preparedStmt, table, duration, updateCounts);
+        }
+    }
+
+    /**
+     * Times a whole small query (execution and binding) as a {@link SqlPhase#QUERY_EXECUTE} phase, typically
+     * used for tombstone lookups which only read ids.
+     */
+    public <T> T observeQuery(String table, String variantLayer, Supplier<T> query) {
+        RequestDiagnostics.ifActive(diagnostics -> diagnostics.addSqlStatements(1));
+        long start = System.nanoTime();
+        try {
+            return query.get();
+        } finally {
+            record(SqlPhase.QUERY_EXECUTE, table, variantLayer, System.nanoTime() - start);
+        }
+    }
+
+    public void recordRowBinding(String table, String variantLayer, long bindingNanos, long jsonDecodeNanos, int rowCount) {
+        slowQueryRecorder.rowsBound(table, variantLayer, bindingNanos, rowCount);
+        record(SqlPhase.ROW_BINDING, table, variantLayer, bindingNanos);
+        if (jsonDecodeNanos > 0) {
+            record(SqlPhase.JSON_DECODE, table, variantLayer, jsonDecodeNanos);
+        }
+        Counter.builder(SqlPhase.ROW_BINDING.getMetricName() + ROWS_SUFFIX)
+                .tag(TABLE_TAG_NAME, table)
+                .tag(VARIANT_LAYER_TAG_NAME, variantLayer)
+                .register(meterRegistry)
+                .increment(rowCount);
+        RequestDiagnostics.ifActive(diagnostics -> {
+            diagnostics.addRows(variantLayer, rowCount);
+            diagnostics.addJsonDecodeNanos(jsonDecodeNanos);
+        });
+    }
+
+    private void record(SqlPhase phase, String table, String variantLayer, long durationNanos) {
+        Timer.builder(phase.getMetricName())
+                .tag(TABLE_TAG_NAME, table)
+                .tag(VARIANT_LAYER_TAG_NAME, variantLayer)
+                .register(meterRegistry)
+                .record(durationNanos, TIME_UNIT);
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Decodes the rows of bulk result sets on several cores: the request thread only reads the raw column values of
+ * the rows, which is cheap, and hands them by chunks to a fork-join pool which does the expensive part, the JSON
+ * decoding and the building of the attributes. The decoded rows are returned in the order of the result set.
+ * <p>
+ * Result sets smaller than one chunk are decoded by the request thread, without any overhead.
+ *
+ * @author agent <agent at local>
+ */
+@Component
+public class ParallelRowDecoder {
+
+    @FunctionalInterface
+    public interface RowReader<R> {
+        R read(ResultSet resultSet) throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface RowDecoder<R, T> {
+        T decode(R row) throws IOException;
+    }
+
+    private final ForkJoinPool pool;
+
+    private final int chunkSize;
+
+    public ParallelRowDecoder(@Value("${network-store-server.row-decoding.parallelism:0}") int parallelism,
+                              @Value("${network-store-server.row-decoding.chunk-size:1000}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Row decoding chunk size must be positive: " + chunkSize);
+        }
+        int poolParallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = poolParallelism > 1 ? new ForkJoinPool(poolParallelism) : null;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads all the remaining rows of the result set with the reader and decodes them with the decoder, which
+     * may be called concurrently from several threads.
+     */
+    public <R, T> List<T> decode(ResultSet resultSet, RowReader<R> reader, RowDecoder<R, T> decoder) throws SQLException {
+        List<ForkJoinTask<List<T>>> tasks = new ArrayList<>();
+        List<R> chunk = new ArrayList<>();
+        while (resultSet.next()) {
+            chunk.add(reader.read(resultSet));
+            if (pool != null && chunk.size() == chunkSize) {
+                List<R> rows = chunk;
+                tasks.add(pool.submit(() -> decodeChunk(rows, decoder)));
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (tasks.isEmpty()) {
+            return decodeChunk(chunk, decoder);
+        }
+        // The last chunk is decoded by the request thread while the pool decodes the other ones
+        List<T> lastDecodedChunk = decodeChunk(chunk, decoder);
+        List<T> decoded = new ArrayList<>(tasks.size() * chunkSize + lastDecodedChunk.size());
+        for (ForkJoinTask<List<T>> task : tasks) {
+            decoded.addAll(task.join());
+        }
+        decoded.addAll(lastDecodedChunk);
+        return decoded;
+    }
+
+    private static <R, T> List<T> decodeChunk(List<R> rows, RowDecoder<R, T> decoder) {
+        List<T> decoded = new ArrayList<>(rows.size());
+        try {
+            for (R row : rows) {
+                decoded.add(decoder.decode(row));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return decoded;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+}
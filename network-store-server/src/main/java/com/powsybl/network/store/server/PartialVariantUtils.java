@@ -10,6 +10,7 @@ import com.powsybl.network.store.model.*;
 import com.powsybl.network.store.server.dto.OperationalLimitsGroupOwnerInfo;
 import com.powsybl.network.store.server.dto.OwnerInfo;
 import org.apache.commons.lang3.function.TriFunction;
+import org.apache.commons.lang3.mutable.MutableInt;
 
 import java.util.*;
 import java.util.function.BooleanSupplier;
@@ -44,10 +45,12 @@ public final class PartialVariantUtils {
         // Remove external attributes associated to tombstoned resources, tombstoned external attributes and any other additional identifiable ids
         Set<String> tombstonedIds = fetchTombstonedIdentifiableIds.get();
         Set<String> tombstonedExternalAttributesIds = fetchTombstonedExternalAttributesIds.get();
+        int sizeBeforeTombstones = externalAttributes.size();
         externalAttributes.keySet().removeIf(ownerInfo ->
                         tombstonedIds.contains(idExtractor.apply(ownerInfo)) ||
                         tombstonedExternalAttributesIds.contains(idExtractor.apply(ownerInfo))
         );
+        recordTombstonedRows(sizeBeforeTombstones - externalAttributes.size());
 
         // Retrieve external attributes in partial variant
         Map<T, U> partialVariantExternalAttributes = fetchExternalAttributesInVariant.apply(variantNum);
@@ -178,9 +181,19 @@ public final class PartialVariantUtils {
 
         // Remove any resources in the partial variant or tombstoned
         Set<String> tombstonedIds = fetchTombstonedIdentifiableIds.get();
-        identifiables.removeIf(resource ->
-                partialVariantIds.contains(idExtractor.apply(resource)) || tombstonedIds.contains(idExtractor.apply(resource))
-        );
+        MutableInt tombstonedCount = new MutableInt();
+        identifiables.removeIf(resource -> {
+            String id = idExtractor.apply(resource);
+            if (partialVariantIds.contains(id)) {
+                return true;
+            }
+            if (tombstonedIds.contains(id)) {
+                tombstonedCount.increment();
+                return true;
+            }
+            return false;
+        });
+        recordTombstonedRows(tombstonedCount.intValue());
 
         // Combine identifiables from full and partial variant
         identifiables.addAll(partialVariantIdentifiables);
@@ -233,10 +246,12 @@ public final class PartialVariantUtils {
         // get tombstoned operational limits groups
         Set<OperationalLimitsGroupOwnerInfo> tombstonedOperationalLimitsGroups = fetchTombstonedOperationalLimitsGroup.get();
         // remove tombstoned elements
+        int sizeBeforeTombstones = operationalLimitsGroupAttributes.size();
         operationalLimitsGroupAttributes.keySet()
                 .removeIf(operationalLimitsGroup ->
                         tombstonedIdentifiables.contains(operationalLimitsGroup.getEquipmentId()) ||
                                 tombstonedOperationalLimitsGroups.contains(operationalLimitsGroup));
+        recordTombstonedRows(sizeBeforeTombstones - operationalLimitsGroupAttributes.size());
 
         Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> partialVariantOperationalLimitsGroupAttributes = operationalLimitsGroupFunction.apply(variantNum);
         operationalLimitsGroupAttributes.putAll(partialVariantOperationalLimitsGroupAttributes);
@@ -244,6 +259,12 @@ public final class PartialVariantUtils {
         return convertOperationalLimitsGroupsMap(operationalLimitsGroupAttributes);
     }
 
+    private static void recordTombstonedRows(int count) {
+        if (count > 0) {
+            RequestDiagnostics.ifActive(diagnostics -> diagnostics.addTombstonedRows(count));
+        }
+    }
+
     private static Map<OwnerInfo, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> convertOperationalLimitsGroupsMap(
             Map<OperationalLimitsGroupOwnerInfo, OperationalLimitsGroupAttributes> map) {
         Map<OwnerInfo, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> result = new HashMap<>();
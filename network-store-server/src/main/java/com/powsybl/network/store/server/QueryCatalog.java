@@ -8,7 +8,10 @@ package com.powsybl.network.store.server;
 
 import com.powsybl.network.store.model.Resource;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -41,6 +44,7 @@ public final class QueryCatalog {
     public static final String EQUIPMENT_ID_COLUMN = "equipmentId";
     public static final String AREA_ID_COLUMN = "areaId";
     static final String REGULATING_EQUIPMENT_ID = "regulatingEquipmentId";
+    static final String REGULATING_TERMINAL_CONNECTABLE_ID_COLUMN = "regulatingTerminalConnectableId";
     public static final String TAPCHANGER_TYPE_COLUMN = "tapChangerType";
     public static final String TAPCHANGER_STEPS_COLUMN = "tapchangersteps";
     public static final String TAP_CHANGER_TYPE = "tapchangertype";
@@ -53,10 +57,25 @@ public final class QueryCatalog {
     static final String REGULATING = "regulating";
     private static final Predicate<String> CLONE_PREDICATE = column -> !column.equals(UUID_COLUMN) && !column.equals(VARIANT_ID_COLUMN)
             && !column.equals(NAME_COLUMN) && !column.equals(FULL_VARIANT_NUM_COLUMN);
-    private static final String TOMBSTONED_IDENTIFIABLE_TABLE = "tombstonedidentifiable";
-    private static final String TOMBSTONED_EXTERNAL_ATTRIBUTES_TABLE = "tombstonedexternalattributes";
+    static final String TOMBSTONED_IDENTIFIABLE_TABLE = "tombstonedidentifiable";
+    static final String TOMBSTONED_EXTERNAL_ATTRIBUTES_TABLE = "tombstonedexternalattributes";
+    static final String RESOURCE_VERSION_TABLE = "resourceversion";
+    static final String RESOURCE_TYPE_COLUMN = "resourceType";
+    static final String VERSION_COLUMN = "version";
+    static final String VARIANT_CHANGE_TABLE = "variantchange";
+    static final String RESOURCE_CHANGE_TABLE = "resourcechange";
+    static final String CHANGE_NUM_COLUMN = "changeNum";
+    static final String FIRST_CHANGE_NUM_COLUMN = "firstChangeNum";
+    static final String RESOURCE_ID_COLUMN = "resourceId";
     public static final String SELECTED_OPERATIONAL_LIMITS_GROUP_ID1 = "selectedoperationallimitsgroupid1";
     public static final String SELECTED_OPERATIONAL_LIMITS_GROUP_ID2 = "selectedoperationallimitsgroupid2";
+    // Columns of the external attributes tables, except the network uuid and the variant number
+    static final List<String> TAP_CHANGER_STEP_COLUMNS = List.of(EQUIPMENT_ID_COLUMN, EQUIPMENT_TYPE_COLUMN, TAPCHANGER_TYPE_COLUMN, TAPCHANGER_STEPS_COLUMN);
+    static final List<String> REACTIVE_CAPABILITY_CURVE_POINT_COLUMNS = List.of(EQUIPMENT_ID_COLUMN, EQUIPMENT_TYPE_COLUMN, "minQ", "maxQ", "p", "properties");
+    static final List<String> AREA_BOUNDARY_COLUMNS = List.of(AREA_ID_COLUMN, "boundaryboundarylineid", "terminalconnectableid", "terminalside", "ac", "properties");
+    static final List<String> REGULATING_POINT_COLUMNS = List.of(REGULATING_EQUIPMENT_ID, REGULATING_EQUIPMENT_TYPE_COLUMN, REGULATING_TAP_CHANGER_TYPE,
+            REGULATION_MODE, "localTerminalConnectableId", "localTerminalSide", REGULATING_TERMINAL_CONNECTABLE_ID_COLUMN,
+            "regulatingTerminalSide", REGULATED_EQUIPMENT_TYPE_COLUMN, REGULATING);
 
     private QueryCatalog() {
     }
@@ -70,15 +89,6 @@ public final class QueryCatalog {
                 " and " + ID_COLUMN + " = ?";
     }
 
-    public static String buildGetSelectedOperationalLimitsGroupsQuery(String tableName) {
-        return "select " + ID_COLUMN + ", " +
-            SELECTED_OPERATIONAL_LIMITS_GROUP_ID1 + ", " +
-            SELECTED_OPERATIONAL_LIMITS_GROUP_ID2 +
-            " from " + tableName +
-            " where " + NETWORK_UUID_COLUMN + " = ?" +
-            " and " + VARIANT_NUM_COLUMN + " = ?";
-    }
-
     public static String buildGetNetworkQuery(Collection<String> columns) {
         return "select " + ID_COLUMN + ", " +
                 String.join(", ", columns) +
@@ -87,6 +97,30 @@ public final class QueryCatalog {
                 " and " + VARIANT_NUM_COLUMN + " = ?";
     }
 
+    /**
+     * Locks the row of a network variant until the end of the transaction: the writes of the variant share the lock,
+     * so that none of them runs during its compaction, which takes it exclusively. The shared lock does not prevent
+     * the writes from updating the network attributes. H2 has no shared row lock.
+     */
+    public static String buildLockNetworkQuery(boolean exclusive, boolean postgreSql) {
+        return "select " + ID_COLUMN +
+                " from " + NETWORK_TABLE +
+                " where " + UUID_COLUMN + " = ?" +
+                " and " + VARIANT_NUM_COLUMN + " = ?" +
+                (exclusive || !postgreSql ? " for update" : " for key share");
+    }
+
+    /**
+     * Lock held by the session of the connection until released, false if held by another session.
+     */
+    public static String buildTryAdvisoryLockQuery() {
+        return "select pg_try_advisory_lock(?)";
+    }
+
+    public static String buildAdvisoryUnlockQuery() {
+        return "select pg_advisory_unlock(?)";
+    }
+
     public static String buildGetIdentifiablesQuery(String tableName, Collection<String> columns) {
         return "select " + ID_COLUMN + ", " +
                 String.join(", ", columns) +
@@ -95,6 +129,27 @@ public final class QueryCatalog {
                 " and " + VARIANT_NUM_COLUMN + " = ?";
     }
 
+    /**
+     * Page of the identifiables of a variant ordered by id, the ones following an id. For a partial variant, its rows
+     * are merged with the rows of its full variant which are neither overridden nor tombstoned in it, before ordering.
+     */
+    public static String buildGetIdentifiablesPageQuery(String tableName, Collection<String> columns, boolean partialVariant) {
+        String variantQuery = "select " + ID_COLUMN + ", " +
+                String.join(", ", columns) +
+                " from " + tableName +
+                " where " + NETWORK_UUID_COLUMN + " = ?" +
+                " and " + VARIANT_NUM_COLUMN + " = ?" +
+                " and " + ID_COLUMN + " > ?";
+        if (!partialVariant) {
+            return variantQuery + " order by " + ID_COLUMN + " limit ?";
+        }
+        return "select * from (" + variantQuery +
+                " union all " + variantQuery +
+                buildNotOverriddenInVariantClause(tableName, List.of(ID_COLUMN)) +
+                buildNotTombstonedIdentifiableClause(tableName, ID_COLUMN) +
+                ") page order by " + ID_COLUMN + " limit ?";
+    }
+
     public static String buildGetIdentifiablesWithInClauseQuery(String tableName, Collection<String> columns, int numberOfValues) {
         if (numberOfValues < 1) {
             throw new IllegalArgumentException(MINIMAL_VALUE_REQUIREMENT_ERROR);
@@ -610,6 +665,18 @@ public final class QueryCatalog {
             columnNameForInClause + " in (" + generateInPlaceholders(numberOfValues) + ")";
     }
 
+    public static String buildRegulatedEquipmentTypesWithInClauseQuery(int numberOfValues) {
+        if (numberOfValues < 1) {
+            throw new IllegalArgumentException(MINIMAL_VALUE_REQUIREMENT_ERROR);
+        }
+        return "select distinct " + REGULATED_EQUIPMENT_TYPE_COLUMN +
+            " from " + REGULATING_POINT_TABLE + " where " +
+            NETWORK_UUID_COLUMN + " = ? and " +
+            VARIANT_NUM_COLUMN + " in (?, ?) and " +
+            REGULATING_EQUIPMENT_TYPE_COLUMN + " = ? and " +
+            REGULATING_EQUIPMENT_ID + " in (" + generateInPlaceholders(numberOfValues) + ")";
+    }
+
     public static String buildDeleteRegulatingPointsVariantQuery() {
         return "delete from " + REGULATING_POINT_TABLE + " where " +
             NETWORK_UUID_COLUMN + " = ? and " +
@@ -756,4 +823,258 @@ public final class QueryCatalog {
                 NETWORK_UUID_COLUMN + " = ? and " +
                 VARIANT_NUM_COLUMN + " = ?";
     }
+
+    public static String buildCountRowsByVariantQuery(String tableName) {
+        return "select " + VARIANT_NUM_COLUMN + ", count(*)" +
+                " from " + tableName +
+                " where " + NETWORK_UUID_COLUMN + " = ?" +
+                " group by " + VARIANT_NUM_COLUMN;
+    }
+
+    public static String buildCountRowsForVariantQuery(String tableName) {
+        return "select " + VARIANT_NUM_COLUMN + ", count(*)" +
+                " from " + tableName +
+                " where " + NETWORK_UUID_COLUMN + " = ?" +
+                " and " + VARIANT_NUM_COLUMN + " = ?" +
+                " group by " + VARIANT_NUM_COLUMN;
+    }
+
+    public static String buildUpdateFullVariantNumQuery() {
+        return "update " + NETWORK_TABLE +
+                " set " + FULL_VARIANT_NUM_COLUMN + " = ?" +
+                " where " + UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " = ?";
+    }
+
+    /**
+     * Clause to append to a clone query reading the full variant of a partial variant, keeping only the rows
+     * which are not overridden in the partial variant, i.e. which have no row with the same key columns in it.
+     */
+    public static String buildNotOverriddenInVariantClause(String tableName, List<String> keyColumns) {
+        return " and not exists (select 1 from " + tableName + " o" +
+                " where o." + NETWORK_UUID_COLUMN + " = ? and o." + VARIANT_NUM_COLUMN + " = ?" +
+                keyColumns.stream().map(column -> " and o." + column + " = " + tableName + "." + column).collect(Collectors.joining()) +
+                ")";
+    }
+
+    public static String buildNotTombstonedIdentifiableClause(String tableName, String ownerIdColumn) {
+        return " and not exists (select 1 from " + TOMBSTONED_IDENTIFIABLE_TABLE + " t" +
+                " where t." + NETWORK_UUID_COLUMN + " = ? and t." + VARIANT_NUM_COLUMN + " = ?" +
+                " and t." + EQUIPMENT_ID_COLUMN + " = " + tableName + "." + ownerIdColumn + ")";
+    }
+
+    public static String buildNotTombstonedExternalAttributesClause(String tableName, String ownerIdColumn) {
+        return " and not exists (select 1 from " + TOMBSTONED_EXTERNAL_ATTRIBUTES_TABLE + " t" +
+                " where t." + NETWORK_UUID_COLUMN + " = ? and t." + VARIANT_NUM_COLUMN + " = ?" +
+                " and t." + EQUIPMENT_ID_COLUMN + " = " + tableName + "." + ownerIdColumn +
+                " and t." + TYPE_COLUMN + " = ?)";
+    }
+
+    /**
+     * Deletes the rows of a variant having exactly the same rows, for the same key columns, in another variant. The
+     * clauses appended to the query keep the rows of the tombstoned keys.
+     */
+    public static String buildDeleteRowsAsInVariantQuery(String tableName, List<String> keyColumns, Collection<String> columns) {
+        String rowsQuery = "select " + String.join(", ", columns) +
+                " from " + tableName +
+                " where " + NETWORK_UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " = ?";
+        String sameKeyClause = keyColumns.stream().map(column -> "d." + column + " = " + tableName + "." + column).collect(Collectors.joining(" and "));
+        // The rows of the variant missing from the other variant, then the other way around
+        return "delete from " + tableName +
+                " where " + NETWORK_UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " = ?" +
+                " and not exists (select 1 from (" + rowsQuery + " except " + rowsQuery + ") d where " + sameKeyClause + ")" +
+                " and not exists (select 1 from (" + rowsQuery + " except " + rowsQuery + ") d where " + sameKeyClause + ")";
+    }
+
+    /**
+     * Tombstones, in a variant, the identifiables of a full variant which are not overridden in it.
+     */
+    public static String buildInsertTombstonedIdentifiablesNotOverriddenQuery(String tableName) {
+        return "insert into " + TOMBSTONED_IDENTIFIABLE_TABLE + " (" + NETWORK_UUID_COLUMN + ", " + VARIANT_NUM_COLUMN + ", " + EQUIPMENT_ID_COLUMN + ") " +
+                "select ?, ?, " + ID_COLUMN +
+                " from " + tableName +
+                " where " + NETWORK_UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " = ?" +
+                buildNotOverriddenInVariantClause(tableName, List.of(ID_COLUMN));
+    }
+
+    /**
+     * Tombstones, in a variant, the external attributes of a type of the identifiables of a full variant having rows
+     * which are not overridden in it, unless the identifiables are tombstoned.
+     */
+    public static String buildInsertTombstonedExternalAttributesNotOverriddenQuery(String tableName, String ownerIdColumn, List<String> keyColumns) {
+        return "insert into " + TOMBSTONED_EXTERNAL_ATTRIBUTES_TABLE + " (" + NETWORK_UUID_COLUMN + ", " + VARIANT_NUM_COLUMN + ", " + TYPE_COLUMN + ", " + EQUIPMENT_ID_COLUMN + ") " +
+                "select ?, ?, ?, " + ownerIdColumn +
+                " from (select distinct " + ownerIdColumn +
+                " from " + tableName +
+                " where " + NETWORK_UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " = ?" +
+                buildNotOverriddenInVariantClause(tableName, keyColumns) +
+                buildNotTombstonedIdentifiableClause(tableName, ownerIdColumn) +
+                ") owners";
+    }
+
+    // Resource versions
+    public static String buildIncrementResourceVersionQuery() {
+        return "update " + RESOURCE_VERSION_TABLE +
+                " set " + VERSION_COLUMN + " = " + VERSION_COLUMN + " + 1" +
+                " where " + NETWORK_UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " = ? and " + RESOURCE_TYPE_COLUMN + " = ?";
+    }
+
+    public static String buildInsertResourceVersionQuery() {
+        return "insert into " + RESOURCE_VERSION_TABLE + " (" + NETWORK_UUID_COLUMN + ", " + VARIANT_NUM_COLUMN + ", " + RESOURCE_TYPE_COLUMN + ", " + VERSION_COLUMN + ") " +
+                "values (?, ?, ?, 1)";
+    }
+
+    /**
+     * Versions of the resources of a type in a variant and in its full variant, with the full variant number of the
+     * variant. Returns no row if the variant does not exist, and a null version if no version is recorded yet.
+     */
+    public static String buildGetResourceVersionsQuery() {
+        return "select n." + FULL_VARIANT_NUM_COLUMN + ", r." + VARIANT_NUM_COLUMN + ", r." + VERSION_COLUMN +
+                " from " + NETWORK_TABLE + " n" +
+                " left join " + RESOURCE_VERSION_TABLE + " r" +
+                " on r." + NETWORK_UUID_COLUMN + " = n." + UUID_COLUMN +
+                " and r." + RESOURCE_TYPE_COLUMN + " = ?" +
+                " and (r." + VARIANT_NUM_COLUMN + " = n." + VARIANT_NUM_COLUMN + " or r." + VARIANT_NUM_COLUMN + " = n." + FULL_VARIANT_NUM_COLUMN + ")" +
+                " where n." + UUID_COLUMN + " = ? and n." + VARIANT_NUM_COLUMN + " = ?";
+    }
+
+    public static String buildDeleteResourceVersionsQuery() {
+        return "delete from " + RESOURCE_VERSION_TABLE + " where " + NETWORK_UUID_COLUMN + " = ?";
+    }
+
+    // Change feed
+    public static String buildIncrementChangeNumQuery() {
+        return "update " + VARIANT_CHANGE_TABLE +
+                " set " + CHANGE_NUM_COLUMN + " = " + CHANGE_NUM_COLUMN + " + 1" +
+                " where " + NETWORK_UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " = ?";
+    }
+
+    /**
+     * Starts the changes of a variant again: the changes since a previous change are no longer available.
+     */
+    public static String buildResetChangeNumQuery() {
+        return "update " + VARIANT_CHANGE_TABLE +
+                " set " + CHANGE_NUM_COLUMN + " = " + CHANGE_NUM_COLUMN + " + 1, " + FIRST_CHANGE_NUM_COLUMN + " = " + CHANGE_NUM_COLUMN + " + 1" +
+                " where " + NETWORK_UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " = ?";
+    }
+
+    public static String buildInsertChangeNumQuery() {
+        return "insert into " + VARIANT_CHANGE_TABLE + " (" + NETWORK_UUID_COLUMN + ", " + VARIANT_NUM_COLUMN + ", " + CHANGE_NUM_COLUMN + ", " + FIRST_CHANGE_NUM_COLUMN + ") " +
+                "values (?, ?, 0, 0)";
+    }
+
+    public static String buildGetChangeNumsQuery() {
+        return "select " + VARIANT_NUM_COLUMN + ", " + CHANGE_NUM_COLUMN + ", " + FIRST_CHANGE_NUM_COLUMN +
+                " from " + VARIANT_CHANGE_TABLE +
+                " where " + NETWORK_UUID_COLUMN + " = ? and (" + VARIANT_NUM_COLUMN + " = ? or " + VARIANT_NUM_COLUMN + " = ?)";
+    }
+
+    public static String buildUpdateFirstChangeNumQuery() {
+        return "update " + VARIANT_CHANGE_TABLE +
+                " set " + FIRST_CHANGE_NUM_COLUMN + " = ?" +
+                " where " + NETWORK_UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " = ? and " + FIRST_CHANGE_NUM_COLUMN + " < ?";
+    }
+
+    public static String buildDeleteChangeNumsQuery() {
+        return "delete from " + VARIANT_CHANGE_TABLE + " where " + NETWORK_UUID_COLUMN + " = ?";
+    }
+
+    public static String buildInsertResourceChangeQuery() {
+        return "insert into " + RESOURCE_CHANGE_TABLE + " (" + NETWORK_UUID_COLUMN + ", " + VARIANT_NUM_COLUMN + ", " + CHANGE_NUM_COLUMN + ", " + RESOURCE_TYPE_COLUMN + ", " + RESOURCE_ID_COLUMN + ") " +
+                "values (?, ?, ?, ?, ?)";
+    }
+
+    /**
+     * Resources changed in a variant after a change, at most the given number of them plus one so that the caller
+     * knows whether there are more.
+     */
+    public static String buildGetResourceChangesQuery() {
+        return "select distinct " + RESOURCE_TYPE_COLUMN + ", " + RESOURCE_ID_COLUMN +
+                " from " + RESOURCE_CHANGE_TABLE +
+                " where " + NETWORK_UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " = ? and " + CHANGE_NUM_COLUMN + " > ?" +
+                " limit ?";
+    }
+
+    public static String buildDeleteResourceChangesQuery() {
+        return "delete from " + RESOURCE_CHANGE_TABLE + " where " + NETWORK_UUID_COLUMN + " = ?";
+    }
+
+    public static String buildDeleteResourceChangesVariantQuery() {
+        return "delete from " + RESOURCE_CHANGE_TABLE + " where " + NETWORK_UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " = ?";
+    }
+
+    public static String buildDeleteResourceChangesBeforeQuery() {
+        return "delete from " + RESOURCE_CHANGE_TABLE +
+                " where " + NETWORK_UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " = ? and " + CHANGE_NUM_COLUMN + " <= ?";
+    }
+
+    // Variant diff
+    /**
+     * Table read to find the identifiables which differ between two variants: the column holding the ids of the
+     * identifiables owning its rows, and the columns compared between two full variants. Tombstones have none, full
+     * variants have no tombstone.
+     */
+    public record VariantDiffTable(String table, String idColumn, List<String> columns) {
+    }
+
+    /**
+     * Tables of the tombstones and of the external attributes of the identifiables, including the equipments
+     * regulated by the regulating points.
+     */
+    public static List<VariantDiffTable> getVariantDiffExternalAttributesTables(Map<String, Collection<String>> typedExtensionColumnsByTable) {
+        List<VariantDiffTable> diffTables = new ArrayList<>(List.of(
+                new VariantDiffTable(TOMBSTONED_IDENTIFIABLE_TABLE, EQUIPMENT_ID_COLUMN, List.of()),
+                new VariantDiffTable(TOMBSTONED_EXTERNAL_ATTRIBUTES_TABLE, EQUIPMENT_ID_COLUMN, List.of()),
+                new VariantDiffTable(QueryLimitsCatalog.TOMBSTONED_OPERATIONAL_LIMITS_GROUP_TABLE, EQUIPMENT_ID_COLUMN, List.of()),
+                new VariantDiffTable(QueryExtensionCatalog.TOMBSTONED_EXTENSION_TABLE, EQUIPMENT_ID_COLUMN, List.of()),
+                new VariantDiffTable(TAP_CHANGER_STEP_TABLE, EQUIPMENT_ID_COLUMN, TAP_CHANGER_STEP_COLUMNS),
+                new VariantDiffTable(REACTIVE_CAPABILITY_CURVE_POINT_TABLE, EQUIPMENT_ID_COLUMN, REACTIVE_CAPABILITY_CURVE_POINT_COLUMNS),
+                new VariantDiffTable(AREA_BOUNDARY_TABLE, AREA_ID_COLUMN, AREA_BOUNDARY_COLUMNS),
+                new VariantDiffTable(REGULATING_POINT_TABLE, REGULATING_EQUIPMENT_ID, REGULATING_POINT_COLUMNS),
+                new VariantDiffTable(REGULATING_POINT_TABLE, REGULATING_TERMINAL_CONNECTABLE_ID_COLUMN, REGULATING_POINT_COLUMNS),
+                new VariantDiffTable(QueryLimitsCatalog.OPERATIONAL_LIMITS_GROUP_TABLE, EQUIPMENT_ID_COLUMN, QueryLimitsCatalog.OPERATIONAL_LIMITS_GROUP_COLUMNS),
+                new VariantDiffTable(QueryExtensionCatalog.EXTENSION_TABLE, EQUIPMENT_ID_COLUMN, QueryExtensionCatalog.EXTENSION_COLUMNS)
+        ));
+        typedExtensionColumnsByTable.forEach((table, columns) -> {
+            List<String> typedExtensionColumns = new ArrayList<>(List.of(EQUIPMENT_ID_COLUMN, EQUIPMENT_TYPE_COLUMN));
+            typedExtensionColumns.addAll(columns);
+            diffTables.add(new VariantDiffTable(table, EQUIPMENT_ID_COLUMN, typedExtensionColumns));
+        });
+        return diffTables;
+    }
+
+    /**
+     * Ids of the identifiables owning rows of the table written in the partial variants and, when comparing the full
+     * variants the partial variants are built on, owning rows which are in one of them but not in the other. Null if
+     * there is nothing to read.
+     */
+    public static String buildGetVariantsDiffIdsQuery(VariantDiffTable diffTable, int partialVariantsCount, boolean compareFullVariants) {
+        List<String> queries = new ArrayList<>();
+        String idColumn = diffTable.idColumn();
+        if (partialVariantsCount > 0) {
+            queries.add("select " + idColumn + " from " + diffTable.table() +
+                    " where " + NETWORK_UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " in (" + generateInPlaceholders(partialVariantsCount) + ")" +
+                    " and " + idColumn + " is not null");
+        }
+        if (compareFullVariants) {
+            String rowsQuery = "select " + String.join(", ", diffTable.columns()) +
+                    " from " + diffTable.table() +
+                    " where " + NETWORK_UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " = ?";
+            // The rows of the first full variant missing from the second one, then the other way around
+            for (String alias : List.of("missingto", "missingfrom")) {
+                queries.add("select " + idColumn + " from (" + rowsQuery + " except " + rowsQuery + ") " + alias +
+                        " where " + idColumn + " is not null");
+            }
+        }
+        return queries.isEmpty() ? null : String.join(" union ", queries);
+    }
+
+    public static String buildGetIdsInVariantsWithInClauseQuery(String tableName, int variantsCount, int numberOfValues) {
+        if (variantsCount < 1 || numberOfValues < 1) {
+            throw new IllegalArgumentException(MINIMAL_VALUE_REQUIREMENT_ERROR);
+        }
+        return "select distinct " + ID_COLUMN + " from " + tableName +
+                " where " + NETWORK_UUID_COLUMN + " = ?" +
+                " and " + VARIANT_NUM_COLUMN + " in (" + generateInPlaceholders(variantsCount) + ")" +
+                " and " + ID_COLUMN + " in (" + generateInPlaceholders(numberOfValues) + ")";
+    }
 }
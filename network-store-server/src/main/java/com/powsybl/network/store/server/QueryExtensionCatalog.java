@@ -6,6 +6,10 @@
  */
 package com.powsybl.network.store.server;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
 import static com.powsybl.network.store.server.QueryCatalog.*;
 import static com.powsybl.network.store.server.Utils.generateInPlaceholders;
 
@@ -18,6 +22,8 @@ public final class QueryExtensionCatalog {
     static final String EXTENSION_VALUE_COLUMN = "value_";
     static final String EXTENSION_RESOURCE_TYPE_COLUMN = "equipmenttype";
     static final String TOMBSTONED_EXTENSION_TABLE = "tombstonedextension";
+    static final String ACTIVE_POWER_CONTROL_EXTENSION_TABLE = "activePowerControlExtension";
+    static final List<String> EXTENSION_COLUMNS = List.of(EQUIPMENT_ID_COLUMN, EQUIPMENT_TYPE_COLUMN, EXTENSION_NAME_COLUMN, EXTENSION_VALUE_COLUMN);
 
     private QueryExtensionCatalog() {
     }
@@ -58,6 +64,16 @@ public final class QueryExtensionCatalog {
                 EQUIPMENT_TYPE_COLUMN + " = ?";
     }
 
+    public static String buildGetAllExtensionsAttributesByIdentifiableIds() {
+        return "select " + EQUIPMENT_ID_COLUMN + ", " +
+                EXTENSION_NAME_COLUMN + ", " +
+                EXTENSION_VALUE_COLUMN +
+                " from " + EXTENSION_TABLE + " where " +
+                NETWORK_UUID_COLUMN + " = ? and " +
+                VARIANT_NUM_COLUMN + " = ? and " +
+                EQUIPMENT_ID_COLUMN + " = any(?)";
+    }
+
     public static String buildGetAllExtensionsAttributesByResourceTypeAndExtensionName() {
         return "select " + EQUIPMENT_ID_COLUMN + ", " +
                 EXTENSION_VALUE_COLUMN +
@@ -68,6 +84,23 @@ public final class QueryExtensionCatalog {
                 EXTENSION_NAME_COLUMN + " = ?";
     }
 
+    /**
+     * PostgreSQL only: extracts the given number of top-level fields of the jsonb extension values, the field names
+     * are the first parameters.
+     */
+    public static String buildGetExtensionFieldsByResourceTypeAndExtensionName(int fieldCount) {
+        if (fieldCount <= 0) {
+            throw new IllegalArgumentException("At least one extension field is required");
+        }
+        return "select " + EQUIPMENT_ID_COLUMN + ", " +
+                String.join(", ", Collections.nCopies(fieldCount, EXTENSION_VALUE_COLUMN + " -> ?")) +
+                " from " + EXTENSION_TABLE + " where " +
+                NETWORK_UUID_COLUMN + " = ? and " +
+                VARIANT_NUM_COLUMN + " = ? and " +
+                EXTENSION_RESOURCE_TYPE_COLUMN + " = ? and " +
+                EXTENSION_NAME_COLUMN + " = ?";
+    }
+
     public static String buildInsertExtensionsQuery() {
         return "insert into " + EXTENSION_TABLE + "(" +
                 EQUIPMENT_ID_COLUMN + ", " + EQUIPMENT_TYPE_COLUMN + ", " +
@@ -111,12 +144,108 @@ public final class QueryExtensionCatalog {
                 "and " + EQUIPMENT_ID_COLUMN + " in (" + generateInPlaceholders(numberOfValues) + ")";
     }
 
+    // Extensions stored in a dedicated table
+    public static String buildInsertTypedExtensionsQuery(String table, Collection<String> columns) {
+        return "insert into " + table + "(" +
+                EQUIPMENT_ID_COLUMN + ", " + EQUIPMENT_TYPE_COLUMN + ", " +
+                NETWORK_UUID_COLUMN + ", " +
+                VARIANT_NUM_COLUMN + ", " +
+                String.join(", ", columns) + ")" +
+                " values (?, ?, ?, ?, " + generateInPlaceholders(columns.size()) + ")";
+    }
+
+    /**
+     * Selects the equipment id and the extension columns of the rows matching the given column.
+     */
+    public static String buildGetTypedExtensionsQuery(String table, Collection<String> columns, String columnNameForWhereClause) {
+        return "select " + EQUIPMENT_ID_COLUMN + ", " +
+                String.join(", ", columns) +
+                " from " + table + " where " +
+                NETWORK_UUID_COLUMN + " = ? and " +
+                VARIANT_NUM_COLUMN + " = ? and " +
+                columnNameForWhereClause + " = ?";
+    }
+
+    public static String buildGetTypedExtensionsByIdentifiableIdsQuery(String table, Collection<String> columns) {
+        return "select " + EQUIPMENT_ID_COLUMN + ", " +
+                String.join(", ", columns) +
+                " from " + table + " where " +
+                NETWORK_UUID_COLUMN + " = ? and " +
+                VARIANT_NUM_COLUMN + " = ? and " +
+                EQUIPMENT_ID_COLUMN + " = any(?)";
+    }
+
+    public static String buildCloneTypedExtensionsQuery(String table, Collection<String> columns) {
+        return "insert into " + table + "(" + EQUIPMENT_ID_COLUMN + ", " + EQUIPMENT_TYPE_COLUMN +
+                ", " + NETWORK_UUID_COLUMN + ", " + VARIANT_NUM_COLUMN + ", " + String.join(", ", columns) + ") select " +
+                EQUIPMENT_ID_COLUMN + ", " + EQUIPMENT_TYPE_COLUMN +
+                ", ?, ?, " + String.join(", ", columns) + " from " + table + " where " + NETWORK_UUID_COLUMN +
+                " = ? and " + VARIANT_NUM_COLUMN + " = ?";
+    }
+
+    public static String buildDeleteTypedExtensionsVariantEquipmentINQuery(String table, int numberOfValues) {
+        if (numberOfValues < 1) {
+            throw new IllegalArgumentException(MINIMAL_VALUE_REQUIREMENT_ERROR);
+        }
+        return "delete from " + table + " where " +
+                NETWORK_UUID_COLUMN + " = ? and " +
+                VARIANT_NUM_COLUMN + " = ? and " +
+                EQUIPMENT_ID_COLUMN + " in (" + generateInPlaceholders(numberOfValues) + ")";
+    }
+
+    public static String buildDeleteTypedExtensionsVariantQuery(String table) {
+        return "delete from " + table + " where " +
+                NETWORK_UUID_COLUMN + " = ? and " +
+                VARIANT_NUM_COLUMN + " = ?";
+    }
+
+    public static String buildDeleteTypedExtensionsQuery(String table) {
+        return "delete from " + table + " where " +
+                NETWORK_UUID_COLUMN + " = ?";
+    }
+
+    /**
+     * The extension name is a constant of the extension table mappings, it is inlined to bind the same parameters
+     * as {@link #buildNotTombstonedExtensionClause()}.
+     */
+    public static String buildNotTombstonedTypedExtensionClause(String table, String extensionName) {
+        return " and not exists (select 1 from " + TOMBSTONED_EXTENSION_TABLE + " t" +
+                " where t." + NETWORK_UUID_COLUMN + " = ? and t." + VARIANT_NUM_COLUMN + " = ?" +
+                " and t." + EQUIPMENT_ID_COLUMN + " = " + table + "." + EQUIPMENT_ID_COLUMN +
+                " and t." + EXTENSION_NAME_COLUMN + " = '" + extensionName + "')";
+    }
+
     // Tombstoned extensions
     public static String buildInsertTombstonedExtensionsQuery() {
         return "insert into " + TOMBSTONED_EXTENSION_TABLE + " (" + NETWORK_UUID_COLUMN + ", " + VARIANT_NUM_COLUMN + ", " + EQUIPMENT_ID_COLUMN + ", " + EXTENSION_NAME_COLUMN + ") " +
                 "values (?, ?, ?, ?)";
     }
 
+    /**
+     * Tombstones, in a variant, the extensions of the identifiables of a full variant which are not overridden in it,
+     * unless the identifiables are tombstoned.
+     */
+    public static String buildInsertTombstonedExtensionsNotOverriddenQuery() {
+        return "insert into " + TOMBSTONED_EXTENSION_TABLE + " (" + NETWORK_UUID_COLUMN + ", " + VARIANT_NUM_COLUMN + ", " + EQUIPMENT_ID_COLUMN + ", " + EXTENSION_NAME_COLUMN + ") " +
+                "select ?, ?, " + EQUIPMENT_ID_COLUMN + ", " + EXTENSION_NAME_COLUMN +
+                " from " + EXTENSION_TABLE +
+                " where " + NETWORK_UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " = ?" +
+                buildNotOverriddenInVariantClause(EXTENSION_TABLE, List.of(EQUIPMENT_ID_COLUMN, EXTENSION_NAME_COLUMN)) +
+                buildNotTombstonedIdentifiableClause(EXTENSION_TABLE, EQUIPMENT_ID_COLUMN);
+    }
+
+    /**
+     * Same as {@link #buildInsertTombstonedExtensionsNotOverriddenQuery()} for the extensions stored in their own table.
+     */
+    public static String buildInsertTombstonedTypedExtensionsNotOverriddenQuery(String table, String extensionName) {
+        return "insert into " + TOMBSTONED_EXTENSION_TABLE + " (" + NETWORK_UUID_COLUMN + ", " + VARIANT_NUM_COLUMN + ", " + EQUIPMENT_ID_COLUMN + ", " + EXTENSION_NAME_COLUMN + ") " +
+                "select ?, ?, " + EQUIPMENT_ID_COLUMN + ", '" + extensionName + "'" +
+                " from " + table +
+                " where " + NETWORK_UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " = ?" +
+                buildNotOverriddenInVariantClause(table, List.of(EQUIPMENT_ID_COLUMN)) +
+                buildNotTombstonedIdentifiableClause(table, EQUIPMENT_ID_COLUMN);
+    }
+
     public static String buildGetTombstonedExtensionsQuery() {
         return "select " + EQUIPMENT_ID_COLUMN + ", " + EXTENSION_NAME_COLUMN + " FROM " + TOMBSTONED_EXTENSION_TABLE + " WHERE " + NETWORK_UUID_COLUMN + " = ? AND " + VARIANT_NUM_COLUMN + " = ?";
     }
@@ -155,4 +284,11 @@ public final class QueryExtensionCatalog {
                 NETWORK_UUID_COLUMN + " = ?" + " and " +
                 VARIANT_NUM_COLUMN + " = ? ";
     }
+
+    public static String buildNotTombstonedExtensionClause() {
+        return " and not exists (select 1 from " + TOMBSTONED_EXTENSION_TABLE + " t" +
+                " where t." + NETWORK_UUID_COLUMN + " = ? and t." + VARIANT_NUM_COLUMN + " = ?" +
+                " and t." + EQUIPMENT_ID_COLUMN + " = " + EXTENSION_TABLE + "." + EQUIPMENT_ID_COLUMN +
+                " and t." + EXTENSION_NAME_COLUMN + " = " + EXTENSION_TABLE + "." + EXTENSION_NAME_COLUMN + ")";
+    }
 }
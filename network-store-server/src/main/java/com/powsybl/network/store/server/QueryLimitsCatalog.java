@@ -7,6 +7,9 @@
 package com.powsybl.network.store.server;
 
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.powsybl.network.store.server.QueryCatalog.*;
 import static com.powsybl.network.store.server.Utils.generateInPlaceholders;
@@ -30,6 +33,34 @@ public final class QueryLimitsCatalog {
     static final String PROPERTIES_COLUMN = "properties";
     static final String TOMBSTONED_OPERATIONAL_LIMITS_GROUP_TABLE = "tombstonedoperationallimitsgroup";
 
+    // Temporary limits can also be stored as one array per attribute instead of a JSON list, see TemporaryLimitsArrays
+    static final List<String> LIMITS_COLUMN_PREFIXES = List.of("current_limits", "apparent_power_limits", "active_power_limits");
+    static final List<String> TEMPORARY_LIMITS_ARRAY_COLUMN_SUFFIXES = List.of(
+            "_temporary_limits_durations",
+            "_temporary_limits_values",
+            "_temporary_limits_names",
+            "_temporary_limits_fictitious");
+    static final List<String> TEMPORARY_LIMITS_ARRAY_COLUMNS = LIMITS_COLUMN_PREFIXES.stream()
+            .flatMap(prefix -> TEMPORARY_LIMITS_ARRAY_COLUMN_SUFFIXES.stream().map(suffix -> prefix + suffix))
+            .toList();
+    // Content of an operational limits group, stored once per network in the definitions table and referenced by its
+    // hash from the groups of all the variants sharing it, see LimitsHandler#insertOperationalLimitsGroups
+    static final String OPERATIONAL_LIMITS_DEFINITION_TABLE = "operationallimitsdefinition";
+    static final String HASH_COLUMN = "hash";
+    static final String LIMITS_HASH_COLUMN = "limitshash";
+    static final List<String> LIMITS_DEFINITION_COLUMNS = Stream.concat(Stream.of(
+                    CURRENT_LIMITS_PERMANENT_LIMIT_COLUMN, CURRENT_LIMITS_TEMPORARY_LIMITS_COLUMN, CURRENT_LIMITS_PROPERTIES_COLUMN,
+                    APPARENT_POWER_LIMITS_PERMANENT_LIMIT_COLUMN, APPARENT_POWER_LIMITS_TEMPORARY_LIMITS_COLUMN, APPARENT_POWER_LIMITS_PROPERTIES_COLUMN,
+                    ACTIVE_POWER_LIMITS_PERMANENT_LIMIT_COLUMN, ACTIVE_POWER_LIMITS_TEMPORARY_LIMITS_COLUMN, ACTIVE_POWER_LIMITS_PROPERTIES_COLUMN,
+                    PROPERTIES_COLUMN), TEMPORARY_LIMITS_ARRAY_COLUMNS.stream())
+            .toList();
+    private static final String LIMITS_DEFINITION_COLUMNS_LIST = String.join(", ", LIMITS_DEFINITION_COLUMNS);
+    // Columns of an operational limits group, its network and its variant aside
+    static final List<String> OPERATIONAL_LIMITS_GROUP_COLUMNS = List.of(EQUIPMENT_ID_COLUMN, EQUIPMENT_TYPE_COLUMN,
+            GROUP_ID_COLUMN, SIDE_COLUMN, LIMITS_HASH_COLUMN);
+    private static final String OPERATIONAL_LIMITS_DEFINITION_JOIN = " join " + OPERATIONAL_LIMITS_DEFINITION_TABLE + " d" +
+            " on d." + NETWORK_UUID_COLUMN + " = l." + NETWORK_UUID_COLUMN + " and d." + HASH_COLUMN + " = l." + LIMITS_HASH_COLUMN;
+
     private QueryLimitsCatalog() {
 
     }
@@ -37,16 +68,10 @@ public final class QueryLimitsCatalog {
     public static String buildCloneOperationalLimitsGroupQuery() {
         return "insert into " + OPERATIONAL_LIMITS_GROUP_TABLE + "(" + EQUIPMENT_ID_COLUMN + ", " + EQUIPMENT_TYPE_COLUMN + ", " +
             NETWORK_UUID_COLUMN + ", " + VARIANT_NUM_COLUMN + ", " + GROUP_ID_COLUMN + ", " + SIDE_COLUMN + ", " +
-            CURRENT_LIMITS_PERMANENT_LIMIT_COLUMN + ", " + CURRENT_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " + CURRENT_LIMITS_PROPERTIES_COLUMN + ", " +
-            APPARENT_POWER_LIMITS_PERMANENT_LIMIT_COLUMN + ", " + APPARENT_POWER_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " + APPARENT_POWER_LIMITS_PROPERTIES_COLUMN + ", " +
-            ACTIVE_POWER_LIMITS_PERMANENT_LIMIT_COLUMN + ", " + ACTIVE_POWER_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " + ACTIVE_POWER_LIMITS_PROPERTIES_COLUMN + ", " +
-            PROPERTIES_COLUMN + ") " +
+            LIMITS_HASH_COLUMN + ") " +
             "select " + EQUIPMENT_ID_COLUMN + ", " + EQUIPMENT_TYPE_COLUMN + ", ?, ?, " +
             GROUP_ID_COLUMN + ", " + SIDE_COLUMN + ", " +
-            CURRENT_LIMITS_PERMANENT_LIMIT_COLUMN + ", " + CURRENT_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " + CURRENT_LIMITS_PROPERTIES_COLUMN + ", " +
-            APPARENT_POWER_LIMITS_PERMANENT_LIMIT_COLUMN + ", " + APPARENT_POWER_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " + APPARENT_POWER_LIMITS_PROPERTIES_COLUMN + ", " +
-            ACTIVE_POWER_LIMITS_PERMANENT_LIMIT_COLUMN + ", " + ACTIVE_POWER_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " + ACTIVE_POWER_LIMITS_PROPERTIES_COLUMN + ", " +
-            PROPERTIES_COLUMN +
+            LIMITS_HASH_COLUMN +
             " from " + OPERATIONAL_LIMITS_GROUP_TABLE + " where " + NETWORK_UUID_COLUMN +
             " = ? and " + VARIANT_NUM_COLUMN + " = ?";
     }
@@ -95,93 +120,136 @@ public final class QueryLimitsCatalog {
             EQUIPMENT_ID_COLUMN + ", " +
             GROUP_ID_COLUMN + ", " +
             SIDE_COLUMN + ", " +
-            CURRENT_LIMITS_PERMANENT_LIMIT_COLUMN + ", " +
-            CURRENT_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " +
-            CURRENT_LIMITS_PROPERTIES_COLUMN + ", " +
-            APPARENT_POWER_LIMITS_PERMANENT_LIMIT_COLUMN + ", " +
-            APPARENT_POWER_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " +
-            APPARENT_POWER_LIMITS_PROPERTIES_COLUMN + ", " +
-            ACTIVE_POWER_LIMITS_PERMANENT_LIMIT_COLUMN + ", " +
-            ACTIVE_POWER_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " +
-            ACTIVE_POWER_LIMITS_PROPERTIES_COLUMN + ", " +
-            PROPERTIES_COLUMN + ")" +
-            " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+            LIMITS_HASH_COLUMN + ")" +
+            " values (?, ?, ?, ?, ?, ?, ?)";
+    }
+
+    /**
+     * Inserts the content of an operational limits group unless the network already stores it. On PostgreSQL, an
+     * existing content is updated in place to lock it until the end of the transaction, so that
+     * {@link #buildDeleteOrphanOperationalLimitsDefinitionsQuery(boolean)} cannot delete it before the group
+     * referencing it is committed.
+     * Parameters: networkUuid, hash, then the {@link #LIMITS_DEFINITION_COLUMNS}.
+     */
+    public static String buildInsertOperationalLimitsDefinitionQuery(boolean postgreSql) {
+        String columns = NETWORK_UUID_COLUMN + ", " + HASH_COLUMN + ", " + LIMITS_DEFINITION_COLUMNS_LIST;
+        String values = " values (" + generateInPlaceholders(2 + LIMITS_DEFINITION_COLUMNS.size()) + ")";
+        return postgreSql
+            ? "insert into " + OPERATIONAL_LIMITS_DEFINITION_TABLE + " (" + columns + ")" + values +
+                " on conflict (" + NETWORK_UUID_COLUMN + ", " + HASH_COLUMN + ") do update set " + HASH_COLUMN + " = excluded." + HASH_COLUMN
+            : "merge into " + OPERATIONAL_LIMITS_DEFINITION_TABLE + " (" + columns + ")" +
+                " key (" + NETWORK_UUID_COLUMN + ", " + HASH_COLUMN + ")" + values;
+    }
+
+    /**
+     * Copies to a network the contents of the operational limits groups of a variant of another network it does not
+     * store yet.
+     * Parameters: target networkUuid, source networkUuid, source networkUuid, source variantNum, target networkUuid.
+     */
+    public static String buildCloneOperationalLimitsDefinitionsQuery() {
+        return "insert into " + OPERATIONAL_LIMITS_DEFINITION_TABLE + " (" + NETWORK_UUID_COLUMN + ", " + HASH_COLUMN + ", " + LIMITS_DEFINITION_COLUMNS_LIST + ") " +
+            "select ?, " + HASH_COLUMN + ", " + LIMITS_DEFINITION_COLUMNS_LIST +
+            " from " + OPERATIONAL_LIMITS_DEFINITION_TABLE + " d" +
+            " where d." + NETWORK_UUID_COLUMN + " = ?" +
+            " and exists (select 1 from " + OPERATIONAL_LIMITS_GROUP_TABLE + " l" +
+            " where l." + NETWORK_UUID_COLUMN + " = ? and l." + VARIANT_NUM_COLUMN + " = ?" +
+            " and l." + LIMITS_HASH_COLUMN + " = d." + HASH_COLUMN + ")" +
+            " and not exists (select 1 from " + OPERATIONAL_LIMITS_DEFINITION_TABLE + " t" +
+            " where t." + NETWORK_UUID_COLUMN + " = ? and t." + HASH_COLUMN + " = d." + HASH_COLUMN + ")";
+    }
+
+    public static String buildDeleteOperationalLimitsDefinitionsQuery() {
+        return "delete from " + OPERATIONAL_LIMITS_DEFINITION_TABLE + " where " +
+            NETWORK_UUID_COLUMN + " = ?";
+    }
+
+    /**
+     * Deletes the contents of operational limits groups no longer referenced by any group of the network. On
+     * PostgreSQL, the contents locked by a concurrent insert are skipped, see
+     * {@link #buildInsertOperationalLimitsDefinitionQuery(boolean)}.
+     * Parameters: networkUuid, networkUuid.
+     */
+    public static String buildDeleteOrphanOperationalLimitsDefinitionsQuery(boolean postgreSql) {
+        return "delete from " + OPERATIONAL_LIMITS_DEFINITION_TABLE + " where " + NETWORK_UUID_COLUMN + " = ?" +
+            " and " + HASH_COLUMN + " in (select d." + HASH_COLUMN + " from " + OPERATIONAL_LIMITS_DEFINITION_TABLE + " d" +
+            " where d." + NETWORK_UUID_COLUMN + " = ?" +
+            " and not exists (select 1 from " + OPERATIONAL_LIMITS_GROUP_TABLE + " l" +
+            " where l." + NETWORK_UUID_COLUMN + " = d." + NETWORK_UUID_COLUMN + " and l." + LIMITS_HASH_COLUMN + " = d." + HASH_COLUMN + ")" +
+            (postgreSql ? " for update skip locked" : "") + ")";
     }
 
     public static String buildOperationalLimitsGroupQuery(String columnNameForWhereClause) {
-        return "select " + EQUIPMENT_ID_COLUMN + ", " +
-            EQUIPMENT_TYPE_COLUMN + ", " +
-            NETWORK_UUID_COLUMN + ", " +
-            VARIANT_NUM_COLUMN + ", " +
-            SIDE_COLUMN + "," +
-            GROUP_ID_COLUMN + "," +
-            CURRENT_LIMITS_PERMANENT_LIMIT_COLUMN + ", " +
-            CURRENT_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " +
-            CURRENT_LIMITS_PROPERTIES_COLUMN + ", " +
-            APPARENT_POWER_LIMITS_PERMANENT_LIMIT_COLUMN + ", " +
-            APPARENT_POWER_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " +
-            APPARENT_POWER_LIMITS_PROPERTIES_COLUMN + ", " +
-            ACTIVE_POWER_LIMITS_PERMANENT_LIMIT_COLUMN + ", " +
-            ACTIVE_POWER_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " +
-            ACTIVE_POWER_LIMITS_PROPERTIES_COLUMN + ", " +
-            PROPERTIES_COLUMN +
-            " from " + OPERATIONAL_LIMITS_GROUP_TABLE + " where " +
-            NETWORK_UUID_COLUMN + " = ? and " +
-            VARIANT_NUM_COLUMN + " = ? and " +
-            columnNameForWhereClause + " = ?";
+        return buildOperationalLimitsGroupSelect() + " and l." + columnNameForWhereClause + " = ?";
     }
 
     public static String buildOperationalLimitsGroupWithInClauseQuery(String columnNameForInClause, int numberOfValues) {
         if (numberOfValues < 1) {
             throw new IllegalArgumentException(MINIMAL_VALUE_REQUIREMENT_ERROR);
         }
-        return "select " + EQUIPMENT_ID_COLUMN + ", " +
-            EQUIPMENT_TYPE_COLUMN + ", " +
-            NETWORK_UUID_COLUMN + ", " +
-            VARIANT_NUM_COLUMN + ", " +
-            SIDE_COLUMN + "," +
-            GROUP_ID_COLUMN + "," +
-            CURRENT_LIMITS_PERMANENT_LIMIT_COLUMN + ", " +
-            CURRENT_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " +
-            CURRENT_LIMITS_PROPERTIES_COLUMN + ", " +
-            APPARENT_POWER_LIMITS_PERMANENT_LIMIT_COLUMN + ", " +
-            APPARENT_POWER_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " +
-            APPARENT_POWER_LIMITS_PROPERTIES_COLUMN + ", " +
-            ACTIVE_POWER_LIMITS_PERMANENT_LIMIT_COLUMN + ", " +
-            ACTIVE_POWER_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " +
-            ACTIVE_POWER_LIMITS_PROPERTIES_COLUMN + ", " +
-            PROPERTIES_COLUMN +
-            " from " + OPERATIONAL_LIMITS_GROUP_TABLE + " where " +
-            NETWORK_UUID_COLUMN + " = ? and " +
-            VARIANT_NUM_COLUMN + " = ? and " +
-            columnNameForInClause + " in (" + generateInPlaceholders(numberOfValues) + ")";
+        return buildOperationalLimitsGroupSelect() +
+            " and l." + columnNameForInClause + " in (" + generateInPlaceholders(numberOfValues) + ")";
     }
 
-    public static String buildSelectedOperationalLimitsGroupINQuery(int numberOfValues) {
-        if (numberOfValues < 1) {
-            throw new IllegalArgumentException(MINIMAL_VALUE_REQUIREMENT_ERROR);
+    private static String buildOperationalLimitsGroupSelect() {
+        return "select " + Stream.of(EQUIPMENT_ID_COLUMN, EQUIPMENT_TYPE_COLUMN, NETWORK_UUID_COLUMN, VARIANT_NUM_COLUMN, SIDE_COLUMN, GROUP_ID_COLUMN)
+                .map(column -> "l." + column)
+                .collect(Collectors.joining(", ")) + ", " +
+            LIMITS_DEFINITION_COLUMNS.stream().map(column -> "d." + column).collect(Collectors.joining(", ")) +
+            " from " + OPERATIONAL_LIMITS_GROUP_TABLE + " l" +
+            OPERATIONAL_LIMITS_DEFINITION_JOIN +
+            " where l." + NETWORK_UUID_COLUMN + " = ? and l." + VARIANT_NUM_COLUMN + " = ?";
+    }
+
+    /**
+     * Selected operational limits groups of all the branches of {@code branchTable}, resolved with a join between the
+     * branch table and the limits table.
+     * Parameters: networkUuid, variantNum of the limits, variantNum of the branches. When {@code partialVariant} is
+     * true, the selected group ids of a partial variant are resolved as the merge of the partial variant and of its
+     * full variant and two more parameters are expected: the full variantNum and again the partial variantNum.
+     */
+    public static String buildSelectedOperationalLimitsGroupJoinQuery(String branchTable, boolean partialVariant) {
+        return buildSelectedOperationalLimitsGroupJoinQuery(branchTable, partialVariant, LIMITS_DEFINITION_COLUMNS);
+    }
+
+    /**
+     * Same as {@link #buildSelectedOperationalLimitsGroupJoinQuery(String, boolean)} but only reading, after the owner
+     * columns, the permanent limit, the JSON temporary limits and the temporary limits durations and values arrays of
+     * one kind of limits, {@code limitsColumnPrefix} being one of {@link #LIMITS_COLUMN_PREFIXES}.
+     */
+    public static String buildSelectedLimitsJoinQuery(String branchTable, boolean partialVariant, String limitsColumnPrefix) {
+        if (!LIMITS_COLUMN_PREFIXES.contains(limitsColumnPrefix)) {
+            throw new IllegalArgumentException("Unknown limits " + limitsColumnPrefix);
         }
+        return buildSelectedOperationalLimitsGroupJoinQuery(branchTable, partialVariant, List.of(
+                limitsColumnPrefix + "_permanent_limit",
+                limitsColumnPrefix + "_temporary_limits",
+                limitsColumnPrefix + TEMPORARY_LIMITS_ARRAY_COLUMN_SUFFIXES.get(0),
+                limitsColumnPrefix + TEMPORARY_LIMITS_ARRAY_COLUMN_SUFFIXES.get(1)));
+    }
 
-        return "select " + EQUIPMENT_ID_COLUMN + ", " +
-            EQUIPMENT_TYPE_COLUMN + ", " +
-            NETWORK_UUID_COLUMN + ", " +
-            VARIANT_NUM_COLUMN + ", " +
-            SIDE_COLUMN + "," +
-            GROUP_ID_COLUMN + "," +
-            CURRENT_LIMITS_PERMANENT_LIMIT_COLUMN + ", " +
-            CURRENT_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " +
-            CURRENT_LIMITS_PROPERTIES_COLUMN + ", " +
-            APPARENT_POWER_LIMITS_PERMANENT_LIMIT_COLUMN + ", " +
-            APPARENT_POWER_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " +
-            APPARENT_POWER_LIMITS_PROPERTIES_COLUMN + ", " +
-            ACTIVE_POWER_LIMITS_PERMANENT_LIMIT_COLUMN + ", " +
-            ACTIVE_POWER_LIMITS_TEMPORARY_LIMITS_COLUMN + ", " +
-            ACTIVE_POWER_LIMITS_PROPERTIES_COLUMN + ", " +
-            PROPERTIES_COLUMN +
-            " from " + OPERATIONAL_LIMITS_GROUP_TABLE +
-            " where " + NETWORK_UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " = ? " +
-            " and (" + EQUIPMENT_ID_COLUMN + ", " + GROUP_ID_COLUMN + ", " + SIDE_COLUMN + ") " +
-            " in (values " + String.join(",", Collections.nCopies(numberOfValues, "(?, ?, ?)")) + ")";
+    private static String buildSelectedOperationalLimitsGroupJoinQuery(String branchTable, boolean partialVariant, List<String> limitsColumns) {
+        String branchVariantClause = partialVariant
+            ? " and (b." + VARIANT_NUM_COLUMN + " = ? or (b." + VARIANT_NUM_COLUMN + " = ?" +
+                " and not exists (select 1 from " + branchTable + " o" +
+                " where o." + NETWORK_UUID_COLUMN + " = b." + NETWORK_UUID_COLUMN +
+                " and o." + VARIANT_NUM_COLUMN + " = ?" +
+                " and o." + ID_COLUMN + " = b." + ID_COLUMN + ")))"
+            : " and b." + VARIANT_NUM_COLUMN + " = ?";
+        return "select " + Stream.concat(Stream.of(EQUIPMENT_ID_COLUMN,
+                    EQUIPMENT_TYPE_COLUMN,
+                    NETWORK_UUID_COLUMN,
+                    VARIANT_NUM_COLUMN,
+                    SIDE_COLUMN,
+                    GROUP_ID_COLUMN).map(column -> "l." + column), limitsColumns.stream().map(column -> "d." + column))
+                .collect(Collectors.joining(", ")) +
+            " from " + OPERATIONAL_LIMITS_GROUP_TABLE + " l" +
+            OPERATIONAL_LIMITS_DEFINITION_JOIN +
+            " join " + branchTable + " b on b." + NETWORK_UUID_COLUMN + " = l." + NETWORK_UUID_COLUMN +
+            " and b." + ID_COLUMN + " = l." + EQUIPMENT_ID_COLUMN +
+            " and ((l." + SIDE_COLUMN + " = 1 and l." + GROUP_ID_COLUMN + " = b." + SELECTED_OPERATIONAL_LIMITS_GROUP_ID1 + ")" +
+            " or (l." + SIDE_COLUMN + " = 2 and l." + GROUP_ID_COLUMN + " = b." + SELECTED_OPERATIONAL_LIMITS_GROUP_ID2 + "))" +
+            " where l." + NETWORK_UUID_COLUMN + " = ? and l." + VARIANT_NUM_COLUMN + " = ?" +
+            branchVariantClause;
     }
 
     // Tombstoned
@@ -230,4 +298,26 @@ public final class QueryLimitsCatalog {
                 NETWORK_UUID_COLUMN + " = ?" + " and " +
                 VARIANT_NUM_COLUMN + " = ? ";
     }
+
+    /**
+     * Tombstones, in a variant, the operational limits groups of the identifiables of a full variant which are not
+     * overridden in it, unless the identifiables are tombstoned.
+     */
+    public static String buildInsertTombstonedOperationalLimitsGroupNotOverriddenQuery() {
+        return "insert into " + TOMBSTONED_OPERATIONAL_LIMITS_GROUP_TABLE
+                + " (" + NETWORK_UUID_COLUMN + ", " + VARIANT_NUM_COLUMN + ", " + EQUIPMENT_ID_COLUMN + ", " + EQUIPMENT_TYPE_COLUMN + ", " + SIDE_COLUMN + ", " + GROUP_ID_COLUMN + ") " +
+                "select ?, ?, " + EQUIPMENT_ID_COLUMN + ", " + EQUIPMENT_TYPE_COLUMN + ", " + SIDE_COLUMN + ", " + GROUP_ID_COLUMN +
+                " from " + OPERATIONAL_LIMITS_GROUP_TABLE +
+                " where " + NETWORK_UUID_COLUMN + " = ? and " + VARIANT_NUM_COLUMN + " = ?" +
+                buildNotOverriddenInVariantClause(OPERATIONAL_LIMITS_GROUP_TABLE, List.of(EQUIPMENT_ID_COLUMN, GROUP_ID_COLUMN, SIDE_COLUMN)) +
+                buildNotTombstonedIdentifiableClause(OPERATIONAL_LIMITS_GROUP_TABLE, EQUIPMENT_ID_COLUMN);
+    }
+
+    public static String buildNotTombstonedOperationalLimitsGroupClause() {
+        return " and not exists (select 1 from " + TOMBSTONED_OPERATIONAL_LIMITS_GROUP_TABLE + " t" +
+                " where t." + NETWORK_UUID_COLUMN + " = ? and t." + VARIANT_NUM_COLUMN + " = ?" +
+                " and t." + EQUIPMENT_ID_COLUMN + " = " + OPERATIONAL_LIMITS_GROUP_TABLE + "." + EQUIPMENT_ID_COLUMN +
+                " and t." + GROUP_ID_COLUMN + " = " + OPERATIONAL_LIMITS_GROUP_TABLE + "." + GROUP_ID_COLUMN +
+                " and t." + SIDE_COLUMN + " = " + OPERATIONAL_LIMITS_GROUP_TABLE + "." + SIDE_COLUMN + ")";
+    }
 }
@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import com.powsybl.network.store.server.exceptions.RequestBulkheadTimeoutException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bulkheads isolating the classes of requests from each other: each class only runs a limited number of requests at
+ * the same time, so that a burst of one class, typically the reads of whole collections, cannot take all the
+ * connections of the pool and starve the lookups of single identifiables or the small updates. The requests in
+ * excess wait for a permit of their class, the waiting time being recorded in the {@value #QUEUE_METRIC} timer. A
+ * request still waiting after the queue timeout fails with a {@link RequestBulkheadTimeoutException}, answered with a
+ * 503: the client retries later instead of piling up requests the server cannot handle.
+ * <p>
+ * A class limited to 0 requests is not limited. A request run inside another one, for instance by a controller
+ * method combining several reads, uses the permit of the outer request.
+ * <p>
+ * When the requests run on virtual threads, the requests of all the classes also take a permit of the
+ * {@link VirtualThreadsRequestLimiter}, after the permit of their class: a request waiting for its class does not hold
+ * a permit the other classes need.
+ *
+ * @author agent <agent at local>
+ */
+@Component
+public class RequestBulkheads {
+
+    public enum RequestClass {
+        BULK_READ("bulk_read"),
+        POINT_READ("point_read"),
+        WRITE("write"),
+        CLONE_DELETE("clone_delete");
+
+        private final String tagValue;
+
+        RequestClass(String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        public String getTagValue() {
+            return tagValue;
+        }
+    }
+
+    static final String QUEUE_METRIC = "app.network.store.server.bulkhead.queue";
+
+    private static final String REQUEST_CLASS_TAG_NAME = "request_class";
+
+    private static final ThreadLocal<RequestClass> CURRENT = new ThreadLocal<>();
+
+    private final Map<RequestClass, Semaphore> permits = new EnumMap<>(RequestClass.class);
+
+    /**
+     * Permits shared by all the classes.
+     */
+    private final VirtualThreadsRequestLimiter requestLimiter;
+
+    private final long queueTimeoutMs;
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestBulkheads(MeterRegistry meterRegistry,
+                            @Value("${network-store-server.bulkheads.bulk-read:0}") int bulkReads,
+                            @Value("${network-store-server.bulkheads.point-read:0}") int pointReads,
+                            @Value("${network-store-server.bulkheads.write:0}") int writes,
+                            @Value("${network-store-server.bulkheads.clone-delete:0}") int clonesAndDeletes,
+                            @Value("${network-store-server.bulkheads.queue-timeout-ms:30000}") long queueTimeoutMs,
+                            VirtualThreadsRequestLimiter requestLimiter) {
+        if (queueTimeoutMs <= 0) {
+            throw new IllegalArgumentException("Queue timeout must be positive: " + queueTimeoutMs);
+        }
+        this.meterRegistry = meterRegistry;
+        this.queueTimeoutMs = queueTimeoutMs;
+        addBulkhead(RequestClass.BULK_READ, bulkReads);
+        addBulkhead(RequestClass.POINT_READ, pointReads);
+        addBulkhead(RequestClass.WRITE, writes);
+        addBulkhead(RequestClass.CLONE_DELETE, clonesAndDeletes);
+        this.requestLimiter = requestLimiter;
+    }
+
+    private void addBulkhead(RequestClass requestClass, int maxConcurrentRequests) {
+        if (maxConcurrentRequests < 0) {
+            throw new IllegalArgumentException("Concurrent " + requestClass.getTagValue() + " requests must not be negative: " + maxConcurrentRequests);
+        }
+        if (maxConcurrentRequests > 0) {
+            permits.put(requestClass, new Semaphore(maxConcurrentRequests, true));
+        }
+    }
+
+    public <T> T execute(RequestClass requestClass, Supplier<T> request) {
+        Semaphore semaphore = permits.get(requestClass);
+        if ((semaphore == null && !requestLimiter.isLimited()) || CURRENT.get() != null) {
+            return request.get();
+        }
+        long queueStart = System.nanoTime();
+        long deadline = queueStart + TimeUnit.MILLISECONDS.toNanos(queueTimeoutMs);
+        try {
+            if (semaphore != null) {
+                acquire(semaphore::tryAcquire, deadline, requestClass);
+            }
+            if (requestLimiter.isLimited()) {
+                try {
+                    acquire(requestLimiter::tryAcquire, deadline, requestClass);
+                } catch (RuntimeException e) {
+                    if (semaphore != null) {
+                        semaphore.release();
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            Timer.builder(QUEUE_METRIC)
+                    .tag(REQUEST_CLASS_TAG_NAME, requestClass.getTagValue())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - queueStart, TimeUnit.NANOSECONDS);
+        }
+        CURRENT.set(requestClass);
+        try {
+            return request.get();
+        } finally {
+            CURRENT.remove();
+            requestLimiter.release();
+            if (semaphore != null) {
+                semaphore.release();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Permits {
+        boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException;
+    }
+
+    private void acquire(Permits permits, long deadline, RequestClass requestClass) {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            throw new RequestBulkheadTimeoutException("No " + requestClass.getTagValue() + " request permit available after " + queueTimeoutMs + " ms");
+        }
+    }
+
+    public void run(RequestClass requestClass, Runnable request) {
+        execute(requestClass, () -> {
+            request.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import com.powsybl.network.store.model.ResourceType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces the identical collection reads running at the same time, typically issued by many workers of a study
+ * starting on the same network variant: the first read runs, the identical reads arriving while it runs wait for it
+ * and share its result instead of running the same queries and decoding the same rows again. Nothing is kept once
+ * the read is done, the next identical read runs again.
+ * <p>
+ * Only the reads of the same version of the resources are identical: a read started before a write may not see it,
+ * so a read started after the write, at the new version, runs again instead of sharing its stale result. The reads
+ * whose version is not known are not coalesced.
+ * <p>
+ * The shared result must not be modified by the readers. The reads collecting {@link RequestDiagnostics} are never
+ * coalesced, as their diagnostics would not describe their own execution.
+ *
+ * @author agent <agent at local>
+ */
+@Component
+public class RequestCoalescer {
+
+    /**
+     * Collection read of the resources of a type, of the whole variant or of one container (substation or voltage
+     * level) only, at a version of these resources, see {@link NetworkStoreRepository#getResourceVersion}.
+     */
+    public record CollectionReadKey(UUID networkUuid, int variantNum, ResourceType resourceType, String containerId, String version) {
+
+        public CollectionReadKey(UUID networkUuid, int variantNum, ResourceType resourceType, String containerId) {
+            this(networkUuid, variantNum, resourceType, containerId, null);
+        }
+
+        public CollectionReadKey atVersion(String version) {
+            return new CollectionReadKey(networkUuid, variantNum, resourceType, containerId, version);
+        }
+    }
+
+    static final String COALESCED_READS_METRIC = "app.network.store.server.coalesced.reads";
+
+    private static final String RESOURCE_TYPE_TAG_NAME = "resource_type";
+
+    private final Map<CollectionReadKey, CompletableFuture<Object>> inFlightReads = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+
+    public RequestCoalescer(MeterRegistry meterRegistry,
+                            @Value("${network-store-server.request-coalescing.enabled:true}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(CollectionReadKey key, Supplier<T> read) {
+        if (!enabled || key.version() == null || RequestDiagnostics.current() != null) {
+            return read.get();
+        }
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlightRead = inFlightReads.putIfAbsent(key, future);
+        if (inFlightRead != null) {
+            Counter.builder(COALESCED_READS_METRIC)
+                    .tag(RESOURCE_TYPE_TAG_NAME, key.resourceType().name())
+                    .register(meterRegistry)
+                    .increment();
+            return (T) join(inFlightRead);
+        }
+        try {
+            T result = read.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightReads.remove(key, future);
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
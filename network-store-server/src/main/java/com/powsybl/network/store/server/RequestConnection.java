@@ -0,0 +1,273 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import com.powsybl.network.store.model.NetworkAttributes;
+import com.powsybl.network.store.server.exceptions.UncheckedSqlException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Connection shared by all the sub-queries of the read request being handled by the current thread: a read of
+ * generators for instance also reads the reactive capability curves, the regulating points and the network
+ * attributes of the variant, each of them used to borrow its own connection from the pool. Within
+ * {@link #execute}, the connections returned by {@link #getConnection} are the same pooled connection, borrowed on
+ * first use and given back at the end, and the network attributes of each variant are only read once.
+ * <p>
+ * Only reads are executed this way, so that the network attributes cannot change during the request.
+ * <p>
+ * The sub-queries of the request run by {@link SubQueryExecutor} on other threads cannot share its connection, they
+ * each borrow their own one but inherit the network attributes already read by the request, see {@link #inherit}.
+ * <p>
+ * Within {@link #executeInTransaction}, the connection is shared the same way by all the statements of a write
+ * request, which are committed together at its end: the data, the versions of the resources and the change feed are
+ * thus never seen apart. The network attributes are then read again each time, as the write may change them. The
+ * statements which lock rows shared by all the writes of a variant are run last, just before the commit, see
+ * {@link #getBeforeCommitState}.
+ *
+ * @author agent <agent at local>
+ */
+public final class RequestConnection {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RequestConnection.class);
+
+    private static final ThreadLocal<RequestConnection> CURRENT = new ThreadLocal<>();
+
+    private record NetworkVariantKey(UUID networkUuid, int variantNum) {
+    }
+
+    /**
+     * What the sub-queries of a request inherit from it.
+     */
+    record Inheritance(DataSource dataSource, Map<NetworkVariantKey, NetworkAttributes> networkAttributes) {
+    }
+
+    private record BeforeCommit<T>(T state, Consumer<T> action) {
+
+        void run() {
+            action.accept(state);
+        }
+    }
+
+    private final DataSource dataSource;
+
+    private final boolean transactional;
+
+    private Connection connection;
+
+    private final Map<NetworkVariantKey, NetworkAttributes> networkAttributes = new HashMap<>();
+
+    private final Map<Object, BeforeCommit<?>> beforeCommits = new LinkedHashMap<>();
+
+    private RequestConnection(DataSource dataSource, boolean transactional) {
+        this.dataSource = dataSource;
+        this.transactional = transactional;
+    }
+
+    static <T> T execute(DataSource dataSource, Supplier<T> supplier) {
+        if (CURRENT.get() != null) {
+            return supplier.get();
+        }
+        RequestConnection requestConnection = new RequestConnection(dataSource, false);
+        CURRENT.set(requestConnection);
+        try {
+            return supplier.get();
+        } finally {
+            CURRENT.remove();
+            requestConnection.release();
+        }
+    }
+
+    /**
+     * Executes a write request in one transaction, committed if it succeeds and rolled back otherwise. A write run
+     * inside another one is part of its transaction.
+     */
+    static void executeInTransaction(DataSource dataSource, Runnable write) {
+        RequestConnection outer = CURRENT.get();
+        if (outer != null && outer.transactional) {
+            write.run();
+            return;
+        }
+        RequestConnection requestConnection = new RequestConnection(dataSource, true);
+        CURRENT.set(requestConnection);
+        boolean committed = false;
+        try {
+            write.run();
+            requestConnection.runBeforeCommits();
+            requestConnection.commit();
+            committed = true;
+        } finally {
+            if (outer != null) {
+                CURRENT.set(outer);
+            } else {
+                CURRENT.remove();
+            }
+            if (!committed) {
+                requestConnection.rollback();
+            }
+            requestConnection.release();
+        }
+    }
+
+    /**
+     * @return true if the current thread executes a write request, whose statements must all use its connection.
+     */
+    static boolean isInTransaction() {
+        RequestConnection requestConnection = CURRENT.get();
+        return requestConnection != null && requestConnection.transactional;
+    }
+
+    /**
+     * @return the state of the key in the write request of the current thread, created on first use and given to the
+     * action at the end of the request, in its transaction just before its commit, or null outside of a write request.
+     * The statements of the action thus hold their row locks only until the commit, instead of from the write of the
+     * state to the end of the request.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T getBeforeCommitState(Object key, Supplier<T> factory, Consumer<T> action) {
+        RequestConnection requestConnection = CURRENT.get();
+        if (requestConnection == null || !requestConnection.transactional) {
+            return null;
+        }
+        return (T) requestConnection.beforeCommits.computeIfAbsent(key, k -> new BeforeCommit<>(factory.get(), action)).state();
+    }
+
+    /**
+     * @return what the sub-queries of the current request inherit from it, null outside of a request.
+     */
+    static Inheritance inherit() {
+        RequestConnection requestConnection = CURRENT.get();
+        if (requestConnection == null || requestConnection.transactional) {
+            return null;
+        }
+        return new Inheritance(requestConnection.dataSource, Map.copyOf(requestConnection.networkAttributes));
+    }
+
+    /**
+     * Executes a sub-query of a request on the current thread, with a connection of its own and the network attributes
+     * already read by the request.
+     */
+    static <T> T executeInherited(Inheritance inheritance, Supplier<T> subQuery) {
+        if (inheritance == null || CURRENT.get() != null) {
+            return subQuery.get();
+        }
+        RequestConnection requestConnection = new RequestConnection(inheritance.dataSource(), false);
+        requestConnection.networkAttributes.putAll(inheritance.networkAttributes());
+        CURRENT.set(requestConnection);
+        try {
+            return subQuery.get();
+        } finally {
+            CURRENT.remove();
+            requestConnection.release();
+        }
+    }
+
+    /**
+     * @return the connection of the current request if any, which must be closed as usual but is only given back to
+     * the pool at the end of the request, else a connection of the pool.
+     */
+    static Connection getConnection(DataSource dataSource) throws SQLException {
+        RequestConnection requestConnection = CURRENT.get();
+        if (requestConnection == null || requestConnection.dataSource != dataSource) {
+            return dataSource.getConnection();
+        }
+        if (requestConnection.connection == null) {
+            Connection connection = dataSource.getConnection();
+            if (requestConnection.transactional) {
+                try {
+                    connection.setAutoCommit(false);
+                } catch (SQLException e) {
+                    connection.close();
+                    throw e;
+                }
+            }
+            requestConnection.connection = connection;
+        }
+        return withoutClose(requestConnection.connection);
+    }
+
+    /**
+     * @return the network attributes of the variant, read once per read request.
+     */
+    static NetworkAttributes getNetworkAttributes(UUID networkUuid, int variantNum, Supplier<NetworkAttributes> reader) {
+        RequestConnection requestConnection = CURRENT.get();
+        if (requestConnection == null || requestConnection.transactional) {
+            return reader.get();
+        }
+        return requestConnection.networkAttributes.computeIfAbsent(new NetworkVariantKey(networkUuid, variantNum), key -> reader.get());
+    }
+
+    private static Connection withoutClose(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(RequestConnection.class.getClassLoader(), new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+            if ("close".equals(method.getName()) && method.getParameterCount() == 0) {
+                return null;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        });
+    }
+
+    private void runBeforeCommits() {
+        // An action may create the state of another key again
+        while (!beforeCommits.isEmpty()) {
+            Object key = beforeCommits.keySet().iterator().next();
+            beforeCommits.remove(key).run();
+        }
+    }
+
+    private void commit() {
+        if (connection != null) {
+            try {
+                connection.commit();
+            } catch (SQLException e) {
+                throw new UncheckedSqlException(e);
+            }
+        }
+    }
+
+    private void rollback() {
+        if (connection != null) {
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                LOGGER.error("Exception while rolling back the request transaction", e);
+            }
+        }
+    }
+
+    private void release() {
+        if (connection != null) {
+            if (transactional) {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    LOGGER.error("Exception while restoring the autocommit of the request connection", e);
+                }
+            }
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOGGER.error("Exception while releasing the request connection", e);
+            }
+        }
+    }
+}
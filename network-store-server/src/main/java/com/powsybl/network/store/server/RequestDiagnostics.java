@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import com.powsybl.network.store.model.TopLevelDocument;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Cost breakdown of the request being handled by the current thread, only collected when the client asked for it
+ * with the {@value #DIAGNOSTICS_HEADER} header. The breakdown is returned in the meta block of the response document.
+ *
+ * @author agent <agent at local>
+ */
+public final class RequestDiagnostics {
+
+    public static final String DIAGNOSTICS_HEADER = "X-Network-Store-Diagnostics";
+
+    static final String SQL_STATEMENTS_META = "diagnostics.sqlStatements";
+    static final String FULL_VARIANT_ROWS_META = "diagnostics.fullVariantRows";
+    static final String REQUESTED_VARIANT_ROWS_META = "diagnostics.requestedVariantRows";
+    static final String TOMBSTONED_ROWS_META = "diagnostics.tombstonedRows";
+    static final String JSON_DECODE_TIME_META = "diagnostics.jsonDecodeMs";
+
+    private static final ThreadLocal<RequestDiagnostics> CURRENT = new ThreadLocal<>();
+
+    private final AtomicLong sqlStatements = new AtomicLong();
+    private final AtomicLong fullVariantRows = new AtomicLong();
+    private final AtomicLong requestedVariantRows = new AtomicLong();
+    private final AtomicLong tombstonedRows = new AtomicLong();
+    private final AtomicLong jsonDecodeNanos = new AtomicLong();
+
+    static RequestDiagnostics start() {
+        RequestDiagnostics diagnostics = new RequestDiagnostics();
+        CURRENT.set(diagnostics);
+        return diagnostics;
+    }
+
+    /**
+     * Collects the diagnostics of the current thread into the ones of a request, for the threads working for it.
+     */
+    static void attach(RequestDiagnostics diagnostics) {
+        CURRENT.set(diagnostics);
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    static RequestDiagnostics current() {
+        return CURRENT.get();
+    }
+
+    static void ifActive(Consumer<RequestDiagnostics> consumer) {
+        RequestDiagnostics diagnostics = CURRENT.get();
+        if (diagnostics != null) {
+            consumer.accept(diagnostics);
+        }
+    }
+
+    void addSqlStatements(long count) {
+        sqlStatements.addAndGet(count);
+    }
+
+    void addRows(String variantLayer, long count) {
+        if (NetworkStoreSqlObserver.FULL_VARIANT_LAYER.equals(variantLayer)) {
+            fullVariantRows.addAndGet(count);
+        } else {
+            requestedVariantRows.addAndGet(count);
+        }
+    }
+
+    void addTombstonedRows(long count) {
+        tombstonedRows.addAndGet(count);
+    }
+
+    void addJsonDecodeNanos(long nanos) {
+        jsonDecodeNanos.addAndGet(nanos);
+    }
+
+    void addTo(TopLevelDocument<?> document) {
+        document.addMeta(SQL_STATEMENTS_META, Long.toString(sqlStatements.get()));
+        document.addMeta(FULL_VARIANT_ROWS_META, Long.toString(fullVariantRows.get()));
+        document.addMeta(REQUESTED_VARIANT_ROWS_META, Long.toString(requestedVariantRows.get()));
+        document.addMeta(TOMBSTONED_ROWS_META, Long.toString(tombstonedRows.get()));
+        document.addMeta(JSON_DECODE_TIME_META, Long.toString(TimeUnit.NANOSECONDS.toMillis(jsonDecodeNanos.get())));
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Starts the collection of {@link RequestDiagnostics} for requests carrying the
+ * {@value RequestDiagnostics#DIAGNOSTICS_HEADER} header. At the end of each request, also records its last
+ * statement if slow, see {@link SlowQueryRecorder#flushPendingQueries}.
+ *
+ * @author agent <agent at local>
+ */
+@Configuration
+public class RequestDiagnosticsConfig implements WebMvcConfigurer {
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (Boolean.parseBoolean(request.getHeader(RequestDiagnostics.DIAGNOSTICS_HEADER))) {
+                    RequestDiagnostics.start();
+                }
+                return true;
+            }
+
+            @Override
+            public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+                RequestDiagnostics.stop();
+                SlowQueryRecorder.flushPendingQueries();
+            }
+        });
+    }
+}
@@ -0,0 +1,220 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the last statements slower than a configurable threshold in a ring buffer, together with their SQL
+ * (as rendered by the JDBC driver, with the bound network uuid and variant number), their row count and
+ * optionally their PostgreSQL execution plan.
+ * <p>
+ * The plans are computed one at a time on a connection of their own, after the slow statement, so that they do not
+ * add to the duration of the request running it. The slow statements waiting for their plan in excess of the
+ * capacity are kept without plan.
+ *
+ * @author agent <agent at local>
+ */
+@Component
+public class SlowQueryRecorder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryRecorder.class);
+
+    private static final String EXPLAIN_PREFIX = "EXPLAIN (ANALYZE, BUFFERS) ";
+
+    public static final long UNKNOWN_ROW_COUNT = -1;
+
+    public record SlowQuery(Instant timestamp, String table, String variantLayer, String sql, long durationMs, long rowCount, String plan) {
+    }
+
+    private record PendingQuery(SlowQueryRecorder recorder, PreparedStatement preparedStmt, String table, String variantLayer,
+                                long executeNanos) {
+    }
+
+    /**
+     * Query of the current thread whose rows binding has not been reported yet.
+     */
+    private static final ThreadLocal<PendingQuery> PENDING_QUERY = new ThreadLocal<>();
+
+    private final long thresholdNanos;
+
+    private final int capacity;
+
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+
+    private final DataSource dataSource;
+
+    /**
+     * Computes the plans, null when they are not captured.
+     */
+    private final ThreadPoolExecutor explainExecutor;
+
+    public SlowQueryRecorder(DataSource dataSource,
+                             @Value("${network-store-server.slow-query.threshold-ms:1000}") long thresholdMs,
+                             @Value("${network-store-server.slow-query.explain:false}") boolean explain,
+                             @Value("${network-store-server.slow-query.capacity:100}") int capacity) {
+        this.dataSource = dataSource;
+        this.thresholdNanos = thresholdMs < 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(thresholdMs);
+        this.capacity = capacity;
+        if (explain && thresholdMs >= 0) {
+            explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(Math.max(capacity, 1)), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            explainExecutor = null;
+        }
+    }
+
+    /**
+     * Remembers an executed query until its rows have been bound, see {@link #rowsBound}.
+     */
+    void queryExecuted(PreparedStatement preparedStmt, String table, String variantLayer, long executeNanos) {
+        // a query whose rows binding has not been reported can only be judged on its execution time
+        flushPendingQuery();
+        if (thresholdNanos != Long.MAX_VALUE) {
+            PENDING_QUERY.set(new PendingQuery(this, preparedStmt, table, variantLayer, executeNanos));
+        }
+    }
+
+    void rowsBound(String table, String variantLayer, long bindingNanos, long rowCount) {
+        PendingQuery pending = PENDING_QUERY.get();
+        if (pending == null || pending.recorder() != this || !pending.table().equals(table) || !pending.variantLayer().equals(variantLayer)) {
+            return;
+        }
+        PENDING_QUERY.remove();
+        long durationNanos = pending.executeNanos() + bindingNanos;
+        if (durationNanos >= thresholdNanos) {
+            String sql = pending.preparedStmt().toString();
+            SlowQuery slowQuery = new SlowQuery(Instant.now(), table, variantLayer, sql, TimeUnit.NANOSECONDS.toMillis(durationNanos), rowCount, null);
+            if (explainExecutor != null && isExplainable(sql)) {
+                addExplained(slowQuery);
+            } else {
+                add(slowQuery);
+            }
+        }
+    }
+
+    void batchExecuted(PreparedStatement preparedStmt, String table, long durationNanos, int[] updateCounts) {
+        if (durationNanos >= thresholdNanos) {
+            long rowCount = 0;
+            for (int updateCount : updateCounts) {
+                rowCount += Math.max(updateCount, 0);
+            }
+            add(new SlowQuery(Instant.now(), table, NetworkStoreSqlObserver.REQUESTED_VARIANT_LAYER, preparedStmt.toString(),
+                    TimeUnit.NANOSECONDS.toMillis(durationNanos), rowCount, null));
+        }
+    }
+
+    /**
+     * Records the query of the current thread whose rows binding has not been reported if it is slow, and forgets
+     * it. To be called at the end of each request or task, so that the query is neither recorded during a later
+     * unrelated one nor kept alive in between.
+     */
+    public static void flushPendingQueries() {
+        PendingQuery pending = PENDING_QUERY.get();
+        if (pending != null) {
+            pending.recorder().flushPendingQuery();
+        }
+    }
+
+    private void flushPendingQuery() {
+        PendingQuery pending = PENDING_QUERY.get();
+        if (pending != null) {
+            PENDING_QUERY.remove();
+            if (pending.executeNanos() >= pending.recorder().thresholdNanos) {
+                pending.recorder().add(new SlowQuery(Instant.now(), pending.table(), pending.variantLayer(), pending.preparedStmt().toString(),
+                        TimeUnit.NANOSECONDS.toMillis(pending.executeNanos()), UNKNOWN_ROW_COUNT, null));
+            }
+        }
+    }
+
+    private static boolean isExplainable(String sql) {
+        // The plan can only be computed when the driver renders the statement with its parameters inlined,
+        // which is the case of PostgreSQL, and only for read statements as EXPLAIN ANALYZE runs the statement again.
+        return sql.regionMatches(true, 0, "select", 0, "select".length()) && sql.indexOf('?') < 0;
+    }
+
+    private void addExplained(SlowQuery slowQuery) {
+        try {
+            explainExecutor.execute(() -> add(new SlowQuery(slowQuery.timestamp(), slowQuery.table(), slowQuery.variantLayer(), slowQuery.sql(),
+                    slowQuery.durationMs(), slowQuery.rowCount(), explain(slowQuery.sql()))));
+        } catch (RejectedExecutionException e) {
+            add(slowQuery);
+        }
+    }
+
+    private String explain(String sql) {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!Utils.isPostgreSql(connection)) {
+                return null;
+            }
+            try (var stmt = connection.createStatement();
+                 ResultSet resultSet = stmt.executeQuery(EXPLAIN_PREFIX + sql)) {
+                StringJoiner plan = new StringJoiner("\n");
+                while (resultSet.next()) {
+                    plan.add(resultSet.getString(1));
+                }
+                return plan.toString();
+            }
+        } catch (SQLException e) {
+            LOGGER.warn("Cannot explain slow query: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void add(SlowQuery slowQuery) {
+        LOGGER.warn("Slow query on {} ({} variant layer) done in {} ms, {} rows: {}", slowQuery.table(), slowQuery.variantLayer(),
+                slowQuery.durationMs(), slowQuery.rowCount(), slowQuery.sql());
+        synchronized (slowQueries) {
+            if (slowQueries.size() >= capacity) {
+                slowQueries.removeFirst();
+            }
+            slowQueries.addLast(slowQuery);
+        }
+    }
+
+    public List<SlowQuery> getSlowQueries() {
+        synchronized (slowQueries) {
+            return new ArrayList<>(slowQueries);
+        }
+    }
+
+    public void clear() {
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (explainExecutor != null) {
+            explainExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import com.powsybl.network.store.server.dto.VariantStorageStatistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Actuator endpoint exposing the storage statistics computed by {@link StorageStatisticsService}.
+ *
+ * @author agent <agent at local>
+ */
+@Component
+@Endpoint(id = "storagestatistics")
+public class StorageStatisticsEndpoint {
+
+    private final StorageStatisticsService storageStatisticsService;
+
+    public StorageStatisticsEndpoint(StorageStatisticsService storageStatisticsService) {
+        this.storageStatisticsService = storageStatisticsService;
+    }
+
+    @ReadOperation
+    public List<VariantStorageStatistics> networkStatistics(@Selector String networkUuid, @Nullable Boolean refresh) {
+        return storageStatisticsService.getStatistics(UUID.fromString(networkUuid), Boolean.TRUE.equals(refresh));
+    }
+
+    @ReadOperation
+    public VariantStorageStatistics variantStatistics(@Selector String networkUuid, @Selector int variantNum, @Nullable Boolean refresh) {
+        return storageStatisticsService.getStatistics(UUID.fromString(networkUuid), variantNum, Boolean.TRUE.equals(refresh)).orElse(null);
+    }
+}
@@ -0,0 +1,304 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import com.powsybl.network.store.model.NetworkAttributes;
+import com.powsybl.network.store.server.dto.VariantStorageStatistics;
+import com.powsybl.network.store.server.exceptions.UncheckedSqlException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static com.powsybl.network.store.server.Mappings.ELEMENT_TABLES;
+import static com.powsybl.network.store.server.QueryCatalog.*;
+import static com.powsybl.network.store.server.QueryExtensionCatalog.ACTIVE_POWER_CONTROL_EXTENSION_TABLE;
+import static com.powsybl.network.store.server.QueryExtensionCatalog.EXTENSION_TABLE;
+import static com.powsybl.network.store.server.QueryExtensionCatalog.TOMBSTONED_EXTENSION_TABLE;
+import static com.powsybl.network.store.server.QueryLimitsCatalog.OPERATIONAL_LIMITS_GROUP_TABLE;
+import static com.powsybl.network.store.server.QueryLimitsCatalog.TOMBSTONED_OPERATIONAL_LIMITS_GROUP_TABLE;
+
+/**
+ * Row counts of every element, external attributes and tombstone table, per network variant.
+ * <p>
+ * Statistics are cached per variant: only the variants whose statistics are older than the configured
+ * time to live, or which have been invalidated, are counted again. When nothing is cached for a network,
+ * every table is counted once for all its variants. The statistics counted while the network is invalidated are not
+ * cached, as they may describe its state before the change.
+ * <p>
+ * The cached statistics are shared between the requests and never modified, their overlay ratio is computed into a
+ * copy.
+ *
+ * @author agent <agent at local>
+ */
+@Service
+public class StorageStatisticsService {
+
+    static final List<String> EXTERNAL_ATTRIBUTES_TABLES = List.of(
+            TAP_CHANGER_STEP_TABLE,
+            REACTIVE_CAPABILITY_CURVE_POINT_TABLE,
+            REGULATING_POINT_TABLE,
+            AREA_BOUNDARY_TABLE,
+            OPERATIONAL_LIMITS_GROUP_TABLE,
+            EXTENSION_TABLE,
+            ACTIVE_POWER_CONTROL_EXTENSION_TABLE);
+
+    static final List<String> TOMBSTONE_TABLES = List.of(
+            TOMBSTONED_IDENTIFIABLE_TABLE,
+            TOMBSTONED_EXTERNAL_ATTRIBUTES_TABLE,
+            TOMBSTONED_OPERATIONAL_LIMITS_GROUP_TABLE,
+            TOMBSTONED_EXTENSION_TABLE);
+
+    private record VariantKey(String variantId, int variantNum, int fullVariantNum) {
+    }
+
+    private record TableCounts(Map<String, Long> elements, Map<String, Long> externalAttributes, Map<String, Long> tombstones) {
+    }
+
+    private final DataSource dataSource;
+
+    private final Duration timeToLive;
+
+    private final Map<UUID, Map<Integer, VariantStorageStatistics>> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Number of invalidations of each network, the statistics are only cached if it has not changed while counting.
+     */
+    private final Map<UUID, Long> invalidations = new ConcurrentHashMap<>();
+
+    public StorageStatisticsService(DataSource dataSource,
+                                    @Value("${network-store-server.storage-statistics.time-to-live-seconds:300}") long timeToLiveSeconds) {
+        this.dataSource = dataSource;
+        this.timeToLive = Duration.ofSeconds(timeToLiveSeconds);
+    }
+
+    public List<VariantStorageStatistics> getStatistics(UUID networkUuid, boolean refresh) {
+        if (refresh) {
+            invalidate(networkUuid);
+        }
+        long invalidation = invalidations.getOrDefault(networkUuid, 0L);
+        try (var connection = dataSource.getConnection()) {
+            List<VariantKey> variants = getVariants(connection, networkUuid);
+            Map<Integer, VariantStorageStatistics> networkCache = cache.computeIfAbsent(networkUuid, k -> new ConcurrentHashMap<>());
+            Set<Integer> variantNums = new HashSet<>();
+            variants.forEach(variant -> variantNums.add(variant.variantNum()));
+            // Drop the variants removed since the last computation
+            networkCache.keySet().retainAll(variantNums);
+
+            Instant now = Instant.now();
+            Map<Integer, VariantStorageStatistics> networkStatistics = new HashMap<>(networkCache);
+            List<VariantKey> staleVariants = variants.stream()
+                    .filter(variant -> isStale(networkStatistics.get(variant.variantNum()), now))
+                    .toList();
+            Map<Integer, VariantStorageStatistics> counted = new HashMap<>();
+            if (staleVariants.size() == variants.size()) {
+                Map<Integer, TableCounts> counts = countAllVariants(connection, networkUuid);
+                staleVariants.forEach(variant -> counted.put(variant.variantNum(),
+                        toStatistics(variant, counts.getOrDefault(variant.variantNum(), emptyCounts()), now)));
+            } else {
+                for (VariantKey variant : staleVariants) {
+                    counted.put(variant.variantNum(), toStatistics(variant, countVariant(connection, networkUuid, variant.variantNum()), now));
+                }
+            }
+            cacheIfNotInvalidated(networkUuid, invalidation, counted);
+            networkStatistics.putAll(counted);
+
+            return variants.stream()
+                    .map(variant -> withOverlayRatio(networkStatistics.get(variant.variantNum()), networkStatistics))
+                    .toList();
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e);
+        }
+    }
+
+    public Optional<VariantStorageStatistics> getStatistics(UUID networkUuid, int variantNum, boolean refresh) {
+        if (refresh) {
+            invalidate(networkUuid, variantNum);
+        }
+        long invalidation = invalidations.getOrDefault(networkUuid, 0L);
+        try (var connection = dataSource.getConnection()) {
+            List<VariantKey> variants = getVariants(connection, networkUuid);
+            Optional<VariantKey> variant = variants.stream().filter(v -> v.variantNum() == variantNum).findFirst();
+            if (variant.isEmpty()) {
+                return Optional.empty();
+            }
+            Map<Integer, VariantStorageStatistics> networkStatistics = new HashMap<>(cache.getOrDefault(networkUuid, Map.of()));
+            Map<Integer, VariantStorageStatistics> counted = new HashMap<>();
+            VariantStorageStatistics statistics = getOrCount(connection, networkUuid, variant.get(), networkStatistics, counted);
+            if (!NetworkAttributes.isFullVariant(statistics.getFullVariantNum())) {
+                Optional<VariantKey> fullVariant = variants.stream()
+                        .filter(v -> v.variantNum() == statistics.getFullVariantNum())
+                        .findFirst();
+                if (fullVariant.isPresent()) {
+                    getOrCount(connection, networkUuid, fullVariant.get(), networkStatistics, counted);
+                }
+            }
+            cacheIfNotInvalidated(networkUuid, invalidation, counted);
+            return Optional.of(withOverlayRatio(statistics, networkStatistics));
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e);
+        }
+    }
+
+    /**
+     * To be called once the network has been changed.
+     */
+    public void invalidate(UUID networkUuid) {
+        invalidations.compute(networkUuid, (uuid, invalidation) -> {
+            cache.remove(networkUuid);
+            return invalidation == null ? 1 : invalidation + 1;
+        });
+    }
+
+    /**
+     * To be called once the variant has been changed.
+     */
+    public void invalidate(UUID networkUuid, int variantNum) {
+        invalidations.compute(networkUuid, (uuid, invalidation) -> {
+            Map<Integer, VariantStorageStatistics> networkCache = cache.get(networkUuid);
+            if (networkCache != null) {
+                networkCache.remove(variantNum);
+            }
+            return invalidation == null ? 1 : invalidation + 1;
+        });
+    }
+
+    private void cacheIfNotInvalidated(UUID networkUuid, long invalidation, Map<Integer, VariantStorageStatistics> counted) {
+        if (counted.isEmpty()) {
+            return;
+        }
+        // Computed under the lock of the network invalidations, so that an invalidation either happens before and
+        // prevents the caching or happens after and removes the cached statistics
+        invalidations.compute(networkUuid, (uuid, currentInvalidation) -> {
+            if ((currentInvalidation == null ? 0 : currentInvalidation) == invalidation) {
+                cache.computeIfAbsent(networkUuid, k -> new ConcurrentHashMap<>()).putAll(counted);
+            }
+            return currentInvalidation;
+        });
+    }
+
+    /**
+     * @return the rows stored in a partial variant itself which make its overlay on its full variant: its elements
+     * and its tombstoned identifiables.
+     */
+    static long getOverlayRowCount(VariantStorageStatistics statistics) {
+        return statistics.getElementRowCount() + statistics.getTombstoneRowCounts().getOrDefault(TOMBSTONED_IDENTIFIABLE_TABLE, 0L);
+    }
+
+    private boolean isStale(VariantStorageStatistics statistics, Instant now) {
+        return statistics == null || statistics.getComputedAt().plus(timeToLive).isBefore(now);
+    }
+
+    private VariantStorageStatistics getOrCount(Connection connection, UUID networkUuid, VariantKey variant,
+                                                Map<Integer, VariantStorageStatistics> networkStatistics,
+                                                Map<Integer, VariantStorageStatistics> counted) throws SQLException {
+        Instant now = Instant.now();
+        VariantStorageStatistics statistics = networkStatistics.get(variant.variantNum());
+        if (isStale(statistics, now)) {
+            statistics = toStatistics(variant, countVariant(connection, networkUuid, variant.variantNum()), now);
+            networkStatistics.put(variant.variantNum(), statistics);
+            counted.put(variant.variantNum(), statistics);
+        }
+        return statistics;
+    }
+
+    private static VariantStorageStatistics withOverlayRatio(VariantStorageStatistics statistics, Map<Integer, VariantStorageStatistics> networkStatistics) {
+        Double overlayRatio = null;
+        if (!NetworkAttributes.isFullVariant(statistics.getFullVariantNum())) {
+            VariantStorageStatistics fullVariantStatistics = networkStatistics.get(statistics.getFullVariantNum());
+            if (fullVariantStatistics != null && fullVariantStatistics.getElementRowCount() != 0) {
+                overlayRatio = (double) getOverlayRowCount(statistics) / fullVariantStatistics.getElementRowCount();
+            }
+        }
+        return new VariantStorageStatistics(statistics.getVariantNum(), statistics.getVariantId(), statistics.getFullVariantNum(),
+                statistics.getElementRowCounts(), statistics.getExternalAttributesRowCounts(), statistics.getTombstoneRowCounts(),
+                overlayRatio, statistics.getComputedAt());
+    }
+
+    private static VariantStorageStatistics toStatistics(VariantKey variant, TableCounts counts, Instant computedAt) {
+        return new VariantStorageStatistics(variant.variantNum(), variant.variantId(), variant.fullVariantNum(),
+                counts.elements(), counts.externalAttributes(), counts.tombstones(), null, computedAt);
+    }
+
+    private static TableCounts emptyCounts() {
+        return new TableCounts(zeroCounts(ELEMENT_TABLES), zeroCounts(EXTERNAL_ATTRIBUTES_TABLES), zeroCounts(TOMBSTONE_TABLES));
+    }
+
+    private static Map<String, Long> zeroCounts(List<String> tables) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        tables.forEach(table -> counts.put(table, 0L));
+        return counts;
+    }
+
+    private static List<VariantKey> getVariants(Connection connection, UUID networkUuid) throws SQLException {
+        try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildGetVariantsInfos())) {
+            preparedStmt.setObject(1, networkUuid);
+            try (ResultSet resultSet = preparedStmt.executeQuery()) {
+                List<VariantKey> variants = new ArrayList<>();
+                while (resultSet.next()) {
+                    variants.add(new VariantKey(resultSet.getString(1), resultSet.getInt(2), resultSet.getInt(3)));
+                }
+                variants.sort(Comparator.comparingInt(VariantKey::variantNum));
+                return variants;
+            }
+        }
+    }
+
+    private static Map<Integer, TableCounts> countAllVariants(Connection connection, UUID networkUuid) throws SQLException {
+        Map<Integer, TableCounts> counts = new HashMap<>();
+        countAllVariants(connection, networkUuid, ELEMENT_TABLES, counts, TableCounts::elements);
+        countAllVariants(connection, networkUuid, EXTERNAL_ATTRIBUTES_TABLES, counts, TableCounts::externalAttributes);
+        countAllVariants(connection, networkUuid, TOMBSTONE_TABLES, counts, TableCounts::tombstones);
+        return counts;
+    }
+
+    private static void countAllVariants(Connection connection, UUID networkUuid, List<String> tables, Map<Integer, TableCounts> counts,
+                                         Function<TableCounts, Map<String, Long>> countsOfKind) throws SQLException {
+        for (String table : tables) {
+            try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildCountRowsByVariantQuery(table))) {
+                preparedStmt.setObject(1, networkUuid);
+                try (ResultSet resultSet = preparedStmt.executeQuery()) {
+                    while (resultSet.next()) {
+                        TableCounts variantCounts = counts.computeIfAbsent(resultSet.getInt(1), k -> emptyCounts());
+                        countsOfKind.apply(variantCounts).put(table, resultSet.getLong(2));
+                    }
+                }
+            }
+        }
+    }
+
+    private static TableCounts countVariant(Connection connection, UUID networkUuid, int variantNum) throws SQLException {
+        return new TableCounts(countVariant(connection, networkUuid, variantNum, ELEMENT_TABLES),
+                countVariant(connection, networkUuid, variantNum, EXTERNAL_ATTRIBUTES_TABLES),
+                countVariant(connection, networkUuid, variantNum, TOMBSTONE_TABLES));
+    }
+
+    private static Map<String, Long> countVariant(Connection connection, UUID networkUuid, int variantNum, List<String> tables) throws SQLException {
+        Map<String, Long> counts = zeroCounts(tables);
+        for (String table : tables) {
+            try (PreparedStatement preparedStmt = connection.prepareStatement(QueryCatalog.buildCountRowsForVariantQuery(table))) {
+                preparedStmt.setObject(1, networkUuid);
+                preparedStmt.setInt(2, variantNum);
+                try (ResultSet resultSet = preparedStmt.executeQuery()) {
+                    if (resultSet.next()) {
+                        counts.put(table, resultSet.getLong(2));
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.util.Map;
+
+/**
+ * Thread-safe interner of the strings read by bulk queries (ids, voltage level ids, buses, property values...),
+ * which repeat across the rows and the requests of a network. The interned strings are weakly referenced, so that
+ * they are released once no response uses them anymore.
+ *
+ * @author agent <agent at local>
+ */
+final class StringInterner {
+
+    /**
+     * Interner which returns the strings as they are.
+     */
+    static final StringInterner NONE = new StringInterner(null);
+
+    private final Interner<String> interner;
+
+    private StringInterner(Interner<String> interner) {
+        this.interner = interner;
+    }
+
+    static StringInterner weak() {
+        return new StringInterner(Interners.newWeakInterner());
+    }
+
+    String intern(String value) {
+        return value == null || interner == null ? value : interner.intern(value);
+    }
+
+    /**
+     * Interns the string values of a map decoded from JSON. The keys are already shared: Jackson canonicalizes the
+     * field names it reads.
+     */
+    void internValues(Map<?, String> map) {
+        if (interner != null) {
+            map.replaceAll((key, value) -> intern(value));
+        }
+    }
+}
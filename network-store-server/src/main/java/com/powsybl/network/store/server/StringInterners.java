@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * String interners of the networks, see {@link StringInterner}. Only the interners of the most recently read
+ * networks are kept, the strings of the other networks are released with their interner.
+ *
+ * @author agent <agent at local>
+ */
+@Component
+public class StringInterners {
+
+    private final LoadingCache<UUID, StringInterner> interners;
+
+    public StringInterners(@Value("${network-store-server.string-interning.enabled:true}") boolean enabled,
+                           @Value("${network-store-server.string-interning.max-networks:100}") int maxNetworks) {
+        if (maxNetworks < 1) {
+            throw new IllegalArgumentException("String interning max networks must be positive: " + maxNetworks);
+        }
+        this.interners = enabled
+                ? CacheBuilder.newBuilder().maximumSize(maxNetworks).build(CacheLoader.from(StringInterner::weak))
+                : null;
+    }
+
+    StringInterner get(UUID networkUuid) {
+        return interners != null ? interners.getUnchecked(networkUuid) : StringInterner.NONE;
+    }
+
+    void invalidate(UUID networkUuid) {
+        if (interners != null) {
+            interners.invalidate(networkUuid);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs the independent sub-queries of a read (the external attributes of the identifiables: reactive capability
+ * curves, tap changer steps, regulating points, limits...) concurrently with the read of the identifiables, so that
+ * the latency of the read is the one of its slowest sub-query instead of the sum of them.
+ * <p>
+ * A sub-query run on another thread borrows its own pooled connection for its duration, and inherits the network
+ * attributes already read by the request, see {@link RequestConnection#inherit}: the reads resolve the variant before
+ * submitting their sub-queries. At most {@code parallelism} sub-queries run on other threads at the same time, for all
+ * the requests: the sub-queries submitted in excess run on the reading thread, with the connection of the request,
+ * instead of waiting. The connections of the sub-queries thus never exceed the parallelism, whatever the limits of the
+ * {@link RequestBulkheads}, and the pool must be sized for the requests plus the parallelism.
+ * <p>
+ * With a parallelism of 1 or less, the sub-queries are run one after another by the reading thread. When the
+ * requests run on virtual threads ({@code spring.threads.virtual.enabled}), each sub-query also runs on its own
+ * virtual thread.
+ *
+ * @author agent <agent at local>
+ */
+@Component
+public class SubQueryExecutor {
+
+    /**
+     * Result of a sub-query.
+     */
+    @FunctionalInterface
+    public interface SubQuery<T> {
+
+        /**
+         * Waits for the sub-query and returns its result, or throws its exception.
+         */
+        T join();
+    }
+
+    private final ExecutorService executor;
+
+    /**
+     * Sub-queries allowed to run on other threads at the same time, null if they are all run by the reading thread.
+     */
+    private final Semaphore permits;
+
+    public SubQueryExecutor(@Value("${network-store-server.sub-queries.parallelism:8}") int parallelism,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (parallelism > 1 && virtualThreads) {
+            executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sub-query-", 1).factory());
+            permits = new Semaphore(parallelism);
+        } else if (parallelism > 1) {
+            AtomicInteger threadCount = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+                Thread thread = new Thread(runnable, "sub-query-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            permits = new Semaphore(parallelism);
+        } else {
+            executor = null;
+            permits = null;
+        }
+    }
+
+    public <T> SubQuery<T> submit(Supplier<T> query) {
+        // The statements of a write must all run in its transaction, on its connection
+        if (executor == null || RequestConnection.isInTransaction() || !permits.tryAcquire()) {
+            T result = query.get();
+            return () -> result;
+        }
+        RequestConnection.Inheritance inheritance = RequestConnection.inherit();
+        // The request diagnostics also count the statements of the sub-queries
+        RequestDiagnostics diagnostics = RequestDiagnostics.current();
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> {
+                if (diagnostics == null) {
+                    return run(inheritance, query);
+                }
+                RequestDiagnostics.attach(diagnostics);
+                try {
+                    return run(inheritance, query);
+                } finally {
+                    RequestDiagnostics.stop();
+                }
+            }, executor);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        return () -> join(future);
+    }
+
+    private <T> T run(RequestConnection.Inheritance inheritance, Supplier<T> query) {
+        try {
+            return RequestConnection.executeInherited(inheritance, query);
+        } finally {
+            permits.release();
+            // The sub-query threads are reused by the other requests
+            SlowQueryRecorder.flushPendingQueries();
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
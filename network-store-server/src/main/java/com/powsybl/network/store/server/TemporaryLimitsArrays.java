@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import com.powsybl.network.store.model.TemporaryLimitAttributes;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Temporary limits of a limits set stored as one array column per attribute (durations, values, names and
+ * fictitious flags) instead of a JSON list, so that they can be read without Jackson.
+ * Temporary limits with properties cannot be stored this way and are kept in the JSON column.
+ *
+ * @author agent <agent at local>
+ */
+record TemporaryLimitsArrays(int[] acceptableDurations, double[] values, String[] names, boolean[] fictitious) {
+
+    /**
+     * @return null if there is no temporary limit or if some of them have properties
+     */
+    static TemporaryLimitsArrays of(List<TemporaryLimitAttributes> temporaryLimits) {
+        if (temporaryLimits == null || temporaryLimits.isEmpty()) {
+            return null;
+        }
+        int size = temporaryLimits.size();
+        int[] acceptableDurations = new int[size];
+        double[] values = new double[size];
+        String[] names = new String[size];
+        boolean[] fictitious = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            TemporaryLimitAttributes temporaryLimit = temporaryLimits.get(i);
+            Map<String, String> properties = temporaryLimit.getProperties();
+            if (properties != null && !properties.isEmpty()) {
+                return null;
+            }
+            acceptableDurations[i] = temporaryLimit.getAcceptableDuration();
+            values[i] = temporaryLimit.getValue();
+            names[i] = temporaryLimit.getName();
+            fictitious[i] = temporaryLimit.isFictitious();
+        }
+        return new TemporaryLimitsArrays(acceptableDurations, values, names, fictitious);
+    }
+
+    /**
+     * Reads the four array columns starting at {@code firstColumnIndex}.
+     *
+     * @return null if the temporary limits are not stored as arrays
+     */
+    static TemporaryLimitsArrays read(ResultSet resultSet, int firstColumnIndex) throws SQLException {
+        Array acceptableDurationsArray = resultSet.getArray(firstColumnIndex);
+        if (acceptableDurationsArray == null) {
+            return null;
+        }
+        Object[] acceptableDurationsData = (Object[]) acceptableDurationsArray.getArray();
+        Object[] valuesData = (Object[]) resultSet.getArray(firstColumnIndex + 1).getArray();
+        Object[] namesData = (Object[]) resultSet.getArray(firstColumnIndex + 2).getArray();
+        Object[] fictitiousData = (Object[]) resultSet.getArray(firstColumnIndex + 3).getArray();
+        int size = acceptableDurationsData.length;
+        int[] acceptableDurations = new int[size];
+        double[] values = new double[size];
+        String[] names = new String[size];
+        boolean[] fictitious = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            acceptableDurations[i] = ((Number) acceptableDurationsData[i]).intValue();
+            values[i] = ((Number) valuesData[i]).doubleValue();
+            names[i] = (String) namesData[i];
+            fictitious[i] = (Boolean) fictitiousData[i];
+        }
+        return new TemporaryLimitsArrays(acceptableDurations, values, names, fictitious);
+    }
+
+    /**
+     * Adds the four array values to bind, or four nulls when {@code arrays} is null.
+     */
+    static void addValues(Connection connection, List<Object> values, TemporaryLimitsArrays arrays) throws SQLException {
+        if (arrays == null) {
+            values.add(null);
+            values.add(null);
+            values.add(null);
+            values.add(null);
+            return;
+        }
+        int size = arrays.acceptableDurations.length;
+        Integer[] acceptableDurations = new Integer[size];
+        Double[] limitValues = new Double[size];
+        Boolean[] fictitious = new Boolean[size];
+        for (int i = 0; i < size; i++) {
+            acceptableDurations[i] = arrays.acceptableDurations[i];
+            limitValues[i] = arrays.values[i];
+            fictitious[i] = arrays.fictitious[i];
+        }
+        values.add(connection.createArrayOf("integer", acceptableDurations));
+        values.add(connection.createArrayOf("float8", limitValues));
+        values.add(connection.createArrayOf("text", arrays.names));
+        values.add(connection.createArrayOf("boolean", fictitious));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TemporaryLimitsArrays other
+                && Arrays.equals(acceptableDurations, other.acceptableDurations)
+                && Arrays.equals(values, other.values)
+                && Arrays.equals(names, other.names)
+                && Arrays.equals(fictitious, other.fictitious);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(acceptableDurations);
+        result = 31 * result + Arrays.hashCode(values);
+        result = 31 * result + Arrays.hashCode(names);
+        return 31 * result + Arrays.hashCode(fictitious);
+    }
+
+    @Override
+    public String toString() {
+        return "TemporaryLimitsArrays[acceptableDurations=" + Arrays.toString(acceptableDurations) +
+                ", values=" + Arrays.toString(values) +
+                ", names=" + Arrays.toString(names) +
+                ", fictitious=" + Arrays.toString(fictitious) + "]";
+    }
+
+    TreeMap<Integer, TemporaryLimitAttributes> toTemporaryLimits() {
+        TreeMap<Integer, TemporaryLimitAttributes> temporaryLimits = new TreeMap<>();
+        for (int i = 0; i < acceptableDurations.length; i++) {
+            temporaryLimits.put(acceptableDurations[i], TemporaryLimitAttributes.builder()
+                    .acceptableDuration(acceptableDurations[i])
+                    .value(values[i])
+                    .name(names[i])
+                    .fictitious(fictitious[i])
+                    .build());
+        }
+        return temporaryLimits;
+    }
+}
@@ -22,6 +22,7 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.*;
 
@@ -49,11 +50,21 @@ public final class Utils {
             );
     }
 
+    /**
+     * Some column types (arrays, jsonb) and SQL functions are only available on PostgreSQL, other databases (H2 in
+     * tests) use portable fallbacks.
+     */
+    static boolean isPostgreSql(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("postgres");
+    }
+
     static void bindValues(PreparedStatement statement, List<Object> values, ObjectMapper mapper) throws SQLException {
         int idx = 0;
         for (Object o : values) {
             if (o instanceof Instant d) {
                 statement.setDate(++idx, new java.sql.Date(d.toEpochMilli()));
+            } else if (o instanceof java.sql.Array array) {
+                statement.setArray(++idx, array);
             } else if (o == null || !isCustomTypeJsonified(o.getClass())) {
                 statement.setObject(++idx, o);
             } else {
@@ -66,31 +77,12 @@ public final class Utils {
         }
     }
 
-    static void bindAttributes(ResultSet resultSet, int columnIndex, ColumnMapping columnMapping, IdentifiableAttributes attributes, ObjectMapper mapper) {
+    /**
+     * Binds the value of a column to the attributes and returns the time spent decoding JSON, in nanoseconds.
+     */
+    static long bindAttributes(ResultSet resultSet, int columnIndex, ColumnMapping columnMapping, IdentifiableAttributes attributes, ObjectMapper mapper) {
         try {
-            Object value = null;
-            if (columnMapping.getClassR() == null || isCustomTypeJsonified(columnMapping.getClassR())) {
-                String str = resultSet.getString(columnIndex);
-                if (str != null) {
-                    if (columnMapping.getClassMapKey() != null && columnMapping.getClassMapValue() != null) {
-                        value = mapper.readValue(str, mapper.getTypeFactory().constructMapType(Map.class, columnMapping.getClassMapKey(), columnMapping.getClassMapValue()));
-                    } else {
-                        if (columnMapping.getClassR() == null) {
-                            throw new PowsyblException("Invalid mapping config");
-                        }
-                        if (columnMapping.getClassR() == Instant.class) {
-                            value = resultSet.getTimestamp(columnIndex).toInstant();
-                        } else {
-                            value = mapper.readValue(str, columnMapping.getClassR());
-                        }
-                    }
-                }
-            } else {
-                value = resultSet.getObject(columnIndex, columnMapping.getClassR());
-            }
-            if (value != null) {
-                columnMapping.set(attributes, value);
-            }
+            return bindColumn(readColumn(resultSet, columnIndex, columnMapping, StringInterner.NONE), columnMapping, attributes, mapper, StringInterner.NONE);
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
         } catch (IOException e) {
@@ -98,6 +90,77 @@ public final class Utils {
         }
     }
 
+    /**
+     * Reads the raw values of the mapped columns starting at {@code firstColumnIndex}, without decoding the JSON
+     * columns, which is left to {@link #bindColumns} and can be done by another thread. The string columns are
+     * interned.
+     */
+    static Object[] readColumns(ResultSet resultSet, int firstColumnIndex, List<ColumnMapping> columnMappings, StringInterner interner) throws SQLException {
+        Object[] values = new Object[columnMappings.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readColumn(resultSet, firstColumnIndex + i, columnMappings.get(i), interner);
+        }
+        return values;
+    }
+
+    /**
+     * Binds the values read by {@link #readColumns} to the attributes and returns the time spent decoding JSON, in
+     * nanoseconds. The string values of the decoded string maps are interned.
+     */
+    static long bindColumns(Object[] values, List<ColumnMapping> columnMappings, IdentifiableAttributes attributes, ObjectMapper mapper,
+                            StringInterner interner) throws IOException {
+        long jsonDecodeNanos = 0;
+        for (int i = 0; i < values.length; i++) {
+            jsonDecodeNanos += bindColumn(values[i], columnMappings.get(i), attributes, mapper, interner);
+        }
+        return jsonDecodeNanos;
+    }
+
+    private static boolean isJsonColumn(ColumnMapping columnMapping) {
+        return columnMapping.getClassR() == null || (isCustomTypeJsonified(columnMapping.getClassR()) && columnMapping.getClassR() != Instant.class);
+    }
+
+    private static Object readColumn(ResultSet resultSet, int columnIndex, ColumnMapping columnMapping, StringInterner interner) throws SQLException {
+        if (isJsonColumn(columnMapping)) {
+            return resultSet.getString(columnIndex);
+        }
+        if (columnMapping.getClassR() == String.class) {
+            return interner.intern(resultSet.getString(columnIndex));
+        }
+        if (columnMapping.getClassR() == Instant.class) {
+            Timestamp timestamp = resultSet.getTimestamp(columnIndex);
+            return timestamp != null ? timestamp.toInstant() : null;
+        }
+        return resultSet.getObject(columnIndex, columnMapping.getClassR());
+    }
+
+    private static long bindColumn(Object rawValue, ColumnMapping columnMapping, IdentifiableAttributes attributes, ObjectMapper mapper,
+                                   StringInterner interner) throws IOException {
+        if (rawValue == null) {
+            return 0;
+        }
+        Object value = rawValue;
+        long jsonDecodeNanos = 0;
+        if (isJsonColumn(columnMapping)) {
+            long start = System.nanoTime();
+            if (columnMapping.getClassMapKey() != null && columnMapping.getClassMapValue() != null) {
+                Map<?, ?> map = mapper.readValue((String) rawValue, mapper.getTypeFactory().constructMapType(Map.class, columnMapping.getClassMapKey(), columnMapping.getClassMapValue()));
+                if (columnMapping.getClassMapValue() == String.class) {
+                    interner.internValues((Map<?, String>) map);
+                }
+                value = map;
+            } else {
+                if (columnMapping.getClassR() == null) {
+                    throw new PowsyblException("Invalid mapping config");
+                }
+                value = mapper.readValue((String) rawValue, columnMapping.getClassR());
+            }
+            jsonDecodeNanos = System.nanoTime() - start;
+        }
+        columnMapping.set(attributes, value);
+        return jsonDecodeNanos;
+    }
+
     public static String generateInPlaceholders(int numberOfValues) {
         StringJoiner placeholders = new StringJoiner(", ");
         for (int i = 0; i < numberOfValues; i++) {
@@ -107,7 +170,15 @@ public final class Utils {
     }
 
     public static NetworkAttributes getNetworkAttributes(Connection connection, UUID networkUuid, int variantNum, Mappings mappings, ObjectMapper mapper) {
+        return RequestConnection.getNetworkAttributes(networkUuid, variantNum, () -> readNetworkAttributes(connection, networkUuid, variantNum, mappings, mapper));
+    }
+
+    private static NetworkAttributes readNetworkAttributes(Connection connection, UUID networkUuid, int variantNum, Mappings mappings, ObjectMapper mapper) {
         try {
+            // A write of the variant waits for its compaction, and the other way around
+            if (RequestConnection.isInTransaction() && !connection.getAutoCommit()) {
+                lockNetwork(connection, networkUuid, variantNum, false);
+            }
             Resource<NetworkAttributes> networkAttributesResource = getNetwork(connection, networkUuid, variantNum, mappings, mapper)
                     .orElseThrow(() -> new PowsyblException("Cannot retrieve source network attributes uuid : " + networkUuid + ", variantNum : " + variantNum));
             return networkAttributesResource.getAttributes();
@@ -116,8 +187,24 @@ public final class Utils {
         }
     }
 
+    /**
+     * Locks the row of a network variant until the end of the transaction of the connection, see
+     * {@link QueryCatalog#buildLockNetworkQuery}.
+     *
+     * @return false if the variant does not exist
+     */
+    static boolean lockNetwork(Connection connection, UUID networkUuid, int variantNum, boolean exclusive) throws SQLException {
+        try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildLockNetworkQuery(exclusive, isPostgreSql(connection)))) {
+            preparedStmt.setObject(1, networkUuid);
+            preparedStmt.setInt(2, variantNum);
+            try (ResultSet resultSet = preparedStmt.executeQuery()) {
+                return resultSet.next();
+            }
+        }
+    }
+
     public static Optional<Resource<NetworkAttributes>> getNetwork(UUID uuid, int variantNum, DataSource dataSource, Mappings mappings, ObjectMapper mapper) {
-        try (var connection = dataSource.getConnection()) {
+        try (var connection = RequestConnection.getConnection(dataSource)) {
             return getNetwork(connection, uuid, variantNum, mappings, mapper);
         } catch (SQLException e) {
             throw new UncheckedSqlException(e);
@@ -126,6 +213,7 @@ public final class Utils {
 
     private static Optional<Resource<NetworkAttributes>> getNetwork(Connection connection, UUID uuid, int variantNum, Mappings mappings, ObjectMapper mapper) throws SQLException {
         var networkMapping = mappings.getNetworkMappings();
+        RequestDiagnostics.ifActive(diagnostics -> diagnostics.addSqlStatements(1));
         try (var preparedStmt = connection.prepareStatement(QueryCatalog.buildGetNetworkQuery(networkMapping.getColumnsMapping().keySet()))) {
             preparedStmt.setObject(1, uuid);
             preparedStmt.setInt(2, variantNum);
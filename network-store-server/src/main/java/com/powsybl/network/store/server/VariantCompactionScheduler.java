@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import com.powsybl.network.store.model.NetworkInfos;
+import com.powsybl.network.store.server.dto.VariantStorageStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Periodically compacts the partial variants whose overlay has grown past the configured thresholds,
+ * see {@link NetworkStoreRepository#compactVariant}. When several instances of the server share the database, only one
+ * of them compacts the variants at a time.
+ *
+ * @author agent <agent at local>
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(prefix = "network-store-server.variant-compaction", name = "enabled", havingValue = "true")
+public class VariantCompactionScheduler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VariantCompactionScheduler.class);
+
+    // Key of the advisory lock held by the instance compacting the variants
+    private static final long COMPACTION_LOCK_KEY = "network-store-server.variant-compaction".hashCode();
+
+    private final NetworkStoreRepository repository;
+
+    private final StorageStatisticsService storageStatisticsService;
+
+    private final double minOverlayRatio;
+
+    private final long minOverlayRows;
+
+    public VariantCompactionScheduler(NetworkStoreRepository repository, StorageStatisticsService storageStatisticsService,
+                                      @Value("${network-store-server.variant-compaction.min-overlay-ratio:0.5}") double minOverlayRatio,
+                                      @Value("${network-store-server.variant-compaction.min-overlay-rows:10000}") long minOverlayRows) {
+        this.repository = repository;
+        this.storageStatisticsService = storageStatisticsService;
+        this.minOverlayRatio = minOverlayRatio;
+        this.minOverlayRows = minOverlayRows;
+    }
+
+    @Scheduled(initialDelayString = "${network-store-server.variant-compaction.interval-ms:3600000}",
+               fixedDelayString = "${network-store-server.variant-compaction.interval-ms:3600000}")
+    public void compactVariants() {
+        try {
+            if (!repository.runOnSingleInstance(COMPACTION_LOCK_KEY, this::compactAllVariants)) {
+                LOGGER.info("Variants are already being compacted by another instance");
+            }
+        } finally {
+            SlowQueryRecorder.flushPendingQueries();
+        }
+    }
+
+    private void compactAllVariants() {
+        for (NetworkInfos networkInfos : repository.getNetworksInfos()) {
+            for (VariantStorageStatistics statistics : storageStatisticsService.getStatistics(networkInfos.getUuid(), false)) {
+                if (shouldCompact(statistics)) {
+                    compactVariant(networkInfos, statistics);
+                }
+            }
+        }
+    }
+
+    boolean shouldCompact(VariantStorageStatistics statistics) {
+        if (statistics.getOverlayRatio() == null) {
+            return false;
+        }
+        return statistics.getOverlayRatio() >= minOverlayRatio && StorageStatisticsService.getOverlayRowCount(statistics) >= minOverlayRows;
+    }
+
+    private void compactVariant(NetworkInfos networkInfos, VariantStorageStatistics statistics) {
+        try {
+            repository.compactVariant(networkInfos.getUuid(), statistics.getVariantNum());
+        } catch (RuntimeException e) {
+            // A failed compaction is rolled back and retried on the next run, do not prevent the others
+            LOGGER.error("Cannot compact network {} variant {}", networkInfos.getUuid(), statistics.getVariantNum(), e);
+        } finally {
+            storageStatisticsService.invalidate(networkInfos.getUuid(), statistics.getVariantNum());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the requests handled at the same time when they run on virtual threads ({@code spring.threads.virtual.enabled}):
+ * Tomcat then runs each request on its own thread instead of bounding them by its thread pool, and the requests in
+ * excess of the connection pool would wait in the pool, failing after its connection timeout. They wait for a permit
+ * here instead. By default, the permits leave the connections used by the sub-queries, see {@link SubQueryExecutor}.
+ * <p>
+ * The permits are shared by the requests of all the classes and taken by the {@link RequestBulkheads}. On platform
+ * threads, the requests are not limited here.
+ *
+ * @author agent <agent at local>
+ */
+@Component
+public class VirtualThreadsRequestLimiter {
+
+    /**
+     * Null if the requests are not limited.
+     */
+    private final Semaphore permits;
+
+    @Autowired
+    public VirtualThreadsRequestLimiter(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                        @Value("${network-store-server.virtual-threads.max-concurrent-requests:0}") int maxConcurrentRequests,
+                                        @Value("${spring.datasource.hikari.maximum-pool-size:10}") int maximumPoolSize,
+                                        @Value("${network-store-server.sub-queries.parallelism:8}") int subQueriesParallelism) {
+        this(virtualThreads ? getMaxConcurrentRequests(maxConcurrentRequests, maximumPoolSize, subQueriesParallelism) : 0);
+    }
+
+    /**
+     * @param maxConcurrentRequests 0 for no limit
+     */
+    VirtualThreadsRequestLimiter(int maxConcurrentRequests) {
+        this.permits = maxConcurrentRequests > 0 ? new Semaphore(maxConcurrentRequests, true) : null;
+    }
+
+    /**
+     * @return the configured limit if positive, else the connections of the pool which are not reserved to the
+     * sub-queries. The sub-queries are reserved at most half of the pool: they only need one connection to make
+     * progress, and they run on the request connection when they exceed the parallelism, see {@link SubQueryExecutor}.
+     */
+    static int getMaxConcurrentRequests(int maxConcurrentRequests, int maximumPoolSize, int subQueriesParallelism) {
+        if (maxConcurrentRequests > 0) {
+            return maxConcurrentRequests;
+        }
+        int subQueriesConnections = subQueriesParallelism > 1 ? Math.min(subQueriesParallelism, maximumPoolSize / 2) : 0;
+        return Math.max(1, maximumPoolSize - subQueriesConnections);
+    }
+
+    public boolean isLimited() {
+        return permits != null;
+    }
+
+    /**
+     * @return true if a permit was taken before the timeout, always true if the requests are not limited
+     */
+    public boolean tryAcquire(long timeout, TimeUnit unit) throws InterruptedException {
+        return permits == null || permits.tryAcquire(timeout, unit);
+    }
+
+    public void release() {
+        if (permits != null) {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Compact projection of the limits of the selected operational limits group of a branch side: the permanent
+ * limit (NaN if there is none) and the temporary limits as two arrays sorted by increasing acceptable duration.
+ *
+ * @author agent <agent at local>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BranchSideLimits {
+
+    private String branchId;
+
+    private int side;
+
+    private double permanentLimit;
+
+    private int[] acceptableDurations;
+
+    private double[] values;
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server.dto;
+
+import com.powsybl.network.store.model.IdentifiableAttributes;
+import com.powsybl.network.store.model.Resource;
+import com.powsybl.network.store.model.ResourceType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Difference of an identifiable between two variants of a network: added or removed, or modified with its
+ * attributes, its extensions or its operational limits groups. The resource is its state in the target variant,
+ * null once removed.
+ *
+ * @author agent <agent at local>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VariantDiff {
+
+    public enum DiffType {
+        ADDED,
+        REMOVED,
+        MODIFIED
+    }
+
+    private String id;
+
+    private ResourceType resourceType;
+
+    private DiffType diffType;
+
+    private Resource<IdentifiableAttributes> resource;
+
+    private Set<String> modifiedExtensions;
+
+    private boolean operationalLimitsGroupsModified;
+}
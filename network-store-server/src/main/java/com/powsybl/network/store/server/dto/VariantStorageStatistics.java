@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Number of rows stored for a network variant, by table.
+ * For a partial variant, the overlay ratio is the number of rows stored in the variant itself (elements and
+ * tombstoned identifiables) divided by the number of elements of the full variant it is built on.
+ *
+ * @author agent <agent at local>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VariantStorageStatistics {
+
+    private int variantNum;
+
+    private String variantId;
+
+    private int fullVariantNum;
+
+    private Map<String, Long> elementRowCounts;
+
+    private Map<String, Long> externalAttributesRowCounts;
+
+    private Map<String, Long> tombstoneRowCounts;
+
+    private Double overlayRatio;
+
+    private Instant computedAt;
+
+    public long getElementRowCount() {
+        return elementRowCounts.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server.exceptions;
+
+/**
+ * A request waited too long for a permit of its bulkhead, answered with a 503 so that the client retries later.
+ *
+ * @author agent <agent at local>
+ */
+public class RequestBulkheadTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = -3416707268451382374L;
+
+    public RequestBulkheadTimeoutException(String message) {
+        super(message);
+    }
+}
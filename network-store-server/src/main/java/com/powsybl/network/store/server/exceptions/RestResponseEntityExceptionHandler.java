@@ -11,6 +11,7 @@ import com.powsybl.network.store.model.TopLevelError;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatus.Series;
 import org.springframework.http.ResponseEntity;
@@ -62,4 +63,12 @@ public class RestResponseEntityExceptionHandler {
         TopLevelError topLevelError = ex.getTopLevelError();
         return new ResponseEntity<>(topLevelError, computeHttpStatus(topLevelError));
     }
+
+    @ExceptionHandler(RequestBulkheadTimeoutException.class)
+    public ResponseEntity<String> handleBulkheadTimeout(HttpServletRequest request, RequestBulkheadTimeoutException ex) {
+        LOGGER.warn("{} {}: {}", request.getMethod(), request.getRequestURI(), ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
 }
@@ -7,6 +7,7 @@
 package com.powsybl.network.store.server;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -22,6 +23,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.ZonedDateTime;
@@ -29,7 +31,8 @@ import java.util.*;
 
 import static com.powsybl.network.store.model.NetworkStoreApi.VERSION;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -175,6 +178,22 @@ class NetworkStoreControllerIT {
                 .andExpect(jsonPath("meta.totalCount").value("2"))
                 .andExpect(jsonPath("data", hasSize(1)));
 
+        mvc.perform(get("/" + VERSION + "/networks/" + NETWORK_UUID + "/" + Resource.INITIAL_VARIANT_NUM + "/substations")
+                .header(RequestDiagnostics.DIAGNOSTICS_HEADER, "true")
+                .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("meta.totalCount").value("2"))
+                .andExpect(jsonPath("meta['diagnostics.sqlStatements']").exists())
+                .andExpect(jsonPath("meta['diagnostics.requestedVariantRows']").value("2"))
+                .andExpect(jsonPath("meta['diagnostics.fullVariantRows']").value("0"))
+                .andExpect(jsonPath("meta['diagnostics.tombstonedRows']").value("0"))
+                .andExpect(jsonPath("meta['diagnostics.jsonDecodeMs']").exists());
+
+        mvc.perform(get("/" + VERSION + "/networks/" + NETWORK_UUID + "/" + Resource.INITIAL_VARIANT_NUM + "/substations")
+                .contentType(APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("meta['diagnostics.sqlStatements']").doesNotExist());
+
         List<InternalConnectionAttributes> ics1 = new ArrayList<>();
         ics1.add(InternalConnectionAttributes.builder()
                 .node1(10)
@@ -1094,6 +1113,21 @@ class NetworkStoreControllerIT {
                 .andExpect(jsonPath("$.id2.maxTargetP").value(10.0));
     }
 
+    @Test
+    void getExtensionFieldsByResourceTypeAndExtensionNameTest() throws Exception {
+        setupExtensionAttributesTest();
+        mvc.perform(get("/" + VERSION + "/networks/" + NETWORK_UUID + "/0/identifiables/types/" + ResourceType.GENERATOR + "/extensions/" + ActivePowerControl.NAME + "/fields")
+                        .param("fields", "droop", "participate", "unknownField"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andExpect(jsonPath("$.id.droop").value(24))
+                .andExpect(jsonPath("$.id.participate").value(true))
+                .andExpect(jsonPath("$.id.participationFactor").doesNotExist())
+                .andExpect(jsonPath("$.id.unknownField").doesNotExist())
+                .andExpect(jsonPath("$.id2.droop").value(12))
+                .andExpect(jsonPath("$.id2.participate").value(false));
+    }
+
     @Test
     void getAllExtensionsAttributesByIdentifiableIdTest() throws Exception {
         setupExtensionAttributesTest();
@@ -1758,4 +1792,296 @@ class NetworkStoreControllerIT {
             .andExpect(content().contentType(APPLICATION_JSON))
             .andExpect(content().json("{}"));
     }
+
+    @Test
+    void conditionalGetTest() throws Exception {
+        Resource<NetworkAttributes> network = Resource.networkBuilder()
+                .id("foo")
+                .attributes(NetworkAttributes.builder()
+                        .uuid(NETWORK_UUID)
+                        .variantId("v")
+                        .fullVariantNum(-1)
+                        .caseDate(ZonedDateTime.parse("2015-01-01T00:00:00.000Z"))
+                        .build())
+                .build();
+        mvc.perform(post("/" + VERSION + "/networks")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Collections.singleton(network))))
+                .andExpect(status().isCreated());
+        Resource<SubstationAttributes> substation = Resource.substationBuilder()
+                .id("bar")
+                .attributes(SubstationAttributes.builder().country(Country.FR).build())
+                .build();
+        mvc.perform(post("/" + VERSION + "/networks/" + NETWORK_UUID + "/substations")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Collections.singleton(substation))))
+                .andExpect(status().isCreated());
+
+        String substationsUrl = "/" + VERSION + "/networks/" + NETWORK_UUID + "/" + Resource.INITIAL_VARIANT_NUM + "/substations";
+        String eTag = mvc.perform(get(substationsUrl))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("data", hasSize(1)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        mvc.perform(get(substationsUrl).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        mvc.perform(get(substationsUrl + "/bar").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        // Other types are versioned separately
+        mvc.perform(get("/" + VERSION + "/networks/" + NETWORK_UUID + "/" + Resource.INITIAL_VARIANT_NUM + "/loads").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+
+        Resource<SubstationAttributes> substation2 = Resource.substationBuilder()
+                .id("bar2")
+                .attributes(SubstationAttributes.builder().country(Country.BE).build())
+                .build();
+        mvc.perform(post("/" + VERSION + "/networks/" + NETWORK_UUID + "/substations")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Collections.singleton(substation2))))
+                .andExpect(status().isCreated());
+        String newETag = mvc.perform(get(substationsUrl).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("data", hasSize(2)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(eTag, newETag);
+        mvc.perform(get(substationsUrl).header(HttpHeaders.IF_NONE_MATCH, "W/" + newETag))
+                .andExpect(status().isNotModified());
+
+        // A variant cloned from another one has its own versions
+        mvc.perform(put("/" + VERSION + "/networks/" + NETWORK_UUID + "/" + Resource.INITIAL_VARIANT_NUM + "/to/1?targetVariantId=v1"))
+                .andExpect(status().isOk());
+        mvc.perform(get("/" + VERSION + "/networks/" + NETWORK_UUID + "/1/substations").header(HttpHeaders.IF_NONE_MATCH, newETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("data", hasSize(2)));
+    }
+
+    @Test
+    void changeFeedTest() throws Exception {
+        Resource<NetworkAttributes> network = Resource.networkBuilder()
+                .id("foo")
+                .attributes(NetworkAttributes.builder()
+                        .uuid(NETWORK_UUID)
+                        .variantId("v")
+                        .fullVariantNum(-1)
+                        .caseDate(ZonedDateTime.parse("2015-01-01T00:00:00.000Z"))
+                        .build())
+                .build();
+        mvc.perform(post("/" + VERSION + "/networks")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Collections.singleton(network))))
+                .andExpect(status().isCreated());
+        String changesUrl = "/" + VERSION + "/networks/" + NETWORK_UUID + "/" + Resource.INITIAL_VARIANT_NUM + "/changes";
+        String token = objectMapper.readTree(mvc.perform(get(changesUrl))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("resources", hasSize(0)))
+                .andReturn().getResponse().getContentAsString()).get("token").asText();
+
+        Resource<SubstationAttributes> substation = Resource.substationBuilder()
+                .id("bar")
+                .attributes(SubstationAttributes.builder().country(Country.FR).build())
+                .build();
+        mvc.perform(post("/" + VERSION + "/networks/" + NETWORK_UUID + "/substations")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Collections.singleton(substation))))
+                .andExpect(status().isCreated());
+        String nextToken = objectMapper.readTree(mvc.perform(get(changesUrl).param("since", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("resources", hasSize(1)))
+                .andExpect(jsonPath("resources[0].id").value("bar"))
+                .andReturn().getResponse().getContentAsString()).get("token").asText();
+        assertNotEquals(token, nextToken);
+
+        mvc.perform(delete("/" + VERSION + "/networks/" + NETWORK_UUID + "/" + Resource.INITIAL_VARIANT_NUM + "/substations")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of("bar"))))
+                .andExpect(status().isOk());
+        mvc.perform(get(changesUrl).param("since", nextToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("resources", hasSize(0)))
+                .andExpect(jsonPath("removedIds.SUBSTATION[0]").value("bar"));
+        // The changes since the first token are still available
+        mvc.perform(get(changesUrl).param("since", token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("removedIds.SUBSTATION[0]").value("bar"));
+
+        // Unknown tokens have to read the variant again
+        mvc.perform(get(changesUrl).param("since", "foo"))
+                .andExpect(status().isGone());
+        mvc.perform(get(changesUrl).param("since", "1000"))
+                .andExpect(status().isGone());
+    }
+
+    @Test
+    void variantsDiffTest() throws Exception {
+        Resource<NetworkAttributes> network = Resource.networkBuilder()
+                .id("foo")
+                .attributes(NetworkAttributes.builder()
+                        .uuid(NETWORK_UUID)
+                        .variantId("v")
+                        .fullVariantNum(-1)
+                        .caseDate(ZonedDateTime.parse("2015-01-01T00:00:00.000Z"))
+                        .build())
+                .build();
+        mvc.perform(post("/" + VERSION + "/networks")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Collections.singleton(network))))
+                .andExpect(status().isCreated());
+        List<Resource<SubstationAttributes>> substations = List.of(
+                Resource.substationBuilder().id("bar").attributes(SubstationAttributes.builder().country(Country.FR).build()).build(),
+                Resource.substationBuilder().id("bar2").attributes(SubstationAttributes.builder().country(Country.BE).build()).build());
+        mvc.perform(post("/" + VERSION + "/networks/" + NETWORK_UUID + "/substations")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(substations)))
+                .andExpect(status().isCreated());
+        mvc.perform(put("/" + VERSION + "/networks/" + NETWORK_UUID + "/" + Resource.INITIAL_VARIANT_NUM + "/to/1?targetVariantId=v1"))
+                .andExpect(status().isOk());
+
+        mvc.perform(delete("/" + VERSION + "/networks/" + NETWORK_UUID + "/1/substations")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of("bar"))))
+                .andExpect(status().isOk());
+        Resource<SubstationAttributes> bar3 = Resource.substationBuilder()
+                .id("bar3")
+                .variantNum(1)
+                .attributes(SubstationAttributes.builder().country(Country.DE).build())
+                .build();
+        mvc.perform(post("/" + VERSION + "/networks/" + NETWORK_UUID + "/substations")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Collections.singleton(bar3))))
+                .andExpect(status().isCreated());
+        Resource<SubstationAttributes> updatedBar2 = Resource.substationBuilder()
+                .id("bar2")
+                .variantNum(1)
+                .attributes(SubstationAttributes.builder().country(Country.FR).build())
+                .build();
+        mvc.perform(put("/" + VERSION + "/networks/" + NETWORK_UUID + "/substations")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Collections.singleton(updatedBar2))))
+                .andExpect(status().isOk());
+
+        String diffs = mvc.perform(get("/" + VERSION + "/networks/" + NETWORK_UUID + "/diff")
+                        .param("from", String.valueOf(Resource.INITIAL_VARIANT_NUM))
+                        .param("to", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Map<String, String> diffTypeById = new HashMap<>();
+        for (String line : diffs.split("\n")) {
+            JsonNode diff = objectMapper.readTree(line);
+            diffTypeById.put(diff.get("id").asText(), diff.get("diffType").asText());
+        }
+        assertEquals(Map.of("bar", "REMOVED", "bar2", "MODIFIED", "bar3", "ADDED"), diffTypeById);
+
+        // Once compacted, the variant is no longer built on the initial variant: their rows are compared
+        mvc.perform(post("/" + VERSION + "/networks/" + NETWORK_UUID + "/1/compact"))
+                .andExpect(status().isOk());
+        diffs = mvc.perform(get("/" + VERSION + "/networks/" + NETWORK_UUID + "/diff")
+                        .param("from", String.valueOf(Resource.INITIAL_VARIANT_NUM))
+                        .param("to", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        diffTypeById.clear();
+        for (String line : diffs.split("\n")) {
+            JsonNode diff = objectMapper.readTree(line);
+            diffTypeById.put(diff.get("id").asText(), diff.get("diffType").asText());
+        }
+        assertEquals(Map.of("bar", "REMOVED", "bar2", "MODIFIED", "bar3", "ADDED"), diffTypeById);
+
+        // A partial variant of the compacted variant rebased onto the initial variant has the same diff
+        mvc.perform(put("/" + VERSION + "/networks/" + NETWORK_UUID + "/1/to/2?targetVariantId=v2"))
+                .andExpect(status().isOk());
+        mvc.perform(post("/" + VERSION + "/networks/" + NETWORK_UUID + "/2/rebase")
+                        .param("fullVariantNum", String.valueOf(Resource.INITIAL_VARIANT_NUM)))
+                .andExpect(status().isOk());
+        mvc.perform(post("/" + VERSION + "/networks/" + NETWORK_UUID + "/2/rebase")
+                        .param("fullVariantNum", String.valueOf(Resource.INITIAL_VARIANT_NUM)))
+                .andExpect(status().isNoContent());
+        diffs = mvc.perform(get("/" + VERSION + "/networks/" + NETWORK_UUID + "/diff")
+                        .param("from", String.valueOf(Resource.INITIAL_VARIANT_NUM))
+                        .param("to", "2"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        diffTypeById.clear();
+        for (String line : diffs.split("\n")) {
+            JsonNode diff = objectMapper.readTree(line);
+            diffTypeById.put(diff.get("id").asText(), diff.get("diffType").asText());
+        }
+        assertEquals(Map.of("bar", "REMOVED", "bar2", "MODIFIED", "bar3", "ADDED"), diffTypeById);
+
+        // A variant does not differ from itself
+        assertEquals("", mvc.perform(get("/" + VERSION + "/networks/" + NETWORK_UUID + "/diff")
+                        .param("from", "1")
+                        .param("to", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    @Test
+    void substationsPaginationTest() throws Exception {
+        Resource<NetworkAttributes> network = Resource.networkBuilder()
+                .id("foo")
+                .attributes(NetworkAttributes.builder()
+                        .uuid(NETWORK_UUID)
+                        .variantId("v")
+                        .fullVariantNum(-1)
+                        .caseDate(ZonedDateTime.parse("2015-01-01T00:00:00.000Z"))
+                        .build())
+                .build();
+        mvc.perform(post("/" + VERSION + "/networks")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Collections.singleton(network))))
+                .andExpect(status().isCreated());
+        List<Resource<SubstationAttributes>> substations = List.of(
+                Resource.substationBuilder().id("bar3").attributes(SubstationAttributes.builder().country(Country.DE).build()).build(),
+                Resource.substationBuilder().id("bar").attributes(SubstationAttributes.builder().country(Country.FR).build()).build(),
+                Resource.substationBuilder().id("bar2").attributes(SubstationAttributes.builder().country(Country.BE).build()).build());
+        mvc.perform(post("/" + VERSION + "/networks/" + NETWORK_UUID + "/substations")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(substations)))
+                .andExpect(status().isCreated());
+
+        mvc.perform(get("/" + VERSION + "/networks/" + NETWORK_UUID + "/" + Resource.INITIAL_VARIANT_NUM + "/substations")
+                        .param("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("data[*].id").value(contains("bar", "bar2")))
+                .andExpect(jsonPath("meta.after").value("bar2"))
+                .andExpect(jsonPath("meta.totalCount").doesNotExist());
+        mvc.perform(get("/" + VERSION + "/networks/" + NETWORK_UUID + "/" + Resource.INITIAL_VARIANT_NUM + "/substations")
+                        .param("after", "bar2")
+                        .param("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("data[*].id").value(contains("bar3")))
+                .andExpect(jsonPath("meta.after").doesNotExist());
+        mvc.perform(get("/" + VERSION + "/networks/" + NETWORK_UUID + "/" + Resource.INITIAL_VARIANT_NUM + "/substations")
+                        .param("pageSize", "0"))
+                .andExpect(status().isBadRequest());
+
+        // The page of a partial variant merges its rows with the ones of its full variant
+        mvc.perform(put("/" + VERSION + "/networks/" + NETWORK_UUID + "/" + Resource.INITIAL_VARIANT_NUM + "/to/1?targetVariantId=v1"))
+                .andExpect(status().isOk());
+        mvc.perform(delete("/" + VERSION + "/networks/" + NETWORK_UUID + "/1/substations")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of("bar2"))))
+                .andExpect(status().isOk());
+        Resource<SubstationAttributes> bar1 = Resource.substationBuilder()
+                .id("bar1")
+                .variantNum(1)
+                .attributes(SubstationAttributes.builder().country(Country.IT).build())
+                .build();
+        mvc.perform(post("/" + VERSION + "/networks/" + NETWORK_UUID + "/substations")
+                .contentType(APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Collections.singleton(bar1))))
+                .andExpect(status().isCreated());
+        mvc.perform(get("/" + VERSION + "/networks/" + NETWORK_UUID + "/1/substations")
+                        .param("pageSize", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("data[*].id").value(contains("bar", "bar1")))
+                .andExpect(jsonPath("data[1].attributes.country").value("IT"))
+                .andExpect(jsonPath("meta.after").value("bar1"));
+        mvc.perform(get("/" + VERSION + "/networks/" + NETWORK_UUID + "/1/substations")
+                        .param("after", "bar1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("data[*].id").value(contains("bar3")))
+                .andExpect(jsonPath("meta.after").doesNotExist());
+    }
 }
@@ -7,10 +7,12 @@
 package com.powsybl.network.store.server;
 
 import com.powsybl.commons.PowsyblException;
+import com.powsybl.iidm.network.LimitType;
 import com.powsybl.iidm.network.extensions.ActivePowerControl;
 import com.powsybl.iidm.network.extensions.OperatingStatus;
 import com.powsybl.network.store.model.*;
 import com.powsybl.network.store.model.svattributes.*;
+import com.powsybl.network.store.server.dto.BranchSideLimits;
 import com.powsybl.network.store.server.dto.OperationalLimitsGroupOwnerInfo;
 import com.powsybl.network.store.server.dto.OwnerInfo;
 import com.powsybl.network.store.server.dto.RegulatingOwnerInfo;
@@ -20,6 +22,8 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
@@ -83,6 +87,40 @@ class NetworkStoreRepositoryPartialVariantExternalAttributesTest {
         verifyExternalAttributes(lineId2, genId2, twoWTId2, areaId2, 1, CLONED_NETWORK_UUID);
     }
 
+    @Test
+    void parallelSubQueriesReadTheSameAsSequentialOnes() {
+        createFullVariantNetwork(networkStoreRepository, NETWORK_UUID, "network1", 0, "variant0");
+        createEquipmentsWithExternalAttributes(0, "line1", "gen1", "twoWT1", "load1", "area1");
+        networkStoreRepository.cloneNetworkVariant(NETWORK_UUID, 0, 1, "variant1");
+        createEquipmentsWithExternalAttributes(1, "line2", "gen2", "twoWT2", "load2", "area2");
+
+        List<List<?>> parallelReads = readWithSubQueries();
+        NetworkStoreRepository repository = AopTestUtils.getUltimateTargetObject(networkStoreRepository);
+        SubQueryExecutor parallelExecutor = (SubQueryExecutor) ReflectionTestUtils.getField(repository, "subQueryExecutor");
+        SubQueryExecutor sequentialExecutor = new SubQueryExecutor(1, false);
+        try {
+            ReflectionTestUtils.setField(repository, "subQueryExecutor", sequentialExecutor);
+            assertEquals(readWithSubQueries(), parallelReads);
+        } finally {
+            ReflectionTestUtils.setField(repository, "subQueryExecutor", parallelExecutor);
+        }
+        // the variant 1 is partial: its generators and transformers are the ones of the variant 0 and its own ones
+        assertEquals(2, parallelReads.get(4).size());
+        assertEquals(2, parallelReads.get(5).size());
+    }
+
+    private List<List<?>> readWithSubQueries() {
+        List<List<?>> reads = new ArrayList<>();
+        for (int variantNum = 0; variantNum <= 1; variantNum++) {
+            int v = variantNum;
+            reads.add(networkStoreRepository.withRequestConnection(() -> networkStoreRepository.getGenerators(NETWORK_UUID, v)));
+            reads.add(networkStoreRepository.withRequestConnection(() -> networkStoreRepository.getTwoWindingsTransformers(NETWORK_UUID, v)));
+            reads.add(networkStoreRepository.getVscConverterStations(NETWORK_UUID, v));
+            reads.add(networkStoreRepository.getThreeWindingsTransformers(NETWORK_UUID, v));
+        }
+        return reads;
+    }
+
     private void createEquipmentsWithExternalAttributes(int variantNum, String lineId, String generatorId, String twoWTId, String loadId, String areaId) {
         createLine(networkStoreRepository, NETWORK_UUID, variantNum, lineId, "vl1", "vl2");
         createGeneratorAndLoadWithRegulatingAttributes(variantNum, generatorId, loadId, "vl1");
@@ -919,6 +957,31 @@ class NetworkStoreRepositoryPartialVariantExternalAttributesTest {
         Assertions.assertEquals(expExtensionAttributesLine, networkStoreRepository.getAllExtensionsAttributesByResourceType(NETWORK_UUID, 1, ResourceType.LINE));
     }
 
+    @Test
+    void typedExtensionIsStoredInItsOwnTable() {
+        String networkId = "network1";
+        String lineId1 = "line1";
+        createFullVariantNetwork(networkStoreRepository, NETWORK_UUID, networkId, 0, "variant0");
+        OwnerInfo ownerInfo1 = new OwnerInfo(lineId1, ResourceType.LINE, NETWORK_UUID, 0);
+        Map<String, ExtensionAttributes> extensionAttributesMap1 = buildExtensionAttributesMap(5.6, "status1");
+        insertExtensions(Map.of(ownerInfo1, extensionAttributesMap1));
+
+        assertEquals(1, countRows(QueryExtensionCatalog.ACTIVE_POWER_CONTROL_EXTENSION_TABLE, 0));
+        assertEquals(1, countRows(QueryExtensionCatalog.EXTENSION_TABLE, 0));
+        assertEquals(extensionAttributesMap1, networkStoreRepository.getAllExtensionsAttributesByIdentifiableId(NETWORK_UUID, 0, lineId1));
+
+        // Clone and compaction copy the typed extension like the other ones
+        networkStoreRepository.cloneNetworkVariant(NETWORK_UUID, 0, 1, "variant1");
+        assertEquals(0, countRows(QueryExtensionCatalog.ACTIVE_POWER_CONTROL_EXTENSION_TABLE, 1));
+        networkStoreRepository.compactVariant(NETWORK_UUID, 1);
+        assertEquals(1, countRows(QueryExtensionCatalog.ACTIVE_POWER_CONTROL_EXTENSION_TABLE, 1));
+        assertEquals(Optional.of(extensionAttributesMap1.get(ActivePowerControl.NAME)), networkStoreRepository.getExtensionAttributes(NETWORK_UUID, 1, lineId1, ActivePowerControl.NAME));
+
+        networkStoreRepository.removeExtensionAttributes(NETWORK_UUID, 1, lineId1, ActivePowerControl.NAME);
+        assertEquals(0, countRows(QueryExtensionCatalog.ACTIVE_POWER_CONTROL_EXTENSION_TABLE, 1));
+        assertEquals(1, countRows(QueryExtensionCatalog.ACTIVE_POWER_CONTROL_EXTENSION_TABLE, 0));
+    }
+
     @Test
     void getExtensionFromPartialCloneWithTombstonedExtension() {
         String networkId = "network1";
@@ -954,6 +1017,9 @@ class NetworkStoreRepositoryPartialVariantExternalAttributesTest {
                 OperatingStatus.NAME));
         expExtensionAttributesLine = Map.of(lineId2, Map.of(OperatingStatus.NAME, buildOperatingStatusAttributes("status2")));
         Assertions.assertEquals(expExtensionAttributesLine, networkStoreRepository.getAllExtensionsAttributesByResourceType(NETWORK_UUID, 1, ResourceType.LINE));
+        Assertions.assertEquals(expExtensionAttributesLine, networkStoreRepository.getAllExtensionsAttributesByIdentifiableIds(NETWORK_UUID, 1, List.of(lineId1, lineId2, "unknownId")));
+        Assertions.assertEquals(Map.of(lineId1, extensionAttributesMap1), networkStoreRepository.getAllExtensionsAttributesByIdentifiableIds(NETWORK_UUID, 0, List.of(lineId1)));
+        Assertions.assertEquals(Map.of(), networkStoreRepository.getAllExtensionsAttributesByIdentifiableIds(NETWORK_UUID, 1, List.of()));
     }
 
     @Test
@@ -1236,6 +1302,169 @@ class NetworkStoreRepositoryPartialVariantExternalAttributesTest {
                 ResourceType.LINE).get(lineId).get(1).get(operationLimitGroupId1));
     }
 
+    @Test
+    void getSelectedLimits() {
+        String networkId = "network1";
+        String lineId = "line";
+        String operationLimitGroupId1 = "olg1";
+        String operationLimitGroupId2 = "olg2";
+        createFullVariantNetwork(networkStoreRepository, NETWORK_UUID, networkId, 0, "variant0");
+        createLineWithOperationalLimitGroups(Map.of(operationLimitGroupId1, buildOperationalLimitsGroup(operationLimitGroupId1, 3, 12, 456),
+                operationLimitGroupId2, buildOperationalLimitsGroup(operationLimitGroupId2, 4, 50, 457)), operationLimitGroupId1, lineId);
+        networkStoreRepository.cloneNetworkVariant(NETWORK_UUID, 0, 1, "variant1");
+
+        Resource<LineAttributes> updatedLine = Resource.lineBuilder()
+                .id(lineId)
+                .variantNum(1)
+                .attributes(LineAttributes.builder()
+                        .voltageLevelId1("vl1")
+                        .voltageLevelId2("vl2")
+                        .selectedOperationalLimitsGroupId1(operationLimitGroupId2)
+                        .build())
+                .build();
+        networkStoreRepository.updateLines(NETWORK_UUID, List.of(updatedLine));
+
+        // Variant 0
+        List<BranchSideLimits> limits = networkStoreRepository.getSelectedLimitsByResourceType(NETWORK_UUID, 0, ResourceType.LINE, LimitType.CURRENT);
+        assertEquals(List.of(new BranchSideLimits(lineId, 1, 3, new int[] {10, 15}, new double[] {12, 456})), limits);
+        assertEquals(limits, BranchSideLimitsBinaryFormat.decode(BranchSideLimitsBinaryFormat.encode(limits)));
+        assertTrue(networkStoreRepository.getSelectedLimitsByResourceType(NETWORK_UUID, 0, ResourceType.LINE, LimitType.ACTIVE_POWER).isEmpty());
+
+        // Variant 1, the selected group is read from the partial variant and its limits from the full variant
+        limits = networkStoreRepository.getSelectedLimitsByResourceType(NETWORK_UUID, 1, ResourceType.LINE, LimitType.CURRENT);
+        assertEquals(List.of(new BranchSideLimits(lineId, 1, 4, new int[] {10, 15}, new double[] {50, 457})), limits);
+        assertThrows(IllegalArgumentException.class, () -> networkStoreRepository.getSelectedLimitsByResourceType(NETWORK_UUID, 1, ResourceType.LINE, LimitType.VOLTAGE));
+    }
+
+    @Test
+    void identicalLimitsAreSharedWhenRead() {
+        createFullVariantNetwork(networkStoreRepository, NETWORK_UUID, "network1", 0, "variant0");
+        createLineWithOperationalLimitGroups(Map.of("olg1", buildOperationalLimitsGroup("olg1", 3, 12, 456)), "olg1", "line1");
+        createLineWithOperationalLimitGroups(Map.of("olg1", buildOperationalLimitsGroup("olg1", 3, 12, 456)), "olg1", "line2");
+        createLineWithOperationalLimitGroups(Map.of("olg1", buildOperationalLimitsGroup("olg1", 4, 12, 456)), "olg1", "line3");
+
+        Map<String, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> limits =
+                networkStoreRepository.getAllOperationalLimitsGroupAttributesByResourceType(NETWORK_UUID, 0, ResourceType.LINE);
+        OperationalLimitsGroupAttributes group1 = limits.get("line1").get(1).get("olg1");
+        OperationalLimitsGroupAttributes group2 = limits.get("line2").get(1).get("olg1");
+        OperationalLimitsGroupAttributes group3 = limits.get("line3").get(1).get("olg1");
+        assertEquals(buildOperationalLimitsGroup("olg1", 3, 12, 456), group1);
+        assertSame(group1.getCurrentLimits(), group2.getCurrentLimits());
+        assertSame(group1.getProperties(), group2.getProperties());
+        assertNotSame(group1.getCurrentLimits(), group3.getCurrentLimits());
+        assertEquals(4, group3.getCurrentLimits().getPermanentLimit());
+    }
+
+    @Test
+    void updateLineOnlyRewritesChangedOperationalLimitsGroups() {
+        String lineId = "line";
+        OperationalLimitsGroupAttributes operationalLimitsGroupAttributes1 = buildOperationalLimitsGroup("olg1", 3, 12, 456);
+        OperationalLimitsGroupAttributes operationalLimitsGroupAttributes2 = buildOperationalLimitsGroup("olg2", 4, 50, 457);
+        createFullVariantNetwork(networkStoreRepository, NETWORK_UUID, "network1", 0, "variant0");
+        createLineWithOperationalLimitGroups(Map.of("olg1", operationalLimitsGroupAttributes1, "olg2", operationalLimitsGroupAttributes2), "olg1", lineId);
+        networkStoreRepository.cloneNetworkVariant(NETWORK_UUID, 0, 1, "variant1");
+
+        // Same limits, nothing is written in the partial variant
+        Map<String, OperationalLimitsGroupAttributes> operationalLimitsGroups = new HashMap<>(Map.of("olg1", buildOperationalLimitsGroup("olg1", 3, 12, 456),
+                "olg2", buildOperationalLimitsGroup("olg2", 4, 50, 457)));
+        Resource<LineAttributes> updatedLine = Resource.lineBuilder()
+                .id(lineId)
+                .variantNum(1)
+                .attributes(LineAttributes.builder()
+                        .voltageLevelId1("vl1")
+                        .voltageLevelId2("vl2")
+                        .selectedOperationalLimitsGroupId1("olg1")
+                        .operationalLimitsGroups1(operationalLimitsGroups)
+                        .build())
+                .build();
+        networkStoreRepository.updateLines(NETWORK_UUID, List.of(updatedLine));
+        assertEquals(0, countRows(QueryLimitsCatalog.OPERATIONAL_LIMITS_GROUP_TABLE, 1));
+
+        // Only the changed group is written in the partial variant
+        OperationalLimitsGroupAttributes updatedOperationalLimitsGroupAttributes2 = buildOperationalLimitsGroup("olg2", 5, 50, 457);
+        operationalLimitsGroups.put("olg2", updatedOperationalLimitsGroupAttributes2);
+        networkStoreRepository.updateLines(NETWORK_UUID, List.of(updatedLine));
+        assertEquals(1, countRows(QueryLimitsCatalog.OPERATIONAL_LIMITS_GROUP_TABLE, 1));
+        Map<Integer, Map<String, OperationalLimitsGroupAttributes>> lineOperationalLimitsGroups =
+                networkStoreRepository.getAllOperationalLimitsGroupAttributesByResourceType(NETWORK_UUID, 1, ResourceType.LINE).get(lineId);
+        assertEquals(operationalLimitsGroupAttributes1, lineOperationalLimitsGroups.get(1).get("olg1"));
+        assertEquals(updatedOperationalLimitsGroupAttributes2, lineOperationalLimitsGroups.get(1).get("olg2"));
+        assertEquals(operationalLimitsGroupAttributes2, networkStoreRepository.getAllOperationalLimitsGroupAttributesByResourceType(NETWORK_UUID, 0, ResourceType.LINE)
+                .get(lineId).get(1).get("olg2"));
+    }
+
+    @Test
+    void identicalLimitsAreStoredOnce() {
+        createFullVariantNetwork(networkStoreRepository, NETWORK_UUID, "network1", 0, "variant0");
+        createLineWithOperationalLimitGroups(Map.of("olg1", buildOperationalLimitsGroup("olg1", 3, 12, 456)), "olg1", "line1");
+        createLineWithOperationalLimitGroups(Map.of("olg1", buildOperationalLimitsGroup("olg1", 3, 12, 456),
+                "olg2", buildOperationalLimitsGroup("olg2", 4, 12, 456)), "olg1", "line2");
+        assertEquals(3, countRows(QueryLimitsCatalog.OPERATIONAL_LIMITS_GROUP_TABLE, 0));
+        assertEquals(2, countOperationalLimitsDefinitions(NETWORK_UUID));
+
+        // The groups of a partial variant reference the definitions of the network
+        networkStoreRepository.cloneNetworkVariant(NETWORK_UUID, 0, 1, "variant1");
+        Resource<LineAttributes> updatedLine = Resource.lineBuilder()
+                .id("line1")
+                .variantNum(1)
+                .attributes(LineAttributes.builder()
+                        .voltageLevelId1("vl1")
+                        .voltageLevelId2("vl2")
+                        .selectedOperationalLimitsGroupId1("olg1")
+                        .operationalLimitsGroups1(Map.of("olg1", buildOperationalLimitsGroup("olg1", 4, 12, 456),
+                                "olg3", buildOperationalLimitsGroup("olg3", 5, 12, 456)))
+                        .build())
+                .build();
+        networkStoreRepository.updateLines(NETWORK_UUID, List.of(updatedLine));
+        assertEquals(3, countOperationalLimitsDefinitions(NETWORK_UUID));
+        Map<Integer, Map<String, OperationalLimitsGroupAttributes>> lineOperationalLimitsGroups =
+                networkStoreRepository.getAllOperationalLimitsGroupAttributesByResourceType(NETWORK_UUID, 1, ResourceType.LINE).get("line1");
+        assertEquals(buildOperationalLimitsGroup("olg1", 4, 12, 456), lineOperationalLimitsGroups.get(1).get("olg1"));
+        assertEquals(buildOperationalLimitsGroup("olg3", 5, 12, 456), lineOperationalLimitsGroups.get(1).get("olg3"));
+
+        // Only the definitions referenced by the cloned variants are copied to another network
+        networkStoreRepository.cloneNetwork(CLONED_NETWORK_UUID, NETWORK_UUID, List.of("variant0"));
+        assertEquals(2, countOperationalLimitsDefinitions(CLONED_NETWORK_UUID));
+        assertEquals(buildOperationalLimitsGroup("olg2", 4, 12, 456), networkStoreRepository.getAllOperationalLimitsGroupAttributesByResourceType(CLONED_NETWORK_UUID, 0, ResourceType.LINE)
+                .get("line2").get(1).get("olg2"));
+
+        // The definitions only referenced by a deleted variant are deleted with it
+        networkStoreRepository.deleteNetwork(NETWORK_UUID, 1);
+        assertEquals(2, countOperationalLimitsDefinitions(NETWORK_UUID));
+        assertEquals(buildOperationalLimitsGroup("olg1", 3, 12, 456), networkStoreRepository.getAllOperationalLimitsGroupAttributesByResourceType(NETWORK_UUID, 0, ResourceType.LINE)
+                .get("line1").get(1).get("olg1"));
+
+        networkStoreRepository.deleteNetwork(CLONED_NETWORK_UUID);
+        assertEquals(0, countOperationalLimitsDefinitions(CLONED_NETWORK_UUID));
+    }
+
+    private long countOperationalLimitsDefinitions(UUID networkUuid) {
+        try (var connection = dataSource.getConnection();
+             var preparedStmt = connection.prepareStatement("select count(*) from " + QueryLimitsCatalog.OPERATIONAL_LIMITS_DEFINITION_TABLE +
+                     " where " + NETWORK_UUID_COLUMN + " = ?")) {
+            preparedStmt.setObject(1, networkUuid);
+            try (var resultSet = preparedStmt.executeQuery()) {
+                resultSet.next();
+                return resultSet.getLong(1);
+            }
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e);
+        }
+    }
+
+    private long countRows(String table, int variantNum) {
+        try (var connection = dataSource.getConnection();
+             var preparedStmt = connection.prepareStatement(buildCountRowsForVariantQuery(table))) {
+            preparedStmt.setObject(1, NETWORK_UUID);
+            preparedStmt.setInt(2, variantNum);
+            try (var resultSet = preparedStmt.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(2) : 0;
+            }
+        } catch (SQLException e) {
+            throw new UncheckedSqlException(e);
+        }
+    }
+
     @Test
     void updateOperationalLimitGroup() {
         String networkId = "network1";
@@ -10,6 +10,7 @@ import com.powsybl.commons.PowsyblException;
 import com.powsybl.iidm.network.VariantManagerConstants;
 import com.powsybl.network.store.model.*;
 import com.powsybl.network.store.model.svattributes.*;
+import com.powsybl.network.store.server.dto.VariantStorageStatistics;
 import com.powsybl.network.store.server.exceptions.UncheckedSqlException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -23,6 +24,7 @@ import java.util.function.BiConsumer;
 
 import static com.powsybl.network.store.server.Mappings.LINE_TABLE;
 import static com.powsybl.network.store.server.Mappings.LOAD_TABLE;
+import static com.powsybl.network.store.server.QueryCatalog.TOMBSTONED_IDENTIFIABLE_TABLE;
 import static com.powsybl.network.store.server.QueryCatalog.VOLTAGE_LEVEL_ID_COLUMN;
 import static com.powsybl.network.store.server.utils.PartialVariantTestUtils.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -42,6 +44,9 @@ class NetworkStoreRepositoryPartialVariantIdentifiablesTest {
     @Autowired
     private DataSource dataSource;
 
+    @Autowired
+    private StorageStatisticsService storageStatisticsService;
+
     private static final UUID NETWORK_UUID = UUID.fromString("7928181c-7977-4592-ba19-88027e4254e4");
 
     private static final UUID CLONED_NETWORK_UUID = UUID.fromString("0dd45074-009d-49b8-877f-8ae648a8e8b4");
@@ -387,6 +392,113 @@ class NetworkStoreRepositoryPartialVariantIdentifiablesTest {
         assertEquals(Set.of(lineId1), tombstonedIds3);
     }
 
+    @Test
+    void testStorageStatistics() {
+        String networkId = "network1";
+        createFullVariantNetwork(networkStoreRepository, NETWORK_UUID, networkId, 0, "variant0");
+        createLineAndLoad(networkStoreRepository, NETWORK_UUID, 0, "load1", "line1", "vl1", "vl2");
+        networkStoreRepository.cloneNetworkVariant(NETWORK_UUID, 0, 1, "variant1");
+        networkStoreRepository.deleteIdentifiables(NETWORK_UUID, 1, List.of("line1"), LINE_TABLE);
+
+        List<VariantStorageStatistics> statistics = storageStatisticsService.getStatistics(NETWORK_UUID, true);
+        assertEquals(2, statistics.size());
+        VariantStorageStatistics fullVariantStatistics = statistics.get(0);
+        assertEquals(0, fullVariantStatistics.getVariantNum());
+        assertEquals(1L, fullVariantStatistics.getElementRowCounts().get(LINE_TABLE));
+        assertEquals(1L, fullVariantStatistics.getElementRowCounts().get(LOAD_TABLE));
+        assertEquals(2, fullVariantStatistics.getElementRowCount());
+        assertNull(fullVariantStatistics.getOverlayRatio());
+        VariantStorageStatistics partialVariantStatistics = statistics.get(1);
+        assertEquals("variant1", partialVariantStatistics.getVariantId());
+        assertEquals(0, partialVariantStatistics.getFullVariantNum());
+        assertEquals(0, partialVariantStatistics.getElementRowCount());
+        assertEquals(1L, partialVariantStatistics.getTombstoneRowCounts().get(TOMBSTONED_IDENTIFIABLE_TABLE));
+        assertEquals(0.5, partialVariantStatistics.getOverlayRatio(), 0.001);
+
+        // Cached statistics are kept until the variant is refreshed
+        networkStoreRepository.createLoads(NETWORK_UUID, List.of(buildLoad("load2", 1, "vl1")));
+        assertEquals(0, storageStatisticsService.getStatistics(NETWORK_UUID, 1, false).orElseThrow().getElementRowCount());
+        VariantStorageStatistics refreshedStatistics = storageStatisticsService.getStatistics(NETWORK_UUID, 1, true).orElseThrow();
+        assertEquals(1L, refreshedStatistics.getElementRowCounts().get(LOAD_TABLE));
+        assertEquals(1.0, refreshedStatistics.getOverlayRatio(), 0.001);
+        assertTrue(storageStatisticsService.getStatistics(NETWORK_UUID, 2, false).isEmpty());
+    }
+
+    @Test
+    void testCompactVariant() {
+        String networkId = "network1";
+        createFullVariantNetwork(networkStoreRepository, NETWORK_UUID, networkId, 0, "variant0");
+        createLineWithLimits(networkStoreRepository, NETWORK_UUID, 0, "line1", "vl1", "vl2", List.of("olg11", "olg12"), List.of("olg21"));
+        createLineAndLoad(networkStoreRepository, NETWORK_UUID, 0, "load1", "line2", "vl1", "vl2");
+        networkStoreRepository.cloneNetworkVariant(NETWORK_UUID, 0, 1, "variant1");
+        networkStoreRepository.removeOperationalLimitsGroupAttributes(NETWORK_UUID, 1, ResourceType.LINE, Map.of("line1", Map.of(1, Set.of("olg11"))));
+        networkStoreRepository.deleteIdentifiables(NETWORK_UUID, 1, List.of("load1"), LOAD_TABLE);
+        networkStoreRepository.createLoads(NETWORK_UUID, List.of(buildLoad("load2", 1, "vl1")));
+
+        Comparator<Resource<?>> byId = Comparator.comparing(Resource::getId);
+        List<Resource<LineAttributes>> expectedLines = networkStoreRepository.getLines(NETWORK_UUID, 1).stream().sorted(byId).toList();
+        List<Resource<LoadAttributes>> expectedLoads = networkStoreRepository.getLoads(NETWORK_UUID, 1).stream().sorted(byId).toList();
+        var expectedLimits = networkStoreRepository.getAllOperationalLimitsGroupAttributesByResourceType(NETWORK_UUID, 1, ResourceType.LINE);
+        String loadVersion = networkStoreRepository.getResourceVersion(NETWORK_UUID, 1, ResourceType.LOAD);
+        String lineVersion = networkStoreRepository.getResourceVersion(NETWORK_UUID, 1, ResourceType.LINE);
+
+        assertTrue(networkStoreRepository.compactVariant(NETWORK_UUID, 1));
+
+        assertTrue(networkStoreRepository.getNetwork(NETWORK_UUID, 1).orElseThrow().getAttributes().isFullVariant());
+        assertTrue(getTombstonedIdentifiableIds(NETWORK_UUID, 1).isEmpty());
+        assertEquals(expectedLines, networkStoreRepository.getLines(NETWORK_UUID, 1).stream().sorted(byId).toList());
+        assertEquals(expectedLoads, networkStoreRepository.getLoads(NETWORK_UUID, 1).stream().sorted(byId).toList());
+        assertEquals(expectedLimits, networkStoreRepository.getAllOperationalLimitsGroupAttributesByResourceType(NETWORK_UUID, 1, ResourceType.LINE));
+        assertEquals(List.of("load2"), expectedLoads.stream().map(Resource::getId).toList());
+        assertNull(expectedLimits.get("line1").get(1).get("olg11"));
+        // All the resources of the variant are rewritten
+        assertNotEquals(loadVersion, networkStoreRepository.getResourceVersion(NETWORK_UUID, 1, ResourceType.LOAD));
+        assertNotEquals(lineVersion, networkStoreRepository.getResourceVersion(NETWORK_UUID, 1, ResourceType.LINE));
+
+        // Full variants are left untouched
+        assertFalse(networkStoreRepository.compactVariant(NETWORK_UUID, 1));
+        assertFalse(networkStoreRepository.compactVariant(NETWORK_UUID, 0));
+    }
+
+    @Test
+    void testRebaseVariant() {
+        String networkId = "network1";
+        createFullVariantNetwork(networkStoreRepository, NETWORK_UUID, networkId, 0, "variant0");
+        createLineWithLimits(networkStoreRepository, NETWORK_UUID, 0, "line1", "vl1", "vl2", List.of("olg11", "olg12"), List.of("olg21"));
+        createLineAndLoad(networkStoreRepository, NETWORK_UUID, 0, "load1", "line2", "vl1", "vl2");
+        networkStoreRepository.cloneNetworkVariant(NETWORK_UUID, 0, 1, "variant1");
+        networkStoreRepository.removeOperationalLimitsGroupAttributes(NETWORK_UUID, 1, ResourceType.LINE, Map.of("line1", Map.of(1, Set.of("olg11"))));
+        networkStoreRepository.deleteIdentifiables(NETWORK_UUID, 1, List.of("load1"), LOAD_TABLE);
+        networkStoreRepository.createLoads(NETWORK_UUID, List.of(buildLoad("load2", 1, "vl1")));
+        // Newer full variant without line2
+        networkStoreRepository.cloneNetworkVariant(NETWORK_UUID, 0, 2, "variant2");
+        networkStoreRepository.deleteIdentifiables(NETWORK_UUID, 2, List.of("line2"), LINE_TABLE);
+        assertTrue(networkStoreRepository.compactVariant(NETWORK_UUID, 2));
+
+        Comparator<Resource<?>> byId = Comparator.comparing(Resource::getId);
+        List<Resource<LineAttributes>> expectedLines = networkStoreRepository.getLines(NETWORK_UUID, 1).stream().sorted(byId).toList();
+        List<Resource<LoadAttributes>> expectedLoads = networkStoreRepository.getLoads(NETWORK_UUID, 1).stream().sorted(byId).toList();
+        var expectedLimits = networkStoreRepository.getAllOperationalLimitsGroupAttributesByResourceType(NETWORK_UUID, 1, ResourceType.LINE);
+        String lineVersion = networkStoreRepository.getResourceVersion(NETWORK_UUID, 1, ResourceType.LINE);
+
+        assertTrue(networkStoreRepository.rebaseVariant(NETWORK_UUID, 1, 2));
+
+        assertEquals(2, networkStoreRepository.getNetwork(NETWORK_UUID, 1).orElseThrow().getAttributes().getFullVariantNum());
+        assertEquals(expectedLines, networkStoreRepository.getLines(NETWORK_UUID, 1).stream().sorted(byId).toList());
+        assertEquals(expectedLoads, networkStoreRepository.getLoads(NETWORK_UUID, 1).stream().sorted(byId).toList());
+        assertEquals(expectedLimits, networkStoreRepository.getAllOperationalLimitsGroupAttributesByResourceType(NETWORK_UUID, 1, ResourceType.LINE));
+        assertEquals(List.of("line1", "line2"), expectedLines.stream().map(Resource::getId).toList());
+        assertNull(expectedLimits.get("line1").get(1).get("olg11"));
+        // Only the rows which differ from the new full variant are left in the variant
+        assertEquals(Set.of("line2", "load2"), new HashSet<>(getIdentifiableIdsForVariant(NETWORK_UUID, 1)));
+        assertEquals(Set.of("load1"), getTombstonedIdentifiableIds(NETWORK_UUID, 1));
+        assertNotEquals(lineVersion, networkStoreRepository.getResourceVersion(NETWORK_UUID, 1, ResourceType.LINE));
+
+        assertFalse(networkStoreRepository.rebaseVariant(NETWORK_UUID, 1, 2));
+        assertThrows(PowsyblException.class, () -> networkStoreRepository.rebaseVariant(NETWORK_UUID, 0, 2));
+        assertThrows(PowsyblException.class, () -> networkStoreRepository.rebaseVariant(NETWORK_UUID, 1, 1));
+    }
+
     @Test
     void getIdentifiableFromPartialCloneWithExternalAttributes() {
         String networkId = "network1";
@@ -9,14 +9,20 @@ package com.powsybl.network.store.server;
 import com.powsybl.iidm.network.StaticVarCompensator;
 import com.powsybl.network.store.model.*;
 import com.powsybl.network.store.model.svattributes.*;
+import com.powsybl.network.store.server.dto.NetworkChanges;
 import com.powsybl.network.store.server.dto.OwnerInfo;
+import com.powsybl.network.store.server.exceptions.UncheckedSqlException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.*;
+import java.util.stream.Collectors;
 
+import static com.powsybl.network.store.server.utils.PartialVariantTestUtils.createFullVariantNetwork;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -1816,4 +1822,147 @@ class NetworkStoreRepositoryTest {
         assertEquals(11, existingAttributes.getLeg3().getPhaseTapChangerAttributes().getSolvedTapPosition());
         assertEquals(12, existingAttributes.getLeg3().getRatioTapChangerAttributes().getSolvedTapPosition());
     }
+
+    @Test
+    void requestConnectionIsSharedBySubQueries() {
+        networkStoreRepository.withRequestConnection(() -> {
+            try {
+                Connection connection;
+                try (Connection firstConnection = RequestConnection.getConnection(networkStoreRepository.getDataSource())) {
+                    connection = firstConnection.unwrap(Connection.class);
+                }
+                try (Connection secondConnection = RequestConnection.getConnection(networkStoreRepository.getDataSource())) {
+                    assertFalse(secondConnection.isClosed());
+                    assertSame(connection, secondConnection.unwrap(Connection.class));
+                }
+                return null;
+            } catch (SQLException e) {
+                throw new UncheckedSqlException(e);
+            }
+        });
+    }
+
+    @Test
+    void resourceVersionIsCommittedWithTheWrite() {
+        createFullVariantNetwork(networkStoreRepository, NETWORK_UUID, "network1", Resource.INITIAL_VARIANT_NUM, "variant0");
+        networkStoreRepository.withWriteTransaction(() -> networkStoreRepository.createLoads(NETWORK_UUID, List.of(buildLoad("load1"))));
+        String version = networkStoreRepository.getResourceVersion(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, ResourceType.LOAD);
+        assertNotNull(version);
+
+        assertThrows(IllegalStateException.class, () -> networkStoreRepository.withWriteTransaction(() -> {
+            networkStoreRepository.createLoads(NETWORK_UUID, List.of(buildLoad("load2")));
+            // The version is only incremented at the end of the transaction of the write, just before its commit
+            assertEquals(version, networkStoreRepository.getResourceVersion(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, ResourceType.LOAD));
+            throw new IllegalStateException("failed");
+        }));
+        // and rolled back with it
+        assertEquals(version, networkStoreRepository.getResourceVersion(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, ResourceType.LOAD));
+        assertTrue(networkStoreRepository.getLoad(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, "load2").isEmpty());
+
+        networkStoreRepository.withWriteTransaction(() -> networkStoreRepository.createLoads(NETWORK_UUID, List.of(buildLoad("load2"))));
+        assertNotEquals(version, networkStoreRepository.getResourceVersion(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, ResourceType.LOAD));
+        assertTrue(networkStoreRepository.getLoad(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, "load2").isPresent());
+    }
+
+    @Test
+    void regulatingPointsIncrementOnlyTheRegulatedResourceVersions() {
+        createFullVariantNetwork(networkStoreRepository, NETWORK_UUID, "network1", Resource.INITIAL_VARIANT_NUM, "variant0");
+        networkStoreRepository.withWriteTransaction(() -> networkStoreRepository.createLoads(NETWORK_UUID, List.of(buildLoad("load1"))));
+        String loadVersion = networkStoreRepository.getResourceVersion(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, ResourceType.LOAD);
+        String lineVersion = networkStoreRepository.getResourceVersion(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, ResourceType.LINE);
+
+        networkStoreRepository.withWriteTransaction(() -> networkStoreRepository.createGenerators(NETWORK_UUID,
+                List.of(buildGenerator("gen1", "gen1", ResourceType.GENERATOR))));
+        assertNotNull(networkStoreRepository.getResourceVersion(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, ResourceType.GENERATOR));
+        assertEquals(loadVersion, networkStoreRepository.getResourceVersion(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, ResourceType.LOAD));
+
+        // The load exposes the generator regulating it
+        networkStoreRepository.withWriteTransaction(() -> networkStoreRepository.updateGenerators(NETWORK_UUID,
+                List.of(buildGenerator("gen1", "load1", ResourceType.LOAD))));
+        String regulatedLoadVersion = networkStoreRepository.getResourceVersion(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, ResourceType.LOAD);
+        assertNotEquals(loadVersion, regulatedLoadVersion);
+
+        // and no longer exposes it once the generator is removed
+        networkStoreRepository.withWriteTransaction(() -> networkStoreRepository.deleteGenerators(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, List.of("gen1")));
+        assertNotEquals(regulatedLoadVersion, networkStoreRepository.getResourceVersion(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, ResourceType.LOAD));
+
+        // The resources of the other types are left untouched
+        assertEquals(lineVersion, networkStoreRepository.getResourceVersion(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, ResourceType.LINE));
+    }
+
+    @Test
+    void changesAreCommittedWithTheWrite() {
+        createFullVariantNetwork(networkStoreRepository, NETWORK_UUID, "network1", Resource.INITIAL_VARIANT_NUM, "variant0");
+        String token = networkStoreRepository.getChanges(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, null, 10).orElseThrow().getToken();
+
+        assertThrows(IllegalStateException.class, () -> networkStoreRepository.withWriteTransaction(() -> {
+            networkStoreRepository.createLoads(NETWORK_UUID, List.of(buildLoad("load1")));
+            throw new IllegalStateException("failed");
+        }));
+        // The change of the failed write is rolled back with it
+        NetworkChanges changes = networkStoreRepository.getChanges(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, token, 10).orElseThrow();
+        assertEquals(token, changes.getToken());
+        assertTrue(changes.getResources().isEmpty());
+
+        networkStoreRepository.withWriteTransaction(() -> networkStoreRepository.createLoads(NETWORK_UUID, List.of(buildLoad("load1"))));
+        changes = networkStoreRepository.getChanges(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, token, 10).orElseThrow();
+        assertNotEquals(token, changes.getToken());
+        assertEquals(List.of("load1"), changes.getResources().stream().map(Resource::getId).toList());
+    }
+
+    @Test
+    void changesAreAppendedJustBeforeTheCommit() {
+        createFullVariantNetwork(networkStoreRepository, NETWORK_UUID, "network1", Resource.INITIAL_VARIANT_NUM, "variant0");
+        String token = networkStoreRepository.getChanges(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, null, 10).orElseThrow().getToken();
+
+        networkStoreRepository.withWriteTransaction(() -> {
+            networkStoreRepository.createLoads(NETWORK_UUID, List.of(buildLoad("load1")));
+            networkStoreRepository.createGenerators(NETWORK_UUID, List.of(buildGenerator("gen1", "gen1", ResourceType.GENERATOR)));
+            // The change number of the variant is not locked by the writes
+            assertEquals(token, networkStoreRepository.getChanges(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, null, 10).orElseThrow().getToken());
+        });
+        NetworkChanges changes = networkStoreRepository.getChanges(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, token, 10).orElseThrow();
+        assertNotEquals(token, changes.getToken());
+        assertEquals(Set.of("load1", "gen1"), changes.getResources().stream().map(Resource::getId).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void changedResourcesAreReadByType() {
+        createFullVariantNetwork(networkStoreRepository, NETWORK_UUID, "network1", Resource.INITIAL_VARIANT_NUM, "variant0");
+        networkStoreRepository.createLoads(NETWORK_UUID, List.of(buildLoad("load1")));
+        String token = networkStoreRepository.getChanges(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, null, 10).orElseThrow().getToken();
+
+        networkStoreRepository.createLoads(NETWORK_UUID, List.of(buildLoad("load2"), buildLoad("load3")));
+        networkStoreRepository.deleteLoads(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, List.of("load1"));
+        NetworkChanges changes = networkStoreRepository.getChanges(NETWORK_UUID, Resource.INITIAL_VARIANT_NUM, token, 10).orElseThrow();
+        assertEquals(Set.of("load2", "load3"), changes.getResources().stream().map(Resource::getId).collect(Collectors.toSet()));
+        assertEquals(Map.of(ResourceType.LOAD, List.of("load1")), changes.getRemovedIds());
+    }
+
+    private static Resource<LoadAttributes> buildLoad(String loadId) {
+        return Resource.loadBuilder()
+                .id(loadId)
+                .variantNum(Resource.INITIAL_VARIANT_NUM)
+                .attributes(LoadAttributes.builder()
+                        .voltageLevelId("vl1")
+                        .build())
+                .build();
+    }
+
+    private static Resource<GeneratorAttributes> buildGenerator(String generatorId, String regulatedEquipmentId, ResourceType regulatedResourceType) {
+        return Resource.generatorBuilder()
+                .id(generatorId)
+                .variantNum(Resource.INITIAL_VARIANT_NUM)
+                .attributes(GeneratorAttributes.builder()
+                        .voltageLevelId("vl1")
+                        .name(generatorId)
+                        .regulatingPoint(RegulatingPointAttributes.builder()
+                                .localTerminal(TerminalRefAttributes.builder().connectableId(generatorId).build())
+                                .regulatingEquipmentId(generatorId)
+                                .regulatingTerminal(TerminalRefAttributes.builder().connectableId(regulatedEquipmentId).build())
+                                .regulatedResourceType(regulatedResourceType)
+                                .build())
+                        .build())
+                .build();
+    }
 }
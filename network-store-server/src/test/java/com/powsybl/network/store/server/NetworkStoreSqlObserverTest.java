@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.powsybl.network.store.server.NetworkStoreSqlObserver.FULL_VARIANT_LAYER;
+import static com.powsybl.network.store.server.NetworkStoreSqlObserver.REQUESTED_VARIANT_LAYER;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class NetworkStoreSqlObserverTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private NetworkStoreSqlObserver sqlObserver;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sqlObserver = new NetworkStoreSqlObserver(meterRegistry, new SlowQueryRecorder(null, -1, false, 10));
+    }
+
+    @Test
+    void testVariantLayer() {
+        assertEquals(REQUESTED_VARIANT_LAYER, NetworkStoreSqlObserver.variantLayer(1, 1));
+        assertEquals(FULL_VARIANT_LAYER, NetworkStoreSqlObserver.variantLayer(0, 1));
+    }
+
+    @Test
+    void testRecordRowBinding() {
+        sqlObserver.recordRowBinding("generator", FULL_VARIANT_LAYER, 2_000_000, 500_000, 3);
+        sqlObserver.recordRowBinding("generator", REQUESTED_VARIANT_LAYER, 1_000_000, 0, 2);
+
+        Timer fullBinding = meterRegistry.get(NetworkStoreSqlObserver.SqlPhase.ROW_BINDING.getMetricName())
+                .tag("table", "generator").tag("variant_layer", FULL_VARIANT_LAYER).timer();
+        assertEquals(1, fullBinding.count());
+        assertEquals(2, fullBinding.totalTime(TimeUnit.MILLISECONDS), 0.001);
+
+        Counter fullRows = meterRegistry.get(NetworkStoreSqlObserver.SqlPhase.ROW_BINDING.getMetricName() + ".rows")
+                .tag("table", "generator").tag("variant_layer", FULL_VARIANT_LAYER).counter();
+        assertEquals(3, fullRows.count());
+
+        // JSON decode is only recorded when some JSON has been decoded
+        assertEquals(1, meterRegistry.get(NetworkStoreSqlObserver.SqlPhase.JSON_DECODE.getMetricName()).timers().size());
+        assertNull(meterRegistry.find(NetworkStoreSqlObserver.SqlPhase.JSON_DECODE.getMetricName())
+                .tag("variant_layer", REQUESTED_VARIANT_LAYER).timer());
+    }
+
+    @Test
+    void testObserveQuery() {
+        Set<String> ids = sqlObserver.observeQuery("tombstonedidentifiable", REQUESTED_VARIANT_LAYER, () -> Set.of("id1"));
+        assertEquals(Set.of("id1"), ids);
+        assertEquals(1, meterRegistry.get(NetworkStoreSqlObserver.SqlPhase.QUERY_EXECUTE.getMetricName())
+                .tag("table", "tombstonedidentifiable").timer().count());
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class ParallelRowDecoderTest {
+
+    private static List<String> decodeRange(ParallelRowDecoder rowDecoder, int count, ParallelRowDecoder.RowDecoder<Integer, String> decoder) throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:");
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT X FROM SYSTEM_RANGE(1, " + count + ")")) {
+            return rowDecoder.decode(resultSet, rs -> rs.getInt(1), decoder);
+        }
+    }
+
+    @Test
+    void testDecodedRowsKeepResultSetOrder() throws SQLException {
+        ParallelRowDecoder rowDecoder = new ParallelRowDecoder(4, 7);
+        try {
+            List<String> expected = IntStream.rangeClosed(1, 100).mapToObj(i -> "row" + i).toList();
+            assertEquals(expected, decodeRange(rowDecoder, 100, row -> "row" + row));
+            // Smaller than one chunk, decoded by the calling thread
+            assertEquals(List.of("row1", "row2", "row3"), decodeRange(rowDecoder, 3, row -> "row" + row));
+            assertEquals(List.of(), decodeRange(rowDecoder, 0, row -> "row" + row));
+        } finally {
+            rowDecoder.shutdown();
+        }
+    }
+
+    @Test
+    void testWithoutPool() throws SQLException {
+        ParallelRowDecoder rowDecoder = new ParallelRowDecoder(1, 7);
+        List<String> expected = IntStream.rangeClosed(1, 20).mapToObj(i -> "row" + i).toList();
+        assertEquals(expected, decodeRange(rowDecoder, 20, row -> "row" + row));
+        rowDecoder.shutdown();
+    }
+
+    @Test
+    void testDecodingError() {
+        ParallelRowDecoder rowDecoder = new ParallelRowDecoder(4, 7);
+        try {
+            ParallelRowDecoder.RowDecoder<Integer, String> decoder = row -> {
+                if (row == 3) {
+                    throw new IOException("Invalid row " + row);
+                }
+                return "row" + row;
+            };
+            UncheckedIOException e = assertThrows(UncheckedIOException.class, () -> decodeRange(rowDecoder, 100, decoder));
+            assertEquals("Invalid row 3", e.getCause().getMessage());
+        } finally {
+            rowDecoder.shutdown();
+        }
+    }
+
+    @Test
+    void testInvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ParallelRowDecoder(4, 0));
+    }
+}
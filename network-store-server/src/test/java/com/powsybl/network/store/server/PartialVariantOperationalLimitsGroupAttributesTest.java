@@ -6,7 +6,10 @@
  */
 package com.powsybl.network.store.server;
 
+import com.powsybl.network.store.model.LimitsAttributes;
+import com.powsybl.network.store.model.LineAttributes;
 import com.powsybl.network.store.model.OperationalLimitsGroupAttributes;
+import com.powsybl.network.store.model.Resource;
 import com.powsybl.network.store.model.ResourceType;
 import com.powsybl.network.store.server.dto.OperationalLimitsGroupOwnerInfo;
 import com.powsybl.network.store.server.exceptions.UncheckedSqlException;
@@ -17,9 +20,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 
 import javax.sql.DataSource;
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
 
 import static com.powsybl.network.store.server.utils.PartialVariantTestUtils.*;
@@ -84,6 +89,69 @@ class PartialVariantOperationalLimitsGroupAttributesTest {
                 OperationalLimitsGroupOwnerInfo(lineId1, ResourceType.LINE, NETWORK_UUID, 1, operationalLimitsGroupId1Side1, 1)));
     }
 
+    @Test
+    void getSelectedOperationalLimitsGroupsOnPartialVariant() {
+        String networkId = "network1";
+        createFullVariantNetwork(networkStoreRepository, NETWORK_UUID, networkId, 0, "variant0");
+        networkStoreRepository.createLines(NETWORK_UUID, List.of(
+                buildLine("line1", 0, Map.of("olg11", buildOperationalLimitsGroup("olg11", 10), "olg12", buildOperationalLimitsGroup("olg12", 11)),
+                        Map.of("olg21", buildOperationalLimitsGroup("olg21", 12)), "olg11", "olg21"),
+                buildLine("line2", 0, Map.of("olg11", buildOperationalLimitsGroup("olg11", 13)), Map.of(), "olg11", null)));
+        networkStoreRepository.cloneNetworkVariant(NETWORK_UUID, 0, 1, "variant1");
+
+        // line1 selects an overridden group on side 1 and its selected group of side 2 is tombstoned, line2 is tombstoned
+        networkStoreRepository.updateLines(NETWORK_UUID, List.of(
+                buildLine("line1", 1, Map.of("olg11", buildOperationalLimitsGroup("olg11", 10), "olg12", buildOperationalLimitsGroup("olg12", 20)),
+                        Map.of("olg21", buildOperationalLimitsGroup("olg21", 12)), "olg12", "olg21")));
+        networkStoreRepository.removeOperationalLimitsGroupAttributes(NETWORK_UUID, 1, ResourceType.LINE, Map.of("line1", Map.of(2, Set.of("olg21"))));
+        networkStoreRepository.deleteLines(NETWORK_UUID, 1, List.of("line2"));
+
+        Map<String, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> selectedGroups = getSelectedOperationalLimitsGroupForLineForVariant(NETWORK_UUID, 1);
+        assertEquals(Set.of("line1"), selectedGroups.keySet());
+        assertEquals(Set.of("olg12"), selectedGroups.get("line1").get(1).keySet());
+        assertEquals(20, selectedGroups.get("line1").get(1).get("olg12").getCurrentLimits().getPermanentLimit());
+        assertTrue(selectedGroups.get("line1").getOrDefault(2, Map.of()).isEmpty());
+
+        // The full variant is unchanged
+        selectedGroups = getSelectedOperationalLimitsGroupForLineForVariant(NETWORK_UUID, 0);
+        assertEquals(Set.of("line1", "line2"), selectedGroups.keySet());
+        assertEquals(Set.of("olg11"), selectedGroups.get("line1").get(1).keySet());
+        assertEquals(10, selectedGroups.get("line1").get(1).get("olg11").getCurrentLimits().getPermanentLimit());
+        assertEquals(Set.of("olg21"), selectedGroups.get("line1").get(2).keySet());
+        assertEquals(13, selectedGroups.get("line2").get(1).get("olg11").getCurrentLimits().getPermanentLimit());
+    }
+
+    private static Resource<LineAttributes> buildLine(String lineId, int variantNum, Map<String, OperationalLimitsGroupAttributes> operationalLimitsGroups1,
+                                                      Map<String, OperationalLimitsGroupAttributes> operationalLimitsGroups2,
+                                                      String selectedOperationalLimitsGroupId1, String selectedOperationalLimitsGroupId2) {
+        return Resource.lineBuilder()
+                .id(lineId)
+                .variantNum(variantNum)
+                .attributes(LineAttributes.builder()
+                        .voltageLevelId1("vl1")
+                        .voltageLevelId2("vl2")
+                        .operationalLimitsGroups1(new HashMap<>(operationalLimitsGroups1))
+                        .operationalLimitsGroups2(new HashMap<>(operationalLimitsGroups2))
+                        .selectedOperationalLimitsGroupId1(selectedOperationalLimitsGroupId1)
+                        .selectedOperationalLimitsGroupId2(selectedOperationalLimitsGroupId2)
+                        .build())
+                .build();
+    }
+
+    private static OperationalLimitsGroupAttributes buildOperationalLimitsGroup(String id, double permanentLimit) {
+        return OperationalLimitsGroupAttributes.builder()
+                .id(id)
+                .currentLimits(LimitsAttributes.builder()
+                        .permanentLimit(permanentLimit)
+                        .temporaryLimits(new TreeMap<>())
+                        .build())
+                .build();
+    }
+
+    private Map<String, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> getSelectedOperationalLimitsGroupForLineForVariant(UUID networkUuid, int variantNum) {
+        return networkStoreRepository.getAllSelectedOperationalLimitsGroupAttributesByResourceType(networkUuid, variantNum, ResourceType.LINE);
+    }
+
     private Map<String, Map<Integer, Map<String, OperationalLimitsGroupAttributes>>> getOperationalLimitsGroupForLineForVariant(UUID networkUuid, int variantNum) {
         return networkStoreRepository.getAllOperationalLimitsGroupAttributesByResourceType(networkUuid, variantNum, ResourceType.LINE);
     }
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import com.powsybl.network.store.server.RequestBulkheads.RequestClass;
+import com.powsybl.network.store.server.exceptions.RequestBulkheadTimeoutException;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class RequestBulkheadsTest {
+
+    @Test
+    void testRequestsAreLimitedPerClass() throws InterruptedException, ExecutionException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestBulkheads bulkheads = new RequestBulkheads(meterRegistry, 2, 0, 1, 1, 10_000, new VirtualThreadsRequestLimiter(0));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                futures.add(executor.submit(() -> bulkheads.execute(RequestClass.BULK_READ, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    LockSupport.parkNanos(1_000_000);
+                    return running.decrementAndGet();
+                })));
+            }
+            for (Future<Integer> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(maxRunning.get() <= 2);
+        Timer queueTimer = meterRegistry.get(RequestBulkheads.QUEUE_METRIC).tag("request_class", "bulk_read").timer();
+        assertEquals(20, queueTimer.count());
+    }
+
+    @Test
+    void testNestedRequestUsesOuterPermit() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestBulkheads bulkheads = new RequestBulkheads(meterRegistry, 1, 1, 1, 1, 10_000, new VirtualThreadsRequestLimiter(0));
+        // Would wait forever if the nested request waited for a second permit
+        assertEquals("done", bulkheads.execute(RequestClass.WRITE, () -> bulkheads.execute(RequestClass.WRITE, () -> "done")));
+        // Unlimited classes are not timed
+        RequestBulkheads unlimited = new RequestBulkheads(meterRegistry, 0, 0, 0, 0, 10_000, new VirtualThreadsRequestLimiter(0));
+        unlimited.run(RequestClass.POINT_READ, () -> { });
+        assertNull(meterRegistry.find(RequestBulkheads.QUEUE_METRIC).tag("request_class", "point_read").timer());
+    }
+
+    @Test
+    void testRequestsAreLimitedAfterTheirClass() throws InterruptedException, ExecutionException {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestBulkheads bulkheads = new RequestBulkheads(meterRegistry, 1, 0, 0, 0, 10_000, new VirtualThreadsRequestLimiter(2));
+        CountDownLatch bulkReadStarted = new CountDownLatch(1);
+        CountDownLatch bulkReadsDone = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> bulkReads = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                bulkReads.add(executor.submit(() -> bulkheads.execute(RequestClass.BULK_READ, () -> {
+                    bulkReadStarted.countDown();
+                    awaitUninterruptibly(bulkReadsDone);
+                    return null;
+                })));
+            }
+            bulkReadStarted.await();
+            // The bulk reads waiting for their class do not take the permits shared with the point reads
+            assertEquals("done", executor.submit(() -> bulkheads.execute(RequestClass.POINT_READ, () -> "done")).get(10, TimeUnit.SECONDS));
+            bulkReadsDone.countDown();
+            for (Future<Object> bulkRead : bulkReads) {
+                bulkRead.get();
+            }
+        } catch (TimeoutException e) {
+            fail("The point read waited for the bulk reads");
+        } finally {
+            bulkReadsDone.countDown();
+            executor.shutdown();
+        }
+        // Unlimited classes are timed when the requests of all the classes are limited
+        assertNotNull(meterRegistry.find(RequestBulkheads.QUEUE_METRIC).tag("request_class", "point_read").timer());
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testQueueTimeout() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestBulkheads bulkheads = new RequestBulkheads(meterRegistry, 1, 0, 0, 0, 10, new VirtualThreadsRequestLimiter(0));
+        bulkheads.run(RequestClass.BULK_READ, () -> {
+            // The permit of the class is held by this request, a request of another thread would time out
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<Object> other = executor.submit(() -> bulkheads.execute(RequestClass.BULK_READ, () -> "done"));
+                ExecutionException e = assertThrows(ExecutionException.class, other::get);
+                assertInstanceOf(RequestBulkheadTimeoutException.class, e.getCause());
+            } finally {
+                executor.shutdown();
+            }
+        });
+        // The timed out request did not keep the permit
+        assertEquals("done", bulkheads.execute(RequestClass.BULK_READ, () -> "done"));
+        assertEquals(3, meterRegistry.get(RequestBulkheads.QUEUE_METRIC).tag("request_class", "bulk_read").timer().count());
+    }
+
+    @Test
+    void testNegativeLimit() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        assertThrows(IllegalArgumentException.class, () -> new RequestBulkheads(meterRegistry, -1, 0, 0, 0, 10_000, new VirtualThreadsRequestLimiter(0)));
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import com.powsybl.network.store.model.ResourceType;
+import com.powsybl.network.store.server.RequestCoalescer.CollectionReadKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class RequestCoalescerTest {
+
+    private static final CollectionReadKey LINES = new CollectionReadKey(UUID.randomUUID(), 0, ResourceType.LINE, null, "1");
+
+    @Test
+    void testConcurrentIdenticalReadsShareOneExecution() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch releaseRead = new CountDownLatch(1);
+        CompletableFuture<List<String>> first = CompletableFuture.supplyAsync(() -> coalescer.execute(LINES, () -> {
+            executions.incrementAndGet();
+            readStarted.countDown();
+            try {
+                assertTrue(releaseRead.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of("line1", "line2");
+        }));
+        assertTrue(readStarted.await(10, TimeUnit.SECONDS));
+        CompletableFuture<List<String>> second = CompletableFuture.supplyAsync(() -> coalescer.execute(LINES, () -> {
+            executions.incrementAndGet();
+            return List.of();
+        }));
+        // Wait for the second read to join the first one
+        while (meterRegistry.find(RequestCoalescer.COALESCED_READS_METRIC).counter() == null) {
+            Thread.onSpinWait();
+        }
+        releaseRead.countDown();
+        assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+
+        // Done reads are not kept
+        assertEquals(List.of(), coalescer.execute(LINES, List::of));
+    }
+
+    @Test
+    void testFailureIsSharedWithConcurrentReads() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry, true);
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch releaseRead = new CountDownLatch(1);
+        CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> coalescer.execute(LINES, () -> {
+            readStarted.countDown();
+            await(releaseRead);
+            throw new IllegalStateException("failed");
+        }));
+        assertTrue(readStarted.await(10, TimeUnit.SECONDS));
+        CompletableFuture<Object> second = CompletableFuture.supplyAsync(() -> coalescer.execute(LINES, () -> "not coalesced"));
+        awaitCoalescedRead(meterRegistry);
+        releaseRead.countDown();
+        ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(10, TimeUnit.SECONDS));
+        ExecutionException secondFailure = assertThrows(ExecutionException.class, () -> second.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, firstFailure.getCause());
+        assertSame(firstFailure.getCause(), secondFailure.getCause());
+    }
+
+    @Test
+    void testReadAfterWriteDoesNotShareStaleRead() throws Exception {
+        RequestCoalescer coalescer = new RequestCoalescer(new SimpleMeterRegistry(), true);
+        CountDownLatch readStarted = new CountDownLatch(1);
+        CountDownLatch releaseRead = new CountDownLatch(1);
+        CompletableFuture<List<String>> beforeWrite = CompletableFuture.supplyAsync(() -> coalescer.execute(LINES, () -> {
+            readStarted.countDown();
+            await(releaseRead);
+            return List.of("line1");
+        }));
+        assertTrue(readStarted.await(10, TimeUnit.SECONDS));
+        // A write of the lines bumps their version while the first read is running
+        CollectionReadKey afterWrite = LINES.atVersion("2");
+        assertEquals(List.of("line1", "line2"), coalescer.execute(afterWrite, () -> List.of("line1", "line2")));
+        // Neither are the reads whose version is not known
+        assertEquals(List.of(), coalescer.execute(LINES.atVersion(null), List::of));
+        releaseRead.countDown();
+        assertEquals(List.of("line1"), beforeWrite.get(10, TimeUnit.SECONDS));
+    }
+
+    private static void awaitCoalescedRead(SimpleMeterRegistry meterRegistry) {
+        while (meterRegistry.find(RequestCoalescer.COALESCED_READS_METRIC).counter() == null) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testFailureIsSharedAndNotKept() {
+        RequestCoalescer coalescer = new RequestCoalescer(new SimpleMeterRegistry(), true);
+        assertThrows(IllegalStateException.class, () -> coalescer.execute(LINES, () -> {
+            throw new IllegalStateException("failed");
+        }));
+        assertEquals("ok", coalescer.execute(LINES, () -> "ok"));
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.powsybl.network.store.server.NetworkStoreSqlObserver.FULL_VARIANT_LAYER;
+import static com.powsybl.network.store.server.NetworkStoreSqlObserver.REQUESTED_VARIANT_LAYER;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author agent <agent at local>
+ */
+class SlowQueryRecorderTest {
+
+    @Test
+    void testRecordSlowQueries() {
+        SlowQueryRecorder recorder = new SlowQueryRecorder(null, 10, false, 2);
+        PreparedStatement preparedStmt = mock(PreparedStatement.class);
+
+        // fast query, not recorded
+        recorder.queryExecuted(preparedStmt, "generator", REQUESTED_VARIANT_LAYER, TimeUnit.MILLISECONDS.toNanos(1));
+        recorder.rowsBound("generator", REQUESTED_VARIANT_LAYER, TimeUnit.MILLISECONDS.toNanos(1), 5);
+        assertTrue(recorder.getSlowQueries().isEmpty());
+
+        // slow once rows are bound
+        recorder.queryExecuted(preparedStmt, "generator", FULL_VARIANT_LAYER, TimeUnit.MILLISECONDS.toNanos(5));
+        recorder.rowsBound("generator", FULL_VARIANT_LAYER, TimeUnit.MILLISECONDS.toNanos(6), 42);
+        List<SlowQueryRecorder.SlowQuery> slowQueries = recorder.getSlowQueries();
+        assertEquals(1, slowQueries.size());
+        assertEquals("generator", slowQueries.get(0).table());
+        assertEquals(FULL_VARIANT_LAYER, slowQueries.get(0).variantLayer());
+        assertEquals(11, slowQueries.get(0).durationMs());
+        assertEquals(42, slowQueries.get(0).rowCount());
+        assertNotNull(slowQueries.get(0).sql());
+        assertNull(slowQueries.get(0).plan());
+
+        // slow query without rows binding report, recorded when the next query is executed
+        recorder.queryExecuted(preparedStmt, "tombstonedidentifiable", REQUESTED_VARIANT_LAYER, TimeUnit.MILLISECONDS.toNanos(20));
+        recorder.queryExecuted(preparedStmt, "load", REQUESTED_VARIANT_LAYER, TimeUnit.MILLISECONDS.toNanos(1));
+        slowQueries = recorder.getSlowQueries();
+        assertEquals(2, slowQueries.size());
+        assertEquals(SlowQueryRecorder.UNKNOWN_ROW_COUNT, slowQueries.get(1).rowCount());
+
+        // ring buffer drops the oldest entries
+        recorder.batchExecuted(preparedStmt, "load", TimeUnit.MILLISECONDS.toNanos(30), new int[] {1, 1, 1});
+        slowQueries = recorder.getSlowQueries();
+        assertEquals(2, slowQueries.size());
+        assertEquals("tombstonedidentifiable", slowQueries.get(0).table());
+        assertEquals(3, slowQueries.get(1).rowCount());
+
+        recorder.clear();
+        assertTrue(recorder.getSlowQueries().isEmpty());
+    }
+
+    @Test
+    void testPendingQueryFlushedAtRequestEnd() {
+        SlowQueryRecorder recorder = new SlowQueryRecorder(null, 10, false, 2);
+        PreparedStatement preparedStmt = mock(PreparedStatement.class);
+        recorder.queryExecuted(preparedStmt, "tombstonedidentifiable", REQUESTED_VARIANT_LAYER, TimeUnit.MILLISECONDS.toNanos(20));
+        SlowQueryRecorder.flushPendingQueries();
+        List<SlowQueryRecorder.SlowQuery> slowQueries = recorder.getSlowQueries();
+        assertEquals(1, slowQueries.size());
+        assertEquals(SlowQueryRecorder.UNKNOWN_ROW_COUNT, slowQueries.get(0).rowCount());
+
+        // forgotten once flushed, a rows binding reported later by another request is ignored
+        recorder.rowsBound("tombstonedidentifiable", REQUESTED_VARIANT_LAYER, TimeUnit.MILLISECONDS.toNanos(20), 1);
+        SlowQueryRecorder.flushPendingQueries();
+        assertEquals(1, recorder.getSlowQueries().size());
+    }
+
+    @Test
+    void testDisabled() {
+        SlowQueryRecorder recorder = new SlowQueryRecorder(null, -1, false, 2);
+        PreparedStatement preparedStmt = mock(PreparedStatement.class);
+        recorder.queryExecuted(preparedStmt, "generator", REQUESTED_VARIANT_LAYER, TimeUnit.SECONDS.toNanos(10));
+        recorder.rowsBound("generator", REQUESTED_VARIANT_LAYER, TimeUnit.SECONDS.toNanos(10), 1);
+        recorder.batchExecuted(preparedStmt, "generator", TimeUnit.SECONDS.toNanos(10), new int[] {1});
+        assertTrue(recorder.getSlowQueries().isEmpty());
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class StringInternersTest {
+
+    @Test
+    void testIntern() {
+        StringInterners stringInterners = new StringInterners(true, 10);
+        UUID networkUuid = UUID.randomUUID();
+        StringInterner interner = stringInterners.get(networkUuid);
+        assertSame(interner, stringInterners.get(networkUuid));
+
+        String id = interner.intern(new String("VL1"));
+        assertSame(id, interner.intern(new String("VL1")));
+        assertNull(interner.intern(null));
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("key", new String("VL1"));
+        properties.put("other", null);
+        interner.internValues(properties);
+        assertSame(id, properties.get("key"));
+        assertNull(properties.get("other"));
+
+        stringInterners.invalidate(networkUuid);
+        assertNotSame(interner, stringInterners.get(networkUuid));
+    }
+
+    @Test
+    void testDisabled() {
+        StringInterners stringInterners = new StringInterners(false, 10);
+        StringInterner interner = stringInterners.get(UUID.randomUUID());
+        assertSame(StringInterner.NONE, interner);
+        String id = new String("VL1");
+        assertSame(id, interner.intern(id));
+        assertThrows(IllegalArgumentException.class, () -> new StringInterners(true, 0));
+    }
+}
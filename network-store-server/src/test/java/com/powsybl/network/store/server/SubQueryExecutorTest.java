@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class SubQueryExecutorTest {
+
+    @Test
+    void testVirtualThreadsAreLimitedByParallelism() {
+        SubQueryExecutor subQueryExecutor = new SubQueryExecutor(3, true);
+        try {
+            Thread readingThread = Thread.currentThread();
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            List<SubQueryExecutor.SubQuery<Boolean>> subQueries = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                subQueries.add(subQueryExecutor.submit(() -> {
+                    if (Thread.currentThread() == readingThread) {
+                        return false;
+                    }
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    LockSupport.parkNanos(1_000_000);
+                    running.decrementAndGet();
+                    return Thread.currentThread().isVirtual();
+                }));
+            }
+            // the sub-queries submitted in excess are run by the reading thread instead of waiting
+            assertTrue(subQueries.stream().anyMatch(subQuery -> !subQuery.join()));
+            assertTrue(subQueries.stream().anyMatch(SubQueryExecutor.SubQuery::join));
+            assertTrue(maxRunning.get() <= 3);
+        } finally {
+            subQueryExecutor.shutdown();
+        }
+    }
+
+    @Test
+    void testFailureIsRethrown() {
+        SubQueryExecutor subQueryExecutor = new SubQueryExecutor(2, true);
+        try {
+            SubQueryExecutor.SubQuery<Object> subQuery = subQueryExecutor.submit(() -> {
+                throw new IllegalStateException("failed");
+            });
+            assertEquals("failed", assertThrows(IllegalStateException.class, subQuery::join).getMessage());
+        } finally {
+            subQueryExecutor.shutdown();
+        }
+    }
+}
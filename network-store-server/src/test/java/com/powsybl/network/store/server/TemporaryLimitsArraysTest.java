@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import com.powsybl.network.store.model.TemporaryLimitAttributes;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class TemporaryLimitsArraysTest {
+
+    @Test
+    void testRoundTrip() {
+        TemporaryLimitAttributes limit60 = TemporaryLimitAttributes.builder()
+                .acceptableDuration(60)
+                .value(1200.)
+                .name("TL60")
+                .fictitious(false)
+                .build();
+        TemporaryLimitAttributes limit600 = TemporaryLimitAttributes.builder()
+                .acceptableDuration(600)
+                .value(1000.)
+                .name("TL600")
+                .fictitious(true)
+                .build();
+        TemporaryLimitsArrays arrays = TemporaryLimitsArrays.of(List.of(limit600, limit60));
+        assertNotNull(arrays);
+        assertArrayEquals(new int[] {600, 60}, arrays.acceptableDurations());
+
+        TreeMap<Integer, TemporaryLimitAttributes> temporaryLimits = arrays.toTemporaryLimits();
+        assertEquals(List.of(60, 600), List.copyOf(temporaryLimits.keySet()));
+        assertEquals(limit60, temporaryLimits.get(60));
+        assertEquals(limit600, temporaryLimits.get(600));
+    }
+
+    @Test
+    void testNotStorableAsArrays() {
+        assertNull(TemporaryLimitsArrays.of(null));
+        assertNull(TemporaryLimitsArrays.of(List.of()));
+        TemporaryLimitAttributes limitWithProperties = TemporaryLimitAttributes.builder()
+                .acceptableDuration(60)
+                .value(1200.)
+                .name("TL60")
+                .properties(Map.of("key", "value"))
+                .build();
+        assertNull(TemporaryLimitsArrays.of(List.of(limitWithProperties)));
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2026, RTE (http://www.rte-france.com)
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.powsybl.network.store.server;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author agent <agent at local>
+ */
+class VirtualThreadsRequestLimiterTest {
+
+    @Test
+    void testMaxConcurrentRequests() {
+        assertEquals(12, VirtualThreadsRequestLimiter.getMaxConcurrentRequests(0, 20, 8));
+        assertEquals(5, VirtualThreadsRequestLimiter.getMaxConcurrentRequests(0, 10, 8));
+        assertEquals(20, VirtualThreadsRequestLimiter.getMaxConcurrentRequests(0, 20, 1));
+        assertEquals(2, VirtualThreadsRequestLimiter.getMaxConcurrentRequests(0, 4, 8));
+        assertEquals(1, VirtualThreadsRequestLimiter.getMaxConcurrentRequests(0, 1, 8));
+        assertEquals(50, VirtualThreadsRequestLimiter.getMaxConcurrentRequests(50, 20, 8));
+    }
+
+    @Test
+    void testRequestsAreLimitedOnVirtualThreadsOnly() throws InterruptedException {
+        VirtualThreadsRequestLimiter limiter = new VirtualThreadsRequestLimiter(true, 2, 10, 8);
+        assertTrue(limiter.isLimited());
+        assertTrue(limiter.tryAcquire(0, TimeUnit.MILLISECONDS));
+        assertTrue(limiter.tryAcquire(0, TimeUnit.MILLISECONDS));
+        assertFalse(limiter.tryAcquire(0, TimeUnit.MILLISECONDS));
+        limiter.release();
+        assertTrue(limiter.tryAcquire(0, TimeUnit.MILLISECONDS));
+
+        VirtualThreadsRequestLimiter unlimited = new VirtualThreadsRequestLimiter(false, 2, 10, 8);
+        assertFalse(unlimited.isLimited());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(unlimited.tryAcquire(0, TimeUnit.MILLISECONDS));
+        }
+    }
+}